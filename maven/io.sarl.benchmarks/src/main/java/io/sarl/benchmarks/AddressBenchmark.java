@@ -0,0 +1,166 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.benchmarks;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.util.OpenEventSpaceSpecification;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks of the hashing and the comparison of {@link Address} and {@link SpaceID}.
+ * <p>
+ * The compared objects are equal but distinct instances, so that
+ * the identity shortcuts are not measured.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class AddressBenchmark {
+
+	/** Number of addresses in the map.
+	 */
+	@Param({ "16", "1024" })
+	private int size;
+
+	private SpaceID spaceID;
+
+	private SpaceID spaceIDCopy;
+
+	private Address address;
+
+	private Address addressCopy;
+
+	private Address otherAddress;
+
+	private Map<Address, Object> addresses;
+
+	/** Create the addresses.
+	 */
+	@Setup
+	public void setUp() {
+		UUID contextID = UUID.randomUUID();
+		UUID spaceUUID = UUID.randomUUID();
+		UUID agentID = UUID.randomUUID();
+		this.spaceID = new SpaceID(contextID, spaceUUID, OpenEventSpaceSpecification.class);
+		this.spaceIDCopy = new SpaceID(contextID, spaceUUID, OpenEventSpaceSpecification.class);
+		this.address = new Address(this.spaceID, agentID);
+		this.addressCopy = new Address(this.spaceIDCopy, agentID);
+		this.otherAddress = new Address(this.spaceID, UUID.randomUUID());
+		this.addresses = new HashMap<>();
+		for (int i = 1; i < this.size; ++i) {
+			this.addresses.put(new Address(this.spaceID, UUID.randomUUID()), Boolean.TRUE);
+		}
+		this.addresses.put(this.address, Boolean.TRUE);
+	}
+
+	/** Compute the hash code of an address.
+	 *
+	 * @return the hash code.
+	 */
+	@Benchmark
+	public int addressHashCode() {
+		return this.address.hashCode();
+	}
+
+	/** Compare two equal addresses.
+	 *
+	 * @return the comparison result.
+	 */
+	@Benchmark
+	public boolean addressEquals() {
+		return this.address.equals(this.addressCopy);
+	}
+
+	/** Compare two different addresses in the same space.
+	 *
+	 * @return the comparison result.
+	 */
+	@Benchmark
+	public boolean addressNotEquals() {
+		return this.address.equals(this.otherAddress);
+	}
+
+	/** Order two equal addresses.
+	 *
+	 * @return the comparison result.
+	 */
+	@Benchmark
+	public int addressCompareTo() {
+		return this.address.compareTo(this.addressCopy);
+	}
+
+	/** Search an address in a hash map.
+	 *
+	 * @return the value associated to the address.
+	 */
+	@Benchmark
+	public Object addressMapLookup() {
+		return this.addresses.get(this.addressCopy);
+	}
+
+	/** Compute the hash code of a space identifier.
+	 *
+	 * @return the hash code.
+	 */
+	@Benchmark
+	public int spaceIDHashCode() {
+		return this.spaceID.hashCode();
+	}
+
+	/** Compare two equal space identifiers.
+	 *
+	 * @return the comparison result.
+	 */
+	@Benchmark
+	public boolean spaceIDEquals() {
+		return this.spaceID.equals(this.spaceIDCopy);
+	}
+
+	/** Order two equal space identifiers.
+	 *
+	 * @return the comparison result.
+	 */
+	@Benchmark
+	public int spaceIDCompareTo() {
+		return this.spaceID.compareTo(this.spaceIDCopy);
+	}
+
+}
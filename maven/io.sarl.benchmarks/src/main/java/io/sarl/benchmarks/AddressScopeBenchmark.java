@@ -0,0 +1,113 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.benchmarks;
+
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.util.AddressScope;
+import io.sarl.util.OpenEventSpaceSpecification;
+import io.sarl.util.Scopes;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks of {@link AddressScope#matches(Address)}.
+ * <p>
+ * The matched addresses are copies of the addresses in the scope,
+ * as it is the case when the scope is evaluated by an event space.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class AddressScopeBenchmark {
+
+	/** Number of addresses in the scope.
+	 */
+	@Param({ "1", "8", "64", "512" })
+	private int size;
+
+	private io.sarl.lang.core.Scope<Address> scope;
+
+	private Address firstAddress;
+
+	private Address lastAddress;
+
+	private Address unknownAddress;
+
+	/** Create the scope.
+	 */
+	@Setup
+	public void setUp() {
+		SpaceID spaceID = new SpaceID(UUID.randomUUID(), UUID.randomUUID(), OpenEventSpaceSpecification.class);
+		Address[] addresses = new Address[this.size];
+		for (int i = 0; i < addresses.length; ++i) {
+			addresses[i] = new Address(spaceID, UUID.randomUUID());
+		}
+		this.scope = Scopes.addresses(addresses);
+		this.firstAddress = new Address(spaceID, addresses[0].getUUID());
+		this.lastAddress = new Address(spaceID, addresses[addresses.length - 1].getUUID());
+		this.unknownAddress = new Address(spaceID, UUID.randomUUID());
+	}
+
+	/** Match the first address of the scope.
+	 *
+	 * @return the matching result.
+	 */
+	@Benchmark
+	public boolean matchesFirst() {
+		return this.scope.matches(this.firstAddress);
+	}
+
+	/** Match the last address of the scope.
+	 *
+	 * @return the matching result.
+	 */
+	@Benchmark
+	public boolean matchesLast() {
+		return this.scope.matches(this.lastAddress);
+	}
+
+	/** Match an address that is not in the scope.
+	 *
+	 * @return the matching result.
+	 */
+	@Benchmark
+	public boolean matchesNone() {
+		return this.scope.matches(this.unknownAddress);
+	}
+
+}
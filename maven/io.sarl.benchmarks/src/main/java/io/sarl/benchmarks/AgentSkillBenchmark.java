@@ -0,0 +1,213 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.benchmarks;
+
+import io.sarl.lang.core.Agent;
+import io.sarl.lang.core.Capacity;
+import io.sarl.lang.core.Skill;
+import io.sarl.lang.core.SkillCache;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks of the access to the skills of an agent.
+ * <p>
+ * The agent owns several skills in order to avoid measuring
+ * a degenerated single-skill agent.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class AgentSkillBenchmark {
+
+	private BenchmarkAgent agent;
+
+	private SkillCache<Capacity3> cache;
+
+	private Skill3[] replacementSkills;
+
+	private int replacementIndex;
+
+	/** Create the agent and its skills.
+	 */
+	@Setup
+	public void setUp() {
+		this.agent = new BenchmarkAgent();
+		this.agent.setSkill(Capacity1.class, new Skill1());
+		this.agent.setSkill(Capacity2.class, new Skill2());
+		this.agent.setSkill(Capacity3.class, new Skill3());
+		this.cache = new SkillCache<>(Capacity3.class);
+		// Two skills are alternated, because a skill that is already owned is not replaced.
+		this.replacementSkills = new Skill3[] {new Skill3(), new Skill3()};
+	}
+
+	/** Retreive a skill with {@link Agent#getSkill(Class)}.
+	 *
+	 * @return the skill.
+	 */
+	@Benchmark
+	public Capacity3 getSkill() {
+		return this.agent.getSkill(Capacity3.class);
+	}
+
+	/** Retreive a skill through a {@link SkillCache}, as in the generated code.
+	 *
+	 * @return the skill.
+	 */
+	@Benchmark
+	public Capacity3 getSkillWithCache() {
+		return this.cache.get(this.agent);
+	}
+
+	/** Test if a skill is owned with {@link Agent#hasSkill(Class)}.
+	 *
+	 * @return the test result.
+	 */
+	@Benchmark
+	public boolean hasSkill() {
+		return this.agent.hasSkill(Capacity3.class);
+	}
+
+	/** Replace a skill with {@link Agent#setSkill(Class, Skill)}.
+	 * <p>
+	 * Each invocation sets a skill that differs from the owned skill, so that the
+	 * skills of the agent are really replaced and the skill stamp is changed.
+	 *
+	 * @return the skill.
+	 */
+	@Benchmark
+	public Skill3 setSkill() {
+		this.replacementIndex = 1 - this.replacementIndex;
+		return this.agent.setSkill(Capacity3.class, this.replacementSkills[this.replacementIndex]);
+	}
+
+	/** Agent that gives access to the skill functions.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	static class BenchmarkAgent extends Agent {
+
+		BenchmarkAgent() {
+			super(UUID.randomUUID());
+		}
+
+		@Override
+		protected <S extends Skill> S setSkill(Class<? extends Capacity> capacity, S skill) {
+			return super.setSkill(capacity, skill);
+		}
+
+		@Override
+		protected <S extends Capacity> S getSkill(Class<S> capacity) {
+			return super.getSkill(capacity);
+		}
+
+		@Override
+		protected boolean hasSkill(Class<? extends Capacity> capacity) {
+			return super.hasSkill(capacity);
+		}
+
+	}
+
+	/** First capacity.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	interface Capacity1 extends Capacity {
+		//
+	}
+
+	/** Second capacity.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	interface Capacity2 extends Capacity {
+		//
+	}
+
+	/** Third capacity.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	interface Capacity3 extends Capacity {
+		//
+	}
+
+	/** Skill of the first capacity.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	static class Skill1 extends Skill implements Capacity1 {
+		//
+	}
+
+	/** Skill of the second capacity.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	static class Skill2 extends Skill implements Capacity2 {
+		//
+	}
+
+	/** Skill of the third capacity.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	static class Skill3 extends Skill implements Capacity3 {
+		//
+	}
+
+}
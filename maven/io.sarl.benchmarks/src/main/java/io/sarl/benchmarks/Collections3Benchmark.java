@@ -0,0 +1,162 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.benchmarks;
+
+import io.sarl.lang.util.SynchronizedSet;
+import io.sarl.util.Collections3;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Benchmarks of the synchronized wrappers of {@link Collections3}.
+ * <p>
+ * The state is shared by the benchmark threads, so that the benchmarks
+ * annotated with {@link Threads} are measuring the contention on the mutex.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class Collections3Benchmark {
+
+	/** Number of elements in the sets.
+	 */
+	@Param({ "1", "16", "256" })
+	private int size;
+
+	private SynchronizedSet<Integer> synchronizedSet;
+
+	private SynchronizedSet<Integer> unmodifiableSet;
+
+	private SynchronizedSet<Integer> singletonSet;
+
+	private Integer element;
+
+	/** Create the sets.
+	 */
+	@Setup
+	public void setUp() {
+		HashSet<Integer> elements = new HashSet<>();
+		for (int i = 0; i < this.size; ++i) {
+			elements.add(Integer.valueOf(i));
+		}
+		this.synchronizedSet = Collections3.synchronizedSet(elements, new Object());
+		this.unmodifiableSet = Collections3.unmodifiableSynchronizedSet(this.synchronizedSet);
+		this.element = Integer.valueOf(this.size - 1);
+		this.singletonSet = Collections3.synchronizedSingleton(this.element);
+	}
+
+	/** Search an element in a synchronized set.
+	 *
+	 * @return the search result.
+	 */
+	@Benchmark
+	public boolean synchronizedContains() {
+		return this.synchronizedSet.contains(this.element);
+	}
+
+	/** Search an element in a synchronized set by several threads.
+	 *
+	 * @return the search result.
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	public boolean synchronizedContainsContended() {
+		return this.synchronizedSet.contains(this.element);
+	}
+
+	/** Search an element in an unmodifiable view of a synchronized set.
+	 *
+	 * @return the search result.
+	 */
+	@Benchmark
+	public boolean unmodifiableContains() {
+		return this.unmodifiableSet.contains(this.element);
+	}
+
+	/** Search an element in a synchronized singleton.
+	 *
+	 * @return the search result.
+	 */
+	@Benchmark
+	public boolean singletonContains() {
+		return this.singletonSet.contains(this.element);
+	}
+
+	/** Iterate on a synchronized set while owning its mutex, as documented by {@link SynchronizedSet}.
+	 *
+	 * @param blackhole - the consumer of the elements.
+	 */
+	@Benchmark
+	public void synchronizedIteration(Blackhole blackhole) {
+		synchronized (this.synchronizedSet.mutex()) {
+			Iterator<Integer> iterator = this.synchronizedSet.iterator();
+			while (iterator.hasNext()) {
+				blackhole.consume(iterator.next());
+			}
+		}
+	}
+
+	/** Iterate on an unmodifiable view of a synchronized set while owning its mutex.
+	 *
+	 * @param blackhole - the consumer of the elements.
+	 */
+	@Benchmark
+	public void unmodifiableIteration(Blackhole blackhole) {
+		synchronized (this.unmodifiableSet.mutex()) {
+			Iterator<Integer> iterator = this.unmodifiableSet.iterator();
+			while (iterator.hasNext()) {
+				blackhole.consume(iterator.next());
+			}
+		}
+	}
+
+	/** Add and remove an element in a synchronized set by several threads.
+	 *
+	 * @return the removal result.
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	public boolean synchronizedAddRemoveContended() {
+		Integer value = Integer.valueOf(-1);
+		this.synchronizedSet.add(value);
+		return this.synchronizedSet.remove(value);
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.benchmarks;
+
+import io.sarl.core.AgentSpawned;
+import io.sarl.core.MemberJoined;
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.util.OpenEventSpaceSpecification;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks of the construction and the serialization of the events
+ * that are defined in <code>io.sarl.core</code>.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class EventBenchmark {
+
+	private Address source;
+
+	private UUID contextID;
+
+	private UUID agentID;
+
+	private String agentType;
+
+	private Event event;
+
+	private byte[] serializedEvent;
+
+	/** Create the event sources.
+	 *
+	 * @throws IOException - if the event cannot be serialized.
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		this.contextID = UUID.randomUUID();
+		SpaceID spaceID = new SpaceID(this.contextID, UUID.randomUUID(), OpenEventSpaceSpecification.class);
+		this.source = new Address(spaceID, UUID.randomUUID());
+		this.agentID = UUID.randomUUID();
+		this.agentType = EventBenchmark.class.getName();
+		this.event = new MemberJoined(this.source, this.contextID, this.agentID, this.agentType);
+		this.serializedEvent = serialize(this.event);
+	}
+
+	private static byte[] serialize(Event event) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (ObjectOutputStream stream = new ObjectOutputStream(buffer)) {
+			stream.writeObject(event);
+		}
+		return buffer.toByteArray();
+	}
+
+	/** Create an event with two attributes.
+	 *
+	 * @return the event.
+	 */
+	@Benchmark
+	public Event newAgentSpawned() {
+		return new AgentSpawned(this.source, this.agentID, this.agentType);
+	}
+
+	/** Create an event with three attributes.
+	 *
+	 * @return the event.
+	 */
+	@Benchmark
+	public Event newMemberJoined() {
+		return new MemberJoined(this.source, this.contextID, this.agentID, this.agentType);
+	}
+
+	/** Convert an event to a string.
+	 *
+	 * @return the string representation of the event.
+	 */
+	@Benchmark
+	public String eventToString() {
+		return this.event.toString();
+	}
+
+	/** Serialize an event.
+	 *
+	 * @return the serialized event.
+	 * @throws IOException - if the event cannot be serialized.
+	 */
+	@Benchmark
+	public byte[] serializeEvent() throws IOException {
+		return serialize(this.event);
+	}
+
+	/** Deserialize an event.
+	 *
+	 * @return the event.
+	 * @throws IOException - if the event cannot be deserialized.
+	 * @throws ClassNotFoundException - if the type of the event is unknown.
+	 */
+	@Benchmark
+	public Object deserializeEvent() throws IOException, ClassNotFoundException {
+		try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(this.serializedEvent))) {
+			return stream.readObject();
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.benchmarks;
+
+import io.sarl.lang.scoping.batch.SARLMapExtensions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Benchmarks of the lookups in the map replied by {@link SARLMapExtensions#union(Map, Map)}.
+ * <p>
+ * Half of the keys of the right map are also in the left map, so that
+ * the lookups are hitting the overriden and the non-overriden entries.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class SARLMapExtensionsBenchmark {
+
+	/** Number of entries in each of the merged maps.
+	 */
+	@Param({ "4", "64", "1024" })
+	private int size;
+
+	private Map<String, Integer> union;
+
+	private String leftKey;
+
+	private String rightKey;
+
+	private String sharedKey;
+
+	private String unknownKey;
+
+	/** Create the maps.
+	 */
+	@Setup
+	public void setUp() {
+		Map<String, Integer> left = new HashMap<>();
+		Map<String, Integer> right = new HashMap<>();
+		int half = this.size / 2;
+		for (int i = 0; i < this.size; ++i) {
+			left.put("key" + i, Integer.valueOf(i)); //$NON-NLS-1$
+			right.put("key" + (i + half), Integer.valueOf(-i)); //$NON-NLS-1$
+		}
+		this.union = SARLMapExtensions.union(left, right);
+		this.leftKey = "key0"; //$NON-NLS-1$
+		this.sharedKey = "key" + half; //$NON-NLS-1$
+		this.rightKey = "key" + (this.size + half - 1); //$NON-NLS-1$
+		this.unknownKey = "unknown"; //$NON-NLS-1$
+	}
+
+	/** Search a key that is only in the left map.
+	 *
+	 * @return the value.
+	 */
+	@Benchmark
+	public Integer getLeft() {
+		return this.union.get(this.leftKey);
+	}
+
+	/** Search a key that is in the two maps.
+	 *
+	 * @return the value.
+	 */
+	@Benchmark
+	public Integer getShared() {
+		return this.union.get(this.sharedKey);
+	}
+
+	/** Search a key that is only in the right map.
+	 *
+	 * @return the value.
+	 */
+	@Benchmark
+	public Integer getRight() {
+		return this.union.get(this.rightKey);
+	}
+
+	/** Search a key that is in none of the maps.
+	 *
+	 * @return the value.
+	 */
+	@Benchmark
+	public boolean containsUnknown() {
+		return this.union.containsKey(this.unknownKey);
+	}
+
+	/** Compute the size of the union.
+	 *
+	 * @return the size.
+	 */
+	@Benchmark
+	public int size() {
+		return this.union.size();
+	}
+
+	/** Iterate on the entries of the union.
+	 *
+	 * @param blackhole - the consumer of the entries.
+	 */
+	@Benchmark
+	public void iterateEntries(Blackhole blackhole) {
+		for (Entry<String, Integer> entry : this.union.entrySet()) {
+			blackhole.consume(entry.getValue());
+		}
+	}
+
+}
@@ -72,6 +72,10 @@ public abstract class AbstractSarlMojo extends AbstractMojo {
 	 */
 	protected static final String DEFAULT_TEST_OUTPUT = "src/test/generated-sources/xtend"; //$NON-NLS-1$
 
+	/** Path of the state file of the SARL compiler daemon, relatively to the home folder of the user.
+	 */
+	protected static final String DAEMON_STATE_FILE = ".sarl/compiler-daemon.properties"; //$NON-NLS-1$
+
 	/** The tool that permits to access to Maven features.
 	 */
 	protected MavenHelper mavenHelper;
@@ -113,6 +117,11 @@ public abstract class AbstractSarlMojo extends AbstractMojo {
 	 */
 	private File testInput;
 
+	/**
+	 * @parameter property="sarl.daemon" default-value="false"
+	 */
+	private boolean daemon;
+
 	@Override
 	public final void execute() throws MojoExecutionException, MojoFailureException {
 		this.mavenHelper = new MavenHelper(this.session, this.buildPluginManager, getLog());
@@ -173,6 +182,23 @@ public abstract class AbstractSarlMojo extends AbstractMojo {
 		return makeAbsolute((this.testOutput == null) ? new File(DEFAULT_TEST_OUTPUT) : this.testOutput);
 	}
 
+	/** Replies if the SARL files are compiled by the SARL compiler daemon.
+	 *
+	 * @return <code>true</code> if the compiler daemon is used.
+	 * @see SarlCompilerDaemon
+	 */
+	protected boolean isDaemonEnabled() {
+		return this.daemon;
+	}
+
+	/** Replies the state file of the SARL compiler daemon.
+	 *
+	 * @return the state file.
+	 */
+	protected static File getDaemonStateFile() {
+		return new File(System.getProperty("user.home"), DAEMON_STATE_FILE); //$NON-NLS-1$
+	}
+
 	/** Execute another MOJO.
 	 *
 	 * @param groupId - identifier of the MOJO plugin group.
@@ -0,0 +1,408 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.maven.compiler;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/** Index that is used by the incremental compilation of the SARL files.
+ * <p>
+ * The index contains, for each SARL file, the fingerprint of its content,
+ * the types that are declared in it, the identifiers that are used in it,
+ * and the Java files that were generated from it. It contains also the
+ * fingerprint of the compilation environment (compiler options, class path...).
+ * <p>
+ * A SARL file must be compiled when its content has changed, when one of
+ * its generated files has disappeared, or when it is using a type that is
+ * declared in another SARL file that must be compiled or that was removed.
+ * All the SARL files must be compiled when the environment has changed.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class CompilationIndex {
+
+	private static final String HEADER = "#SARL compilation index 1"; //$NON-NLS-1$
+
+	private static final String ENVIRONMENT_TAG = "E"; //$NON-NLS-1$
+
+	private static final String SOURCE_TAG = "S"; //$NON-NLS-1$
+
+	private static final String TYPE_TAG = "T"; //$NON-NLS-1$
+
+	private static final String REFERENCE_TAG = "R"; //$NON-NLS-1$
+
+	private static final String GENERATED_TAG = "G"; //$NON-NLS-1$
+
+	private static final char SEPARATOR = '\t';
+
+	private static final Charset CHARSET = Charset.forName("UTF-8"); //$NON-NLS-1$
+
+	private final Map<String, SourceEntry> sources = new TreeMap<>();
+
+	private String environment = ""; //$NON-NLS-1$
+
+	/** Load the index from the given file.
+	 *
+	 * @param file - the file to read.
+	 * @return the index; or an empty index if the file does not exist or has an unsupported format.
+	 * @throws IOException - if the file cannot be read.
+	 */
+	public static CompilationIndex load(File file) throws IOException {
+		CompilationIndex index = new CompilationIndex();
+		if (file.isFile()) {
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(Files.newInputStream(file.toPath()), CHARSET))) {
+				String line = reader.readLine();
+				if (!HEADER.equals(line)) {
+					return index;
+				}
+				SourceEntry entry = null;
+				line = reader.readLine();
+				while (line != null) {
+					int separator = line.indexOf(SEPARATOR);
+					if (separator > 0) {
+						String tag = line.substring(0, separator);
+						String value = line.substring(separator + 1);
+						if (ENVIRONMENT_TAG.equals(tag)) {
+							index.environment = value;
+						} else if (SOURCE_TAG.equals(tag)) {
+							int hashSeparator = value.lastIndexOf(SEPARATOR);
+							entry = new SourceEntry(value.substring(hashSeparator + 1));
+							index.sources.put(value.substring(0, hashSeparator), entry);
+						} else if (entry != null && TYPE_TAG.equals(tag)) {
+							entry.getDeclaredTypes().add(value);
+						} else if (entry != null && REFERENCE_TAG.equals(tag)) {
+							entry.getReferences().add(value);
+						} else if (entry != null && GENERATED_TAG.equals(tag)) {
+							entry.getGeneratedFiles().add(value);
+						}
+					}
+					line = reader.readLine();
+				}
+			}
+		}
+		return index;
+	}
+
+	/** Save the index into the given file.
+	 *
+	 * @param file - the file to write.
+	 * @throws IOException - if the file cannot be written.
+	 */
+	public void save(File file) throws IOException {
+		file.getParentFile().mkdirs();
+		try (BufferedWriter writer = new BufferedWriter(
+				new OutputStreamWriter(Files.newOutputStream(file.toPath()), CHARSET))) {
+			writer.write(HEADER);
+			writer.newLine();
+			writeLine(writer, ENVIRONMENT_TAG, this.environment);
+			for (Map.Entry<String, SourceEntry> source : this.sources.entrySet()) {
+				SourceEntry entry = source.getValue();
+				writeLine(writer, SOURCE_TAG, source.getKey() + SEPARATOR + entry.getHash());
+				for (String value : entry.getDeclaredTypes()) {
+					writeLine(writer, TYPE_TAG, value);
+				}
+				for (String value : entry.getReferences()) {
+					writeLine(writer, REFERENCE_TAG, value);
+				}
+				for (String value : entry.getGeneratedFiles()) {
+					writeLine(writer, GENERATED_TAG, value);
+				}
+			}
+		}
+	}
+
+	private static void writeLine(BufferedWriter writer, String tag, String value) throws IOException {
+		writer.write(tag);
+		writer.write(SEPARATOR);
+		writer.write(value);
+		writer.newLine();
+	}
+
+	/** Replies the fingerprint of the compilation environment.
+	 *
+	 * @return the fingerprint.
+	 */
+	public String getEnvironment() {
+		return this.environment;
+	}
+
+	/** Change the fingerprint of the compilation environment.
+	 *
+	 * @param environment - the fingerprint.
+	 */
+	public void setEnvironment(String environment) {
+		this.environment = (environment == null) ? "" : environment; //$NON-NLS-1$
+	}
+
+	/** Compute the fingerprint of a compilation environment.
+	 * <p>
+	 * The fingerprint covers the given options, and the names, dates and sizes of
+	 * the files in the class path entries and in the source folders. The excluded
+	 * folders are ignored, even when they are in the class path: they are the folders
+	 * that are changed by the compilation itself, e.g. the folder of the compiled classes.
+	 *
+	 * @param options - the compiler options that have an influence on the generated code.
+	 * @param classpath - the class path entries.
+	 * @param sourceRoots - the source folders.
+	 * @param excludedFolders - the folders to ignore.
+	 * @return the fingerprint.
+	 */
+	public static String computeEnvironment(String options, Iterable<File> classpath, Iterable<File> sourceRoots,
+			Collection<File> excludedFolders) {
+		Set<File> excluded = new HashSet<>();
+		for (File folder : excludedFolders) {
+			excluded.add(folder.getAbsoluteFile());
+		}
+		StringBuilder environment = new StringBuilder(options);
+		for (File element : classpath) {
+			if (!excluded.contains(element.getAbsoluteFile())) {
+				appendFileStamps(environment, element);
+			}
+		}
+		for (File root : sourceRoots) {
+			if (!excluded.contains(root.getAbsoluteFile())) {
+				appendFileStamps(environment, root);
+			}
+		}
+		return SarlSourceScanner.fingerprint(environment.toString().getBytes(CHARSET));
+	}
+
+	private static void appendFileStamps(StringBuilder environment, File file) {
+		environment.append(';').append(file.getAbsolutePath());
+		if (file.isDirectory()) {
+			File[] children = file.listFiles();
+			if (children != null) {
+				for (File child : children) {
+					appendFileStamps(environment, child);
+				}
+			}
+		} else {
+			environment.append('@').append(file.lastModified()).append(':').append(file.length());
+		}
+	}
+
+	/** Replies the SARL files in the index, with their descriptions.
+	 * The keys are the paths of the files, relatively to the source folder.
+	 *
+	 * @return the SARL files.
+	 */
+	public Map<String, SourceEntry> getSources() {
+		return this.sources;
+	}
+
+	/** Replies the SARL files that are in the given index and not in this index.
+	 *
+	 * @param previous - the index of the previous compilation.
+	 * @return the removed files.
+	 */
+	public Set<String> getRemovedSources(CompilationIndex previous) {
+		Set<String> removed = new TreeSet<>(previous.sources.keySet());
+		removed.removeAll(this.sources.keySet());
+		return removed;
+	}
+
+	/** Replies the SARL files that must be compiled.
+	 *
+	 * @param previous - the index of the previous compilation.
+	 * @param outputFolder - the folder in which the Java files are generated.
+	 * @return the files to compile.
+	 */
+	public Set<String> getDirtySources(CompilationIndex previous, File outputFolder) {
+		if (!this.environment.equals(previous.environment)) {
+			return new TreeSet<>(this.sources.keySet());
+		}
+		Set<String> dirty = new TreeSet<>();
+		Set<String> changedTypes = new HashSet<>();
+		for (Map.Entry<String, SourceEntry> source : this.sources.entrySet()) {
+			SourceEntry oldEntry = previous.sources.get(source.getKey());
+			if (oldEntry == null || !oldEntry.getHash().equals(source.getValue().getHash())
+					|| !oldEntry.isGeneratedIn(outputFolder)) {
+				dirty.add(source.getKey());
+				addSimpleNames(changedTypes, source.getValue().getDeclaredTypes());
+				if (oldEntry != null) {
+					addSimpleNames(changedTypes, oldEntry.getDeclaredTypes());
+				}
+			}
+		}
+		for (String removed : getRemovedSources(previous)) {
+			addSimpleNames(changedTypes, previous.sources.get(removed).getDeclaredTypes());
+		}
+
+		// Propagate to the files that are using the changed types.
+		Map<String, Set<String>> users = new HashMap<>();
+		for (Map.Entry<String, SourceEntry> source : this.sources.entrySet()) {
+			if (!dirty.contains(source.getKey())) {
+				for (String reference : source.getValue().getReferences()) {
+					Set<String> files = users.get(reference);
+					if (files == null) {
+						files = new HashSet<>();
+						users.put(reference, files);
+					}
+					files.add(source.getKey());
+				}
+			}
+		}
+		Deque<String> types = new ArrayDeque<>(changedTypes);
+		while (!types.isEmpty()) {
+			Set<String> files = users.remove(types.removeFirst());
+			if (files != null) {
+				for (String file : files) {
+					if (dirty.add(file)) {
+						Set<String> newTypes = new HashSet<>();
+						addSimpleNames(newTypes, this.sources.get(file).getDeclaredTypes());
+						newTypes.removeAll(changedTypes);
+						changedTypes.addAll(newTypes);
+						types.addAll(newTypes);
+					}
+				}
+			}
+		}
+		return dirty;
+	}
+
+	private static void addSimpleNames(Set<String> names, Collection<String> qualifiedNames) {
+		for (String qualifiedName : qualifiedNames) {
+			names.add(qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1));
+		}
+	}
+
+	/** Description of a SARL file in the index.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class SourceEntry {
+
+		private final String hash;
+
+		private final Set<String> declaredTypes = new TreeSet<>();
+
+		private final Set<String> references = new TreeSet<>();
+
+		private final Set<String> generatedFiles = new TreeSet<>();
+
+		/**
+		 * @param hash - the fingerprint of the content of the file.
+		 */
+		public SourceEntry(String hash) {
+			this.hash = hash;
+		}
+
+		/** Replies the fingerprint of the content of the file.
+		 *
+		 * @return the fingerprint.
+		 */
+		public String getHash() {
+			return this.hash;
+		}
+
+		/** Replies the qualified names of the types that are declared in the file.
+		 *
+		 * @return the qualified names.
+		 */
+		public Set<String> getDeclaredTypes() {
+			return this.declaredTypes;
+		}
+
+		/** Replies the identifiers that are used in the file.
+		 *
+		 * @return the identifiers.
+		 */
+		public Set<String> getReferences() {
+			return this.references;
+		}
+
+		/** Replies the files that were generated from the file,
+		 * relatively to the output folder.
+		 *
+		 * @return the generated files.
+		 */
+		public Set<String> getGeneratedFiles() {
+			return this.generatedFiles;
+		}
+
+		/** Replies if all the generated files exist in the given folder.
+		 *
+		 * @param outputFolder - the folder in which the Java files are generated.
+		 * @return <code>true</code> if all the generated files exist.
+		 */
+		public boolean isGeneratedIn(File outputFolder) {
+			for (String generatedFile : this.generatedFiles) {
+				if (!new File(outputFolder, generatedFile).isFile()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/** Compute the generated files from the declared types.
+		 *
+		 * @param outputFolder - the folder in which the Java files are generated.
+		 */
+		public void detectGeneratedFiles(File outputFolder) {
+			this.generatedFiles.clear();
+			for (String type : this.declaredTypes) {
+				String filename = type.replace('.', '/') + ".java"; //$NON-NLS-1$
+				if (new File(outputFolder, filename).isFile()) {
+					this.generatedFiles.add(filename);
+				}
+			}
+		}
+
+		/** Delete the generated files.
+		 *
+		 * @param outputFolder - the folder in which the Java files are generated.
+		 */
+		public void deleteGeneratedFiles(File outputFolder) {
+			for (String generatedFile : this.generatedFiles) {
+				new File(outputFolder, generatedFile).delete();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.hash;
+		}
+
+	}
+
+}
@@ -20,13 +20,44 @@
  */
 package io.sarl.maven.compiler;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
 
 /** Mojo for compiling SARL.
+ * <p>
+ * When the incremental mode is enabled, the mojo maintains an index of the SARL files
+ * (see {@link CompilationIndex}) and compiles only the SARL files that have changed
+ * since the last compilation, and the SARL files that are using the types declared in
+ * the changed files. The SARL files are scanned in parallel.
+ * <p>
+ * When the in-process mode is enabled, the SARL files and the Java files are compiled
+ * by a {@link SarlBatchCompiler} inside the Maven process, in place of the Xtext and Java
+ * compiler plugins.
+ * <p>
+ * When the daemon mode is enabled, the SARL and Java files are compiled by the
+ * {@link SarlCompilerDaemon} that was started by the {@link InitializeMojo}. If the daemon
+ * is not running, they are compiled inside the Maven process.
  *
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -38,6 +69,14 @@ import org.apache.maven.plugin.MojoFailureException;
  */
 public class CompileMojo extends AbstractSarlMojo {
 
+	private static final String SARL_FILE_EXTENSION = ".sarl"; //$NON-NLS-1$
+
+	private static final String JAVA_FILE_EXTENSION = ".java"; //$NON-NLS-1$
+
+	private static final String INDEX_FILENAME = "compile.index"; //$NON-NLS-1$
+
+	private static final String STAGING_FOLDERNAME = "sources"; //$NON-NLS-1$
+
 	/**
 	 * @parameter property="source" default-value="1.7"
 	 * @required
@@ -56,34 +95,330 @@ public class CompileMojo extends AbstractSarlMojo {
 	 */
 	protected String encoding;
 
+	/** Indicates if only the changed SARL files and their dependents are compiled.
+	 *
+	 * @parameter property="sarl.incremental" default-value="false"
+	 */
+	protected boolean incremental;
+
+	/** Folder in which the data of the incremental compilation are stored.
+	 *
+	 * @parameter property="sarl.incrementalDirectory" default-value="${project.build.directory}/sarl-incremental"
+	 */
+	protected File incrementalDirectory;
+
+	/** Number of threads that are scanning the SARL files in the incremental mode.
+	 * If it is not strictly positive, the number of available processors is used.
+	 *
+	 * @parameter property="sarl.threads" default-value="0"
+	 */
+	protected int threads;
+
+	/** Indicates if the SARL and Java files are compiled inside the Maven process.
+	 * The Xtext and Java compiler plugins are used when the Java compiler is not
+	 * available, or when the project contains Java files that are not generated
+	 * from the SARL files.
+	 *
+	 * @parameter property="sarl.inProcess" default-value="false"
+	 */
+	protected boolean inProcess;
+
+	private SarlCompiler compiler;
+
 	@Override
 	public void executeMojo() throws MojoExecutionException, MojoFailureException {
 		if (this.target == null) {
 			this.target = this.source;
 		}
-		compileSARL();
-		compileJava();
+		this.compiler = (this.inProcess || isDaemonEnabled()) ? createCompiler() : null;
+		try {
+			if (this.incremental) {
+				compileSARLIncrementally();
+			} else {
+				compileSARL();
+			}
+			compileJava();
+		} finally {
+			if (this.compiler != null) {
+				try {
+					this.compiler.dispose();
+				} catch (IOException e) {
+					getLog().debug(e);
+				}
+				this.compiler = null;
+			}
+		}
+	}
+
+	private SarlCompiler createCompiler() throws MojoExecutionException {
+		if (!SarlBatchCompiler.isJavaCompilerAvailable()) {
+			getLog().info("The Java compiler is not available, the SARL files are compiled" //$NON-NLS-1$
+					+ " with the Xtext and Java compiler plugins"); //$NON-NLS-1$
+			return null;
+		}
+		MavenProject project = this.mavenHelper.getSession().getCurrentProject();
+		File inputFolder = getInput();
+		File outputFolder = getOutput();
+		for (String root : project.getCompileSourceRoots()) {
+			File rootFolder = new File(root);
+			if (!rootFolder.equals(inputFolder) && !rootFolder.equals(outputFolder) && containsJavaFiles(rootFolder)) {
+				getLog().info("The project contains Java files, the SARL files are compiled" //$NON-NLS-1$
+						+ " with the Xtext and Java compiler plugins"); //$NON-NLS-1$
+				return null;
+			}
+		}
+		try {
+			CompilerMessageListener listener = createMessageListener();
+			if (isDaemonEnabled()) {
+				SarlCompiler client = SarlCompilerDaemonClient.connect(getDaemonStateFile(),
+						project.getBasedir().getAbsolutePath(), project.getCompileClasspathElements(),
+						new File(project.getBuild().getOutputDirectory()), this.encoding, listener);
+				if (client != null) {
+					getLog().debug("Using the SARL compiler daemon"); //$NON-NLS-1$
+					return client;
+				}
+				getLog().info("The SARL compiler daemon is not running, the SARL files are compiled" //$NON-NLS-1$
+						+ " inside the Maven process"); //$NON-NLS-1$
+			}
+			return new SarlBatchCompiler(project.getCompileClasspathElements(), this.encoding, listener);
+		} catch (DependencyResolutionRequiredException | MalformedURLException e) {
+			throw new MojoExecutionException(e.getLocalizedMessage(), e);
+		}
+	}
+
+	private CompilerMessageListener createMessageListener() {
+		return new CompilerMessageListener() {
+			@Override
+			public void error(String message) {
+				getLog().error(message);
+			}
+
+			@Override
+			public void warning(String message) {
+				getLog().warn(message);
+			}
+
+			@Override
+			public void debug(String message) {
+				getLog().debug(message);
+			}
+		};
+	}
+
+	private static boolean containsJavaFiles(File folder) {
+		File[] children = folder.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				if (child.isDirectory() ? containsJavaFiles(child) : child.getName().endsWith(JAVA_FILE_EXTENSION)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private void compileSARLIncrementally() throws MojoExecutionException, MojoFailureException {
+		File inputFolder = getInput();
+		File outputFolder = getOutput();
+		File indexFile = new File(makeAbsolute(this.incrementalDirectory), INDEX_FILENAME);
+		try {
+			CompilationIndex previousIndex = CompilationIndex.load(indexFile);
+			CompilationIndex currentIndex = scanSARL(inputFolder);
+			currentIndex.setEnvironment(computeEnvironment(inputFolder, outputFolder));
+
+			Set<String> removedSources = currentIndex.getRemovedSources(previousIndex);
+			Set<String> dirtySources = currentIndex.getDirtySources(previousIndex, outputFolder);
+			if (dirtySources.isEmpty() && removedSources.isEmpty()) {
+				getLog().info("SARL files are up-to-date"); //$NON-NLS-1$
+				return;
+			}
+
+			// The index is removed for forcing a full compilation if the current compilation fails.
+			Files.deleteIfExists(indexFile.toPath());
+			for (String removedSource : removedSources) {
+				previousIndex.getSources().get(removedSource).deleteGeneratedFiles(outputFolder);
+			}
+			for (String dirtySource : dirtySources) {
+				CompilationIndex.SourceEntry previousEntry = previousIndex.getSources().get(dirtySource);
+				if (previousEntry != null) {
+					previousEntry.deleteGeneratedFiles(outputFolder);
+				}
+			}
+
+			if (dirtySources.isEmpty()) {
+				getLog().info("Removing the Java files generated from the removed SARL files"); //$NON-NLS-1$
+			} else if (dirtySources.size() == currentIndex.getSources().size()) {
+				compileSARL();
+			} else {
+				getLog().info(MessageFormat.format("{0} SARL file(s) to compile out of {1}", //$NON-NLS-1$
+						dirtySources.size(), currentIndex.getSources().size()));
+				compileSARL(inputFolder, outputFolder, dirtySources);
+			}
+
+			for (Map.Entry<String, CompilationIndex.SourceEntry> source : currentIndex.getSources().entrySet()) {
+				CompilationIndex.SourceEntry previousEntry = previousIndex.getSources().get(source.getKey());
+				if (previousEntry == null || dirtySources.contains(source.getKey())) {
+					source.getValue().detectGeneratedFiles(outputFolder);
+				} else {
+					source.getValue().getGeneratedFiles().addAll(previousEntry.getGeneratedFiles());
+				}
+			}
+			currentIndex.save(indexFile);
+		} catch (IOException e) {
+			throw new MojoExecutionException(e.getLocalizedMessage(), e);
+		}
+	}
+
+	private CompilationIndex scanSARL(File inputFolder) throws MojoExecutionException {
+		final List<String> files = new ArrayList<>();
+		listSARLFiles(inputFolder, "", files); //$NON-NLS-1$
+		final List<Callable<CompilationIndex.SourceEntry>> tasks = new ArrayList<>(files.size());
+		final Charset charset = (this.encoding == null || this.encoding.isEmpty())
+				? Charset.defaultCharset() : Charset.forName(this.encoding);
+		for (final String file : files) {
+			final File absoluteFile = new File(inputFolder, file);
+			tasks.add(new Callable<CompilationIndex.SourceEntry>() {
+				@Override
+				public CompilationIndex.SourceEntry call() throws Exception {
+					return SarlSourceScanner.scan(Files.readAllBytes(absoluteFile.toPath()), charset);
+				}
+			});
+		}
+		int threadCount = this.threads;
+		if (threadCount <= 0) {
+			threadCount = Runtime.getRuntime().availableProcessors();
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threadCount, tasks.size())));
+		try {
+			CompilationIndex index = new CompilationIndex();
+			List<Future<CompilationIndex.SourceEntry>> results = executor.invokeAll(tasks);
+			for (int i = 0; i < files.size(); ++i) {
+				index.getSources().put(files.get(i), results.get(i).get());
+			}
+			return index;
+		} catch (InterruptedException | ExecutionException e) {
+			Throwable cause = (e.getCause() == null) ? e : e.getCause();
+			throw new MojoExecutionException(cause.getLocalizedMessage(), cause);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static void listSARLFiles(File folder, String relativePath, List<String> files) {
+		File[] children = folder.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				String path = relativePath + child.getName();
+				if (child.isDirectory()) {
+					listSARLFiles(child, path + "/", files); //$NON-NLS-1$
+				} else if (child.getName().endsWith(SARL_FILE_EXTENSION)) {
+					files.add(path);
+				}
+			}
+		}
+	}
+
+	private String computeEnvironment(File inputFolder, File outputFolder) throws MojoExecutionException {
+		// Elements that have an influence on the generated Java code, and that are not
+		// SARL files: the compiler options, the class path, and the other source folders.
+		// The folder of the compiled classes is on the class path of the project, but it is
+		// changed by each compilation, and it must not be part of the environment.
+		MavenProject project = this.mavenHelper.getSession().getCurrentProject();
+		List<File> classpath = new ArrayList<>();
+		try {
+			for (String element : project.getCompileClasspathElements()) {
+				classpath.add(new File(element));
+			}
+		} catch (DependencyResolutionRequiredException e) {
+			throw new MojoExecutionException(e.getLocalizedMessage(), e);
+		}
+		List<File> sourceRoots = new ArrayList<>();
+		for (String root : project.getCompileSourceRoots()) {
+			sourceRoots.add(new File(root));
+		}
+		return CompilationIndex.computeEnvironment(
+				this.source + ';' + this.target + ';' + this.encoding,
+				classpath, sourceRoots,
+				Arrays.asList(inputFolder, outputFolder, new File(project.getBuild().getOutputDirectory())));
+	}
+
+	private void compileSARL(File inputFolder, File outputFolder, Set<String> sources)
+			throws MojoExecutionException, MojoFailureException, IOException {
+		if (this.compiler != null) {
+			generateWithCompiler(sources);
+			return;
+		}
+		File stagingFolder = new File(makeAbsolute(this.incrementalDirectory), STAGING_FOLDERNAME);
+		deleteFolder(stagingFolder);
+		for (String source : sources) {
+			File target = new File(stagingFolder, source);
+			target.getParentFile().mkdirs();
+			Files.copy(new File(inputFolder, source).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		StringBuilder javaSourceRoots = new StringBuilder();
+		for (String root : this.mavenHelper.getSession().getCurrentProject().getCompileSourceRoots()) {
+			if (!new File(root).equals(inputFolder)) {
+				javaSourceRoots.append("<javaSourceRoot>").append(root).append("</javaSourceRoot>"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		compileSARL("xtext-compiler.incremental-configuration", //$NON-NLS-1$
+				stagingFolder.getAbsolutePath(), javaSourceRoots.toString());
+	}
+
+	private static void deleteFolder(File folder) {
+		File[] children = folder.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				deleteFolder(child);
+			}
+		}
+		folder.delete();
 	}
 
 	private void compileSARL() throws MojoExecutionException, MojoFailureException {
+		if (this.compiler != null) {
+			generateWithCompiler(null);
+		} else {
+			compileSARL("xtext-compiler.configuration"); //$NON-NLS-1$
+		}
+	}
+
+	private void generateWithCompiler(Set<String> sources) throws MojoExecutionException, MojoFailureException {
+		getLog().info("Compiling SARL to Java..."); //$NON-NLS-1$
+		try {
+			if (!this.compiler.generate(getInput(), sources, getOutput())) {
+				throw new MojoFailureException("Compilation failure of the SARL files"); //$NON-NLS-1$
+			}
+		} catch (IOException e) {
+			throw new MojoExecutionException(e.getLocalizedMessage(), e);
+		}
+	}
+
+	private void compileSARL(String configurationKey, Object... additionalParameters)
+			throws MojoExecutionException, MojoFailureException {
 		getLog().info("Compiling SARL to Java..."); //$NON-NLS-1$
 		String xtextGroupId = MavenHelper.getConfig("xtext-compiler.groupId"); //$NON-NLS-1$
 		String xtextArtifactId = MavenHelper.getConfig("xtext-compiler.artifactId"); //$NON-NLS-1$
 		String xtextVersion = this.mavenHelper.getPluginDependencyVersion(xtextGroupId, xtextArtifactId, "compile"); //$NON-NLS-1$
 		String xtextMojo = MavenHelper.getConfig("xtext-compiler.mojo"); //$NON-NLS-1$
 		Dependency[] dependencies = getDependenciesFor("xtext-compiler", "compile"); //$NON-NLS-1$ //$NON-NLS-2$
+		List<Object> parameters = new ArrayList<>();
+		parameters.add(this.source);
+		parameters.add(this.target);
+		parameters.add(this.encoding);
+		parameters.add(getOutput().getAbsolutePath());
+		parameters.addAll(Arrays.asList(additionalParameters));
 		executeMojo(
 				xtextGroupId, xtextArtifactId, xtextVersion, xtextMojo,
-				MessageFormat.format(
-						MavenHelper.getConfig("xtext-compiler.configuration"), //$NON-NLS-1$
-						this.source,
-						this.target,
-						this.encoding,
-						getOutput().getAbsolutePath()),
+				MessageFormat.format(MavenHelper.getConfig(configurationKey), parameters.toArray()),
 				dependencies);
 	}
 
 	private void compileJava() throws MojoExecutionException, MojoFailureException {
+		if (this.compiler != null) {
+			compileJavaWithCompiler();
+			return;
+		}
 		getLog().info("Compiling Java files..."); //$NON-NLS-1$
 		String javaGroupId = MavenHelper.getConfig("java-compiler.groupId"); //$NON-NLS-1$
 		String javaArtifactId = MavenHelper.getConfig("java-compiler.artifactId"); //$NON-NLS-1$
@@ -99,4 +434,25 @@ public class CompileMojo extends AbstractSarlMojo {
 						this.encoding));
 	}
 
+	private void compileJavaWithCompiler() throws MojoExecutionException, MojoFailureException {
+		getLog().info("Compiling Java files..."); //$NON-NLS-1$
+		MavenProject project = this.mavenHelper.getSession().getCurrentProject();
+		File inputFolder = getInput();
+		List<File> sourceFolders = new ArrayList<>();
+		for (String root : project.getCompileSourceRoots()) {
+			File rootFolder = new File(root);
+			if (!rootFolder.equals(inputFolder)) {
+				sourceFolders.add(rootFolder);
+			}
+		}
+		try {
+			if (!this.compiler.compile(sourceFolders, project.getCompileClasspathElements(),
+					new File(project.getBuild().getOutputDirectory()), this.source, this.target)) {
+				throw new MojoFailureException("Compilation failure of the Java files"); //$NON-NLS-1$
+			}
+		} catch (IOException | DependencyResolutionRequiredException e) {
+			throw new MojoExecutionException(e.getLocalizedMessage(), e);
+		}
+	}
+
 }
@@ -0,0 +1,50 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.maven.compiler;
+
+/** Listener on the messages of a SARL compiler.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public interface CompilerMessageListener {
+
+	/** Invoked for an error message.
+	 *
+	 * @param message - the message.
+	 */
+	void error(String message);
+
+	/** Invoked for a warning message.
+	 *
+	 * @param message - the message.
+	 */
+	void warning(String message);
+
+	/** Invoked for a debug message.
+	 *
+	 * @param message - the message.
+	 */
+	void debug(String message);
+
+}
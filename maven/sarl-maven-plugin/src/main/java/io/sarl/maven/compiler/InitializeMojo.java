@@ -21,6 +21,10 @@
 package io.sarl.maven.compiler;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -37,6 +41,18 @@ import org.apache.maven.plugin.MojoFailureException;
  */
 public class InitializeMojo extends AbstractSarlMojo {
 
+	private static final int MILLISECONDS_PER_MINUTE = 60000;
+
+	private static final int DAEMON_STARTUP_TIMEOUT = 60000;
+
+	private static final int DAEMON_STARTUP_POLLING_DELAY = 200;
+
+	/** Number of minutes without request after which the SARL compiler daemon stops.
+	 *
+	 * @parameter property="sarl.daemonIdleTime" default-value="180"
+	 */
+	protected int daemonIdleTime;
+
 	@Override
 	public void executeMojo() throws MojoExecutionException, MojoFailureException {
 		for (File f : new File[] {getInput(), getOutput()}) {
@@ -49,6 +65,62 @@ public class InitializeMojo extends AbstractSarlMojo {
 			getLog().debug("*** SARL *** Adding SARL test source folders: " + absPath); //$NON-NLS-1$
 			this.mavenHelper.getSession().getCurrentProject().addTestCompileSourceRoot(absPath);
 		}
+		if (isDaemonEnabled()) {
+			startDaemon();
+		}
+	}
+
+	/** Start the SARL compiler daemon if it is not running.
+	 * The daemon is launched in a separate Java virtual machine, with
+	 * the class path of this plugin.
+	 *
+	 * @throws MojoExecutionException - if the daemon cannot be launched.
+	 */
+	private void startDaemon() throws MojoExecutionException {
+		File stateFile = getDaemonStateFile();
+		synchronized (InitializeMojo.class) {
+			if (SarlCompilerDaemonClient.isRunning(stateFile)) {
+				return;
+			}
+			// The daemon that may be running is launched by another version of the plugin.
+			SarlCompilerDaemonClient.stop(stateFile);
+			getLog().info("Starting the SARL compiler daemon"); //$NON-NLS-1$
+			StringBuilder classpath = new StringBuilder();
+			ClassLoader loader = SarlCompilerDaemon.class.getClassLoader();
+			if (loader instanceof URLClassLoader) {
+				try {
+					for (URL url : ((URLClassLoader) loader).getURLs()) {
+						if (classpath.length() > 0) {
+							classpath.append(File.pathSeparator);
+						}
+						classpath.append(new File(url.toURI()).getAbsolutePath());
+					}
+				} catch (URISyntaxException e) {
+					throw new MojoExecutionException(e.getLocalizedMessage(), e);
+				}
+			}
+			File javaHome = new File(System.getProperty("java.home")); //$NON-NLS-1$
+			File java = new File(new File(javaHome, "bin"), "java"); //$NON-NLS-1$ //$NON-NLS-2$
+			ProcessBuilder builder = new ProcessBuilder(
+					java.getAbsolutePath(),
+					"-cp", //$NON-NLS-1$
+					classpath.toString(),
+					SarlCompilerDaemon.class.getName(),
+					stateFile.getAbsolutePath(),
+					Integer.toString(this.daemonIdleTime * MILLISECONDS_PER_MINUTE));
+			builder.redirectErrorStream(true);
+			stateFile.getParentFile().mkdirs();
+			builder.redirectOutput(new File(stateFile.getParentFile(), "compiler-daemon.log")); //$NON-NLS-1$
+			try {
+				builder.start();
+				long timeout = System.currentTimeMillis() + DAEMON_STARTUP_TIMEOUT;
+				while (!SarlCompilerDaemonClient.isRunning(stateFile) && System.currentTimeMillis() < timeout) {
+					Thread.sleep(DAEMON_STARTUP_POLLING_DELAY);
+				}
+			} catch (IOException | InterruptedException e) {
+				throw new MojoExecutionException(e.getLocalizedMessage(), e);
+			}
+		}
 	}
 
 }
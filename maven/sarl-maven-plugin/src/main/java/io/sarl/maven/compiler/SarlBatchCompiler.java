@@ -0,0 +1,467 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.maven.compiler;
+
+import io.sarl.lang.SARLStandaloneSetup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.common.types.access.impl.ClasspathTypeProvider;
+import org.eclipse.xtext.common.types.access.impl.IndexedJvmTypeAccess;
+import org.eclipse.xtext.common.types.access.impl.URIHelperConstants;
+import org.eclipse.xtext.diagnostics.Severity;
+import org.eclipse.xtext.generator.IFileSystemAccess;
+import org.eclipse.xtext.generator.IGenerator;
+import org.eclipse.xtext.resource.DerivedStateAwareResource;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.validation.CheckMode;
+import org.eclipse.xtext.validation.Issue;
+
+import com.google.inject.Injector;
+
+/** Compiler of SARL files that is running inside the Maven process.
+ * <p>
+ * The Guice injector of the SARL language is created once, and shared by all the
+ * compilers, i.e. by all the modules of a Maven reactor. The SARL files are loaded
+ * into a single resource set, and the generated Java code is given to the Java compiler
+ * without reading it again from the disk.
+ * <p>
+ * The compiler may be invoked several times, e.g. by the {@link SarlCompilerDaemon}.
+ * The SARL files that have not changed since the previous invocation are not loaded
+ * again; only their JVM elements are inferred again when other files have changed.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SarlBatchCompiler implements SarlCompiler {
+
+	private static final String SARL_FILE_EXTENSION = ".sarl"; //$NON-NLS-1$
+
+	private static final String JAVA_FILE_EXTENSION = ".java"; //$NON-NLS-1$
+
+	private static Injector injector;
+
+	private final CompilerMessageListener listener;
+
+	private final Charset charset;
+
+	private URLClassLoader classLoader;
+
+	private final XtextResourceSet resourceSet;
+
+	private final Map<File, String> generatedFiles = new TreeMap<>();
+
+	private final Map<URI, Long> loadedFiles = new HashMap<>();
+
+	/**
+	 * @param classpath - the class path of the SARL files.
+	 * @param encoding - the encoding of the SARL files, or <code>null</code> for the default encoding.
+	 * @param listener - the listener on the messages of the compiler.
+	 * @throws MalformedURLException - if an element of the class path cannot be converted to an URL.
+	 */
+	public SarlBatchCompiler(List<String> classpath, String encoding, CompilerMessageListener listener)
+			throws MalformedURLException {
+		this.listener = listener;
+		this.charset = (encoding == null || encoding.isEmpty()) ? Charset.defaultCharset() : Charset.forName(encoding);
+		this.resourceSet = getInjector().getInstance(XtextResourceSet.class);
+		this.resourceSet.getLoadOptions().put(XtextResource.OPTION_ENCODING, this.charset.name());
+		installClasspath(classpath);
+	}
+
+	/** Change the class path of the SARL files.
+	 * <p>
+	 * The JVM types that were loaded from the previous class path are unloaded,
+	 * and the JVM elements of the SARL files are inferred again. The SARL files
+	 * themselves are not loaded again.
+	 *
+	 * @param classpath - the new class path of the SARL files.
+	 * @throws IOException - if the previous class path cannot be closed, or if an element
+	 *     of the new class path cannot be converted to an URL.
+	 */
+	public void setClasspath(List<String> classpath) throws IOException {
+		Iterator<Resource> iterator = this.resourceSet.getResources().iterator();
+		while (iterator.hasNext()) {
+			Resource resource = iterator.next();
+			if (URIHelperConstants.PROTOCOL.equals(resource.getURI().scheme())) {
+				resource.unload();
+				iterator.remove();
+			} else if (resource instanceof DerivedStateAwareResource) {
+				((DerivedStateAwareResource) resource).discardDerivedState();
+			}
+		}
+		this.classLoader.close();
+		installClasspath(classpath);
+	}
+
+	private void installClasspath(List<String> classpath) throws MalformedURLException {
+		URL[] urls = new URL[classpath.size()];
+		for (int i = 0; i < urls.length; ++i) {
+			urls[i] = new File(classpath.get(i)).toURI().toURL();
+		}
+		this.classLoader = new URLClassLoader(urls, null);
+		this.resourceSet.setClasspathURIContext(this.classLoader);
+		// The type provider is registering itself into the resource set, in place of the previous one.
+		new ClasspathTypeProvider(this.classLoader, this.resourceSet, getInjector().getInstance(IndexedJvmTypeAccess.class));
+	}
+
+	/** Replies the injector of the SARL language.
+	 * The injector is created at the first call.
+	 *
+	 * @return the injector.
+	 */
+	public static synchronized Injector getInjector() {
+		if (injector == null) {
+			injector = new SARLStandaloneSetup().createInjectorAndDoEMFRegistration();
+		}
+		return injector;
+	}
+
+	/** Replies if the Java compiler is available in the current Java environment.
+	 *
+	 * @return <code>true</code> if the Java compiler is available.
+	 */
+	public static boolean isJavaCompilerAvailable() {
+		return ToolProvider.getSystemJavaCompiler() != null;
+	}
+
+	@Override
+	public boolean generate(File sourceFolder, Collection<String> sources, File outputFolder) throws IOException {
+		this.generatedFiles.clear();
+		List<String> files = new ArrayList<>();
+		listFiles(sourceFolder, "", SARL_FILE_EXTENSION, files); //$NON-NLS-1$
+
+		// Unload the SARL files that have changed since the previous invocation
+		boolean changed = false;
+		Set<URI> uris = new HashSet<>();
+		for (String file : files) {
+			File absoluteFile = new File(sourceFolder, file);
+			URI uri = URI.createFileURI(absoluteFile.getAbsolutePath());
+			uris.add(uri);
+			Long stamp = this.loadedFiles.get(uri);
+			if (stamp == null || stamp.longValue() != absoluteFile.lastModified()) {
+				changed |= unload(uri);
+				this.loadedFiles.put(uri, absoluteFile.lastModified());
+			}
+		}
+		Iterator<URI> iterator = this.loadedFiles.keySet().iterator();
+		while (iterator.hasNext()) {
+			URI uri = iterator.next();
+			if (!uris.contains(uri)) {
+				iterator.remove();
+				changed |= unload(uri);
+			}
+		}
+		if (changed) {
+			// The JVM elements of the other SARL files may depend on the changed files.
+			for (Resource resource : this.resourceSet.getResources()) {
+				if (resource instanceof DerivedStateAwareResource && uris.contains(resource.getURI())) {
+					((DerivedStateAwareResource) resource).discardDerivedState();
+				}
+			}
+		}
+
+		// Load the SARL files
+		List<Resource> resources = new ArrayList<>();
+		List<Resource> resourcesToGenerate = new ArrayList<>();
+		for (String file : files) {
+			URI uri = URI.createFileURI(new File(sourceFolder, file).getAbsolutePath());
+			Resource resource = this.resourceSet.getResource(uri, true);
+			resources.add(resource);
+			if (sources == null || sources.contains(file)) {
+				resourcesToGenerate.add(resource);
+			}
+		}
+
+		// Build the index of the exported elements
+		ResourceDescriptionsData index = ResourceDescriptionsData.ResourceSetAdapter.findResourceDescriptionsData(
+				this.resourceSet);
+		if (index == null) {
+			index = new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList());
+			ResourceDescriptionsData.ResourceSetAdapter.installResourceDescriptionsData(this.resourceSet, index);
+		}
+		for (Resource resource : resources) {
+			IResourceServiceProvider serviceProvider = ((XtextResource) resource).getResourceServiceProvider();
+			IResourceDescription description = serviceProvider.getResourceDescriptionManager().getResourceDescription(
+					resource);
+			index.addDescription(resource.getURI(), SerializableResourceDescription.createCopy(description));
+		}
+
+		for (URI uri : index.getAllURIs().toArray(new URI[0])) {
+			if (!uris.contains(uri)) {
+				index.removeDescription(uri);
+			}
+		}
+
+		// Validate the SARL files
+		boolean hasError = false;
+		for (Resource resource : resourcesToGenerate) {
+			IResourceServiceProvider serviceProvider = ((XtextResource) resource).getResourceServiceProvider();
+			List<Issue> issues = serviceProvider.getResourceValidator().validate(
+					resource, CheckMode.ALL, CancelIndicator.NullImpl);
+			for (Issue issue : issues) {
+				String message = issue.getUriToProblem().toFileString() + ":" //$NON-NLS-1$
+						+ issue.getLineNumber() + ": " + issue.getMessage(); //$NON-NLS-1$
+				if (issue.getSeverity() == Severity.ERROR) {
+					hasError = true;
+					this.listener.error(message);
+				} else if (issue.getSeverity() == Severity.WARNING) {
+					this.listener.warning(message);
+				} else {
+					this.listener.debug(message);
+				}
+			}
+		}
+		if (hasError) {
+			return false;
+		}
+
+		// Generate the Java code
+		IGenerator generator = getInjector().getInstance(IGenerator.class);
+		GeneratedFileCollector collector = new GeneratedFileCollector(outputFolder);
+		for (Resource resource : resourcesToGenerate) {
+			generator.doGenerate(resource, collector);
+		}
+		for (Map.Entry<File, String> generatedFile : collector.files.entrySet()) {
+			File file = generatedFile.getKey();
+			file.getParentFile().mkdirs();
+			try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), this.charset)) {
+				writer.write(generatedFile.getValue());
+			}
+			this.listener.debug("Generated: " + file); //$NON-NLS-1$
+		}
+		this.generatedFiles.putAll(collector.files);
+		return true;
+	}
+
+	@Override
+	public boolean compile(Collection<File> sourceFolders, List<String> classpath, File outputFolder,
+			String source, String target) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			this.listener.error("The Java compiler is not available"); //$NON-NLS-1$
+			return false;
+		}
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, this.charset)) {
+			List<JavaFileObject> compilationUnits = new ArrayList<>();
+			for (Map.Entry<File, String> generatedFile : this.generatedFiles.entrySet()) {
+				compilationUnits.add(new GeneratedJavaFile(generatedFile.getKey(), generatedFile.getValue()));
+			}
+			List<File> javaFiles = new ArrayList<>();
+			for (File sourceFolder : sourceFolders) {
+				List<String> files = new ArrayList<>();
+				listFiles(sourceFolder, "", JAVA_FILE_EXTENSION, files); //$NON-NLS-1$
+				for (String file : files) {
+					File javaFile = new File(sourceFolder, file).getAbsoluteFile();
+					if (!this.generatedFiles.containsKey(javaFile)) {
+						javaFiles.add(javaFile);
+					}
+				}
+			}
+			for (JavaFileObject javaFile : fileManager.getJavaFileObjectsFromFiles(javaFiles)) {
+				compilationUnits.add(javaFile);
+			}
+			if (compilationUnits.isEmpty()) {
+				return true;
+			}
+
+			outputFolder.mkdirs();
+			StringBuilder classpathOption = new StringBuilder();
+			for (String element : classpath) {
+				if (classpathOption.length() > 0) {
+					classpathOption.append(File.pathSeparator);
+				}
+				classpathOption.append(element);
+			}
+			List<String> options = new ArrayList<>();
+			options.add("-d"); //$NON-NLS-1$
+			options.add(outputFolder.getAbsolutePath());
+			options.add("-classpath"); //$NON-NLS-1$
+			options.add(classpathOption.toString());
+			options.add("-source"); //$NON-NLS-1$
+			options.add(source);
+			options.add("-target"); //$NON-NLS-1$
+			options.add(target);
+			options.add("-encoding"); //$NON-NLS-1$
+			options.add(this.charset.name());
+
+			boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, compilationUnits).call();
+			for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+				String message = ((diagnostic.getSource() == null) ? "" //$NON-NLS-1$
+						: diagnostic.getSource().getName() + ":" + diagnostic.getLineNumber() + ": ") //$NON-NLS-1$ //$NON-NLS-2$
+						+ diagnostic.getMessage(null);
+				switch (diagnostic.getKind()) {
+				case ERROR:
+					this.listener.error(message);
+					break;
+				case WARNING:
+				case MANDATORY_WARNING:
+					this.listener.warning(message);
+					break;
+				default:
+					this.listener.debug(message);
+				}
+			}
+			return success;
+		}
+	}
+
+	@Override
+	public void dispose() throws IOException {
+		for (Resource resource : this.resourceSet.getResources()) {
+			resource.unload();
+		}
+		this.resourceSet.getResources().clear();
+		this.resourceSet.eAdapters().clear();
+		this.generatedFiles.clear();
+		this.loadedFiles.clear();
+		this.classLoader.close();
+	}
+
+	private boolean unload(URI uri) {
+		Resource resource = this.resourceSet.getResource(uri, false);
+		if (resource != null) {
+			resource.unload();
+			this.resourceSet.getResources().remove(resource);
+			return true;
+		}
+		return false;
+	}
+
+	private static void listFiles(File folder, String relativePath, String extension, List<String> files) {
+		File[] children = folder.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				String path = relativePath + child.getName();
+				if (child.isDirectory()) {
+					listFiles(child, path + "/", extension, files); //$NON-NLS-1$
+				} else if (child.getName().endsWith(extension)) {
+					files.add(path);
+				}
+			}
+		}
+	}
+
+	/** Collector of the files that are generated by the SARL generator.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class GeneratedFileCollector implements IFileSystemAccess {
+
+		/** The generated files.
+		 */
+		final Map<File, String> files = new TreeMap<>();
+
+		private final File outputFolder;
+
+		/**
+		 * @param outputFolder - the folder in which the Java files are generated.
+		 */
+		GeneratedFileCollector(File outputFolder) {
+			this.outputFolder = outputFolder;
+		}
+
+		@Override
+		public void generateFile(String fileName, CharSequence contents) {
+			this.files.put(new File(this.outputFolder, fileName).getAbsoluteFile(), contents.toString());
+		}
+
+		@Override
+		public void generateFile(String fileName, String outputConfigurationName, CharSequence contents) {
+			generateFile(fileName, contents);
+		}
+
+		@Override
+		public void deleteFile(String fileName) {
+			File file = new File(this.outputFolder, fileName).getAbsoluteFile();
+			this.files.remove(file);
+			file.delete();
+		}
+
+	}
+
+	/** Java file that was generated by the SARL generator, and that is stored in memory.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class GeneratedJavaFile extends SimpleJavaFileObject {
+
+		private final String content;
+
+		/**
+		 * @param file - the generated file.
+		 * @param content - the content of the file.
+		 */
+		GeneratedJavaFile(File file, String content) {
+			super(file.toURI(), JavaFileObject.Kind.SOURCE);
+			this.content = content;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return this.content;
+		}
+
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.maven.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/** Compiler of SARL files and Java files that is not a Maven plugin.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see SarlBatchCompiler
+ * @see SarlCompilerDaemonClient
+ */
+public interface SarlCompiler {
+
+	/** Generate the Java code for the SARL files.
+	 * <p>
+	 * All the SARL files in the source folder are loaded for resolving the
+	 * references between them, but only the given files are validated and
+	 * generated.
+	 *
+	 * @param sourceFolder - the folder that contains the SARL files.
+	 * @param sources - the paths of the SARL files to generate, relatively to the source
+	 *     folder, or <code>null</code> for generating all the SARL files.
+	 * @param outputFolder - the folder in which the Java files are generated.
+	 * @return <code>true</code> if the Java code was generated; <code>false</code> if there is
+	 *     an error in the SARL files.
+	 * @throws IOException - if a generated file cannot be written.
+	 */
+	boolean generate(File sourceFolder, Collection<String> sources, File outputFolder) throws IOException;
+
+	/** Compile the Java files.
+	 * <p>
+	 * The Java files that were generated by {@link #generate(File, Collection, File)}
+	 * are given to the Java compiler from the memory. The other Java files are read
+	 * from the source folders.
+	 *
+	 * @param sourceFolders - the folders that contain the Java files.
+	 * @param classpath - the class path of the Java files.
+	 * @param outputFolder - the folder in which the class files are generated.
+	 * @param source - the version of the Java language of the Java files.
+	 * @param target - the version of the Java virtual machine for the class files.
+	 * @return <code>true</code> if the Java files were compiled; <code>false</code> if there is
+	 *     an error in the Java files.
+	 * @throws IOException - if a Java file cannot be read or a class file cannot be written.
+	 */
+	boolean compile(Collection<File> sourceFolders, List<String> classpath, File outputFolder,
+			String source, String target) throws IOException;
+
+	/** Release the resources of the compiler.
+	 *
+	 * @throws IOException - if the resources cannot be released.
+	 */
+	void dispose() throws IOException;
+
+}
@@ -0,0 +1,584 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.maven.compiler;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Properties;
+import java.util.ResourceBundle;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/** Long-lived compiler of SARL files that is reached through a local socket.
+ * <p>
+ * The daemon keeps one {@link SarlBatchCompiler} per project. The injector of
+ * the SARL language, the JVM types of the class path, and the SARL files that
+ * have not changed are kept in memory between two builds of the project.
+ * The JVM types are loaded again when a file of the class path has changed,
+ * including the files in the folders of the class path, e.g. the classes of
+ * another module of the reactor. The compiler of a project is disposed when
+ * the project was not built for the idle time of the daemon, or when more than
+ * {@value #MAX_PROJECTS} projects were built after it.
+ * <p>
+ * The daemon is listening on the loopback interface only. Its port and a secret
+ * token are written into a state file that is readable by the current user only.
+ * A request that does not start with the token is ignored. The daemon stops when
+ * it has not received a request for the given idle time. The clients do not use a daemon
+ * that was launched by another version of the plugin: the version of the client is
+ * checked by the <code>PING</code> command.
+ * <p>
+ * A request is a sequence of lines: the token, the command, the parameters
+ * of the command with the format <code>name TAB value</code>, and the end tag.
+ * The daemon replies the messages of the compiler with the same format, and the
+ * result of the command. The failures of a command are replied to the client as
+ * error messages. The failures that cannot be replied, e.g. a closed connection,
+ * are logged by the daemon; when it is launched by the
+ * {@link InitializeMojo}, the log is written into the <code>compiler-daemon.log</code>
+ * file, next to the state file.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see SarlCompilerDaemonClient
+ */
+public final class SarlCompilerDaemon {
+
+	/** Name of the property that contains the port of the daemon in the state file.
+	 */
+	static final String PORT_PROPERTY = "port"; //$NON-NLS-1$
+
+	/** Name of the property that contains the token of the daemon in the state file.
+	 */
+	static final String TOKEN_PROPERTY = "token"; //$NON-NLS-1$
+
+	/** Command for checking if the daemon is running.
+	 */
+	static final String PING_COMMAND = "PING"; //$NON-NLS-1$
+
+	/** Command for generating the Java code of the SARL files.
+	 */
+	static final String GENERATE_COMMAND = "GENERATE"; //$NON-NLS-1$
+
+	/** Command for compiling the Java files.
+	 */
+	static final String COMPILE_COMMAND = "COMPILE"; //$NON-NLS-1$
+
+	/** Command for stopping the daemon.
+	 */
+	static final String STOP_COMMAND = "STOP"; //$NON-NLS-1$
+
+	/** Tag that is ending a request.
+	 */
+	static final String END_TAG = "END"; //$NON-NLS-1$
+
+	/** Parameter that contains the version of the plugin of the client.
+	 */
+	static final String VERSION_PARAMETER = "version"; //$NON-NLS-1$
+
+	/** Parameter that contains the identifier of the project.
+	 */
+	static final String PROJECT_PARAMETER = "project"; //$NON-NLS-1$
+
+	/** Parameter that contains the encoding of the files.
+	 */
+	static final String ENCODING_PARAMETER = "encoding"; //$NON-NLS-1$
+
+	/** Parameter that contains an element of the class path.
+	 */
+	static final String CLASSPATH_PARAMETER = "classpath"; //$NON-NLS-1$
+
+	/** Parameter that contains the folder of the compiled classes of the project.
+	 * This folder is in the class path, but it is changed by each build of the project,
+	 * and it is ignored when the daemon is checking if the class path has changed.
+	 */
+	static final String CLASSES_FOLDER_PARAMETER = "classesFolder"; //$NON-NLS-1$
+
+	/** Parameter that contains a source folder.
+	 */
+	static final String SOURCE_FOLDER_PARAMETER = "sourceFolder"; //$NON-NLS-1$
+
+	/** Parameter that contains the output folder.
+	 */
+	static final String OUTPUT_FOLDER_PARAMETER = "outputFolder"; //$NON-NLS-1$
+
+	/** Parameter that contains a SARL file to generate.
+	 */
+	static final String FILE_PARAMETER = "file"; //$NON-NLS-1$
+
+	/** Parameter that contains the version of the Java language.
+	 */
+	static final String SOURCE_VERSION_PARAMETER = "source"; //$NON-NLS-1$
+
+	/** Parameter that contains the version of the Java virtual machine.
+	 */
+	static final String TARGET_VERSION_PARAMETER = "target"; //$NON-NLS-1$
+
+	/** Reply that contains an error message.
+	 */
+	static final String ERROR_REPLY = "ERROR"; //$NON-NLS-1$
+
+	/** Reply that contains a warning message.
+	 */
+	static final String WARNING_REPLY = "WARNING"; //$NON-NLS-1$
+
+	/** Reply that contains a debug message.
+	 */
+	static final String DEBUG_REPLY = "DEBUG"; //$NON-NLS-1$
+
+	/** Reply that contains the result of the command.
+	 */
+	static final String RESULT_REPLY = "RESULT"; //$NON-NLS-1$
+
+	/** Result of a successful command.
+	 */
+	static final String SUCCESS_RESULT = "OK"; //$NON-NLS-1$
+
+	/** Result of a failed command.
+	 */
+	static final String FAILURE_RESULT = "FAILURE"; //$NON-NLS-1$
+
+	/** Separator between the name and the value of a parameter.
+	 */
+	static final char SEPARATOR = '\t';
+
+	/** Charset of the requests and the replies.
+	 */
+	static final Charset CHARSET = Charset.forName("UTF-8"); //$NON-NLS-1$
+
+	private static final int TOKEN_SIZE = 32;
+
+	private static final int HEX_MASK = 0xFF;
+
+	private static final int HEX_BASE = 0x100;
+
+	private static final int HEX_RADIX = 16;
+
+	private static final int BACKLOG = 16;
+
+	/** Maximal number of projects for which a compiler is kept in memory.
+	 */
+	static final int MAX_PROJECTS = 16;
+
+	private static final float DEFAULT_LOAD_FACTOR = .75f;
+
+	private static final String CONFIG_BUNDLE = "io/sarl/maven/compiler/config"; //$NON-NLS-1$
+
+	private static final String PLUGIN_VERSION_KEY = "plugin.version"; //$NON-NLS-1$
+
+	private static final Logger LOG = Logger.getLogger(SarlCompilerDaemon.class.getName());
+
+	private final File stateFile;
+
+	private final String token;
+
+	private final String version = getPluginVersion();
+
+	private final Map<String, ProjectCompiler> compilers = new LinkedHashMap<String, ProjectCompiler>(
+			MAX_PROJECTS, DEFAULT_LOAD_FACTOR, true) {
+		private static final long serialVersionUID = -2545349380165316658L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ProjectCompiler> eldest) {
+			if (size() > MAX_PROJECTS) {
+				dispose(eldest.getValue());
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private int idleTime;
+
+	private boolean running = true;
+
+	private SarlCompilerDaemon(File stateFile) {
+		this.stateFile = stateFile;
+		byte[] bytes = new byte[TOKEN_SIZE];
+		new SecureRandom().nextBytes(bytes);
+		StringBuilder buffer = new StringBuilder();
+		for (byte b : bytes) {
+			buffer.append(Integer.toString((b & HEX_MASK) + HEX_BASE, HEX_RADIX).substring(1));
+		}
+		this.token = buffer.toString();
+	}
+
+	/** Replies the version of the plugin that contains the daemon.
+	 *
+	 * @return the version, or the empty string if it is unknown.
+	 */
+	static String getPluginVersion() {
+		try {
+			return ResourceBundle.getBundle(CONFIG_BUNDLE, Locale.getDefault(),
+					SarlCompilerDaemon.class.getClassLoader()).getString(PLUGIN_VERSION_KEY);
+		} catch (MissingResourceException e) {
+			return ""; //$NON-NLS-1$
+		}
+	}
+
+	/** Launch the daemon.
+	 *
+	 * @param args - the path to the state file, and the idle time in milliseconds.
+	 * @throws IOException - if the daemon cannot be launched.
+	 */
+	public static void main(String[] args) throws IOException {
+		new SarlCompilerDaemon(new File(args[0])).run(Integer.parseInt(args[1]));
+	}
+
+	private void run(int idleTime) throws IOException {
+		this.idleTime = idleTime;
+		try (ServerSocket server = new ServerSocket(0, BACKLOG, InetAddress.getLoopbackAddress())) {
+			server.setSoTimeout(idleTime);
+			writeStateFile(server.getLocalPort());
+			// Create the injector before the first request
+			SarlBatchCompiler.getInjector();
+			while (this.running) {
+				try (Socket socket = server.accept()) {
+					processRequest(socket);
+				} catch (SocketTimeoutException e) {
+					this.running = false;
+				} catch (IOException e) {
+					// The connection with the client is broken: the error cannot be replied.
+					LOG.log(Level.WARNING, "Cannot process the request: " + e.getLocalizedMessage(), e); //$NON-NLS-1$
+				} catch (Throwable e) {
+					LOG.log(Level.SEVERE, "Unexpected error in the compiler daemon: " //$NON-NLS-1$
+							+ e.getLocalizedMessage(), e);
+				}
+			}
+		} finally {
+			deleteStateFile();
+			for (ProjectCompiler compiler : this.compilers.values()) {
+				dispose(compiler);
+			}
+		}
+	}
+
+	private void writeStateFile(int port) throws IOException {
+		this.stateFile.getParentFile().mkdirs();
+		Files.deleteIfExists(this.stateFile.toPath());
+		Files.createFile(this.stateFile.toPath());
+		try {
+			Files.setPosixFilePermissions(this.stateFile.toPath(), PosixFilePermissions.fromString("rw-------")); //$NON-NLS-1$
+		} catch (UnsupportedOperationException e) {
+			this.stateFile.setReadable(false, false);
+			this.stateFile.setReadable(true, true);
+		}
+		Properties properties = new Properties();
+		properties.setProperty(PORT_PROPERTY, Integer.toString(port));
+		properties.setProperty(TOKEN_PROPERTY, this.token);
+		try (OutputStream stream = Files.newOutputStream(this.stateFile.toPath())) {
+			properties.store(stream, "SARL compiler daemon"); //$NON-NLS-1$
+		}
+	}
+
+	private void deleteStateFile() throws IOException {
+		// The state file may have been replaced by another daemon.
+		Properties properties = new Properties();
+		try (InputStream stream = Files.newInputStream(this.stateFile.toPath())) {
+			properties.load(stream);
+		} catch (NoSuchFileException e) {
+			return;
+		}
+		if (this.token.equals(properties.getProperty(TOKEN_PROPERTY))) {
+			Files.deleteIfExists(this.stateFile.toPath());
+		}
+	}
+
+	private void processRequest(Socket socket) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), CHARSET));
+		final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), CHARSET));
+		if (!this.token.equals(reader.readLine())) {
+			return;
+		}
+		String command = reader.readLine();
+		Map<String, List<String>> parameters = new HashMap<>();
+		String line = reader.readLine();
+		while (line != null && !END_TAG.equals(line)) {
+			int index = line.indexOf(SEPARATOR);
+			if (index > 0) {
+				String name = line.substring(0, index);
+				List<String> values = parameters.get(name);
+				if (values == null) {
+					values = new ArrayList<>();
+					parameters.put(name, values);
+				}
+				values.add(line.substring(index + 1));
+			}
+			line = reader.readLine();
+		}
+
+		CompilerMessageListener listener = new CompilerMessageListener() {
+			@Override
+			public void error(String message) {
+				reply(writer, ERROR_REPLY, message);
+			}
+
+			@Override
+			public void warning(String message) {
+				reply(writer, WARNING_REPLY, message);
+			}
+
+			@Override
+			public void debug(String message) {
+				reply(writer, DEBUG_REPLY, message);
+			}
+		};
+
+		boolean success = true;
+		try {
+			if (STOP_COMMAND.equals(command)) {
+				this.running = false;
+			} else if (GENERATE_COMMAND.equals(command)) {
+				ProjectCompiler compiler = getCompiler(parameters, listener);
+				List<String> files = parameters.get(FILE_PARAMETER);
+				success = compiler.compiler.generate(
+						new File(getParameter(parameters, SOURCE_FOLDER_PARAMETER)),
+						files,
+						new File(getParameter(parameters, OUTPUT_FOLDER_PARAMETER)));
+			} else if (COMPILE_COMMAND.equals(command)) {
+				ProjectCompiler compiler = getCompiler(parameters, listener);
+				List<File> sourceFolders = new ArrayList<>();
+				List<String> folders = parameters.get(SOURCE_FOLDER_PARAMETER);
+				if (folders != null) {
+					for (String folder : folders) {
+						sourceFolders.add(new File(folder));
+					}
+				}
+				success = compiler.compiler.compile(
+						sourceFolders,
+						compiler.classpath,
+						new File(getParameter(parameters, OUTPUT_FOLDER_PARAMETER)),
+						getParameter(parameters, SOURCE_VERSION_PARAMETER),
+						getParameter(parameters, TARGET_VERSION_PARAMETER));
+			} else if (PING_COMMAND.equals(command)) {
+				List<String> versions = parameters.get(VERSION_PARAMETER);
+				if (versions != null && !versions.contains(this.version)) {
+					listener.error("The SARL compiler daemon has the version " + this.version); //$NON-NLS-1$
+					success = false;
+				}
+			} else {
+				listener.error("Unknown command: " + command); //$NON-NLS-1$
+				success = false;
+			}
+		} catch (Throwable e) {
+			listener.error(e.toString());
+			success = false;
+		}
+		reply(writer, RESULT_REPLY, success ? SUCCESS_RESULT : FAILURE_RESULT);
+		writer.flush();
+	}
+
+	private static String getParameter(Map<String, List<String>> parameters, String name) {
+		List<String> values = parameters.get(name);
+		if (values == null || values.isEmpty()) {
+			throw new IllegalArgumentException("Missing parameter: " + name); //$NON-NLS-1$
+		}
+		return values.get(0);
+	}
+
+	private static void reply(Writer writer, String type, String message) {
+		try {
+			writer.write(type);
+			writer.write(SEPARATOR);
+			// A message must be on a single line
+			writer.write(message.replace('\n', ' ').replace('\r', ' '));
+			writer.write('\n');
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private ProjectCompiler getCompiler(Map<String, List<String>> parameters,
+			CompilerMessageListener listener) throws IOException {
+		// The compilers of the projects that were not built for a long time are disposed.
+		long now = System.currentTimeMillis();
+		Iterator<ProjectCompiler> iterator = this.compilers.values().iterator();
+		while (iterator.hasNext()) {
+			ProjectCompiler compiler = iterator.next();
+			if (now - compiler.lastUse > this.idleTime) {
+				iterator.remove();
+				dispose(compiler);
+			}
+		}
+
+		// A new compiler is created when the project was never compiled, or when its encoding has changed.
+		// The JVM types are loaded again when the class path has changed.
+		String project = getParameter(parameters, PROJECT_PARAMETER);
+		String encoding = getParameter(parameters, ENCODING_PARAMETER);
+		List<String> classpath = parameters.get(CLASSPATH_PARAMETER);
+		if (classpath == null) {
+			classpath = new ArrayList<>();
+		}
+		List<File> classpathFiles = new ArrayList<>(classpath.size());
+		for (String element : classpath) {
+			classpathFiles.add(new File(element));
+		}
+		List<String> classesFolder = parameters.get(CLASSES_FOLDER_PARAMETER);
+		List<File> excludedFolders = new ArrayList<>();
+		if (classesFolder != null) {
+			for (String folder : classesFolder) {
+				excludedFolders.add(new File(folder));
+			}
+		}
+		String fingerprint = CompilationIndex.computeEnvironment(encoding, classpathFiles,
+				Collections.<File>emptyList(), excludedFolders);
+		ProjectCompiler compiler = this.compilers.get(project);
+		if (compiler != null && !compiler.encoding.equals(encoding)) {
+			this.compilers.remove(project);
+			dispose(compiler);
+			compiler = null;
+		}
+		if (compiler == null) {
+			MessageForwarder forwarder = new MessageForwarder();
+			compiler = new ProjectCompiler(encoding, forwarder, new SarlBatchCompiler(classpath, encoding, forwarder));
+			this.compilers.put(project, compiler);
+		} else if (!compiler.fingerprint.equals(fingerprint)) {
+			compiler.compiler.setClasspath(classpath);
+		}
+		compiler.fingerprint = fingerprint;
+		compiler.classpath = classpath;
+		compiler.lastUse = now;
+		compiler.forwarder.setListener(listener);
+		return compiler;
+	}
+
+	private static void dispose(ProjectCompiler compiler) {
+		try {
+			compiler.compiler.dispose();
+		} catch (IOException e) {
+			LOG.log(Level.WARNING, "Cannot dispose the compiler: " + e.getLocalizedMessage(), e); //$NON-NLS-1$
+		}
+	}
+
+	/** Compiler of a project.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class ProjectCompiler {
+
+		/** Encoding of the SARL files of the project.
+		 */
+		final String encoding;
+
+		/** Fingerprint of the encoding and the class path of the project.
+		 */
+		String fingerprint;
+
+		/** The class path of the project.
+		 */
+		List<String> classpath;
+
+		/** Date of the last request for the project.
+		 */
+		long lastUse;
+
+		/** Listener on the messages of the compiler.
+		 */
+		final MessageForwarder forwarder;
+
+		/** The compiler.
+		 */
+		final SarlBatchCompiler compiler;
+
+		/**
+		 * @param encoding - the encoding of the SARL files of the project.
+		 * @param forwarder - the listener on the messages of the compiler.
+		 * @param compiler - the compiler.
+		 */
+		ProjectCompiler(String encoding, MessageForwarder forwarder, SarlBatchCompiler compiler) {
+			this.encoding = encoding;
+			this.forwarder = forwarder;
+			this.compiler = compiler;
+		}
+
+	}
+
+	/** Listener that forwards the messages to the listener of the current request.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class MessageForwarder implements CompilerMessageListener {
+
+		private CompilerMessageListener listener;
+
+		/**
+		 */
+		MessageForwarder() {
+			//
+		}
+
+		/** Change the listener of the current request.
+		 *
+		 * @param listener - the listener.
+		 */
+		void setListener(CompilerMessageListener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void error(String message) {
+			this.listener.error(message);
+		}
+
+		@Override
+		public void warning(String message) {
+			this.listener.warning(message);
+		}
+
+		@Override
+		public void debug(String message) {
+			this.listener.debug(message);
+		}
+
+	}
+
+}
@@ -0,0 +1,259 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.maven.compiler;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+
+/** Client of the {@link SarlCompilerDaemon}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SarlCompilerDaemonClient implements SarlCompiler {
+
+	private static final int CONNECTION_TIMEOUT = 1000;
+
+	private static final CompilerMessageListener NULL_LISTENER = new CompilerMessageListener() {
+		@Override
+		public void error(String message) {
+			//
+		}
+
+		@Override
+		public void warning(String message) {
+			//
+		}
+
+		@Override
+		public void debug(String message) {
+			//
+		}
+	};
+
+	private final int port;
+
+	private final String token;
+
+	private final String project;
+
+	private final String encoding;
+
+	private final List<String> classpath;
+
+	private final File classesFolder;
+
+	private final CompilerMessageListener listener;
+
+	/**
+	 * @param port - the port of the daemon.
+	 * @param token - the token of the daemon.
+	 * @param project - the identifier of the project.
+	 * @param classpath - the class path of the SARL files.
+	 * @param classesFolder - the folder of the compiled classes of the project, or <code>null</code>.
+	 * @param encoding - the encoding of the SARL files.
+	 * @param listener - the listener on the messages of the compiler.
+	 */
+	protected SarlCompilerDaemonClient(int port, String token, String project, List<String> classpath,
+			File classesFolder, String encoding, CompilerMessageListener listener) {
+		this.port = port;
+		this.token = token;
+		this.project = project;
+		this.classpath = classpath;
+		this.classesFolder = classesFolder;
+		this.encoding = (encoding == null) ? "" : encoding; //$NON-NLS-1$
+		this.listener = listener;
+	}
+
+	/** Connect to the daemon that is described by the given state file.
+	 *
+	 * @param stateFile - the state file of the daemon.
+	 * @param project - the identifier of the project.
+	 * @param classpath - the class path of the SARL files.
+	 * @param classesFolder - the folder of the compiled classes of the project, or <code>null</code>.
+	 * @param encoding - the encoding of the SARL files.
+	 * @param listener - the listener on the messages of the compiler.
+	 * @return the client; or <code>null</code> if the daemon is not running.
+	 */
+	public static SarlCompilerDaemonClient connect(File stateFile, String project, List<String> classpath,
+			File classesFolder, String encoding, CompilerMessageListener listener) {
+		if (stateFile.isFile()) {
+			try {
+				Properties properties = new Properties();
+				try (InputStream stream = Files.newInputStream(stateFile.toPath())) {
+					properties.load(stream);
+				}
+				SarlCompilerDaemonClient client = new SarlCompilerDaemonClient(
+						Integer.parseInt(properties.getProperty(SarlCompilerDaemon.PORT_PROPERTY)),
+						properties.getProperty(SarlCompilerDaemon.TOKEN_PROPERTY),
+						project, classpath, classesFolder, encoding, listener);
+				// The daemon that was launched by another version of the plugin is not used.
+				List<String> parameters = new ArrayList<>();
+				addParameter(parameters, SarlCompilerDaemon.VERSION_PARAMETER, SarlCompilerDaemon.getPluginVersion());
+				if (client.request(SarlCompilerDaemon.PING_COMMAND, parameters)) {
+					return client;
+				}
+			} catch (IOException | RuntimeException e) {
+				listener.debug(e.toString());
+			}
+		}
+		return null;
+	}
+
+	/** Replies if the daemon that is described by the given state file is running.
+	 *
+	 * @param stateFile - the state file of the daemon.
+	 * @return <code>true</code> if the daemon is running.
+	 */
+	public static boolean isRunning(File stateFile) {
+		return connect(stateFile, "", new ArrayList<String>(), null, null, NULL_LISTENER) != null; //$NON-NLS-1$
+	}
+
+	/** Stop the daemon that is described by the given state file, whatever its version.
+	 *
+	 * @param stateFile - the state file of the daemon.
+	 */
+	public static void stop(File stateFile) {
+		if (stateFile.isFile()) {
+			try {
+				Properties properties = new Properties();
+				try (InputStream stream = Files.newInputStream(stateFile.toPath())) {
+					properties.load(stream);
+				}
+				SarlCompilerDaemonClient client = new SarlCompilerDaemonClient(
+						Integer.parseInt(properties.getProperty(SarlCompilerDaemon.PORT_PROPERTY)),
+						properties.getProperty(SarlCompilerDaemon.TOKEN_PROPERTY),
+						"", new ArrayList<String>(), null, null, NULL_LISTENER); //$NON-NLS-1$
+				client.request(SarlCompilerDaemon.STOP_COMMAND, new ArrayList<String>());
+			} catch (IOException | RuntimeException e) {
+				// The daemon is not running
+			}
+		}
+	}
+
+	@Override
+	public boolean generate(File sourceFolder, Collection<String> sources, File outputFolder) throws IOException {
+		if (sources != null && sources.isEmpty()) {
+			return true;
+		}
+		List<String> parameters = new ArrayList<>();
+		addProjectParameters(parameters, this.classpath);
+		addParameter(parameters, SarlCompilerDaemon.SOURCE_FOLDER_PARAMETER, sourceFolder.getAbsolutePath());
+		addParameter(parameters, SarlCompilerDaemon.OUTPUT_FOLDER_PARAMETER, outputFolder.getAbsolutePath());
+		if (sources != null) {
+			for (String source : sources) {
+				addParameter(parameters, SarlCompilerDaemon.FILE_PARAMETER, source);
+			}
+		}
+		return request(SarlCompilerDaemon.GENERATE_COMMAND, parameters);
+	}
+
+	@Override
+	public boolean compile(Collection<File> sourceFolders, List<String> classpath, File outputFolder,
+			String source, String target) throws IOException {
+		List<String> parameters = new ArrayList<>();
+		addProjectParameters(parameters, classpath);
+		for (File sourceFolder : sourceFolders) {
+			addParameter(parameters, SarlCompilerDaemon.SOURCE_FOLDER_PARAMETER, sourceFolder.getAbsolutePath());
+		}
+		addParameter(parameters, SarlCompilerDaemon.OUTPUT_FOLDER_PARAMETER, outputFolder.getAbsolutePath());
+		addParameter(parameters, SarlCompilerDaemon.SOURCE_VERSION_PARAMETER, source);
+		addParameter(parameters, SarlCompilerDaemon.TARGET_VERSION_PARAMETER, target);
+		return request(SarlCompilerDaemon.COMPILE_COMMAND, parameters);
+	}
+
+	@Override
+	public void dispose() {
+		// The compiler of the project is kept by the daemon.
+	}
+
+	private void addProjectParameters(List<String> parameters, List<String> projectClasspath) {
+		addParameter(parameters, SarlCompilerDaemon.PROJECT_PARAMETER, this.project);
+		addParameter(parameters, SarlCompilerDaemon.ENCODING_PARAMETER, this.encoding);
+		if (this.classesFolder != null) {
+			addParameter(parameters, SarlCompilerDaemon.CLASSES_FOLDER_PARAMETER, this.classesFolder.getAbsolutePath());
+		}
+		for (String element : projectClasspath) {
+			addParameter(parameters, SarlCompilerDaemon.CLASSPATH_PARAMETER, element);
+		}
+	}
+
+	private static void addParameter(List<String> parameters, String name, String value) {
+		parameters.add(name + SarlCompilerDaemon.SEPARATOR + value);
+	}
+
+	private boolean request(String command, List<String> parameters) throws IOException {
+		try (Socket socket = new Socket()) {
+			socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), this.port), CONNECTION_TIMEOUT);
+			BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+					socket.getOutputStream(), SarlCompilerDaemon.CHARSET));
+			writer.write(this.token);
+			writer.write('\n');
+			writer.write(command);
+			writer.write('\n');
+			for (String parameter : parameters) {
+				writer.write(parameter);
+				writer.write('\n');
+			}
+			writer.write(SarlCompilerDaemon.END_TAG);
+			writer.write('\n');
+			writer.flush();
+
+			BufferedReader reader = new BufferedReader(new InputStreamReader(
+					socket.getInputStream(), SarlCompilerDaemon.CHARSET));
+			String line = reader.readLine();
+			while (line != null) {
+				int index = line.indexOf(SarlCompilerDaemon.SEPARATOR);
+				if (index > 0) {
+					String type = line.substring(0, index);
+					String value = line.substring(index + 1);
+					if (SarlCompilerDaemon.RESULT_REPLY.equals(type)) {
+						return SarlCompilerDaemon.SUCCESS_RESULT.equals(value);
+					} else if (SarlCompilerDaemon.ERROR_REPLY.equals(type)) {
+						this.listener.error(value);
+					} else if (SarlCompilerDaemon.WARNING_REPLY.equals(type)) {
+						this.listener.warning(value);
+					} else {
+						this.listener.debug(value);
+					}
+				}
+				line = reader.readLine();
+			}
+			throw new IOException("The connection with the SARL compiler daemon was closed"); //$NON-NLS-1$
+		}
+	}
+
+}
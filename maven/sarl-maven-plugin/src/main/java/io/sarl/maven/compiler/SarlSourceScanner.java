@@ -0,0 +1,165 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.maven.compiler;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/** Lexical scanner of the SARL files that is used by the incremental compilation.
+ * <p>
+ * The scanner does not parse the SARL files. It extracts from a file the
+ * fingerprint of its content, the names of the types that are declared in it,
+ * and the identifiers that are used in it. These identifiers are a super-set
+ * of the names of the types that are referenced by the file.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public final class SarlSourceScanner {
+
+	private static final String HASH_ALGORITHM = "SHA-1"; //$NON-NLS-1$
+
+	private static final String PACKAGE_KEYWORD = "package"; //$NON-NLS-1$
+
+	private static final int HEX_MASK = 0xFF;
+
+	private static final int HEX_BASE = 0x100;
+
+	private static final int HEX_RADIX = 16;
+
+	private static final Set<String> TYPE_KEYWORDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			"agent", "behavior", "capacity", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"skill", "event", "class", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"interface", "enum", "annotation"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private SarlSourceScanner() {
+		//
+	}
+
+	/** Compute the fingerprint of the given content.
+	 *
+	 * @param content - the content.
+	 * @return the fingerprint.
+	 */
+	public static String fingerprint(byte[] content) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+			StringBuilder hash = new StringBuilder();
+			for (byte b : digest.digest(content)) {
+				hash.append(Integer.toString((b & HEX_MASK) + HEX_BASE, HEX_RADIX).substring(1));
+			}
+			return hash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** Scan the given SARL content.
+	 *
+	 * @param content - the content of the SARL file.
+	 * @param charset - the encoding of the content.
+	 * @return the description of the SARL file.
+	 */
+	public static CompilationIndex.SourceEntry scan(byte[] content, Charset charset) {
+		CompilationIndex.SourceEntry entry = new CompilationIndex.SourceEntry(fingerprint(content));
+		String text = new String(content, charset);
+		String packageName = null;
+		String previousIdentifier = null;
+		StringBuilder qualifiedName = null;
+		int i = 0;
+		int length = text.length();
+		while (i < length) {
+			char c = text.charAt(i);
+			if (c == '/' && i + 1 < length && text.charAt(i + 1) == '/') {
+				i = skipUntil(text, i + 2, "\n"); //$NON-NLS-1$
+			} else if (c == '/' && i + 1 < length && text.charAt(i + 1) == '*') {
+				i = skipUntil(text, i + 2, "*/"); //$NON-NLS-1$
+			} else if (c == '"' || c == '\'') {
+				i = skipString(text, i + 1, c);
+				previousIdentifier = null;
+			} else if (c == '^' || Character.isJavaIdentifierStart(c)) {
+				int start = (c == '^') ? i + 1 : i;
+				i = start;
+				while (i < length && Character.isJavaIdentifierPart(text.charAt(i))) {
+					++i;
+				}
+				String identifier = text.substring(start, i);
+				if (qualifiedName != null && qualifiedName.charAt(qualifiedName.length() - 1) != '.') {
+					packageName = qualifiedName.toString();
+					qualifiedName = null;
+				}
+				if (qualifiedName != null) {
+					qualifiedName.append(identifier);
+				} else if (PACKAGE_KEYWORD.equals(previousIdentifier) && packageName == null) {
+					qualifiedName = new StringBuilder(identifier);
+				} else if (previousIdentifier != null && TYPE_KEYWORDS.contains(previousIdentifier)) {
+					entry.getDeclaredTypes().add(packageName == null || packageName.isEmpty()
+							? identifier : packageName + "." + identifier); //$NON-NLS-1$
+				}
+				if (!identifier.isEmpty()) {
+					entry.getReferences().add(identifier);
+				}
+				previousIdentifier = identifier;
+			} else {
+				if (qualifiedName != null && c == '.') {
+					qualifiedName.append(c);
+				} else if (qualifiedName != null && !Character.isWhitespace(c)) {
+					packageName = qualifiedName.toString();
+					qualifiedName = null;
+				}
+				if (!Character.isWhitespace(c)) {
+					previousIdentifier = null;
+				}
+				++i;
+			}
+		}
+		return entry;
+	}
+
+	private static int skipUntil(String text, int start, String end) {
+		int index = text.indexOf(end, start);
+		return (index < 0) ? text.length() : index + end.length();
+	}
+
+	private static int skipString(String text, int start, char delimiter) {
+		int i = start;
+		int length = text.length();
+		while (i < length) {
+			char c = text.charAt(i);
+			if (c == '\\') {
+				i += 2;
+			} else if (c == delimiter) {
+				return i + 1;
+			} else {
+				++i;
+			}
+		}
+		return length;
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.maven.compiler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class CompilationIndexTest {
+
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private File sourceFolder;
+
+	private File generatedFolder;
+
+	private File classesFolder;
+
+	private File dependency;
+
+	private File indexFile;
+
+	@Before
+	public void setUp() throws IOException {
+		this.sourceFolder = this.folder.newFolder("src", "main", "sarl");
+		this.generatedFolder = this.folder.newFolder("src", "main", "generated-sources", "sarl");
+		this.classesFolder = this.folder.newFolder("target", "classes");
+		this.dependency = this.folder.newFile("dependency.jar");
+		Files.write(this.dependency.toPath(), new byte[] {1, 2, 3});
+		this.indexFile = new File(this.folder.getRoot(), "target/sarl-incremental/index.txt");
+		write("A.sarl", "package io.sarl.tests\nevent A\n");
+		write("B.sarl", "package io.sarl.tests\nagent B {\n\ton A {\n\t}\n}\n");
+		write("C.sarl", "package io.sarl.tests\nevent C\n");
+	}
+
+	private void write(String filename, String content) throws IOException {
+		Files.write(new File(this.sourceFolder, filename).toPath(), content.getBytes(CHARSET));
+	}
+
+	/** Run the same steps as the incremental compilation of the SARL mojo, and simulate
+	 * the generation of the Java files and the compilation of the classes.
+	 */
+	private Set<String> build() throws IOException {
+		CompilationIndex previousIndex = CompilationIndex.load(this.indexFile);
+		CompilationIndex currentIndex = new CompilationIndex();
+		for (File file : this.sourceFolder.listFiles()) {
+			currentIndex.getSources().put(file.getName(),
+					SarlSourceScanner.scan(Files.readAllBytes(file.toPath()), CHARSET));
+		}
+		currentIndex.setEnvironment(CompilationIndex.computeEnvironment("1.7;1.7;UTF-8",
+				Arrays.asList(this.classesFolder, this.dependency),
+				Arrays.asList(this.sourceFolder, this.generatedFolder),
+				Arrays.asList(this.sourceFolder, this.generatedFolder, this.classesFolder)));
+		Set<String> dirtySources = currentIndex.getDirtySources(previousIndex, this.generatedFolder);
+		for (String dirtySource : dirtySources) {
+			for (String type : currentIndex.getSources().get(dirtySource).getDeclaredTypes()) {
+				String path = type.replace('.', '/');
+				generate(new File(this.generatedFolder, path + ".java"));
+				generate(new File(this.classesFolder, path + ".class"));
+			}
+		}
+		for (Map.Entry<String, CompilationIndex.SourceEntry> source : currentIndex.getSources().entrySet()) {
+			source.getValue().detectGeneratedFiles(this.generatedFolder);
+		}
+		currentIndex.save(this.indexFile);
+		return dirtySources;
+	}
+
+	private static void generate(File file) throws IOException {
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), Long.toString(System.nanoTime()).getBytes(CHARSET));
+	}
+
+	@Test
+	public void firstBuild() throws IOException {
+		assertEquals(new TreeSet<>(Arrays.asList("A.sarl", "B.sarl", "C.sarl")), build());
+	}
+
+	@Test
+	public void secondBuildWithoutChange() throws IOException {
+		build();
+		assertEquals(Collections.emptySet(), build());
+	}
+
+	@Test
+	public void secondBuildWithChange() throws IOException {
+		build();
+		write("C.sarl", "package io.sarl.tests\nevent C {\n\tvar x : int\n}\n");
+		assertEquals(Collections.singleton("C.sarl"), build());
+	}
+
+	@Test
+	public void secondBuildWithChangeInUsedType() throws IOException {
+		build();
+		write("A.sarl", "package io.sarl.tests\nevent A {\n\tvar x : int\n}\n");
+		assertEquals(new TreeSet<>(Arrays.asList("A.sarl", "B.sarl")), build());
+	}
+
+	@Test
+	public void secondBuildWithChangedDependency() throws IOException {
+		build();
+		Files.write(this.dependency.toPath(), new byte[] {1, 2, 3, 4});
+		assertEquals(3, build().size());
+	}
+
+	@Test
+	public void computeEnvironment_excludedFolder() throws IOException {
+		String environment = CompilationIndex.computeEnvironment("",
+				Arrays.asList(this.classesFolder, this.dependency),
+				Collections.<File>emptyList(),
+				Collections.singleton(this.classesFolder));
+		generate(new File(this.classesFolder, "io/sarl/tests/D.class"));
+		assertEquals(environment, CompilationIndex.computeEnvironment("",
+				Arrays.asList(this.classesFolder, this.dependency),
+				Collections.<File>emptyList(),
+				Collections.singleton(this.classesFolder)));
+	}
+
+	@Test
+	public void computeEnvironment_classpathFolder() throws IOException {
+		File sibling = this.folder.newFolder("sibling", "target", "classes");
+		String environment = CompilationIndex.computeEnvironment("",
+				Arrays.asList(this.classesFolder, sibling),
+				Collections.<File>emptyList(),
+				Collections.singleton(this.classesFolder));
+		generate(new File(sibling, "io/sarl/tests/D.class"));
+		assertTrue(!environment.equals(CompilationIndex.computeEnvironment("",
+				Arrays.asList(this.classesFolder, sibling),
+				Collections.<File>emptyList(),
+				Collections.singleton(this.classesFolder))));
+	}
+
+}
@@ -0,0 +1,244 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.core;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable amount of time, with a precision of one nanosecond.
+ * <p>
+ * The durations are stored in a single <code>long</code>, so that
+ * the greatest duration is about 292 years. The operations that
+ * are overflowing are saturated to {@link Long#MAX_VALUE} or
+ * {@link Long#MIN_VALUE} nanoseconds, in the same way as
+ * {@link TimeUnit#toNanos(long)}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see Schedules
+ */
+public final class Duration implements Serializable, Comparable<Duration> {
+
+	/** Duration of zero nanosecond.
+	 */
+	public static final Duration ZERO = new Duration(0);
+
+	private static final long serialVersionUID = -6584373946236101524L;
+
+	private final long nanos;
+
+	private Duration(long nanos) {
+		this.nanos = nanos;
+	}
+
+	private static Duration of(long nanos) {
+		return nanos == 0 ? ZERO : new Duration(nanos);
+	}
+
+	/** Replies the duration of the given amount of time.
+	 *
+	 * @param amount - the amount of time.
+	 * @param unit - the unit of <code>amount</code>.
+	 * @return the duration.
+	 */
+	public static Duration of(long amount, TimeUnit unit) {
+		assert (unit != null);
+		return of(unit.toNanos(amount));
+	}
+
+	/** Replies the duration of the given number of nanoseconds.
+	 *
+	 * @param nanos - the number of nanoseconds.
+	 * @return the duration.
+	 */
+	public static Duration ofNanos(long nanos) {
+		return of(nanos);
+	}
+
+	/** Replies the duration of the given number of milliseconds.
+	 *
+	 * @param millis - the number of milliseconds.
+	 * @return the duration.
+	 */
+	public static Duration ofMillis(long millis) {
+		return of(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+
+	/** Replies the duration of the given number of seconds.
+	 *
+	 * @param seconds - the number of seconds.
+	 * @return the duration.
+	 */
+	public static Duration ofSeconds(long seconds) {
+		return of(TimeUnit.SECONDS.toNanos(seconds));
+	}
+
+	/** Replies the duration of the given number of seconds, rounded to
+	 * the nearest nanosecond.
+	 *
+	 * @param seconds - the number of seconds.
+	 * @return the duration.
+	 */
+	public static Duration ofSeconds(double seconds) {
+		return of(Math.round(seconds * TimeUnit.SECONDS.toNanos(1)));
+	}
+
+	/** Replies the duration of the given number of minutes.
+	 *
+	 * @param minutes - the number of minutes.
+	 * @return the duration.
+	 */
+	public static Duration ofMinutes(long minutes) {
+		return of(TimeUnit.MINUTES.toNanos(minutes));
+	}
+
+	/** Replies the duration of the given number of hours.
+	 *
+	 * @param hours - the number of hours.
+	 * @return the duration.
+	 */
+	public static Duration ofHours(long hours) {
+		return of(TimeUnit.HOURS.toNanos(hours));
+	}
+
+	/** Replies the duration of the given number of days.
+	 *
+	 * @param days - the number of days.
+	 * @return the duration.
+	 */
+	public static Duration ofDays(long days) {
+		return of(TimeUnit.DAYS.toNanos(days));
+	}
+
+	/** Replies the number of nanoseconds in this duration.
+	 *
+	 * @return the number of nanoseconds.
+	 */
+	public long toNanos() {
+		return this.nanos;
+	}
+
+	/** Replies the number of milliseconds in this duration.
+	 * The nanoseconds that are not forming a complete millisecond are ignored.
+	 *
+	 * @return the number of milliseconds.
+	 */
+	public long toMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(this.nanos);
+	}
+
+	/** Replies the amount of time in the given unit.
+	 * The time that is not forming a complete unit is ignored.
+	 *
+	 * @param unit - the unit of the replied value.
+	 * @return the amount of time in the given unit.
+	 */
+	public long to(TimeUnit unit) {
+		assert (unit != null);
+		return unit.convert(this.nanos, TimeUnit.NANOSECONDS);
+	}
+
+	/** Replies if this duration is zero.
+	 *
+	 * @return <code>true</code> if this duration is zero; otherwise <code>false</code>.
+	 */
+	public boolean isZero() {
+		return this.nanos == 0;
+	}
+
+	/** Replies if this duration is strictly negative.
+	 *
+	 * @return <code>true</code> if this duration is negative; otherwise <code>false</code>.
+	 */
+	public boolean isNegative() {
+		return this.nanos < 0;
+	}
+
+	/** Replies the sum of this duration and the given duration.
+	 *
+	 * @param duration - the duration to add.
+	 * @return the sum.
+	 */
+	public Duration plus(Duration duration) {
+		assert (duration != null);
+		long sum = this.nanos + duration.nanos;
+		// Overflow if the operands have the same sign, and the sum has not.
+		if (((this.nanos ^ sum) & (duration.nanos ^ sum)) < 0) {
+			return of(this.nanos < 0 ? Long.MIN_VALUE : Long.MAX_VALUE);
+		}
+		return of(sum);
+	}
+
+	/** Replies the difference between this duration and the given duration.
+	 *
+	 * @param duration - the duration to subtract.
+	 * @return the difference.
+	 */
+	public Duration minus(Duration duration) {
+		assert (duration != null);
+		long difference = this.nanos - duration.nanos;
+		// Overflow if the operands have different signs, and the difference has not the sign of this duration.
+		if (((this.nanos ^ duration.nanos) & (this.nanos ^ difference)) < 0) {
+			return of(this.nanos < 0 ? Long.MIN_VALUE : Long.MAX_VALUE);
+		}
+		return of(difference);
+	}
+
+	/** Replies this duration multiplied by the given factor.
+	 *
+	 * @param factor - the multiplication factor.
+	 * @return the product.
+	 */
+	public Duration multipliedBy(long factor) {
+		if (factor == 0 || this.nanos == 0) {
+			return ZERO;
+		}
+		long product = this.nanos * factor;
+		if (product / factor != this.nanos || (this.nanos == Long.MIN_VALUE && factor == -1)) {
+			return of((this.nanos < 0) == (factor < 0) ? Long.MAX_VALUE : Long.MIN_VALUE);
+		}
+		return of(product);
+	}
+
+	@Override
+	public int compareTo(Duration duration) {
+		return this.nanos < duration.nanos ? -1 : (this.nanos == duration.nanos ? 0 : 1);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof Duration && ((Duration) obj).nanos == this.nanos;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (this.nanos ^ (this.nanos >>> Integer.SIZE));
+	}
+
+	@Override
+	public String toString() {
+		return this.nanos + "ns"; //$NON-NLS-1$
+	}
+
+}
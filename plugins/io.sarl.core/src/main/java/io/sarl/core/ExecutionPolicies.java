@@ -0,0 +1,199 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.core;
+
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Built-in execution policies, and lookup of the policies.
+ * <p>
+ * Two policies are provided:
+ * <ul>
+ * <li>{@link #THREAD_POOL}: the behavior units and the tasks are run by a pool of
+ * platform threads that is bounded by the number of available processors. This policy
+ * is efficient when the behavior units are short and never block.</li>
+ * <li>{@link #THREAD_PER_EVENT}: each behavior unit or task is run by its own thread.
+ * When the virtual machine provides virtual threads, they are used, so that a behavior
+ * unit that is blocked on an I/O operation does not hold a platform thread. Otherwise,
+ * one platform thread is created for each behavior unit or task.</li>
+ * </ul>
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public final class ExecutionPolicies {
+
+	/** Name of the system property that contains the name of the execution policy
+	 * to be used by the run-time environment.
+	 */
+	public static final String POLICY_PROPERTY = "io.sarl.core.executionPolicy"; //$NON-NLS-1$
+
+	/** Policy that runs the behavior units and the tasks into a pool of platform threads.
+	 */
+	public static final ExecutionPolicy THREAD_POOL = new ThreadPoolPolicy();
+
+	/** Policy that runs each behavior unit or task into its own thread, virtual if possible.
+	 */
+	public static final ExecutionPolicy THREAD_PER_EVENT = new ThreadPerEventPolicy();
+
+	private ExecutionPolicies() {
+		//
+	}
+
+	/** Replies the policy with the given name.
+	 * <p>
+	 * The built-in policies are searched first, then the policies that are
+	 * declared as services.
+	 *
+	 * @param name - the name of the policy.
+	 * @return the policy, or <code>null</code> if there is no policy with the given name.
+	 */
+	public static ExecutionPolicy getPolicy(String name) {
+		if (name == null) {
+			return null;
+		}
+		String trimmedName = name.trim();
+		if (THREAD_POOL.getName().equalsIgnoreCase(trimmedName)) {
+			return THREAD_POOL;
+		}
+		if (THREAD_PER_EVENT.getName().equalsIgnoreCase(trimmedName)) {
+			return THREAD_PER_EVENT;
+		}
+		for (ExecutionPolicy policy : ServiceLoader.load(ExecutionPolicy.class)) {
+			if (policy.getName().equalsIgnoreCase(trimmedName)) {
+				return policy;
+			}
+		}
+		return null;
+	}
+
+	/** Replies the policy that is selected by the {@link #POLICY_PROPERTY system property}.
+	 *
+	 * @return the selected policy, or {@link #THREAD_POOL} if the property is not set
+	 *     or is not the name of a policy.
+	 */
+	public static ExecutionPolicy getDefaultPolicy() {
+		ExecutionPolicy policy = getPolicy(System.getProperty(POLICY_PROPERTY));
+		if (policy == null) {
+			return THREAD_POOL;
+		}
+		return policy;
+	}
+
+	/** Replies if the threads created by the {@link #THREAD_PER_EVENT} policy are virtual threads.
+	 *
+	 * @return <code>true</code> if the virtual machine provides virtual threads.
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return ThreadPerEventPolicy.VIRTUAL_THREAD_FACTORY != null;
+	}
+
+	/** Policy that runs the behavior units and the tasks into a pool of platform threads.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class ThreadPoolPolicy implements ExecutionPolicy {
+
+		/** Construct the policy.
+		 */
+		ThreadPoolPolicy() {
+			//
+		}
+
+		@Override
+		public String getName() {
+			return "thread-pool"; //$NON-NLS-1$
+		}
+
+		@Override
+		public ExecutorService createExecutorService() {
+			return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		}
+
+		@Override
+		public String toString() {
+			return getName();
+		}
+
+	}
+
+	/** Policy that runs each behavior unit or task into its own thread.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class ThreadPerEventPolicy implements ExecutionPolicy {
+
+		/** Factory of virtual threads, or <code>null</code> if the virtual machine
+		 * does not provide them.
+		 */
+		static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+		/** Construct the policy.
+		 */
+		ThreadPerEventPolicy() {
+			//
+		}
+
+		// The virtual threads are not part of the Java API that is targeted by this bundle.
+		// They are retrieved by reflection when the bundle is run on a recent virtual machine.
+		private static ThreadFactory createVirtualThreadFactory() {
+			try {
+				Object builder = Thread.class.getMethod("ofVirtual").invoke(null); //$NON-NLS-1$
+				Class<?> builderType = Class.forName("java.lang.Thread$Builder"); //$NON-NLS-1$
+				return (ThreadFactory) builderType.getMethod("factory").invoke(builder); //$NON-NLS-1$
+			} catch (Throwable exception) {
+				return null;
+			}
+		}
+
+		@Override
+		public String getName() {
+			return "thread-per-event"; //$NON-NLS-1$
+		}
+
+		@Override
+		public ExecutorService createExecutorService() {
+			ThreadFactory factory = VIRTUAL_THREAD_FACTORY;
+			if (factory == null) {
+				factory = Executors.defaultThreadFactory();
+			}
+			return new ThreadPerTaskExecutorService(factory);
+		}
+
+		@Override
+		public String toString() {
+			return getName();
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.core;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Policy that determines how the run-time environment executes the behavior units
+ * and the scheduled {@link AgentTask tasks} of the agents.
+ * <p>
+ * A policy is a factory of executor services. The run-time environment creates
+ * the executor service when it starts, and shuts it down when it stops.
+ * The built-in policies are provided by {@link ExecutionPolicies}. Additional
+ * policies may be contributed as services of type {@link ExecutionPolicy}, i.e.
+ * by a <code>META-INF/services/io.sarl.core.ExecutionPolicy</code> file.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see ExecutionPolicies
+ */
+public interface ExecutionPolicy {
+
+	/** Replies the name of the policy.
+	 * <p>
+	 * The name is used for selecting the policy from the command line
+	 * or from the {@link ExecutionPolicies#POLICY_PROPERTY system property}.
+	 *
+	 * @return the name of the policy.
+	 */
+	String getName();
+
+	/** Create the executor service that is running the behavior units and the tasks.
+	 *
+	 * @return the executor service.
+	 */
+	ExecutorService createExecutorService();
+
+}
@@ -0,0 +1,168 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor service that starts a new thread for each submitted task.
+ * <p>
+ * The threads are created by the given factory. The service keeps track of
+ * the running threads for supporting {@link #shutdownNow()} and
+ * {@link #awaitTermination(long, TimeUnit)}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see ExecutionPolicies#THREAD_PER_EVENT
+ */
+class ThreadPerTaskExecutorService extends AbstractExecutorService {
+
+	private final ThreadFactory factory;
+
+	private final Set<Thread> threads = new HashSet<>();
+
+	private final Object lock = new Object();
+
+	private boolean shutdown;
+
+	/**
+	 * @param factory - the factory of the threads.
+	 */
+	ThreadPerTaskExecutorService(ThreadFactory factory) {
+		assert (factory != null);
+		this.factory = factory;
+	}
+
+	@Override
+	public void execute(final Runnable command) {
+		if (command == null) {
+			throw new NullPointerException();
+		}
+		Thread thread;
+		synchronized (this.lock) {
+			if (this.shutdown) {
+				throw new RejectedExecutionException();
+			}
+			thread = this.factory.newThread(new Runnable() {
+				@SuppressWarnings("synthetic-access")
+				@Override
+				public void run() {
+					try {
+						command.run();
+					} finally {
+						terminate(Thread.currentThread());
+					}
+				}
+			});
+			if (thread == null) {
+				throw new RejectedExecutionException();
+			}
+			this.threads.add(thread);
+		}
+		try {
+			thread.start();
+		} catch (Throwable exception) {
+			terminate(thread);
+			throw new RejectedExecutionException(exception);
+		}
+	}
+
+	private void terminate(Thread thread) {
+		synchronized (this.lock) {
+			this.threads.remove(thread);
+			if (this.threads.isEmpty()) {
+				this.lock.notifyAll();
+			}
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		synchronized (this.lock) {
+			this.shutdown = true;
+			this.lock.notifyAll();
+		}
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		List<Thread> running;
+		synchronized (this.lock) {
+			this.shutdown = true;
+			this.lock.notifyAll();
+			running = new ArrayList<>(this.threads);
+		}
+		for (Thread thread : running) {
+			thread.interrupt();
+		}
+		return Collections.emptyList();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		synchronized (this.lock) {
+			return this.shutdown;
+		}
+	}
+
+	@Override
+	public boolean isTerminated() {
+		synchronized (this.lock) {
+			return this.shutdown && this.threads.isEmpty();
+		}
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		synchronized (this.lock) {
+			while (!this.shutdown || !this.threads.isEmpty()) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					return false;
+				}
+				TimeUnit.NANOSECONDS.timedWait(this.lock, remaining);
+			}
+			return true;
+		}
+	}
+
+	/** Replies the number of threads that are running a task.
+	 *
+	 * @return the number of running threads.
+	 */
+	int getActiveCount() {
+		synchronized (this.lock) {
+			return this.threads.size();
+		}
+	}
+
+}
@@ -0,0 +1,511 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Scheduler of tasks that is based on a hierarchical timing wheel.
+ * <p>
+ * This scheduler is a reference implementation of the scheduling mechanism
+ * behind the {@link Schedules} capacity. The time is discretized into ticks,
+ * and the run-time environment must invoke {@link #tick()} once per tick
+ * duration, e.g. from a single periodic job. The tasks are stored into
+ * the buckets of several wheels: the first wheel contains the tasks that
+ * expire during the current round of the wheel, and the other wheels contain
+ * the tasks that expire later, with a precision that decreases with the level
+ * of the wheel. When the first wheel has done a complete round, the tasks of
+ * the next bucket of the second wheel are redistributed into the first wheel,
+ * and so on.
+ * <p>
+ * Scheduling and cancelling a task is done in constant time, whatever the number
+ * of scheduled tasks. The tasks that expire during a tick are submitted together
+ * to the executor, after the scheduler has released its lock.
+ * <p>
+ * Each task may be associated to an owner, typically the identifier of the agent
+ * that has created the {@link AgentTask}. All the tasks of an owner are cancelled
+ * in one operation with {@link #cancelAll(Object)}, e.g. when the agent is killed.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see Duration
+ */
+public class TimingWheelScheduler {
+
+	/** Default number of buckets in each wheel.
+	 */
+	public static final int DEFAULT_WHEEL_SIZE = 256;
+
+	private static final int MAX_TICK_BITS = Long.SIZE - 1;
+
+	private final long tickNanos;
+
+	private final int bits;
+
+	private final int mask;
+
+	private final Node[][] wheels;
+
+	private final Map<Object, Node> owners = new HashMap<>();
+
+	private final Executor executor;
+
+	private long currentTick;
+
+	private int size;
+
+	/**
+	 * @param tickDuration - the duration of a tick. It must be at least one nanosecond.
+	 * @param executor - the executor of the tasks that are expiring.
+	 */
+	public TimingWheelScheduler(Duration tickDuration, Executor executor) {
+		this(tickDuration, DEFAULT_WHEEL_SIZE, executor);
+	}
+
+	/**
+	 * @param tickDuration - the duration of a tick. It must be at least one nanosecond.
+	 * @param wheelSize - the number of buckets in each wheel. It must be a power of two, greater than one.
+	 * @param executor - the executor of the tasks that are expiring.
+	 */
+	public TimingWheelScheduler(Duration tickDuration, int wheelSize, Executor executor) {
+		assert (tickDuration != null && tickDuration.toNanos() > 0);
+		assert (wheelSize > 1 && Integer.bitCount(wheelSize) == 1);
+		assert (executor != null);
+		this.tickNanos = tickDuration.toNanos();
+		this.bits = Integer.numberOfTrailingZeros(wheelSize);
+		this.mask = wheelSize - 1;
+		this.wheels = new Node[(MAX_TICK_BITS + this.bits - 1) / this.bits][wheelSize];
+		this.executor = executor;
+	}
+
+	/** Replies the duration of a tick.
+	 *
+	 * @return the duration of a tick.
+	 */
+	public Duration getTickDuration() {
+		return Duration.ofNanos(this.tickNanos);
+	}
+
+	/** Replies the number of ticks since the creation of this scheduler.
+	 *
+	 * @return the number of ticks.
+	 */
+	public synchronized long getCurrentTick() {
+		return this.currentTick;
+	}
+
+	/** Replies the number of tasks that are scheduled.
+	 *
+	 * @return the number of tasks.
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/** Schedule the execution of the given command after the given delay.
+	 * <p>
+	 * The delay is rounded up to a number of ticks; the command
+	 * is never run before the next tick.
+	 *
+	 * @param owner - the owner of the task, or <code>null</code>.
+	 * @param delay - the delay before the execution.
+	 * @param command - the command to run.
+	 * @return the scheduled task.
+	 */
+	public Timeout schedule(Object owner, Duration delay, Runnable command) {
+		assert (delay != null);
+		assert (command != null);
+		return add(owner, toTicks(delay), 0, command);
+	}
+
+	/** Schedule the periodic execution of the given command.
+	 * <p>
+	 * The delays are rounded up to a number of ticks. The command is
+	 * scheduled at a fixed rate: the next execution is scheduled when
+	 * the current execution is submitted to the executor. The period
+	 * is at least one tick.
+	 *
+	 * @param owner - the owner of the task, or <code>null</code>.
+	 * @param initialDelay - the delay before the first execution.
+	 * @param period - the delay between two executions.
+	 * @param command - the command to run.
+	 * @return the scheduled task.
+	 */
+	public Timeout schedule(Object owner, Duration initialDelay, Duration period, Runnable command) {
+		assert (initialDelay != null);
+		assert (period != null);
+		assert (command != null);
+		return add(owner, toTicks(initialDelay), Math.max(1, toTicks(period)), command);
+	}
+
+	/** Cancel all the tasks of the given owner.
+	 *
+	 * @param owner - the owner of the tasks.
+	 * @return the number of cancelled tasks.
+	 */
+	public synchronized int cancelAll(Object owner) {
+		assert (owner != null);
+		Node node = this.owners.remove(owner);
+		int count = 0;
+		while (node != null) {
+			Node next = node.nextOfOwner;
+			unlinkFromWheel(node);
+			node.state = Node.CANCELLED;
+			node.previousOfOwner = null;
+			node.nextOfOwner = null;
+			node = next;
+			++count;
+		}
+		this.size -= count;
+		return count;
+	}
+
+	/** Replies the number of tasks of the given owner.
+	 *
+	 * @param owner - the owner of the tasks.
+	 * @return the number of tasks.
+	 */
+	public synchronized int getTaskCount(Object owner) {
+		assert (owner != null);
+		int count = 0;
+		Node node = this.owners.get(owner);
+		while (node != null) {
+			++count;
+			node = node.nextOfOwner;
+		}
+		return count;
+	}
+
+	/** Advance the time of one tick, and submit the tasks that are expiring
+	 * to the executor.
+	 *
+	 * @return the number of submitted tasks.
+	 */
+	public int tick() {
+		List<Runnable> batch = new ArrayList<>();
+		synchronized (this) {
+			long tick = ++this.currentTick;
+			// The upper wheels are cascaded when all the lower wheels have done a complete round.
+			int level = Math.min(Long.numberOfTrailingZeros(tick) / this.bits, this.wheels.length - 1);
+			while (level > 0) {
+				cascade(level, (int) (tick >>> (this.bits * level)) & this.mask);
+				--level;
+			}
+			int index = (int) tick & this.mask;
+			Node node = this.wheels[0][index];
+			this.wheels[0][index] = null;
+			while (node != null) {
+				Node next = node.next;
+				node.previous = null;
+				node.next = null;
+				batch.add(node.command);
+				if (node.periodTicks > 0) {
+					node.deadline = addTicks(tick, node.periodTicks);
+					linkToWheel(node);
+				} else {
+					node.state = Node.EXPIRED;
+					unlinkFromOwner(node);
+					--this.size;
+				}
+				node = next;
+			}
+		}
+		for (Runnable command : batch) {
+			this.executor.execute(command);
+		}
+		return batch.size();
+	}
+
+	/** Advance the time of the given number of ticks.
+	 *
+	 * @param ticks - the number of ticks.
+	 * @return the number of submitted tasks.
+	 * @see #tick()
+	 */
+	public int advance(long ticks) {
+		int count = 0;
+		for (long i = 0; i < ticks; ++i) {
+			count += tick();
+		}
+		return count;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "TimingWheelScheduler [tick=" + this.currentTick //$NON-NLS-1$
+				+ ", size=" + this.size //$NON-NLS-1$
+				+ "]"; //$NON-NLS-1$
+	}
+
+	private long toTicks(Duration delay) {
+		long nanos = Math.max(0, delay.toNanos());
+		long ticks = nanos / this.tickNanos;
+		if (nanos % this.tickNanos != 0) {
+			++ticks;
+		}
+		return ticks;
+	}
+
+	private static long addTicks(long tick, long ticks) {
+		return (ticks > Long.MAX_VALUE - tick) ? Long.MAX_VALUE : tick + ticks;
+	}
+
+	private synchronized Timeout add(Object owner, long delayTicks, long periodTicks, Runnable command) {
+		Node node = new Node(owner, addTicks(this.currentTick, Math.max(1, delayTicks)), periodTicks, command);
+		linkToWheel(node);
+		if (owner != null) {
+			Node head = this.owners.put(owner, node);
+			if (head != null) {
+				head.previousOfOwner = node;
+				node.nextOfOwner = head;
+			}
+		}
+		++this.size;
+		return node;
+	}
+
+	private synchronized boolean cancel(Node node) {
+		if (node.state != Node.PENDING) {
+			return false;
+		}
+		unlinkFromWheel(node);
+		unlinkFromOwner(node);
+		node.state = Node.CANCELLED;
+		--this.size;
+		return true;
+	}
+
+	private void cascade(int level, int index) {
+		Node node = this.wheels[level][index];
+		this.wheels[level][index] = null;
+		while (node != null) {
+			Node next = node.next;
+			node.previous = null;
+			node.next = null;
+			linkToWheel(node);
+			node = next;
+		}
+	}
+
+	private void linkToWheel(Node node) {
+		// The level is the one of the most significant digit that differs
+		// between the deadline and the current tick.
+		long diff = node.deadline ^ this.currentTick;
+		int level = (diff == 0) ? 0 : (MAX_TICK_BITS - Long.numberOfLeadingZeros(diff)) / this.bits;
+		int index = (int) (node.deadline >>> (this.bits * level)) & this.mask;
+		Node[] wheel = this.wheels[level];
+		Node head = wheel[index];
+		node.level = level;
+		node.index = index;
+		node.next = head;
+		if (head != null) {
+			head.previous = node;
+		}
+		wheel[index] = node;
+	}
+
+	private void unlinkFromWheel(Node node) {
+		if (node.previous == null) {
+			this.wheels[node.level][node.index] = node.next;
+		} else {
+			node.previous.next = node.next;
+		}
+		if (node.next != null) {
+			node.next.previous = node.previous;
+		}
+		node.previous = null;
+		node.next = null;
+	}
+
+	private void unlinkFromOwner(Node node) {
+		if (node.owner == null) {
+			return;
+		}
+		if (node.previousOfOwner == null) {
+			if (node.nextOfOwner == null) {
+				this.owners.remove(node.owner);
+			} else {
+				this.owners.put(node.owner, node.nextOfOwner);
+			}
+		} else {
+			node.previousOfOwner.nextOfOwner = node.nextOfOwner;
+		}
+		if (node.nextOfOwner != null) {
+			node.nextOfOwner.previousOfOwner = node.previousOfOwner;
+		}
+		node.previousOfOwner = null;
+		node.nextOfOwner = null;
+	}
+
+	/**
+	 * Task that is scheduled by a {@link TimingWheelScheduler}.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public interface Timeout {
+
+		/** Replies the owner of the task.
+		 *
+		 * @return the owner, or <code>null</code>.
+		 */
+		Object getOwner();
+
+		/** Replies if the task was cancelled.
+		 *
+		 * @return <code>true</code> if the task was cancelled.
+		 */
+		boolean isCancelled();
+
+		/** Replies if the task has expired, i.e. if it was submitted to the executor
+		 * and it will not be submitted again.
+		 *
+		 * @return <code>true</code> if the task has expired.
+		 */
+		boolean isExpired();
+
+		/** Cancel the task. The task is not interrupted if it is running.
+		 *
+		 * @return <code>true</code> if the task was cancelled; <code>false</code> if
+		 * it has already expired or was already cancelled.
+		 */
+		boolean cancel();
+
+	}
+
+	/**
+	 * Task into a bucket of a wheel, and into the list of the tasks of its owner.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private final class Node implements Timeout {
+
+		/** State of the task when it is waiting for its deadline.
+		 */
+		static final int PENDING = 0;
+
+		/** State of the task when it has expired.
+		 */
+		static final int EXPIRED = 1;
+
+		/** State of the task when it was cancelled.
+		 */
+		static final int CANCELLED = 2;
+
+		/** Owner of the task.
+		 */
+		final Object owner;
+
+		/** Number of ticks between two executions, or zero if the task is not periodic.
+		 */
+		final long periodTicks;
+
+		/** Command to run.
+		 */
+		final Runnable command;
+
+		/** Tick of the next execution.
+		 */
+		long deadline;
+
+		/** State of the task.
+		 */
+		volatile int state;
+
+		/** Level of the wheel that contains the task.
+		 */
+		int level;
+
+		/** Index of the bucket that contains the task.
+		 */
+		int index;
+
+		/** Previous task in the bucket.
+		 */
+		Node previous;
+
+		/** Next task in the bucket.
+		 */
+		Node next;
+
+		/** Previous task of the owner.
+		 */
+		Node previousOfOwner;
+
+		/** Next task of the owner.
+		 */
+		Node nextOfOwner;
+
+		/**
+		 * @param owner - the owner of the task.
+		 * @param deadline - the tick of the first execution.
+		 * @param periodTicks - the number of ticks between two executions.
+		 * @param command - the command to run.
+		 */
+		Node(Object owner, long deadline, long periodTicks, Runnable command) {
+			this.owner = owner;
+			this.deadline = deadline;
+			this.periodTicks = periodTicks;
+			this.command = command;
+		}
+
+		@Override
+		public Object getOwner() {
+			return this.owner;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return this.state == CANCELLED;
+		}
+
+		@Override
+		public boolean isExpired() {
+			return this.state == EXPIRED;
+		}
+
+		@SuppressWarnings("synthetic-access")
+		@Override
+		public boolean cancel() {
+			return TimingWheelScheduler.this.cancel(this);
+		}
+
+		@Override
+		public String toString() {
+			return "Timeout [deadline=" + this.deadline //$NON-NLS-1$
+					+ ", owner=" + this.owner //$NON-NLS-1$
+					+ "]"; //$NON-NLS-1$
+		}
+
+	}
+
+}
@@ -115,6 +115,12 @@ public final class SARLConfig {
 	 */
 	public static final String ATTR_SRE_OFFLINE = SARLEclipsePlugin.PLUGIN_ID + ".SRE_OFFLINE"; //$NON-NLS-1$
 
+	/**
+	 * Launch configuration attribute key. The value indicates the policy used by the SRE for
+	 * executing the behaviors and the tasks.
+	 */
+	public static final String ATTR_EXECUTION_POLICY = SARLEclipsePlugin.PLUGIN_ID + ".EXECUTION_POLICY"; //$NON-NLS-1$
+
 	/**
 	 * Launch configuration attribute key. The value is the identifier of the SRE;
 	 */
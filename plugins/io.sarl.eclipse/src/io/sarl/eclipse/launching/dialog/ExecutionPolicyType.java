@@ -0,0 +1,63 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.eclipse.launching.dialog;
+
+
+/**
+ * Policy used by the SRE for executing the behaviors and the tasks of the agents.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public enum ExecutionPolicyType {
+
+	/** The execution policy is the one
+	 * given by the SRE.
+	 */
+	DEFAULT_POLICY(null),
+
+	/** The behaviors and the tasks are run by
+	 * a bounded pool of platform threads.
+	 */
+	THREAD_POOL_POLICY("thread-pool"), //$NON-NLS-1$
+
+	/** Each behavior unit or task is run by its own
+	 * thread, virtual if the JVM supports them.
+	 */
+	THREAD_PER_EVENT_POLICY("thread-per-event"); //$NON-NLS-1$
+
+	private final String policyName;
+
+	ExecutionPolicyType(String policyName) {
+		this.policyName = policyName;
+	}
+
+	/** Replies the name of the policy that is passed to the SRE.
+	 *
+	 * @return the name of the policy, or <code>null</code> for the default policy of the SRE.
+	 */
+	public String getPolicyName() {
+		return this.policyName;
+	}
+
+}
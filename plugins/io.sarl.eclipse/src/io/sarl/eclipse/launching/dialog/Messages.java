@@ -42,7 +42,11 @@ public class Messages extends NLS {
 	public static String MainLaunchConfigurationTab_14;
 	public static String MainLaunchConfigurationTab_15;
 	public static String MainLaunchConfigurationTab_16;
+	public static String MainLaunchConfigurationTab_17;
+	public static String MainLaunchConfigurationTab_18;
+	public static String MainLaunchConfigurationTab_19;
 	public static String MainLaunchConfigurationTab_2;
+	public static String MainLaunchConfigurationTab_20;
 	public static String MainLaunchConfigurationTab_3;
 	public static String MainLaunchConfigurationTab_4;
 	public static String MainLaunchConfigurationTab_5;
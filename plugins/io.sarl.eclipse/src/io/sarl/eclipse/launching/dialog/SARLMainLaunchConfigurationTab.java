@@ -83,6 +83,9 @@ public class SARLMainLaunchConfigurationTab extends AbstractJavaMainTab {
 	private Button defaultContextIdentifierButton;
 	private Button randomContextIdentifierButton;
 	private Button bootContextIdentifierButton;
+	private Button defaultPolicyButton;
+	private Button threadPoolPolicyButton;
+	private Button threadPerEventPolicyButton;
 
 	private final WidgetListener defaultListener = new WidgetListener();
 
@@ -122,6 +125,8 @@ public class SARLMainLaunchConfigurationTab extends AbstractJavaMainTab {
 		createVerticalSpacer(comp, 1);
 		createContextIdentifierTypeEditor(comp, Messages.MainLaunchConfigurationTab_9);
 		createVerticalSpacer(comp, 1);
+		createExecutionPolicyEditor(comp, Messages.MainLaunchConfigurationTab_17);
+		createVerticalSpacer(comp, 1);
 		createLaunchOptionEditor(comp, Messages.MainLaunchConfigurationTab_10);
 		setControl(comp);
 	}
@@ -187,6 +192,36 @@ public class SARLMainLaunchConfigurationTab extends AbstractJavaMainTab {
 		return RootContextIdentifierType.DEFAULT_CONTEXT_ID;
 	}
 
+	/**
+	 * Creates the widgets for configuring the execution policy.
+	 *
+	 * @param parent - the parent composite.
+	 * @param text - the label of the group.
+	 */
+	protected void createExecutionPolicyEditor(Composite parent, String text) {
+		Group group = SWTFactory.createGroup(parent, text, 1, 1, GridData.FILL_HORIZONTAL);
+		this.defaultPolicyButton = createRadioButton(group, Messages.MainLaunchConfigurationTab_18);
+		this.defaultPolicyButton.addSelectionListener(this.defaultListener);
+		this.threadPoolPolicyButton = createRadioButton(group, Messages.MainLaunchConfigurationTab_19);
+		this.threadPoolPolicyButton.addSelectionListener(this.defaultListener);
+		this.threadPerEventPolicyButton = createRadioButton(group, Messages.MainLaunchConfigurationTab_20);
+		this.threadPerEventPolicyButton.addSelectionListener(this.defaultListener);
+	}
+
+	/** Replies the execution policy selected by the user.
+	 *
+	 * @return the execution policy.
+	 */
+	protected ExecutionPolicyType getSelectedExecutionPolicyType() {
+		if (this.threadPoolPolicyButton.getSelection()) {
+			return ExecutionPolicyType.THREAD_POOL_POLICY;
+		}
+		if (this.threadPerEventPolicyButton.getSelection()) {
+			return ExecutionPolicyType.THREAD_PER_EVENT_POLICY;
+		}
+		return ExecutionPolicyType.DEFAULT_POLICY;
+	}
+
 	/**
 	 * Creates the widgets for configuring the launch options.
 	 *
@@ -208,9 +243,31 @@ public class SARLMainLaunchConfigurationTab extends AbstractJavaMainTab {
 		super.initializeFrom(config);
 		updateAgentNameFromConfig(config);
 		updateContextIdentifierTypeFromConfig(config);
+		updateExecutionPolicyTypeFromConfig(config);
 		updateLaunchOptionsFromConfig(config);
 	}
 
+	/**
+	 * Loads the execution policy from the launch configuration's preference store.
+	 *
+	 * @param config - the config to load the execution policy from
+	 */
+	protected void updateExecutionPolicyTypeFromConfig(ILaunchConfiguration config) {
+		ExecutionPolicyType type = ExecutionPolicyType.DEFAULT_POLICY;
+		try {
+			String typeName = config.getAttribute(SARLConfig.ATTR_EXECUTION_POLICY, (String) null);
+			if (!Strings.isNullOrEmpty(typeName)) {
+				type = ExecutionPolicyType.valueOf(typeName);
+			}
+		} catch (Exception ce) {
+			SARLEclipsePlugin.getDefault().log(ce);
+		}
+		assert (type != null);
+		this.defaultPolicyButton.setSelection(type == ExecutionPolicyType.DEFAULT_POLICY);
+		this.threadPoolPolicyButton.setSelection(type == ExecutionPolicyType.THREAD_POOL_POLICY);
+		this.threadPerEventPolicyButton.setSelection(type == ExecutionPolicyType.THREAD_PER_EVENT_POLICY);
+	}
+
 	/**
 	 * Loads the context identifier type from the launch configuration's preference store.
 	 *
@@ -385,6 +442,9 @@ public class SARLMainLaunchConfigurationTab extends AbstractJavaMainTab {
 		config.setAttribute(
 				SARLConfig.ATTR_ROOT_CONTEXT_ID_TYPE,
 				getSelectedContextIdentifierType().name());
+		config.setAttribute(
+				SARLConfig.ATTR_EXECUTION_POLICY,
+				getSelectedExecutionPolicyType().name());
 		config.setAttribute(
 				SARLConfig.ATTR_SHOW_LOGO_OPTION,
 				this.showLogoOptionButton.getSelection());
@@ -407,6 +467,7 @@ public class SARLMainLaunchConfigurationTab extends AbstractJavaMainTab {
 		}
 		initializeAgentName(javaElement, config);
 		initializeContextIdentifierType(config);
+		initializeExecutionPolicyType(config);
 		initializeLaunchOptions(config);
 	}
 
@@ -420,6 +481,16 @@ public class SARLMainLaunchConfigurationTab extends AbstractJavaMainTab {
 		config.setAttribute(SARLConfig.ATTR_ROOT_CONTEXT_ID_TYPE, RootContextIdentifierType.DEFAULT_CONTEXT_ID.name());
 	}
 
+	/**
+	 * Reset the given configuration with the execution policy.
+	 *
+	 * @param config - the config to set with the execution policy.
+	 */
+	@SuppressWarnings("static-method")
+	protected void initializeExecutionPolicyType(ILaunchConfigurationWorkingCopy config) {
+		config.setAttribute(SARLConfig.ATTR_EXECUTION_POLICY, ExecutionPolicyType.DEFAULT_POLICY.name());
+	}
+
 	/**
 	 * Reset the given configuration with the launch options.
 	 *
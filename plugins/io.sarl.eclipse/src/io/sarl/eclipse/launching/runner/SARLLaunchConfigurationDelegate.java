@@ -23,6 +23,7 @@ package io.sarl.eclipse.launching.runner;
 import io.sarl.eclipse.SARLConfig;
 import io.sarl.eclipse.SARLEclipsePlugin;
 import io.sarl.eclipse.buildpath.SARLClasspathContainerInitializer;
+import io.sarl.eclipse.launching.dialog.ExecutionPolicyType;
 import io.sarl.eclipse.launching.dialog.RootContextIdentifierType;
 import io.sarl.eclipse.launching.sreproviding.StandardProjectSREProvider;
 import io.sarl.eclipse.runtime.ISREInstall;
@@ -628,6 +629,14 @@ public class SARLLaunchConfigurationDelegate extends AbstractJavaLaunchConfigura
 			options = join(options, cliOptions.get(SREConstants.MANIFEST_CLI_SRE_OFFLINE));
 		}
 
+		// The execution policy is given on the command line only if the SRE supports it.
+		// Otherwise it is given as a system property by getVMArguments().
+		String policyName = getExecutionPolicyType(configuration).getPolicyName();
+		String policyOption = cliOptions.get(SREConstants.MANIFEST_CLI_EXECUTION_POLICY);
+		if (!Strings.isNullOrEmpty(policyName) && !Strings.isNullOrEmpty(policyOption)) {
+			options = join(options, policyOption + policyName);
+		}
+
 		RootContextIdentifierType type = RootContextIdentifierType.DEFAULT_CONTEXT_ID;
 		String typeName = configuration.getAttribute(SARLConfig.ATTR_ROOT_CONTEXT_ID_TYPE, (String) null);
 		if (!Strings.isNullOrEmpty(typeName)) {
@@ -667,7 +676,31 @@ public class SARLLaunchConfigurationDelegate extends AbstractJavaLaunchConfigura
 		assert (sre != null);
 		IStringVariableManager substitutor = VariablesPlugin.getDefault().getStringVariableManager();
 		String sreArgs = substitutor.performStringSubstitution(sre.getJVMArguments());
-		return join(sreArgs, launchConfigArgs);
+		String policyArgs = null;
+		String policyName = getExecutionPolicyType(configuration).getPolicyName();
+		if (!Strings.isNullOrEmpty(policyName)
+				&& Strings.isNullOrEmpty(sre.getAvailableCommandLineOptions().get(SREConstants.MANIFEST_CLI_EXECUTION_POLICY))) {
+			policyArgs = "-D" + SREConstants.EXECUTION_POLICY_PROPERTY + "=" + policyName; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return join(sreArgs, policyArgs, launchConfigArgs);
+	}
+
+	/** Replies the execution policy that is selected in the given configuration.
+	 *
+	 * @param configuration - the launch configuration.
+	 * @return the execution policy, never <code>null</code>.
+	 * @throws CoreException - if the configuration cannot be read.
+	 */
+	protected static ExecutionPolicyType getExecutionPolicyType(ILaunchConfiguration configuration) throws CoreException {
+		String policyName = configuration.getAttribute(SARLConfig.ATTR_EXECUTION_POLICY, (String) null);
+		if (!Strings.isNullOrEmpty(policyName)) {
+			try {
+				return ExecutionPolicyType.valueOf(policyName);
+			} catch (Throwable _) {
+				//
+			}
+		}
+		return ExecutionPolicyType.DEFAULT_POLICY;
 	}
 
 	private static String join(String... values) {
@@ -95,6 +95,16 @@ public final class SREConstants {
 	 */
 	public static final String MANIFEST_CLI_SRE_OFFLINE = "CLI-Offline"; //$NON-NLS-1$
 
+	/** Field name for CLI option for selecting the execution policy.
+	 * The name of the policy is appended to the value of this field.
+	 */
+	public static final String MANIFEST_CLI_EXECUTION_POLICY = "CLI-Execution-Policy"; //$NON-NLS-1$
+
+	/** Name of the system property that is given to the SRE for selecting the execution policy
+	 * when the SRE does not provide the {@link #MANIFEST_CLI_EXECUTION_POLICY} field.
+	 */
+	public static final String EXECUTION_POLICY_PROPERTY = "io.sarl.core.executionPolicy"; //$NON-NLS-1$
+
 	/** Field name for CLI option that disabling options.
 	 */
 	public static final String MANIFEST_CLI_NO_MORE_OPTION = "CLI-No-More-Option"; //$NON-NLS-1$
@@ -100,6 +100,7 @@ public class StandardSREInstall extends AbstractSREInstall {
 	private String cliRandomContextID;
 	private String cliBootAgentContextID;
 	private String cliSreOffline;
+	private String cliExecutionPolicy;
 	private String cliNoMoreOption;
 
 	private String manifestMainClass;
@@ -262,6 +263,7 @@ public class StandardSREInstall extends AbstractSREInstall {
 				this.cliRandomContextID = sarlSection.getValue(SREConstants.MANIFEST_CLI_RANDOM_CONTEXT_ID);
 				this.cliBootAgentContextID = sarlSection.getValue(SREConstants.MANIFEST_CLI_BOOT_AGENT_CONTEXT_ID);
 				this.cliSreOffline = sarlSection.getValue(SREConstants.MANIFEST_CLI_SRE_OFFLINE);
+				this.cliExecutionPolicy = sarlSection.getValue(SREConstants.MANIFEST_CLI_EXECUTION_POLICY);
 				this.cliNoMoreOption = sarlSection.getValue(SREConstants.MANIFEST_CLI_NO_MORE_OPTION);
 				//
 				// Program arguments
@@ -477,6 +479,7 @@ public class StandardSREInstall extends AbstractSREInstall {
 			putIfNotempty(options, SREConstants.MANIFEST_CLI_RANDOM_CONTEXT_ID, this.cliRandomContextID);
 			putIfNotempty(options, SREConstants.MANIFEST_CLI_BOOT_AGENT_CONTEXT_ID, this.cliBootAgentContextID);
 			putIfNotempty(options, SREConstants.MANIFEST_CLI_SRE_OFFLINE, this.cliSreOffline);
+			putIfNotempty(options, SREConstants.MANIFEST_CLI_EXECUTION_POLICY, this.cliExecutionPolicy);
 			putIfNotempty(options, SREConstants.MANIFEST_CLI_NO_MORE_OPTION, this.cliNoMoreOption);
 			this.optionBuffer = new SoftReference<>(options);
 		}
@@ -21,9 +21,11 @@
 package io.sarl.lang.core;
 
 import java.security.InvalidParameterException;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Inject;
 
@@ -39,9 +41,23 @@ import javax.inject.Inject;
  */
 public class Agent implements Identifiable {
 
+	private static final AtomicLong SKILL_STAMPS = new AtomicLong();
+
+	private static final Skill[] NO_SKILL = new Skill[0];
+
 	private final UUID id;
 
-	private Map<Class<? extends Capacity>, Skill> capacities = new ConcurrentHashMap<>();
+	/** Skills of the agent, indexed by the identifiers of the capacities.
+	 * The array is never changed after its publication: a new array
+	 * is created each time a skill is set or cleared.
+	 */
+	private volatile Skill[] skills = NO_SKILL;
+
+	/** Lock for the changes of the skills.
+	 */
+	private final Object skillLock = new Object();
+
+	private volatile long skillStamp = SKILL_STAMPS.incrementAndGet();
 
 	private final UUID parentID;
 
@@ -67,24 +83,48 @@ public class Agent implements Identifiable {
 	}
 
 	/**
-	 * Returns a String representation of the Event E1 attributes only.
+	 * Returns a String representation of the attributes of this Agent only.
 	 *
-	 * @return the string representation of the attributes of this Event.
+	 * @return the string representation of the attributes of this Agent.
+	 * @deprecated see {@link #attributesToString(StringBuilder)}. If this function
+	 * is overridden, it is invoked by {@link #toString()} in place of
+	 * {@link #attributesToString(StringBuilder)}.
 	 */
+	@Deprecated
 	protected String attributesToString() {
 		StringBuilder builder = new StringBuilder();
+		attributesToString(builder);
+		return builder.toString();
+	}
+
+	/**
+	 * Append a String representation of the attributes of this Agent only.
+	 * <p>
+	 * The overriding functions must invoke the function of the super type
+	 * before appending their own attributes, in order to fill a single
+	 * string builder for the whole type hierarchy.
+	 *
+	 * @param builder - the receiver of the string representation.
+	 */
+	protected void attributesToString(StringBuilder builder) {
 		builder.append("id = "); //$NON-NLS-1$
 		builder.append(this.id);
 		builder.append(", parentID="); //$NON-NLS-1$
 		builder.append(this.parentID);
-		return builder.toString();
 	}
 
 	@Override
 	public String toString() {
-		return getClass().getSimpleName()
-				+ " [" + attributesToString() //$NON-NLS-1$
-				+ "]"; //$NON-NLS-1$
+		StringBuilder builder = new StringBuilder();
+		builder.append(getClass().getSimpleName());
+		builder.append(" ["); //$NON-NLS-1$
+		if (LegacyAttributesToString.isOverridden(getClass())) {
+			builder.append(attributesToString());
+		} else {
+			attributesToString(builder);
+		}
+		builder.append("]"); //$NON-NLS-1$
+		return builder.toString();
 	}
 
 	/**
@@ -119,7 +159,7 @@ public class Agent implements Identifiable {
 					+ capacity.getName());
 		}
 		skill.setOwner(this);
-		Skill oldS = this.capacities.put(capacity, skill);
+		Skill oldS = putSkill(CapacityIdentifiers.getIdentifier(capacity), skill);
 		if (oldS != null) {
 			oldS.uninstall();
 		}
@@ -147,7 +187,7 @@ public class Agent implements Identifiable {
 	@SuppressWarnings("unchecked")
 	protected <S extends Skill & Capacity> S clearSkill(Class<? extends Capacity> capacity) {
 		assert capacity != null;
-		Skill s = this.capacities.remove(capacity);
+		Skill s = putSkill(CapacityIdentifiers.getIdentifier(capacity), null);
 		if (s != null) {
 			s.uninstall();
 		}
@@ -169,7 +209,7 @@ public class Agent implements Identifiable {
 	 */
 	protected <S extends Capacity> S getSkill(Class<S> capacity) {
 		assert capacity != null;
-		S skill = capacity.cast(this.capacities.get(capacity));
+		S skill = capacity.cast(findSkill(capacity));
 		if (skill == null) {
 			throw new UnimplementedCapacityException(capacity, this.getID());
 		}
@@ -186,7 +226,7 @@ public class Agent implements Identifiable {
 	 */
 	protected boolean hasSkill(Class<? extends Capacity> capacity) {
 		assert capacity != null;
-		return this.capacities.containsKey(capacity);
+		return findSkill(capacity) != null;
 	}
 
 	/** Set the provider of the built-in capacities.
@@ -195,7 +235,83 @@ public class Agent implements Identifiable {
 	 */
 	@Inject
 	void setBuiltinCapacitiesProvider(BuiltinCapacitiesProvider provider) {
-		this.capacities.putAll(provider.getBuiltinCapacities(this));
+		Map<Class<? extends Capacity>, Skill> builtinCapacities = provider.getBuiltinCapacities(this);
+		synchronized (this.skillLock) {
+			Skill[] newSkills = this.skills;
+			for (Entry<Class<? extends Capacity>, Skill> entry : builtinCapacities.entrySet()) {
+				int index = CapacityIdentifiers.getIdentifier(entry.getKey());
+				if (newSkills == this.skills || index >= newSkills.length) {
+					newSkills = Arrays.copyOf(newSkills, Math.max(newSkills.length, index + 1));
+				}
+				newSkills[index] = entry.getValue();
+			}
+			this.skills = newSkills;
+			updateSkillStamp();
+		}
+	}
+
+	/** Replies the skill that is associated to the given capacity.
+	 *
+	 * @param capacity - the capacity.
+	 * @return the skill, or <code>null</code> if none.
+	 */
+	private Skill findSkill(Class<? extends Capacity> capacity) {
+		int index = CapacityIdentifiers.getIdentifier(capacity);
+		Skill[] currentSkills = this.skills;
+		return (index < currentSkills.length) ? currentSkills[index] : null;
+	}
+
+	/** Associate the given skill to the capacity with the given identifier.
+	 *
+	 * @param index - the identifier of the capacity.
+	 * @param skill - the skill, or <code>null</code> for removing the skill.
+	 * @return the skill that was previously associated to the capacity.
+	 */
+	private Skill putSkill(int index, Skill skill) {
+		synchronized (this.skillLock) {
+			Skill[] currentSkills = this.skills;
+			Skill oldSkill = (index < currentSkills.length) ? currentSkills[index] : null;
+			if (oldSkill != skill) {
+				Skill[] newSkills = Arrays.copyOf(currentSkills, Math.max(currentSkills.length, index + 1));
+				newSkills[index] = skill;
+				this.skills = newSkills;
+				updateSkillStamp();
+			}
+			return oldSkill;
+		}
+	}
+
+	/** Replies the stamp of the skills of this agent.
+	 * <p>
+	 * The stamp is changed each time a skill is set or cleared.
+	 * The stamps are unique over all the agents, so that two different
+	 * agents never have the same stamp.
+	 *
+	 * @return the stamp of the skills.
+	 * @see SkillCache
+	 */
+	long getSkillStamp() {
+		return this.skillStamp;
+	}
+
+	private void updateSkillStamp() {
+		this.skillStamp = SKILL_STAMPS.incrementAndGet();
+	}
+
+	/** Dispatch the given event to the behavior units of this agent.
+	 * <p>
+	 * The SARL compiler overrides this function in the agents that are declaring
+	 * behavior units, in order to use the {@link EventDispatchTable dispatch table}
+	 * of the agent type without any lookup.
+	 *
+	 * @param occurrence - the event to dispatch.
+	 * @return <code>true</code> if at least one behavior unit has received the event,
+	 * otherwise <code>false</code>.
+	 * @see EventDispatchTable
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean _dispatchEvent(Event occurrence) {
+		return ((EventDispatchTable<Agent>) EventDispatchTable.of(getClass())).dispatch(this, occurrence);
 	}
 
 	/** Replies if the given address is one of the addresses of this agent.
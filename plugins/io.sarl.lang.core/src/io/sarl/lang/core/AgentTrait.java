@@ -47,22 +47,46 @@ abstract class AgentTrait {
 	}
 
 	/**
-	 * Returns a String representation of the Event E1 attributes only.
+	 * Returns a String representation of the attributes of this AgentTrait only.
 	 *
-	 * @return the string representation of the attributes of this Event.
+	 * @return the string representation of the attributes of this AgentTrait.
+	 * @deprecated see {@link #attributesToString(StringBuilder)}. If this function
+	 * is overridden, it is invoked by {@link #toString()} in place of
+	 * {@link #attributesToString(StringBuilder)}.
 	 */
+	@Deprecated
 	protected String attributesToString() {
 		StringBuilder result = new StringBuilder();
+		attributesToString(result);
+		return result.toString();
+	}
+
+	/**
+	 * Append a String representation of the attributes of this AgentTrait only.
+	 * <p>
+	 * The overriding functions must invoke the function of the super type
+	 * before appending their own attributes, in order to fill a single
+	 * string builder for the whole type hierarchy.
+	 *
+	 * @param result - the receiver of the string representation.
+	 */
+	protected void attributesToString(StringBuilder result) {
 		result.append("owner = "); //$NON-NLS-1$
 		result.append(getOwner());
-		return result.toString();
 	}
 
 	@Override
 	public String toString() {
-		return getClass().getSimpleName()
-				+ " [" + attributesToString() //$NON-NLS-1$
-				+ "]"; //$NON-NLS-1$
+		StringBuilder result = new StringBuilder();
+		result.append(getClass().getSimpleName());
+		result.append(" ["); //$NON-NLS-1$
+		if (LegacyAttributesToString.isOverridden(getClass())) {
+			result.append(attributesToString());
+		} else {
+			attributesToString(result);
+		}
+		result.append("]"); //$NON-NLS-1$
+		return result.toString();
 	}
 
 	/** Set the agent that has this trait.
@@ -40,4 +40,20 @@ public abstract class Behavior extends AgentTrait {
 		super(agent);
 	}
 
+	/** Dispatch the given event to the behavior units of this behavior.
+	 * <p>
+	 * The SARL compiler overrides this function in the behaviors that are declaring
+	 * behavior units, in order to use the {@link EventDispatchTable dispatch table}
+	 * of the behavior type without any lookup.
+	 *
+	 * @param occurrence - the event to dispatch.
+	 * @return <code>true</code> if at least one behavior unit has received the event,
+	 * otherwise <code>false</code>.
+	 * @see EventDispatchTable
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean _dispatchEvent(Event occurrence) {
+		return ((EventDispatchTable<Behavior>) EventDispatchTable.of(getClass())).dispatch(this, occurrence);
+	}
+
 }
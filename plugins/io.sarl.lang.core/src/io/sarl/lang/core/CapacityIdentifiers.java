@@ -0,0 +1,61 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Registry of the identifiers of the capacities.
+ * <p>
+ * Each capacity receives an identifier the first time it is used.
+ * The identifiers are dense, i.e. they are the integers from zero
+ * to the number of capacities minus one, so that they could be
+ * used as indexes in arrays.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+final class CapacityIdentifiers {
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	private static final ClassValue<Integer> IDENTIFIERS = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			return Integer.valueOf(COUNTER.getAndIncrement());
+		}
+	};
+
+	private CapacityIdentifiers() {
+		//
+	}
+
+	/** Replies the identifier of the given capacity.
+	 *
+	 * @param capacity - the capacity.
+	 * @return the identifier of the capacity, greater than or equal to zero.
+	 */
+	static int getIdentifier(Class<? extends Capacity> capacity) {
+		return IDENTIFIERS.get(capacity).intValue();
+	}
+
+}
@@ -0,0 +1,217 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/** Compact binary codec of the events.
+ * <p>
+ * The SARL compiler generates for each event a constructor that takes an {@link EventInput}
+ * and a {@link DecodingMarker}, and an override of {@link Event#writeTo(EventOutput)}. The event is encoded by
+ * its class and by the values written by these functions: the identifiers are written as
+ * two <code>long</code>, the integers as variable-length integers, and the classes as
+ * identifiers when they are registered with {@link #registerClass(Class, int)}.
+ * <p>
+ * The events that do not declare the two functions, e.g. the events written in Java,
+ * are encoded with the Java serialization.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class CompactEventCodec implements EventCodec {
+
+	/** Format of an event that is encoded with its generated functions.
+	 */
+	static final int COMPACT_FORMAT = 1;
+
+	/** Format of an event that is encoded with the Java serialization.
+	 */
+	static final int SERIALIZED_FORMAT = 2;
+
+	private static final int DEFAULT_BUFFER_SIZE = 128;
+
+	private static final ClassValue<Constructor<?>> DECODERS = new ClassValue<Constructor<?>>() {
+		@Override
+		protected Constructor<?> computeValue(Class<?> type) {
+			try {
+				type.getDeclaredMethod("writeTo", EventOutput.class); //$NON-NLS-1$
+				Constructor<?> constructor = type.getDeclaredConstructor(EventInput.class, DecodingMarker.class);
+				constructor.setAccessible(true);
+				return constructor;
+			} catch (NoSuchMethodException | SecurityException exception) {
+				return null;
+			}
+		}
+	};
+
+	private final ClassLoader classLoader;
+
+	private final ConcurrentMap<Class<?>, Integer> classIdentifiers = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Integer, Class<?>> classes = new ConcurrentHashMap<>();
+
+	/** Construct a codec that loads the classes with the class loader of the SARL API.
+	 */
+	public CompactEventCodec() {
+		this(Event.class.getClassLoader());
+	}
+
+	/**
+	 * @param classLoader - the class loader used for loading the classes of the decoded objects.
+	 */
+	public CompactEventCodec(ClassLoader classLoader) {
+		assert (classLoader != null);
+		this.classLoader = classLoader;
+	}
+
+	/** Replies the class loader used for loading the classes of the decoded objects.
+	 *
+	 * @return the class loader.
+	 */
+	public ClassLoader getClassLoader() {
+		return this.classLoader;
+	}
+
+	/** Register the identifier of a class.
+	 * <p>
+	 * A registered class is encoded by its identifier in place of its name.
+	 * The same identifiers must be registered in the codecs of the encoding node
+	 * and of the decoding node.
+	 *
+	 * @param type - the class.
+	 * @param identifier - the identifier of the class, strictly positive.
+	 * @throws IllegalArgumentException - if the class or the identifier is already registered.
+	 */
+	public void registerClass(Class<?> type, int identifier) {
+		assert (type != null);
+		if (identifier <= 0) {
+			throw new IllegalArgumentException("identifier must be strictly positive"); //$NON-NLS-1$
+		}
+		Integer id = Integer.valueOf(identifier);
+		Class<?> previousType = this.classes.putIfAbsent(id, type);
+		if (previousType != null && previousType != type) {
+			throw new IllegalArgumentException("identifier already registered for " + previousType.getName()); //$NON-NLS-1$
+		}
+		Integer previousId = this.classIdentifiers.putIfAbsent(type, id);
+		if (previousId != null && !previousId.equals(id)) {
+			if (previousType == null) {
+				this.classes.remove(id, type);
+			}
+			throw new IllegalArgumentException("class already registered with " + previousId); //$NON-NLS-1$
+		}
+	}
+
+	/** Replies the identifier of the given class.
+	 *
+	 * @param type - the class.
+	 * @return the identifier of the class, or zero if it is not registered.
+	 */
+	int getClassIdentifier(Class<?> type) {
+		Integer id = this.classIdentifiers.get(type);
+		return id == null ? 0 : id.intValue();
+	}
+
+	/** Replies the class with the given identifier.
+	 *
+	 * @param identifier - the identifier of the class.
+	 * @return the class, or <code>null</code> if it is not registered.
+	 */
+	Class<?> getClass(int identifier) {
+		return this.classes.get(Integer.valueOf(identifier));
+	}
+
+	@Override
+	public byte[] encode(Event event) throws IOException {
+		assert (event != null);
+		EventOutput output = new EventOutput(this, DEFAULT_BUFFER_SIZE);
+		writeEvent(output, event);
+		return output.toByteArray();
+	}
+
+	@Override
+	public Event decode(byte[] data) throws IOException {
+		assert (data != null);
+		return readEvent(new EventInput(this, data));
+	}
+
+	/** Write the given event.
+	 *
+	 * @param output - the output.
+	 * @param event - the event to write.
+	 * @throws IOException - if the event cannot be written.
+	 */
+	void writeEvent(EventOutput output, Event event) throws IOException {
+		Class<?> type = event.getClass();
+		if (DECODERS.get(type) != null) {
+			output.writeByte((byte) COMPACT_FORMAT);
+			output.writeClass(type);
+			event.writeTo(output);
+		} else {
+			output.writeByte((byte) SERIALIZED_FORMAT);
+			output.writeSerializable(event);
+		}
+	}
+
+	/** Read an event.
+	 *
+	 * @param input - the input.
+	 * @return the event.
+	 * @throws IOException - if the event cannot be read.
+	 */
+	Event readEvent(EventInput input) throws IOException {
+		int format = input.readByte();
+		switch (format) {
+		case COMPACT_FORMAT:
+			Class<?> type = input.readClass();
+			Constructor<?> constructor = type == null ? null : DECODERS.get(type);
+			if (constructor == null) {
+				throw new InvalidClassException(type == null ? null : type.getName(),
+						"no generated decoding constructor"); //$NON-NLS-1$
+			}
+			try {
+				return (Event) constructor.newInstance(input, DecodingMarker.INSTANCE);
+			} catch (InvocationTargetException exception) {
+				if (exception.getCause() instanceof IOException) {
+					throw (IOException) exception.getCause();
+				}
+				throw new IOException(exception.getCause());
+			} catch (ReflectiveOperationException | ClassCastException exception) {
+				throw new IOException(exception);
+			}
+		case SERIALIZED_FORMAT:
+			try {
+				return (Event) input.readSerializable();
+			} catch (ClassCastException exception) {
+				throw new IOException(exception);
+			}
+		default:
+			throw new IOException("unknown event format: " + format); //$NON-NLS-1$
+		}
+	}
+
+}
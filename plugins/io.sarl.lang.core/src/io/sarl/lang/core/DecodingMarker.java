@@ -0,0 +1,47 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+/** Marker of the decoding constructors of the events.
+ * <p>
+ * The decoding constructor of an event takes an {@link EventInput} and this marker.
+ * The marker avoids any ambiguity with the other constructors of the events,
+ * e.g. the one that is taking an {@link Address}: a call such as <code>new E(null)</code>
+ * always invokes the non-decoding constructor.
+ * Only the {@link CompactEventCodec} can create the marker.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see CompactEventCodec
+ */
+public final class DecodingMarker {
+
+	/** Singleton instance of the marker.
+	 */
+	static final DecodingMarker INSTANCE = new DecodingMarker();
+
+	private DecodingMarker() {
+		//
+	}
+
+}
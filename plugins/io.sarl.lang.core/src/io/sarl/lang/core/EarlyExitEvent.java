@@ -20,6 +20,7 @@
  */
 package io.sarl.lang.core;
 
+import java.io.IOException;
 
 /**
  * Event describing an early exit from a block of code when it
@@ -50,4 +51,14 @@ public abstract class EarlyExitEvent extends Event {
 		super(source);
 	}
 
+	/** Constructs an EarlyExitEvent from its binary representation.
+	 * @param input - the input that contains the binary representation of the event.
+	 * @param marker - the marker of the decoding constructors.
+	 * @throws IOException - if the event cannot be read.
+	 * @see CompactEventCodec
+	 */
+	protected EarlyExitEvent(EventInput input, DecodingMarker marker) throws IOException {
+		super(input, marker);
+	}
+
 }
@@ -20,6 +20,7 @@
  */
 package io.sarl.lang.core;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.UUID;
 
@@ -34,7 +35,7 @@ import java.util.UUID;
  * @mavengroupid $GroupId$
  * @mavenartifactid $ArtifactId$
  */
-public abstract class Event implements Serializable {
+public abstract class Event implements Serializable, Cloneable {
 
 	private static final long serialVersionUID = -4314428111329600890L;
 
@@ -56,6 +57,46 @@ public abstract class Event implements Serializable {
 		this.source = source;
 	}
 
+	/** Constructs an Event from its binary representation.
+	 * <p>
+	 * The SARL compiler generates this constructor in each event
+	 * for reading the fields of the event.
+	 *
+	 * @param input - the input that contains the binary representation of the event.
+	 * @param marker - the marker of the decoding constructors.
+	 * @throws IOException - if the event cannot be read.
+	 * @see CompactEventCodec
+	 */
+	protected Event(EventInput input, DecodingMarker marker) throws IOException {
+		this.source = input.readAddress();
+	}
+
+	/** Write the binary representation of this event.
+	 * <p>
+	 * The SARL compiler generates an override of this function in each event
+	 * for writing the fields of the event.
+	 *
+	 * @param output - the output in which the event must be written.
+	 * @throws IOException - if the event cannot be written.
+	 * @see CompactEventCodec
+	 */
+	protected void writeTo(EventOutput output) throws IOException {
+		output.writeAddress(this.source);
+	}
+
+	/** Replies a shallow copy of this event.
+	 *
+	 * @return the copy.
+	 * @see EventMetadata#copy(Event)
+	 */
+	Event copy() {
+		try {
+			return (Event) clone();
+		} catch (CloneNotSupportedException e) {
+			throw new Error(e);
+		}
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) {
@@ -97,22 +138,46 @@ public abstract class Event implements Serializable {
 	}
 
 	/**
-	 * Returns a String representation of the Event E1 attributes only.
+	 * Returns a String representation of the attributes of this Event only.
 	 *
 	 * @return the string representation of the attributes of this Event.
+	 * @deprecated see {@link #attributesToString(StringBuilder)}. If this function
+	 * is overridden, it is invoked by {@link #toString()} in place of
+	 * {@link #attributesToString(StringBuilder)}.
 	 */
+	@Deprecated
 	protected String attributesToString() {
 		StringBuilder result = new StringBuilder();
+		attributesToString(result);
+		return result.toString();
+	}
+
+	/**
+	 * Append a String representation of the attributes of this Event only.
+	 * <p>
+	 * The overriding functions must invoke the function of the super type
+	 * before appending their own attributes, in order to fill a single
+	 * string builder for the whole type hierarchy.
+	 *
+	 * @param result - the receiver of the string representation.
+	 */
+	protected void attributesToString(StringBuilder result) {
 		result.append("source = "); //$NON-NLS-1$
 		result.append(this.source);
-		return result.toString();
 	}
 
 	@Override
 	public String toString() {
-		return getClass().getSimpleName()
-				+ " [" + attributesToString() //$NON-NLS-1$
-				+ "]"; //$NON-NLS-1$
+		StringBuilder result = new StringBuilder();
+		result.append(getClass().getSimpleName());
+		result.append(" ["); //$NON-NLS-1$
+		if (LegacyAttributesToString.isOverridden(getClass())) {
+			result.append(attributesToString());
+		} else {
+			attributesToString(result);
+		}
+		result.append("]"); //$NON-NLS-1$
+		return result.toString();
 	}
 
 	/** Replies if the event was emitted by an entity with the given address.
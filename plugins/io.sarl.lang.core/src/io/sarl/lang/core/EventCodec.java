@@ -0,0 +1,54 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+import java.io.IOException;
+
+/** Codec that converts the events to and from a binary representation,
+ * for sending them to another node.
+ * <p>
+ * The runtime platforms may provide their own codecs. The default codec
+ * is {@link CompactEventCodec}.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public interface EventCodec {
+
+	/** Encode the given event.
+	 *
+	 * @param event - the event to encode.
+	 * @return the binary representation of the event.
+	 * @throws IOException - if the event cannot be encoded.
+	 */
+	byte[] encode(Event event) throws IOException;
+
+	/** Decode an event.
+	 *
+	 * @param data - the binary representation of the event.
+	 * @return the event.
+	 * @throws IOException - if the event cannot be decoded.
+	 */
+	Event decode(byte[] data) throws IOException;
+
+}
@@ -0,0 +1,313 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Table that maps the event types to the behavior units of an agent or a behavior.
+ * <p>
+ * The SARL compiler generates a static dispatch table for each agent and behavior
+ * that is declaring behavior units. The table contains the behavior units declared
+ * in the type, and the ones inherited from the super types that have their own table.
+ * The run-time environment may route an event to the behavior units with
+ * {@link #dispatch(Object, Event)}, without scanning the types with the
+ * Java reflection API.
+ * <p>
+ * The handlers that are matching an event type are computed once per
+ * concrete event type, and cached.
+ *
+ * @param <T> - the type of the receiver of the events.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see PerceptHandler
+ */
+public final class EventDispatchTable<T> {
+
+	private static final Map<Class<?>, EventDispatchTable<?>> TABLES = new ConcurrentHashMap<>();
+
+	private static final EventDispatchTable<Object> EMPTY_TABLE = new EventDispatchTable<>(
+			Object.class, Collections.<Entry<Object>>emptyList());
+
+	private static final PerceptHandler<?>[] NO_HANDLER = new PerceptHandler<?>[0];
+
+	private final Class<T> type;
+
+	private final List<Entry<? super T>> entries;
+
+	private final Map<Class<?>, PerceptHandler<? super T>[]> resolvedHandlers = new ConcurrentHashMap<>();
+
+	private EventDispatchTable(Class<T> type, List<Entry<? super T>> entries) {
+		this.type = type;
+		this.entries = entries;
+	}
+
+	/** Create a builder of dispatch table for the given type.
+	 *
+	 * @param <T> - the type of the receiver of the events.
+	 * @param type - the type of the receiver of the events.
+	 * @return the builder.
+	 */
+	public static <T> Builder<T> builder(Class<T> type) {
+		assert (type != null);
+		return new Builder<>(type);
+	}
+
+	/** Replies the dispatch table that is applicable to the given type.
+	 * <p>
+	 * If the given type has no dispatch table, the table of the nearest
+	 * super type is replied. If no super type has a dispatch table, an
+	 * empty table is replied.
+	 *
+	 * @param type - the type of the receiver of the events.
+	 * @return the dispatch table, never <code>null</code>.
+	 */
+	public static EventDispatchTable<?> of(Class<?> type) {
+		Class<?> current = type;
+		while (current != null) {
+			EventDispatchTable<?> table = TABLES.get(current);
+			if (table != null) {
+				return table;
+			}
+			current = current.getSuperclass();
+		}
+		return EMPTY_TABLE;
+	}
+
+	/** Replies the type of the receiver of the events.
+	 *
+	 * @return the type of the receiver.
+	 */
+	public Class<T> getType() {
+		return this.type;
+	}
+
+	/** Replies the types of the events that are supported by the behavior units.
+	 *
+	 * @return the event types.
+	 */
+	public Set<Class<? extends Event>> getSupportedEvents() {
+		Set<Class<? extends Event>> types = new LinkedHashSet<>();
+		for (Entry<? super T> entry : this.entries) {
+			types.add(entry.eventType);
+		}
+		return Collections.unmodifiableSet(types);
+	}
+
+	/** Replies if at least one behavior unit is receiving the events of the given type.
+	 *
+	 * @param eventType - the type of the event.
+	 * @return <code>true</code> if a behavior unit is receiving the event,
+	 * otherwise <code>false</code>.
+	 */
+	public boolean isSupportedEvent(Class<? extends Event> eventType) {
+		return getHandlers(eventType).length > 0;
+	}
+
+	/** Replies the handlers of the behavior units that are receiving the events
+	 * of the given type, in the order of the declaration of the behavior units.
+	 * The behavior units that are inherited from the super types are before
+	 * the behavior units declared in the type.
+	 *
+	 * @param eventType - the type of the event.
+	 * @return the handlers; never <code>null</code>.
+	 */
+	public PerceptHandler<? super T>[] getHandlers(Class<? extends Event> eventType) {
+		assert (eventType != null);
+		PerceptHandler<? super T>[] handlers = this.resolvedHandlers.get(eventType);
+		if (handlers == null) {
+			List<PerceptHandler<? super T>> list = new ArrayList<>();
+			for (Entry<? super T> entry : this.entries) {
+				if (entry.eventType.isAssignableFrom(eventType)) {
+					list.add(entry.handler);
+				}
+			}
+			handlers = toHandlerArray(list);
+			this.resolvedHandlers.put(eventType, handlers);
+		}
+		return handlers;
+	}
+
+	/** Replies an array with the given handlers.
+	 *
+	 * @param <R> - the type of the receivers of the events.
+	 * @param handlers - the handlers.
+	 * @return the array of handlers.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <R> PerceptHandler<? super R>[] toHandlerArray(List<PerceptHandler<? super R>> handlers) {
+		// An array of a parameterized type cannot be created, but the array of the wildcard
+		// type receives only handlers of receivers of type R.
+		if (handlers.isEmpty()) {
+			return (PerceptHandler<? super R>[]) NO_HANDLER;
+		}
+		return handlers.toArray((PerceptHandler<? super R>[]) new PerceptHandler<?>[handlers.size()]);
+	}
+
+	/** Dispatch the given event to the behavior units of the given receiver.
+	 *
+	 * @param receiver - the receiver of the event.
+	 * @param occurrence - the event to dispatch.
+	 * @return <code>true</code> if at least one behavior unit has received the event,
+	 * otherwise <code>false</code>.
+	 */
+	public boolean dispatch(T receiver, Event occurrence) {
+		assert (receiver != null);
+		assert (occurrence != null);
+		PerceptHandler<? super T>[] handlers = getHandlers(occurrence.getClass());
+		for (PerceptHandler<? super T> handler : handlers) {
+			handler.handle(receiver, occurrence);
+		}
+		return handlers.length > 0;
+	}
+
+	@Override
+	public String toString() {
+		return "EventDispatchTable [type=" + this.type.getName() //$NON-NLS-1$
+				+ ", units=" + this.entries //$NON-NLS-1$
+				+ "]"; //$NON-NLS-1$
+	}
+
+	/** Entry in a dispatch table.
+	 *
+	 * @param <T> - the type of the receiver of the events.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class Entry<T> {
+
+		/** Type of the events received by the behavior unit.
+		 */
+		final Class<? extends Event> eventType;
+
+		/** Name of the function that is implementing the behavior unit.
+		 */
+		final String name;
+
+		/** Invoker of the behavior unit.
+		 */
+		final PerceptHandler<T> handler;
+
+		/**
+		 * @param eventType - the type of the events received by the behavior unit.
+		 * @param name - the name of the function that is implementing the behavior unit.
+		 * @param handler - the invoker of the behavior unit.
+		 */
+		Entry(Class<? extends Event> eventType, String name, PerceptHandler<T> handler) {
+			this.eventType = eventType;
+			this.name = name;
+			this.handler = handler;
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+
+	}
+
+	/** Builder of dispatch table.
+	 *
+	 * @param <T> - the type of the receiver of the events.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static final class Builder<T> {
+
+		private final Class<T> type;
+
+		private final List<Entry<? super T>> entries = new ArrayList<>();
+
+		/**
+		 * @param type - the type of the receiver of the events.
+		 */
+		Builder(Class<T> type) {
+			this.type = type;
+		}
+
+		/** Add the handler of a behavior unit.
+		 * <p>
+		 * If a handler with the same name is inherited from a super type,
+		 * it is replaced by the given handler, in the same way as an overriding
+		 * function is replacing the overridden function.
+		 *
+		 * @param eventType - the type of the events received by the behavior unit.
+		 * @param name - the name of the function that is implementing the behavior unit.
+		 * @param handler - the invoker of the behavior unit.
+		 * @return this builder.
+		 */
+		public Builder<T> add(Class<? extends Event> eventType, String name, PerceptHandler<? super T> handler) {
+			assert (eventType != null);
+			assert (name != null);
+			assert (handler != null);
+			this.entries.add(new Entry<>(eventType, name, handler));
+			return this;
+		}
+
+		/** Build the dispatch table, and register it for being replied by
+		 * {@link EventDispatchTable#of(Class)}.
+		 *
+		 * @return the dispatch table.
+		 */
+		@SuppressWarnings("unchecked")
+		public EventDispatchTable<T> build() {
+			List<Entry<? super T>> allEntries = new ArrayList<>();
+			Class<? super T> superType = this.type.getSuperclass();
+			if (superType != null) {
+				// The super type was initialized by the JVM before this type,
+				// so that its table, if any, is already registered.
+				EventDispatchTable<?> parent = of(superType);
+				for (Entry<?> inheritedEntry : parent.entries) {
+					if (!isOverridden(inheritedEntry.name)) {
+						allEntries.add((Entry<? super T>) inheritedEntry);
+					}
+				}
+			}
+			allEntries.addAll(this.entries);
+			EventDispatchTable<T> table = new EventDispatchTable<>(this.type,
+					Collections.unmodifiableList(allEntries));
+			TABLES.put(this.type, table);
+			return table;
+		}
+
+		private boolean isOverridden(String name) {
+			for (Entry<? super T> entry : this.entries) {
+				if (entry.name.equals(name)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+}
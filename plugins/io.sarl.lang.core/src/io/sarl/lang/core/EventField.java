@@ -0,0 +1,122 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+/** Description of a field of an event.
+ *
+ * @param <E> - the type of the event that is declaring the field.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see EventMetadata
+ */
+public final class EventField<E extends Event> {
+
+	private final Class<E> declaringType;
+
+	private final String name;
+
+	private final Class<?> type;
+
+	private final boolean isFinal;
+
+	private final EventFieldAccessor<? super E> accessor;
+
+	/**
+	 * @param declaringType - the type of the event that is declaring the field.
+	 * @param name - the name of the field.
+	 * @param type - the type of the field.
+	 * @param isFinal - indicates if the field is final.
+	 * @param accessor - the accessor to the value of the field.
+	 */
+	EventField(Class<E> declaringType, String name, Class<?> type, boolean isFinal,
+			EventFieldAccessor<? super E> accessor) {
+		this.declaringType = declaringType;
+		this.name = name;
+		this.type = type;
+		this.isFinal = isFinal;
+		this.accessor = accessor;
+	}
+
+	/** Replies the type of the event that is declaring the field.
+	 *
+	 * @return the declaring type.
+	 */
+	public Class<E> getDeclaringType() {
+		return this.declaringType;
+	}
+
+	/** Replies the name of the field.
+	 *
+	 * @return the name.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/** Replies the type of the field.
+	 *
+	 * @return the type.
+	 */
+	public Class<?> getType() {
+		return this.type;
+	}
+
+	/** Replies if the field is final, i.e. if its value cannot be changed.
+	 *
+	 * @return <code>true</code> if the field is final, otherwise <code>false</code>.
+	 */
+	public boolean isFinal() {
+		return this.isFinal;
+	}
+
+	/** Replies the value of the field in the given event.
+	 *
+	 * @param event - the event.
+	 * @return the value of the field.
+	 */
+	public Object get(E event) {
+		assert (event != null);
+		return this.accessor.get(event);
+	}
+
+	/** Change the value of the field in the given event.
+	 *
+	 * @param event - the event.
+	 * @param value - the new value of the field.
+	 * @throws UnsupportedOperationException - if the field is final.
+	 * @throws ClassCastException - if the value is not compatible with the type of the field.
+	 */
+	public void set(E event, Object value) {
+		assert (event != null);
+		if (this.isFinal) {
+			throw new UnsupportedOperationException();
+		}
+		this.accessor.set(event, value);
+	}
+
+	@Override
+	public String toString() {
+		return this.declaringType.getName() + "." + this.name; //$NON-NLS-1$
+	}
+
+}
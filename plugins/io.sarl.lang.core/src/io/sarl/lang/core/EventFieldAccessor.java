@@ -0,0 +1,57 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+/** Accessor to the value of a field of an event.
+ * <p>
+ * The SARL compiler generates one accessor for each field of an event,
+ * and puts it into the {@link EventMetadata} of the event type. The accessor
+ * reads and writes the field directly, without reflection.
+ *
+ * @param <E> - the type of the event that is declaring the field.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see EventMetadata
+ */
+public abstract class EventFieldAccessor<E extends Event> {
+
+	/** Replies the value of the field in the given event.
+	 *
+	 * @param event - the event.
+	 * @return the value of the field.
+	 */
+	public abstract Object get(E event);
+
+	/** Change the value of the field in the given event.
+	 * <p>
+	 * By default, this function throws {@link UnsupportedOperationException}.
+	 * The accessors of the fields that are not final override it.
+	 *
+	 * @param event - the event.
+	 * @param value - the new value of the field.
+	 */
+	public void set(E event, Object value) {
+		throw new UnsupportedOperationException();
+	}
+
+}
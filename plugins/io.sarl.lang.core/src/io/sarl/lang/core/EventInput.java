@@ -0,0 +1,358 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/** Binary input of the {@link CompactEventCodec}.
+ * <p>
+ * The functions of this input are invoked by the code generated by
+ * the SARL compiler for reading the fields of the events.
+ * They read the values written by the functions of {@link EventOutput}
+ * that have the same name.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public final class EventInput {
+
+	private static final int BYTE_MASK = 0xFF;
+
+	private static final int VARINT_MASK = 0x7F;
+
+	private static final int VARINT_CONTINUATION = 0x80;
+
+	private static final int VARINT_SHIFT = 7;
+
+	private static final int INT_BITS = 32;
+
+	private static final int LONG_BITS = 64;
+
+	private static final int BYTE_SIZE = 8;
+
+	private static final int LONG_BYTES = 8;
+
+	private static final int INT_BYTES = 4;
+
+	private final CompactEventCodec codec;
+
+	private final byte[] buffer;
+
+	private int position;
+
+	/**
+	 * @param codec - the codec that is using this input.
+	 * @param buffer - the bytes to read.
+	 */
+	EventInput(CompactEventCodec codec, byte[] buffer) {
+		this.codec = codec;
+		this.buffer = buffer;
+	}
+
+	private void ensureAvailable(int count) throws EOFException {
+		if (count < 0 || this.position + count > this.buffer.length) {
+			throw new EOFException();
+		}
+	}
+
+	/** Read a byte.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	public byte readByte() throws IOException {
+		ensureAvailable(1);
+		return this.buffer[this.position++];
+	}
+
+	/** Read a boolean.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	/** Read an integer with a variable length.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 * @see EventOutput#writeVarInt(int)
+	 */
+	public int readVarInt() throws IOException {
+		int raw = readUnsignedVarInt();
+		return (raw >>> 1) ^ -(raw & 1);
+	}
+
+	/** Read a positive integer with a variable length.
+	 *
+	 * @return the value, considered as unsigned.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	int readUnsignedVarInt() throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < INT_BITS; shift += VARINT_SHIFT) {
+			int b = readByte();
+			result |= (b & VARINT_MASK) << shift;
+			if ((b & VARINT_CONTINUATION) == 0) {
+				return result;
+			}
+		}
+		throw new StreamCorruptedException("malformed variable-length integer"); //$NON-NLS-1$
+	}
+
+	/** Read a long integer with a variable length.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 * @see EventOutput#writeVarLong(long)
+	 */
+	public long readVarLong() throws IOException {
+		long raw = 0L;
+		for (int shift = 0; shift < LONG_BITS; shift += VARINT_SHIFT) {
+			int b = readByte();
+			raw |= ((long) (b & VARINT_MASK)) << shift;
+			if ((b & VARINT_CONTINUATION) == 0) {
+				return (raw >>> 1) ^ -(raw & 1L);
+			}
+		}
+		throw new StreamCorruptedException("malformed variable-length integer"); //$NON-NLS-1$
+	}
+
+	/** Read a long integer on eight bytes.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	public long readLong() throws IOException {
+		ensureAvailable(LONG_BYTES);
+		long value = 0L;
+		for (int i = 0; i < LONG_BYTES; ++i) {
+			value = (value << BYTE_SIZE) | (this.buffer[this.position++] & BYTE_MASK);
+		}
+		return value;
+	}
+
+	/** Read a float.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	public float readFloat() throws IOException {
+		ensureAvailable(INT_BYTES);
+		int bits = 0;
+		for (int i = 0; i < INT_BYTES; ++i) {
+			bits = (bits << BYTE_SIZE) | (this.buffer[this.position++] & BYTE_MASK);
+		}
+		return Float.intBitsToFloat(bits);
+	}
+
+	/** Read a double.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	public double readDouble() throws IOException {
+		return Double.longBitsToDouble(readLong());
+	}
+
+	/** Read a string.
+	 *
+	 * @return the value, possibly <code>null</code>.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	public String readString() throws IOException {
+		int length = readUnsignedVarInt() - 1;
+		if (length < 0) {
+			return null;
+		}
+		ensureAvailable(length);
+		String value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+		this.position += length;
+		return value;
+	}
+
+	/** Read an identifier.
+	 *
+	 * @return the value, possibly <code>null</code>.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	public UUID readUUID() throws IOException {
+		if (!readBoolean()) {
+			return null;
+		}
+		long mostSignificantBits = readLong();
+		return new UUID(mostSignificantBits, readLong());
+	}
+
+	/** Read a class.
+	 *
+	 * @return the value, possibly <code>null</code>.
+	 * @throws IOException - if the value cannot be read, or if the class cannot be loaded.
+	 */
+	public Class<?> readClass() throws IOException {
+		int identifier = readVarInt();
+		if (identifier < 0) {
+			return null;
+		}
+		if (identifier > 0) {
+			Class<?> type = this.codec.getClass(identifier);
+			if (type == null) {
+				throw new StreamCorruptedException("unregistered class identifier: " + identifier); //$NON-NLS-1$
+			}
+			return type;
+		}
+		String name = readString();
+		try {
+			return Class.forName(name, false, this.codec.getClassLoader());
+		} catch (ClassNotFoundException exception) {
+			throw new IOException(exception);
+		}
+	}
+
+	/** Read a space identifier.
+	 *
+	 * @return the value, possibly <code>null</code>.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	@SuppressWarnings("unchecked")
+	public SpaceID readSpaceID() throws IOException {
+		if (!readBoolean()) {
+			return null;
+		}
+		UUID contextID = readUUID();
+		UUID id = readUUID();
+		Class<?> specification = readClass();
+		if (specification != null && !SpaceSpecification.class.isAssignableFrom(specification)) {
+			throw new StreamCorruptedException("not a space specification: " + specification.getName()); //$NON-NLS-1$
+		}
+		return new SpaceID(contextID, id, (Class<? extends SpaceSpecification<?>>) specification);
+	}
+
+	/** Read an address.
+	 *
+	 * @return the value, possibly <code>null</code>.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	public Address readAddress() throws IOException {
+		if (!readBoolean()) {
+			return null;
+		}
+		UUID agentID = readUUID();
+		return new Address(readSpaceID(), agentID);
+	}
+
+	/** Read an event.
+	 *
+	 * @return the value, possibly <code>null</code>.
+	 * @throws IOException - if the value cannot be read.
+	 */
+	public Event readEvent() throws IOException {
+		if (!readBoolean()) {
+			return null;
+		}
+		return this.codec.readEvent(this);
+	}
+
+	/** Read an object of any type.
+	 *
+	 * @return the value, possibly <code>null</code>.
+	 * @throws IOException - if the value cannot be read.
+	 * @see EventOutput#writeObject(Object)
+	 */
+	public Object readObject() throws IOException {
+		byte tag = readByte();
+		switch (tag) {
+		case EventOutput.NULL_TAG:
+			return null;
+		case EventOutput.BOOLEAN_TAG:
+			return Boolean.valueOf(readBoolean());
+		case EventOutput.BYTE_TAG:
+			return Byte.valueOf(readByte());
+		case EventOutput.SHORT_TAG:
+			return Short.valueOf((short) readVarInt());
+		case EventOutput.CHARACTER_TAG:
+			return Character.valueOf((char) readUnsignedVarInt());
+		case EventOutput.INTEGER_TAG:
+			return Integer.valueOf(readVarInt());
+		case EventOutput.LONG_TAG:
+			return Long.valueOf(readVarLong());
+		case EventOutput.FLOAT_TAG:
+			return Float.valueOf(readFloat());
+		case EventOutput.DOUBLE_TAG:
+			return Double.valueOf(readDouble());
+		case EventOutput.STRING_TAG:
+			return readString();
+		case EventOutput.UUID_TAG:
+			return readUUID();
+		case EventOutput.ADDRESS_TAG:
+			return readAddress();
+		case EventOutput.SPACEID_TAG:
+			return readSpaceID();
+		case EventOutput.EVENT_TAG:
+			return this.codec.readEvent(this);
+		case EventOutput.CLASS_TAG:
+			return readClass();
+		case EventOutput.SERIALIZABLE_TAG:
+			return readSerializable();
+		default:
+			throw new StreamCorruptedException("unknown object tag: " + tag); //$NON-NLS-1$
+		}
+	}
+
+	/** Read an object with the Java serialization.
+	 *
+	 * @return the value.
+	 * @throws IOException - if the object cannot be deserialized.
+	 */
+	Object readSerializable() throws IOException {
+		int length = readUnsignedVarInt();
+		ensureAvailable(length);
+		ByteArrayInputStream bytes = new ByteArrayInputStream(this.buffer, this.position, length);
+		this.position += length;
+		final ClassLoader classLoader = this.codec.getClassLoader();
+		try (ObjectInputStream stream = new ObjectInputStream(bytes) {
+			@Override
+			protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+				try {
+					return Class.forName(desc.getName(), false, classLoader);
+				} catch (ClassNotFoundException exception) {
+					return super.resolveClass(desc);
+				}
+			}
+		}) {
+			return stream.readObject();
+		} catch (ClassNotFoundException exception) {
+			throw new IOException(exception);
+		}
+	}
+
+}
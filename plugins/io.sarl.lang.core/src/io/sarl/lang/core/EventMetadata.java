@@ -0,0 +1,295 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Description of the fields of an event type.
+ * <p>
+ * The SARL compiler generates a static metadata for each event that is declaring
+ * fields. The metadata contains the fields declared in the type, and the ones
+ * inherited from the super types. The run-time environment may read, write and
+ * copy the events with the metadata, without the Java reflection API.
+ * <p>
+ * The metadata of an event type is registered when the event type is initialized
+ * by the virtual machine, i.e. before the first instance of the type is created.
+ * {@link #of(Class)} initializes the event type if it is not yet initialized.
+ * The metadata is attached to the event type with a {@link ClassValue}, so that
+ * it does not prevent the event type and its class loader to be garbage collected.
+ *
+ * @param <E> - the type of the event.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see EventField
+ * @see EventFieldAccessor
+ */
+public final class EventMetadata<E extends Event> {
+
+	private static final ClassValue<Registration> METADATA = new ClassValue<Registration>() {
+		@Override
+		protected Registration computeValue(Class<?> type) {
+			return new Registration();
+		}
+	};
+
+	private static final EventMetadata<Event> ROOT_METADATA = builder(Event.class)
+			.add("source", Address.class, new EventFieldAccessor<Event>() { //$NON-NLS-1$
+				@Override
+				public Object get(Event event) {
+					return event.getSource();
+				}
+
+				@Override
+				public void set(Event event, Object value) {
+					event.setSource((Address) value);
+				}
+			})
+			.build();
+
+	private final Class<E> type;
+
+	private final List<EventField<? super E>> fields;
+
+	private EventMetadata(Class<E> type, List<EventField<? super E>> fields) {
+		this.type = type;
+		this.fields = fields;
+	}
+
+	/** Create a builder of metadata for the given event type.
+	 *
+	 * @param <E> - the type of the event.
+	 * @param type - the type of the event.
+	 * @return the builder.
+	 */
+	public static <E extends Event> Builder<E> builder(Class<E> type) {
+		assert (type != null);
+		return new Builder<>(type);
+	}
+
+	/** Replies the metadata that is applicable to the given event type.
+	 * <p>
+	 * If the given type has no metadata, the metadata of the nearest
+	 * super type is replied. The given type is initialized if it
+	 * is not yet initialized, in order to register its metadata.
+	 *
+	 * @param <E> - the type of the event.
+	 * @param type - the type of the event.
+	 * @return the metadata, never <code>null</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Event> EventMetadata<? super E> of(Class<E> type) {
+		Registration registration = METADATA.get(type);
+		if (registration.metadata == null && !registration.initialized) {
+			// The super types are initialized by the JVM before the type.
+			try {
+				Class.forName(type.getName(), true, type.getClassLoader());
+			} catch (ClassNotFoundException exception) {
+				// The type cannot be found by its name with its class loader.
+			}
+			registration.initialized = true;
+		}
+		Class<?> current = type;
+		while (current != null) {
+			EventMetadata<?> metadata = METADATA.get(current).metadata;
+			if (metadata != null) {
+				return (EventMetadata<? super E>) metadata;
+			}
+			current = current.getSuperclass();
+		}
+		return ROOT_METADATA;
+	}
+
+	/** Replies the type of the event.
+	 *
+	 * @return the type of the event.
+	 */
+	public Class<E> getType() {
+		return this.type;
+	}
+
+	/** Replies the fields of the event type. The fields inherited from
+	 * the super types are before the fields declared in the type.
+	 *
+	 * @return the fields.
+	 */
+	public List<EventField<? super E>> getFields() {
+		return this.fields;
+	}
+
+	/** Replies the field with the given name.
+	 *
+	 * @param name - the name of the field.
+	 * @return the field, or <code>null</code> if the event type has no field with the given name.
+	 */
+	public EventField<? super E> getField(String name) {
+		for (int i = this.fields.size() - 1; i >= 0; --i) {
+			EventField<? super E> field = this.fields.get(i);
+			if (field.getName().equals(name)) {
+				return field;
+			}
+		}
+		return null;
+	}
+
+	/** Replies a copy of the given event.
+	 * <p>
+	 * The copy is shallow: the values of the fields are shared by the event and its copy.
+	 *
+	 * @param <T> - the type of the event.
+	 * @param event - the event to copy.
+	 * @return the copy of the event.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends E> T copy(T event) {
+		assert (event != null);
+		return (T) event.copy();
+	}
+
+	/** Replies a copy of the given event with another source.
+	 * <p>
+	 * The copy is shallow: the values of the fields are shared by the event and its copy.
+	 *
+	 * @param <T> - the type of the event.
+	 * @param event - the event to copy.
+	 * @param source - the source of the copy.
+	 * @return the copy of the event.
+	 */
+	public <T extends E> T copyWithSource(T event, Address source) {
+		T copy = copy(event);
+		copy.setSource(source);
+		return copy;
+	}
+
+	@Override
+	public String toString() {
+		return "EventMetadata [type=" + this.type.getName() //$NON-NLS-1$
+				+ ", fields=" + this.fields //$NON-NLS-1$
+				+ "]"; //$NON-NLS-1$
+	}
+
+	/** Builder of event metadata.
+	 *
+	 * @param <E> - the type of the event.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static final class Builder<E extends Event> {
+
+		private final Class<E> type;
+
+		private final List<EventField<? super E>> fields = new ArrayList<>();
+
+		/**
+		 * @param type - the type of the event.
+		 */
+		Builder(Class<E> type) {
+			this.type = type;
+		}
+
+		/** Add a field that is not final.
+		 *
+		 * @param name - the name of the field.
+		 * @param fieldType - the type of the field.
+		 * @param accessor - the accessor to the value of the field.
+		 * @return this builder.
+		 */
+		public Builder<E> add(String name, Class<?> fieldType, EventFieldAccessor<? super E> accessor) {
+			return addField(name, fieldType, false, accessor);
+		}
+
+		/** Add a final field.
+		 *
+		 * @param name - the name of the field.
+		 * @param fieldType - the type of the field.
+		 * @param accessor - the accessor to the value of the field.
+		 * @return this builder.
+		 */
+		public Builder<E> addFinal(String name, Class<?> fieldType, EventFieldAccessor<? super E> accessor) {
+			return addField(name, fieldType, true, accessor);
+		}
+
+		private Builder<E> addField(String name, Class<?> fieldType, boolean isFinal,
+				EventFieldAccessor<? super E> accessor) {
+			assert (name != null);
+			assert (fieldType != null);
+			assert (accessor != null);
+			this.fields.add(new EventField<>(this.type, name, fieldType, isFinal, accessor));
+			return this;
+		}
+
+		/** Build the metadata, and register it for being replied by
+		 * {@link EventMetadata#of(Class)}.
+		 *
+		 * @return the metadata.
+		 */
+		@SuppressWarnings("unchecked")
+		public EventMetadata<E> build() {
+			List<EventField<? super E>> allFields = new ArrayList<>();
+			Class<? super E> superType = this.type.getSuperclass();
+			if (superType != null && Event.class.isAssignableFrom(superType)) {
+				// The super type was initialized by the JVM before this type,
+				// so that its metadata, if any, is already registered.
+				EventMetadata<?> parent = of((Class<? extends Event>) superType);
+				for (EventField<?> inheritedField : parent.fields) {
+					allFields.add((EventField<? super E>) inheritedField);
+				}
+			}
+			allFields.addAll(this.fields);
+			EventMetadata<E> metadata = new EventMetadata<>(this.type,
+					Collections.unmodifiableList(allFields));
+			METADATA.get(this.type).metadata = metadata;
+			return metadata;
+		}
+
+	}
+
+	/** Metadata that is attached to an event type.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class Registration {
+
+		/** The metadata declared by the type, or <code>null</code> if none.
+		 */
+		volatile EventMetadata<?> metadata;
+
+		/** Indicates if the type was initialized by {@link EventMetadata#of(Class)}.
+		 */
+		volatile boolean initialized;
+
+		/**
+		 */
+		Registration() {
+			//
+		}
+
+	}
+
+}
@@ -0,0 +1,411 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/** Binary output of the {@link CompactEventCodec}.
+ * <p>
+ * The functions of this output are invoked by the code generated by
+ * the SARL compiler for writing the fields of the events.
+ * The values are read back with the functions of {@link EventInput}
+ * that have the same name.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public final class EventOutput {
+
+	/** Tag of the <code>null</code> value.
+	 */
+	static final byte NULL_TAG = 0;
+
+	/** Tag of a {@link Boolean}.
+	 */
+	static final byte BOOLEAN_TAG = 1;
+
+	/** Tag of a {@link Byte}.
+	 */
+	static final byte BYTE_TAG = 2;
+
+	/** Tag of a {@link Short}.
+	 */
+	static final byte SHORT_TAG = 3;
+
+	/** Tag of a {@link Character}.
+	 */
+	static final byte CHARACTER_TAG = 4;
+
+	/** Tag of an {@link Integer}.
+	 */
+	static final byte INTEGER_TAG = 5;
+
+	/** Tag of a {@link Long}.
+	 */
+	static final byte LONG_TAG = 6;
+
+	/** Tag of a {@link Float}.
+	 */
+	static final byte FLOAT_TAG = 7;
+
+	/** Tag of a {@link Double}.
+	 */
+	static final byte DOUBLE_TAG = 8;
+
+	/** Tag of a {@link String}.
+	 */
+	static final byte STRING_TAG = 9;
+
+	/** Tag of an {@link UUID}.
+	 */
+	static final byte UUID_TAG = 10;
+
+	/** Tag of an {@link Address}.
+	 */
+	static final byte ADDRESS_TAG = 11;
+
+	/** Tag of a {@link SpaceID}.
+	 */
+	static final byte SPACEID_TAG = 12;
+
+	/** Tag of an {@link Event}.
+	 */
+	static final byte EVENT_TAG = 13;
+
+	/** Tag of a {@link Class}.
+	 */
+	static final byte CLASS_TAG = 14;
+
+	/** Tag of an object that is written with the Java serialization.
+	 */
+	static final byte SERIALIZABLE_TAG = 15;
+
+	private static final int BYTE_MASK = 0xFF;
+
+	private static final int VARINT_MASK = 0x7F;
+
+	private static final int VARINT_CONTINUATION = 0x80;
+
+	private static final int VARINT_SHIFT = 7;
+
+	private static final int INT_SIGN_SHIFT = 31;
+
+	private static final int LONG_SIGN_SHIFT = 63;
+
+	private static final int BYTE_SIZE = 8;
+
+	private static final int LONG_BYTES = 8;
+
+	private static final int INT_BYTES = 4;
+
+	private final CompactEventCodec codec;
+
+	private byte[] buffer;
+
+	private int size;
+
+	/**
+	 * @param codec - the codec that is using this output.
+	 * @param initialCapacity - the initial size of the buffer.
+	 */
+	EventOutput(CompactEventCodec codec, int initialCapacity) {
+		this.codec = codec;
+		this.buffer = new byte[initialCapacity];
+	}
+
+	/** Replies the written bytes.
+	 *
+	 * @return the written bytes.
+	 */
+	byte[] toByteArray() {
+		return Arrays.copyOf(this.buffer, this.size);
+	}
+
+	private void ensureCapacity(int count) {
+		int minCapacity = this.size + count;
+		if (minCapacity > this.buffer.length) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(minCapacity, 2 * this.buffer.length));
+		}
+	}
+
+	/** Write a byte.
+	 *
+	 * @param value - the value.
+	 */
+	public void writeByte(byte value) {
+		ensureCapacity(1);
+		this.buffer[this.size++] = value;
+	}
+
+	/** Write a boolean.
+	 *
+	 * @param value - the value.
+	 */
+	public void writeBoolean(boolean value) {
+		writeByte(value ? (byte) 1 : (byte) 0);
+	}
+
+	/** Write an integer with a variable length: the small absolute values are written on less bytes.
+	 *
+	 * @param value - the value.
+	 */
+	public void writeVarInt(int value) {
+		writeUnsignedVarInt((value << 1) ^ (value >> INT_SIGN_SHIFT));
+	}
+
+	/** Write a positive integer with a variable length.
+	 *
+	 * @param value - the value, considered as unsigned.
+	 */
+	void writeUnsignedVarInt(int value) {
+		int remaining = value;
+		while ((remaining & ~VARINT_MASK) != 0) {
+			writeByte((byte) ((remaining & VARINT_MASK) | VARINT_CONTINUATION));
+			remaining >>>= VARINT_SHIFT;
+		}
+		writeByte((byte) remaining);
+	}
+
+	/** Write a long integer with a variable length: the small absolute values are written on less bytes.
+	 *
+	 * @param value - the value.
+	 */
+	public void writeVarLong(long value) {
+		long remaining = (value << 1) ^ (value >> LONG_SIGN_SHIFT);
+		while ((remaining & ~VARINT_MASK) != 0L) {
+			writeByte((byte) ((remaining & VARINT_MASK) | VARINT_CONTINUATION));
+			remaining >>>= VARINT_SHIFT;
+		}
+		writeByte((byte) remaining);
+	}
+
+	/** Write a long integer on eight bytes.
+	 *
+	 * @param value - the value.
+	 */
+	public void writeLong(long value) {
+		ensureCapacity(LONG_BYTES);
+		for (int shift = (LONG_BYTES - 1) * BYTE_SIZE; shift >= 0; shift -= BYTE_SIZE) {
+			this.buffer[this.size++] = (byte) ((value >>> shift) & BYTE_MASK);
+		}
+	}
+
+	/** Write a float.
+	 *
+	 * @param value - the value.
+	 */
+	public void writeFloat(float value) {
+		int bits = Float.floatToIntBits(value);
+		ensureCapacity(INT_BYTES);
+		for (int shift = (INT_BYTES - 1) * BYTE_SIZE; shift >= 0; shift -= BYTE_SIZE) {
+			this.buffer[this.size++] = (byte) ((bits >>> shift) & BYTE_MASK);
+		}
+	}
+
+	/** Write a double.
+	 *
+	 * @param value - the value.
+	 */
+	public void writeDouble(double value) {
+		writeLong(Double.doubleToLongBits(value));
+	}
+
+	/** Write a string in UTF-8.
+	 *
+	 * @param value - the value, possibly <code>null</code>.
+	 */
+	public void writeString(String value) {
+		if (value == null) {
+			writeUnsignedVarInt(0);
+		} else {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeUnsignedVarInt(bytes.length + 1);
+			ensureCapacity(bytes.length);
+			System.arraycopy(bytes, 0, this.buffer, this.size, bytes.length);
+			this.size += bytes.length;
+		}
+	}
+
+	/** Write an identifier as two <code>long</code>.
+	 *
+	 * @param value - the value, possibly <code>null</code>.
+	 */
+	public void writeUUID(UUID value) {
+		if (value == null) {
+			writeBoolean(false);
+		} else {
+			writeBoolean(true);
+			writeLong(value.getMostSignificantBits());
+			writeLong(value.getLeastSignificantBits());
+		}
+	}
+
+	/** Write a class, by its identifier if it is registered in the codec, or by its name.
+	 *
+	 * @param value - the value, possibly <code>null</code>.
+	 * @see CompactEventCodec#registerClass(Class, int)
+	 */
+	public void writeClass(Class<?> value) {
+		if (value == null) {
+			writeVarInt(-1);
+		} else {
+			int identifier = this.codec.getClassIdentifier(value);
+			writeVarInt(identifier);
+			if (identifier == 0) {
+				writeString(value.getName());
+			}
+		}
+	}
+
+	/** Write a space identifier, including the specification of the space.
+	 *
+	 * @param value - the value, possibly <code>null</code>.
+	 */
+	public void writeSpaceID(SpaceID value) {
+		if (value == null) {
+			writeBoolean(false);
+		} else {
+			writeBoolean(true);
+			writeUUID(value.getContextID());
+			writeUUID(value.getID());
+			writeClass(value.getSpaceSpecification());
+		}
+	}
+
+	/** Write an address.
+	 *
+	 * @param value - the value, possibly <code>null</code>.
+	 */
+	public void writeAddress(Address value) {
+		if (value == null) {
+			writeBoolean(false);
+		} else {
+			writeBoolean(true);
+			writeUUID(value.getUUID());
+			writeSpaceID(value.getSpaceId());
+		}
+	}
+
+	/** Write an event.
+	 *
+	 * @param value - the value, possibly <code>null</code>.
+	 * @throws IOException - if the event cannot be written.
+	 */
+	public void writeEvent(Event value) throws IOException {
+		if (value == null) {
+			writeBoolean(false);
+		} else {
+			writeBoolean(true);
+			this.codec.writeEvent(this, value);
+		}
+	}
+
+	/** Write an object of any type.
+	 * <p>
+	 * The type of the object is written before the object. The types that have a
+	 * specific function in this output are written with this function, the other types
+	 * are written with the Java serialization.
+	 *
+	 * @param value - the value, possibly <code>null</code>.
+	 * @throws IOException - if the object cannot be written.
+	 */
+	public void writeObject(Object value) throws IOException {
+		if (value == null) {
+			writeByte(NULL_TAG);
+		} else if (value instanceof String) {
+			writeByte(STRING_TAG);
+			writeString((String) value);
+		} else if (value instanceof Integer) {
+			writeByte(INTEGER_TAG);
+			writeVarInt(((Integer) value).intValue());
+		} else if (value instanceof Long) {
+			writeByte(LONG_TAG);
+			writeVarLong(((Long) value).longValue());
+		} else if (value instanceof Double) {
+			writeByte(DOUBLE_TAG);
+			writeDouble(((Double) value).doubleValue());
+		} else if (value instanceof Boolean) {
+			writeByte(BOOLEAN_TAG);
+			writeBoolean(((Boolean) value).booleanValue());
+		} else if (value instanceof UUID) {
+			writeByte(UUID_TAG);
+			writeUUID((UUID) value);
+		} else if (value instanceof Address) {
+			writeByte(ADDRESS_TAG);
+			writeAddress((Address) value);
+		} else if (value instanceof SpaceID) {
+			writeByte(SPACEID_TAG);
+			writeSpaceID((SpaceID) value);
+		} else if (value instanceof Event) {
+			writeByte(EVENT_TAG);
+			this.codec.writeEvent(this, (Event) value);
+		} else {
+			writeOtherObject(value);
+		}
+	}
+
+	private void writeOtherObject(Object value) throws IOException {
+		if (value instanceof Float) {
+			writeByte(FLOAT_TAG);
+			writeFloat(((Float) value).floatValue());
+		} else if (value instanceof Short) {
+			writeByte(SHORT_TAG);
+			writeVarInt(((Short) value).shortValue());
+		} else if (value instanceof Byte) {
+			writeByte(BYTE_TAG);
+			writeByte(((Byte) value).byteValue());
+		} else if (value instanceof Character) {
+			writeByte(CHARACTER_TAG);
+			writeUnsignedVarInt(((Character) value).charValue());
+		} else if (value instanceof Class<?>) {
+			writeByte(CLASS_TAG);
+			writeClass((Class<?>) value);
+		} else {
+			writeByte(SERIALIZABLE_TAG);
+			writeSerializable(value);
+		}
+	}
+
+	/** Write an object with the Java serialization.
+	 *
+	 * @param value - the value.
+	 * @throws IOException - if the object cannot be serialized.
+	 */
+	void writeSerializable(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+			stream.writeObject(value);
+		}
+		byte[] serialized = bytes.toByteArray();
+		writeUnsignedVarInt(serialized.length);
+		ensureCapacity(serialized.length);
+		System.arraycopy(serialized, 0, this.buffer, this.size, serialized.length);
+		this.size += serialized.length;
+	}
+
+}
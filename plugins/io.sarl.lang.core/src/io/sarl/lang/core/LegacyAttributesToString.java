@@ -0,0 +1,72 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+/** Detection of the overriding of the deprecated <code>attributesToString()</code>
+ * functions of {@link Event}, {@link Agent} and {@link AgentTrait}.
+ * <p>
+ * The <code>toString()</code> functions append the attributes to a single string builder
+ * with <code>attributesToString(StringBuilder)</code>. When a subtype is still overriding
+ * the deprecated function, the <code>toString()</code> functions must invoke the
+ * deprecated function for not losing the attributes of this subtype.
+ * The result of the detection is cached for each type.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+final class LegacyAttributesToString {
+
+	private static final String FUNCTION_NAME = "attributesToString"; //$NON-NLS-1$
+
+	private static final ClassValue<Boolean> OVERRIDDEN = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			Class<?> current = type;
+			while (current != null && current != Event.class
+					&& current != Agent.class && current != AgentTrait.class) {
+				try {
+					current.getDeclaredMethod(FUNCTION_NAME);
+					return Boolean.TRUE;
+				} catch (NoSuchMethodException e) {
+					current = current.getSuperclass();
+				}
+			}
+			return Boolean.FALSE;
+		}
+	};
+
+	private LegacyAttributesToString() {
+		//
+	}
+
+	/** Replies if the given type, or one of its super types below the SARL
+	 * base types, overrides the deprecated <code>attributesToString()</code>.
+	 *
+	 * @param type - the type to test.
+	 * @return <code>true</code> if the deprecated function is overridden.
+	 */
+	static boolean isOverridden(Class<?> type) {
+		return OVERRIDDEN.get(type).booleanValue();
+	}
+
+}
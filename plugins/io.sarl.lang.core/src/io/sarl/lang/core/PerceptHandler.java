@@ -0,0 +1,47 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+/** Invoker of a behavior unit.
+ * <p>
+ * The SARL compiler generates one handler for each behavior unit
+ * of an agent or a behavior, and puts it into the {@link EventDispatchTable}
+ * of the type. The handler invokes the behavior unit directly,
+ * without reflection.
+ *
+ * @param <T> - the type of the receiver of the events.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see EventDispatchTable
+ */
+public interface PerceptHandler<T> {
+
+	/** Invoke the behavior unit on the given receiver.
+	 *
+	 * @param receiver - the object that is owning the behavior unit.
+	 * @param occurrence - the occurrence of the event. It is an instance
+	 * of the event type supported by the behavior unit.
+	 */
+	void handle(T receiver, Event occurrence);
+
+}
@@ -0,0 +1,122 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core;
+
+/** Cache of the skill that is implementing a capacity for an agent.
+ * <p>
+ * The SARL compiler generates one cache for each capacity that is used
+ * by an agent, a behavior or a skill. The functions that are delegating
+ * to the capacity are using the cache in place of {@link Agent#getSkill(Class)}.
+ * <p>
+ * The cached skill is associated to the skill stamp of the agent. This stamp
+ * is changed each time a skill is set or cleared in the agent. When the stamp
+ * of the agent is not the one associated to the cached skill, the skill is
+ * retreived again from the agent.
+ *
+ * @param <S> - the type of the capacity.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public final class SkillCache<S extends Capacity> {
+
+	private final Class<S> capacity;
+
+	private volatile Entry<S> entry;
+
+	/**
+	 * @param capacity - the capacity for which the skill is cached.
+	 */
+	public SkillCache(Class<S> capacity) {
+		assert (capacity != null);
+		this.capacity = capacity;
+	}
+
+	/** Replies the capacity for which the skill is cached.
+	 *
+	 * @return the capacity.
+	 */
+	public Class<S> getCapacity() {
+		return this.capacity;
+	}
+
+	/** Replies the skill of the given agent that is implementing the capacity.
+	 *
+	 * @param agent - the agent that is owning the skill.
+	 * @return the skill, never <code>null</code>.
+	 * @throws UnimplementedCapacityException - if no skill is owned by the agent for the capacity.
+	 * @see Agent#getSkill(Class)
+	 */
+	public S get(Agent agent) {
+		assert (agent != null);
+		// The stamp must be read before the skill for never associating
+		// a skill to a stamp that is more recent than the skill.
+		long stamp = agent.getSkillStamp();
+		Entry<S> cachedEntry = this.entry;
+		if (cachedEntry == null || cachedEntry.stamp != stamp) {
+			cachedEntry = new Entry<>(stamp, agent.getSkill(this.capacity));
+			this.entry = cachedEntry;
+		}
+		return cachedEntry.skill;
+	}
+
+	/** Forget the cached skill.
+	 */
+	public void clear() {
+		this.entry = null;
+	}
+
+	@Override
+	public String toString() {
+		return "SkillCache [capacity=" + this.capacity.getName() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/** Skill associated to the stamp of the agent at the time the skill was retreived.
+	 *
+	 * @param <S> - the type of the capacity.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class Entry<S> {
+
+		/** Skill stamp of the agent.
+		 */
+		final long stamp;
+
+		/** Cached skill.
+		 */
+		final S skill;
+
+		/**
+		 * @param stamp - the skill stamp of the agent.
+		 * @param skill - the skill.
+		 */
+		Entry(long stamp, S skill) {
+			this.stamp = stamp;
+			this.skill = skill;
+		}
+
+	}
+
+}
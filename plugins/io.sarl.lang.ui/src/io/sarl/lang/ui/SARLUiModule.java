@@ -20,6 +20,7 @@
  */
 package io.sarl.lang.ui;
 
+import io.sarl.lang.ui.contentassist.TypeHierarchyIndexBuilderParticipant;
 import io.sarl.lang.ui.highlighting.SARLHighlightingCalculator;
 import io.sarl.lang.ui.outline.SARLBehaviorUnitOutlineFilter;
 import io.sarl.lang.ui.outline.SARLFieldOutlineFilter;
@@ -32,6 +33,7 @@ import io.sarl.lang.ui.validation.SARLUIValidator;
 
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.eclipse.ui.views.contentoutline.IContentOutlinePage;
+import org.eclipse.xtext.builder.IXtextBuilderParticipant;
 import org.eclipse.xtext.ui.editor.outline.actions.IOutlineContribution;
 import org.eclipse.xtext.ui.editor.outline.impl.OutlineFilterAndSorter.IComparator;
 import org.eclipse.xtext.ui.editor.preferences.IPreferenceStoreInitializer;
@@ -150,4 +152,14 @@ public class SARLUiModule extends AbstractSARLUiModule {
 		return ImportingTypesProposalProvider.class;
 	}
 
+	/** Provides the participant to the Xtext builder that is maintaining
+	 * the type hierarchy index used by the content assist.
+	 *
+	 * @return the builder participant.
+	 */
+	@Override
+	public Class<? extends IXtextBuilderParticipant> bindIXtextBuilderParticipant() {
+		return TypeHierarchyIndexBuilderParticipant.class;
+	}
+
 }
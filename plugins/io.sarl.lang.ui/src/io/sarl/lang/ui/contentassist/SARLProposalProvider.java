@@ -20,7 +20,61 @@
  */
 package io.sarl.lang.ui.contentassist;
 
+import io.sarl.lang.sarl.Agent;
+import io.sarl.lang.sarl.Behavior;
+import io.sarl.lang.sarl.Capacity;
+import io.sarl.lang.sarl.Event;
+import io.sarl.lang.sarl.Skill;
+import io.sarl.lang.ui.contentassist.TypeHierarchyIndex.TypeDescription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.ui.ISharedImages;
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.viewers.StyledString;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.xtext.Assignment;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.access.IJvmTypeProvider;
+import org.eclipse.xtext.naming.IQualifiedNameProvider;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.ui.editor.contentassist.ConfigurableCompletionProposal;
+import org.eclipse.xtext.ui.editor.contentassist.ContentAssistContext;
+import org.eclipse.xtext.ui.editor.contentassist.ICompletionProposalAcceptor;
+import org.eclipse.xtext.ui.editor.contentassist.ReplacementTextApplier;
+import org.eclipse.xtext.ui.resource.IStorage2UriMapper;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.ReplaceRegion;
+import org.eclipse.xtext.xbase.imports.RewritableImportSection;
+
+import com.google.inject.Inject;
+
 /** Provides proposal for the content assist mechanism.
+ * <p>
+ * The proposals for the super types, the implemented capacities, the used
+ * and required capacities, and the events are the subtypes of the corresponding
+ * SARL root types. They are replied by a {@link TypeHierarchyIndex} that is
+ * maintained incrementally, in place of a type hierarchy search in the Java model
+ * for each invocation of the content assist. The proposals are built directly
+ * from the index, without searching the type names in the Java model. When a
+ * proposal is applied, the simple name of the type is inserted, and the type
+ * is imported; the qualified name is inserted when another type with the same
+ * simple name is already imported.
  *
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -30,233 +84,269 @@ package io.sarl.lang.ui.contentassist;
  */
 public class SARLProposalProvider extends AbstractSARLProposalProvider {
 
-// FIXME: The following code is commented out due to the issue #123
-
-//	@Inject extension IQualifiedNameProvider
-//
-//	@Inject private var IJvmTypeProvider.Factory jvmTypeProviderFactory
-//    @Inject private var ITypesProposalProvider typeProposalProvider
-//	@Inject private ILogicalContainerProvider logicalContainerProvider
-//
-//	override completeEvent_SuperTypes(
-//		EObject model, Assignment assignment,
-//		ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
-//		if (model instanceof Event) {
-//			model.buildProposalsWithout(
-//				model.fullyQualifiedName.toString,
-//				"io.sarl.lang.core.Event", context,
-//				acceptor, SarlPackage.Literals::INHERITING_ELEMENT__SUPER_TYPES,
-//				IJavaSearchConstants::CLASS
-//			)
-//		}
-//	}
-//
-//	override completeCapacity_SuperTypes(
-//		EObject model, Assignment assignment,
-//		ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
-//		if (model instanceof Capacity) {
-//			model.buildProposalsWithout(
-//				model.fullyQualifiedName.toString,
-//				"io.sarl.lang.core.Capacity", context,
-//				acceptor, SarlPackage.Literals::INHERITING_ELEMENT__SUPER_TYPES,
-//				IJavaSearchConstants::INTERFACE
-//			)
-//		}
-//	}
-//
-//	override completeSkill_SuperTypes(
-//		EObject model, Assignment assignment,
-//		ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
-//		if (model instanceof Skill) {
-//			model.buildProposalsWithout(
-//				model.fullyQualifiedName.toString,
-//				"io.sarl.lang.core.Skill", context,
-//				acceptor, SarlPackage.Literals::INHERITING_ELEMENT__SUPER_TYPES,
-//				IJavaSearchConstants::CLASS
-//			)
-//		}
-//	}
-//
-//	override completeBehavior_SuperTypes(
-//		EObject model, Assignment assignment,
-//		ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
-//		if (model instanceof Behavior) {
-//			model.buildProposalsWithout(
-//				model.fullyQualifiedName.toString,
-//				"io.sarl.lang.core.Behavior", context,
-//				acceptor, SarlPackage.Literals::INHERITING_ELEMENT__SUPER_TYPES,
-//				IJavaSearchConstants::CLASS
-//			)
-//		}
-//	}
-//
-//	override completeAgent_SuperTypes(
-//		EObject model, Assignment assignment,
-//		ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
-//		if (model instanceof Agent) {
-//			model.buildProposalsWithout(
-//				model.fullyQualifiedName.toString,
-//				"io.sarl.lang.core.Agent", context,
-//				acceptor, SarlPackage.Literals::INHERITING_ELEMENT__SUPER_TYPES,
-//				IJavaSearchConstants::CLASS
-//			)
-//		}
-//	}
-//
-//	override completeSkill_ImplementedTypes(
-//		EObject model, Assignment assignment,
-//		ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
-//		if (model instanceof Skill) {
-//			model.buildProposalsWithout(
-//				model.fullyQualifiedName.toString,
-//				"io.sarl.lang.core.Capacity", context,
-//				acceptor, SarlPackage.Literals::IMPLEMENTING_ELEMENT__IMPLEMENTED_TYPES,
-//				IJavaSearchConstants::INTERFACE
-//			)
-//		}
-//	}
-//
-//	override completeBehaviorUnit_Event(
-//		EObject model, Assignment assignment,
-//		ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
-//		if (model instanceof BehaviorUnit) {
-//			var container = logicalContainerProvider.getLogicalContainer(model)
-//			if (container!==null) {
-//				model.buildProposalsWith(
-//					container.fullyQualifiedName.toString,
-//					"io.sarl.lang.core.Event", context,
-//					acceptor, SarlPackage.Literals::BEHAVIOR_UNIT__EVENT,
-//					IJavaSearchConstants::CLASS
-//				)
-//			}
-//		}
-//	}
-//
-//	override completeCapacityUses_CapacitiesUsed(
-//		EObject model, Assignment assignment,
-//		ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
-//		if (model instanceof CapacityUses) {
-//			var container = logicalContainerProvider.getLogicalContainer(model)
-//			if (container!==null) {
-//				model.buildProposalsWith(
-//					container.fullyQualifiedName.toString,
-//					"io.sarl.lang.core.Capacity", context,
-//					acceptor, SarlPackage.Literals::CAPACITY_USES__CAPACITIES_USED,
-//					IJavaSearchConstants::INTERFACE
-//				)
-//			}
-//		}
-//	}
-//
-//	override completeRequiredCapacity_RequiredCapacities(
-//		EObject model, Assignment assignment,
-//		ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
-//		if (model instanceof RequiredCapacity) {
-//			var container = logicalContainerProvider.getLogicalContainer(model)
-//			if (container!==null) {
-//				model.buildProposalsWith(
-//					container.fullyQualifiedName.toString,
-//					"io.sarl.lang.core.Capacity", context,
-//					acceptor, SarlPackage.Literals::REQUIRED_CAPACITY__REQUIRED_CAPACITIES,
-//					IJavaSearchConstants::INTERFACE
-//				)
-//			}
-//		}
-//	}
-//
-//	override completeActionSignature_FiredEvents(
-//		EObject model, Assignment assignment,
-//		ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
-//		if (model instanceof ActionSignature) {
-//			var container = logicalContainerProvider.getLogicalContainer(model)
-//			if (container!==null) {
-//				model.buildProposalsWith(
-//					container.fullyQualifiedName.toString,
-//					"io.sarl.lang.core.Event", context,
-//					acceptor, SarlPackage.Literals::ACTION_SIGNATURE__FIRED_EVENTS,
-//					IJavaSearchConstants::CLASS
-//				)
-//			}
-//		}
-//	}
-//
-//	//----------------------------
-//
-//	private def buildProposalsWithout(EObject event, String containerFullyQualifiedName, String superTypeName,
-//			ContentAssistContext context, ICompletionProposalAcceptor acceptor, EReference reference, int expectedType) {
-//		val jvmTypeProvider = jvmTypeProviderFactory.createTypeProvider(event.eResource.resourceSet)
-//		val interfaceToImplement = jvmTypeProvider.findTypeByName(superTypeName)
-//		typeProposalProvider.createSubTypeProposals(
-//			interfaceToImplement,
-//			this,
-//			context,
-//			reference,
-//			new SARLProposalProvider.TypeFilter(
-//				expectedType,
-//				superTypeName,
-//				containerFullyQualifiedName),
-//			acceptor
-//		);
-//	}
-//
-//	private def buildProposalsWith(EObject event, String containerFullyQualifiedName, String superTypeName,
-//			ContentAssistContext context, ICompletionProposalAcceptor acceptor, EReference reference, int expectedType) {
-//		val jvmTypeProvider = jvmTypeProviderFactory.createTypeProvider(event.eResource.resourceSet)
-//		val interfaceToImplement = jvmTypeProvider.findTypeByName(superTypeName)
-//		typeProposalProvider.createSubTypeProposals(
-//			interfaceToImplement,
-//			this,
-//			context,
-//			reference,
-//			new SARLProposalProvider.TypeFilter(
-//				expectedType,
-//				containerFullyQualifiedName),
-//			acceptor
-//		);
-//	}
-//
-//	private static class TypeFilter implements ITypesProposalProvider.Filter {
-//
-//		private val int searchFor
-//		private val String[] typeNames
-//
-//		new (int searchFor, String... typeNames) {
-//			this.searchFor = searchFor
-//			this.typeNames = typeNames
-//		}
-//
-//		override accept(int modifiers,
-//			char[] packageName, char[] simpleTypeName,
-//			char[][] enclosingTypeNames, String path) {
-//			if (Flags::isFinal(modifiers)
-//				|| !Flags::isPublic(modifiers)
-//				|| (searchFor==IJavaSearchConstants::INTERFACE && !Flags::isInterface(modifiers))
-//				|| (searchFor==IJavaSearchConstants::CLASS &&
-//						(Flags::isInterface(modifiers) || Flags::isEnum(modifiers))
-//						 || Flags::isAnnotation(modifiers))) {
-//				return false
-//			}
-//			var fqName = new StringBuilder(packageName.length + simpleTypeName.length + 1)
-//			if (packageName.length != 0) {
-//				fqName.append(packageName)
-//				fqName.append('.')
-//			}
-//			for(char[] enclosingType: enclosingTypeNames) {
-//				fqName.append(enclosingType);
-//				fqName.append('.')
-//			}
-//			fqName.append(simpleTypeName)
-//			var str = fqName.toString
-//			for(exception : this.typeNames) {
-//				if (str == exception) return false
-//			}
-//			return true
-//		}
-//
-//		override getSearchFor() {
-//			this.searchFor
-//		}
-//
-//	}
+	private static final String AGENT_TYPE = "io.sarl.lang.core.Agent"; //$NON-NLS-1$
+
+	private static final String BEHAVIOR_TYPE = "io.sarl.lang.core.Behavior"; //$NON-NLS-1$
+
+	private static final String CAPACITY_TYPE = "io.sarl.lang.core.Capacity"; //$NON-NLS-1$
+
+	private static final String EVENT_TYPE = "io.sarl.lang.core.Event"; //$NON-NLS-1$
+
+	private static final String SKILL_TYPE = "io.sarl.lang.core.Skill"; //$NON-NLS-1$
+
+	@Inject
+	private TypeHierarchyIndexProvider indexProvider;
+
+	@Inject
+	private IStorage2UriMapper storage2UriMapper;
+
+	@Inject
+	private IQualifiedNameProvider qualifiedNameProvider;
+
+	@Inject
+	private RewritableImportSection.Factory importSectionFactory;
+
+	@Inject
+	private IJvmTypeProvider.Factory typeProviderFactory;
+
+	@Override
+	public void completeEvent_SuperTypes(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		if (model instanceof Event) {
+			completeSubtypes(model, EVENT_TYPE, false, context, acceptor);
+		}
+	}
+
+	@Override
+	public void completeCapacity_SuperTypes(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		if (model instanceof Capacity) {
+			completeSubtypes(model, CAPACITY_TYPE, false, context, acceptor);
+		}
+	}
+
+	@Override
+	public void completeSkill_SuperTypes(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		if (model instanceof Skill) {
+			completeSubtypes(model, SKILL_TYPE, false, context, acceptor);
+		}
+	}
+
+	@Override
+	public void completeBehavior_SuperTypes(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		if (model instanceof Behavior) {
+			completeSubtypes(model, BEHAVIOR_TYPE, false, context, acceptor);
+		}
+	}
+
+	@Override
+	public void completeAgent_SuperTypes(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		if (model instanceof Agent) {
+			completeSubtypes(model, AGENT_TYPE, false, context, acceptor);
+		}
+	}
+
+	@Override
+	public void completeSkill_ImplementedTypes(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		if (model instanceof Skill) {
+			completeSubtypes(model, CAPACITY_TYPE, false, context, acceptor);
+		}
+	}
+
+	@Override
+	public void completeBehaviorUnit_Name(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		completeSubtypes(model, EVENT_TYPE, true, context, acceptor);
+	}
+
+	@Override
+	public void completeCapacityUses_CapacitiesUsed(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		completeSubtypes(model, CAPACITY_TYPE, false, context, acceptor);
+	}
+
+	@Override
+	public void completeRequiredCapacity_RequiredCapacities(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		completeSubtypes(model, CAPACITY_TYPE, false, context, acceptor);
+	}
+
+	@Override
+	public void completeActionSignature_FiredEvents(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		completeSubtypes(model, EVENT_TYPE, true, context, acceptor);
+	}
+
+	@Override
+	public void completeAction_FiredEvents(EObject model, Assignment assignment,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		completeSubtypes(model, EVENT_TYPE, true, context, acceptor);
+	}
+
+	/** Build the proposals that are the subtypes of the given type.
+	 * <p>
+	 * When the model is a type declaration, the proposals are the super types
+	 * of this declaration: the declared type and the final types are not proposed.
+	 * Otherwise, the proposals are references to types: the final types are proposed.
+	 *
+	 * @param model - the element for which the proposals are built.
+	 * @param rootType - the fully qualified name of the type for which the subtypes are proposed.
+	 * @param includeRootType - indicates if the root type itself is proposed.
+	 * @param context - the content assist context.
+	 * @param acceptor - the receiver of the proposals.
+	 */
+	protected void completeSubtypes(EObject model, String rootType, boolean includeRootType,
+			ContentAssistContext context, ICompletionProposalAcceptor acceptor) {
+		IJavaProject project = getJavaProject(model);
+		if (project == null) {
+			return;
+		}
+		TypeHierarchyIndex index = this.indexProvider.getIndex(project);
+		boolean isTypeDeclaration = isTypeDeclaration(model);
+		String declaredType = null;
+		if (isTypeDeclaration) {
+			QualifiedName name = this.qualifiedNameProvider.getFullyQualifiedName(model);
+			if (name != null) {
+				declaredType = name.toString();
+			}
+		}
+		Set<String> candidates = new TreeSet<>(index.getSubtypes(rootType));
+		if (includeRootType) {
+			candidates.add(rootType);
+		}
+		for (String candidate : candidates) {
+			TypeDescription description = index.getType(candidate);
+			if (!candidate.equals(declaredType)
+					&& (!isTypeDeclaration || description == null || !description.isFinal())) {
+				ICompletionProposal proposal = createCompletionProposal(candidate,
+						getTypeDisplayString(candidate),
+						getTypeImage(description != null && description.isInterface()),
+						context);
+				if (proposal instanceof ConfigurableCompletionProposal && context.getResource() != null) {
+					((ConfigurableCompletionProposal) proposal).setTextApplier(
+							new ImportingTextApplier(context.getResource(), candidate));
+				}
+				acceptor.accept(proposal);
+			}
+		}
+	}
+
+	private static StyledString getTypeDisplayString(String qualifiedName) {
+		int index = qualifiedName.lastIndexOf('.');
+		if (index < 0) {
+			return new StyledString(qualifiedName);
+		}
+		StyledString display = new StyledString(qualifiedName.substring(index + 1));
+		display.append(" - " + qualifiedName.substring(0, index), StyledString.QUALIFIER_STYLER); //$NON-NLS-1$
+		return display;
+	}
+
+	private static Image getTypeImage(boolean isInterface) {
+		return JavaUI.getSharedImages().getImage(
+				isInterface ? ISharedImages.IMG_OBJS_INTERFACE : ISharedImages.IMG_OBJS_CLASS);
+	}
+
+	private static boolean isTypeDeclaration(EObject model) {
+		return model instanceof Agent || model instanceof Behavior || model instanceof Capacity
+				|| model instanceof Event || model instanceof Skill;
+	}
+
+	private IJavaProject getJavaProject(EObject model) {
+		if (model.eResource() == null) {
+			return null;
+		}
+		for (Pair<IStorage, IProject> storage : this.storage2UriMapper.getStorages(model.eResource().getURI())) {
+			IJavaProject project = JavaCore.create(storage.getSecond());
+			if (project != null && project.exists()) {
+				return project;
+			}
+		}
+		return null;
+	}
+
+	/** Inserts the simple name of a proposed type, and imports the type.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class ImportingTextApplier extends ReplacementTextApplier {
+
+		private final XtextResource resource;
+
+		private final String qualifiedName;
+
+		private RewritableImportSection importSection;
+
+		/**
+		 * @param resource - the resource in which the proposal is applied.
+		 * @param qualifiedName - the fully qualified name of the proposed type.
+		 */
+		ImportingTextApplier(XtextResource resource, String qualifiedName) {
+			this.resource = resource;
+			this.qualifiedName = qualifiedName;
+		}
+
+		@SuppressWarnings("synthetic-access")
+		@Override
+		public String getActualReplacementString(ConfigurableCompletionProposal proposal) {
+			this.importSection = null;
+			int index = this.qualifiedName.lastIndexOf('.');
+			if (index < 0) {
+				return this.qualifiedName;
+			}
+			String simpleName = this.qualifiedName.substring(index + 1);
+			RewritableImportSection section = SARLProposalProvider.this.importSectionFactory.parse(this.resource);
+			if (section == null) {
+				return this.qualifiedName;
+			}
+			List<JvmDeclaredType> importedTypes = section.getImportedTypes(simpleName);
+			if (importedTypes != null && !importedTypes.isEmpty()) {
+				for (JvmDeclaredType importedType : importedTypes) {
+					if (this.qualifiedName.equals(importedType.getIdentifier())) {
+						return simpleName;
+					}
+				}
+				// Another type with the same simple name is imported.
+				return this.qualifiedName;
+			}
+			JvmType type = SARLProposalProvider.this.typeProviderFactory.findOrCreateTypeProvider(
+					this.resource.getResourceSet()).findTypeByName(this.qualifiedName);
+			if (type instanceof JvmDeclaredType && section.addImport((JvmDeclaredType) type)) {
+				this.importSection = section;
+			}
+			return simpleName;
+		}
+
+		@Override
+		public void apply(IDocument document, ConfigurableCompletionProposal proposal) throws BadLocationException {
+			String replacement = getActualReplacementString(proposal);
+			document.replace(proposal.getReplacementOffset(), proposal.getReplacementLength(), replacement);
+			int delta = 0;
+			if (this.importSection != null) {
+				// The import section is before the proposal: the changes are applied after the
+				// replacement of the proposal, and the cursor is moved accordingly.
+				List<ReplaceRegion> regions = new ArrayList<>(this.importSection.rewrite());
+				Collections.sort(regions, new Comparator<ReplaceRegion>() {
+					@Override
+					public int compare(ReplaceRegion o1, ReplaceRegion o2) {
+						return Integer.compare(o2.getOffset(), o1.getOffset());
+					}
+				});
+				for (ReplaceRegion region : regions) {
+					document.replace(region.getOffset(), region.getLength(), region.getText());
+					delta += region.getText().length() - region.getLength();
+				}
+				this.importSection = null;
+			}
+			proposal.setCursorPosition(replacement.length() + delta);
+		}
+
+	}
 
 }
@@ -0,0 +1,244 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.ui.contentassist;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/** Index of the subtypes of the types that are visible from a project.
+ * <p>
+ * The index is fed with the descriptions of the types, i.e. the names of their
+ * direct super types. The descriptions are grouped by source, e.g. the file
+ * that declares the types, so that the index is updated file by file when
+ * the files are changed. The transitive subtypes of a type are computed on the
+ * first query after a change, and they are cached until the next change.
+ * Consequently, the queries of the content assist do not need to search
+ * into the Java model.
+ * <p>
+ * This index is thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see TypeHierarchyIndexProvider
+ */
+public class TypeHierarchyIndex {
+
+	private final Map<String, Collection<TypeDescription>> sources = new HashMap<>();
+
+	private final Map<String, Set<String>> subtypeCache = new HashMap<>();
+
+	private Map<String, List<String>> directSubtypes;
+
+	private Map<String, TypeDescription> types;
+
+	/** Replace the types that are declared by the given source.
+	 *
+	 * @param source - the identifier of the source, e.g. the path of the file.
+	 * @param descriptions - the descriptions of the types that are declared in the source.
+	 */
+	public synchronized void update(String source, Collection<TypeDescription> descriptions) {
+		if (descriptions.isEmpty()) {
+			remove(source);
+		} else {
+			this.sources.put(source, ImmutableList.copyOf(descriptions));
+			invalidate();
+		}
+	}
+
+	/** Remove the types that are declared by the given source.
+	 *
+	 * @param source - the identifier of the source, e.g. the path of the file.
+	 */
+	public synchronized void remove(String source) {
+		if (this.sources.remove(source) != null) {
+			invalidate();
+		}
+	}
+
+	/** Remove all the types from the index.
+	 */
+	public synchronized void clear() {
+		this.sources.clear();
+		invalidate();
+	}
+
+	/** Replies if the index contains no type.
+	 *
+	 * @return <code>true</code> if the index is empty.
+	 */
+	public synchronized boolean isEmpty() {
+		return this.sources.isEmpty();
+	}
+
+	private void invalidate() {
+		this.directSubtypes = null;
+		this.types = null;
+		this.subtypeCache.clear();
+	}
+
+	private void ensureHierarchy() {
+		if (this.directSubtypes == null) {
+			Map<String, List<String>> subtypes = new HashMap<>();
+			Map<String, TypeDescription> allTypes = new HashMap<>();
+			for (Collection<TypeDescription> descriptions : this.sources.values()) {
+				for (TypeDescription description : descriptions) {
+					allTypes.put(description.getName(), description);
+					for (String supertype : description.getSupertypes()) {
+						List<String> list = subtypes.get(supertype);
+						if (list == null) {
+							list = new ArrayList<>();
+							subtypes.put(supertype, list);
+						}
+						list.add(description.getName());
+					}
+				}
+			}
+			this.directSubtypes = subtypes;
+			this.types = allTypes;
+		}
+	}
+
+	/** Replies the description of the given type.
+	 *
+	 * @param typeName - the fully qualified name of the type.
+	 * @return the description, or <code>null</code> if the type is not in the index.
+	 */
+	public synchronized TypeDescription getType(String typeName) {
+		ensureHierarchy();
+		return this.types.get(typeName);
+	}
+
+	/** Replies the direct and indirect subtypes of the given type.
+	 *
+	 * @param typeName - the fully qualified name of the type.
+	 * @return the fully qualified names of the subtypes, not including the given type.
+	 */
+	public synchronized Set<String> getSubtypes(String typeName) {
+		Set<String> result = this.subtypeCache.get(typeName);
+		if (result == null) {
+			ensureHierarchy();
+			Set<String> subtypes = new HashSet<>();
+			LinkedList<String> candidates = new LinkedList<>();
+			candidates.add(typeName);
+			while (!candidates.isEmpty()) {
+				List<String> children = this.directSubtypes.get(candidates.removeFirst());
+				if (children != null) {
+					for (String child : children) {
+						if (!child.equals(typeName) && subtypes.add(child)) {
+							candidates.add(child);
+						}
+					}
+				}
+			}
+			result = ImmutableSet.copyOf(subtypes);
+			this.subtypeCache.put(typeName, result);
+		}
+		return result;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "TypeHierarchyIndex [sources=" + this.sources.size() + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/** Description of a type in the {@link TypeHierarchyIndex}.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static final class TypeDescription {
+
+		private final String name;
+
+		private final boolean isInterface;
+
+		private final boolean isFinal;
+
+		private final List<String> supertypes;
+
+		/**
+		 * @param name - the fully qualified name of the type.
+		 * @param isInterface - indicates if the type is an interface.
+		 * @param isFinal - indicates if the type is final.
+		 * @param supertypes - the fully qualified names of the direct super types.
+		 */
+		public TypeDescription(String name, boolean isInterface, boolean isFinal, Collection<String> supertypes) {
+			assert (name != null);
+			this.name = name;
+			this.isInterface = isInterface;
+			this.isFinal = isFinal;
+			this.supertypes = (supertypes == null) ? Collections.<String>emptyList() : ImmutableList.copyOf(supertypes);
+		}
+
+		/** Replies the fully qualified name of the type.
+		 *
+		 * @return the name.
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/** Replies if the type is an interface.
+		 *
+		 * @return <code>true</code> if the type is an interface.
+		 */
+		public boolean isInterface() {
+			return this.isInterface;
+		}
+
+		/** Replies if the type is final.
+		 *
+		 * @return <code>true</code> if the type is final.
+		 */
+		public boolean isFinal() {
+			return this.isFinal;
+		}
+
+		/** Replies the fully qualified names of the direct super types.
+		 *
+		 * @return the names of the super types.
+		 */
+		public List<String> getSupertypes() {
+			return this.supertypes;
+		}
+
+		@Override
+		public String toString() {
+			return this.name + " " + this.supertypes; //$NON-NLS-1$
+		}
+
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.ui.contentassist;
+
+import io.sarl.lang.ui.contentassist.TypeHierarchyIndex.TypeDescription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IStorage;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.builder.BuilderParticipant;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmMember;
+import org.eclipse.xtext.common.types.JvmType;
+import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.ui.resource.IStorage2UriMapper;
+import org.eclipse.xtext.util.Pair;
+
+import com.google.inject.Inject;
+
+/** Builder participant that generates the Java code, and that updates
+ * the {@link TypeHierarchyIndex type hierarchy indexes} with the types
+ * declared in the built SARL files.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class TypeHierarchyIndexBuilderParticipant extends BuilderParticipant {
+
+	@Inject
+	private TypeHierarchyIndexProvider indexProvider;
+
+	@Inject
+	private IStorage2UriMapper storage2UriMapper;
+
+	@Override
+	public void build(IBuildContext context, IProgressMonitor monitor) throws CoreException {
+		super.build(context, monitor);
+		for (IResourceDescription.Delta delta : context.getDeltas()) {
+			IFile file = getFile(delta.getUri());
+			if (file != null) {
+				if (delta.getNew() == null) {
+					this.indexProvider.remove(file);
+				} else {
+					Resource resource = context.getResourceSet().getResource(delta.getUri(), true);
+					List<TypeDescription> descriptions = new ArrayList<>();
+					for (EObject root : resource.getContents()) {
+						if (root instanceof JvmGenericType) {
+							describe((JvmGenericType) root, descriptions);
+						}
+					}
+					this.indexProvider.update(file, descriptions);
+				}
+			}
+		}
+	}
+
+	private IFile getFile(URI uri) {
+		for (Pair<IStorage, IProject> storage : this.storage2UriMapper.getStorages(uri)) {
+			if (storage.getFirst() instanceof IFile) {
+				return (IFile) storage.getFirst();
+			}
+		}
+		return null;
+	}
+
+	private static void describe(JvmGenericType type, List<TypeDescription> descriptions) {
+		List<String> supertypes = new ArrayList<>();
+		for (JvmTypeReference reference : type.getSuperTypes()) {
+			JvmType supertype = reference.getType();
+			if (supertype != null && !supertype.eIsProxy()) {
+				supertypes.add(supertype.getQualifiedName('.'));
+			}
+		}
+		descriptions.add(new TypeDescription(type.getQualifiedName('.'),
+				type.isInterface(), type.isFinal(), supertypes));
+		for (JvmMember member : type.getMembers()) {
+			if (member instanceof JvmGenericType) {
+				describe((JvmGenericType) member, descriptions);
+			}
+		}
+	}
+
+}
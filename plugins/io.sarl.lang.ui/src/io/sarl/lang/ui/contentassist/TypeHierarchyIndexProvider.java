@@ -0,0 +1,401 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.ui.contentassist;
+
+import io.sarl.lang.ui.contentassist.TypeHierarchyIndex.TypeDescription;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.osgi.util.NLS;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/** Provider of the {@link TypeHierarchyIndex type hierarchy indexes} of the Java projects.
+ * <p>
+ * The index of a project is created on the first query, and filled in a background job
+ * with the subtypes of the SARL {@link #ROOT_TYPES root types}, by one type hierarchy
+ * search for each root type. The index is replied by the queries only when it is filled;
+ * until then, the queries reply the index that was discarded by the last classpath change,
+ * or an empty index. After that, the index is updated incrementally:
+ * <ul>
+ * <li>by the Java model when a compilation unit is changed, added or removed;</li>
+ * <li>by the {@link TypeHierarchyIndexBuilderParticipant builder} when a SARL file is built.</li>
+ * </ul>
+ * The indexes are discarded when a classpath is changed, and filled again after the next query.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@Singleton
+public class TypeHierarchyIndexProvider implements IElementChangedListener {
+
+	/** Fully qualified names of the types for which the subtypes are searched
+	 * when an index is created.
+	 */
+	public static final String[] ROOT_TYPES = {
+		"io.sarl.lang.core.Agent", //$NON-NLS-1$
+		"io.sarl.lang.core.Behavior", //$NON-NLS-1$
+		"io.sarl.lang.core.Capacity", //$NON-NLS-1$
+		"io.sarl.lang.core.Event", //$NON-NLS-1$
+		"io.sarl.lang.core.Skill", //$NON-NLS-1$
+	};
+
+	private static final int CLASSPATH_CHANGES = IJavaElementDelta.F_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_CLOSED;
+
+	private static final int ROOT_CHANGES = IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+			| IJavaElementDelta.F_ADDED_TO_CLASSPATH
+			| IJavaElementDelta.F_REMOVED_FROM_CLASSPATH;
+
+	private final Map<IJavaProject, TypeHierarchyIndex> indexes = new HashMap<>();
+
+	private final Map<IJavaProject, TypeHierarchyIndex> staleIndexes = new HashMap<>();
+
+	private final Map<IJavaProject, FillingJob> fillingJobs = new HashMap<>();
+
+	@Inject
+	private Logger log;
+
+	/** Construct the provider and register it as listener on the Java model.
+	 */
+	public TypeHierarchyIndexProvider() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+	}
+
+	/** Unregister this provider from the Java model, and discard the indexes.
+	 */
+	public void dispose() {
+		JavaCore.removeElementChangedListener(this);
+		synchronized (this.indexes) {
+			cancelFillingJobs();
+			this.indexes.clear();
+			this.staleIndexes.clear();
+		}
+	}
+
+	/** Replies the index for the given project.
+	 * <p>
+	 * If the index is not filled yet, a background job is scheduled for filling it,
+	 * and this function replies the index that was discarded by the last classpath
+	 * change, or an empty index. This function never waits for the Java model.
+	 *
+	 * @param project - the project.
+	 * @return the index.
+	 */
+	public TypeHierarchyIndex getIndex(IJavaProject project) {
+		synchronized (this.indexes) {
+			TypeHierarchyIndex index = this.indexes.get(project);
+			if (index != null) {
+				return index;
+			}
+			if (!this.fillingJobs.containsKey(project)) {
+				FillingJob job = new FillingJob(project);
+				this.fillingJobs.put(project, job);
+				job.schedule();
+			}
+			index = this.staleIndexes.get(project);
+			if (index != null) {
+				return index;
+			}
+		}
+		return new TypeHierarchyIndex();
+	}
+
+	private void publish(FillingJob job, boolean filled) {
+		synchronized (this.indexes) {
+			// The job may be replaced by a new one if the indexes were discarded meanwhile.
+			if (this.fillingJobs.get(job.project) == job) {
+				this.fillingJobs.remove(job.project);
+				if (filled) {
+					this.staleIndexes.remove(job.project);
+					this.indexes.put(job.project, job.index);
+				}
+			}
+		}
+	}
+
+	private void cancelFillingJobs() {
+		for (FillingJob job : this.fillingJobs.values()) {
+			job.cancel();
+		}
+		this.fillingJobs.clear();
+	}
+
+	private static void fill(IJavaProject project, TypeHierarchyIndex index,
+			IProgressMonitor monitor) throws JavaModelException {
+		Map<String, List<TypeDescription>> descriptions = new HashMap<>();
+		for (String rootName : ROOT_TYPES) {
+			IType root = project.findType(rootName);
+			if (root != null) {
+				ITypeHierarchy hierarchy = root.newTypeHierarchy(project, monitor);
+				for (IType type : hierarchy.getAllSubtypes(root)) {
+					List<String> supertypes = new ArrayList<>();
+					IType superclass = hierarchy.getSuperclass(type);
+					if (superclass != null) {
+						supertypes.add(superclass.getFullyQualifiedName('.'));
+					}
+					for (IType superinterface : hierarchy.getSuperInterfaces(type)) {
+						supertypes.add(superinterface.getFullyQualifiedName('.'));
+					}
+					String source = getSource(type);
+					List<TypeDescription> list = descriptions.get(source);
+					if (list == null) {
+						list = new ArrayList<>();
+						descriptions.put(source, list);
+					}
+					list.add(new TypeDescription(type.getFullyQualifiedName('.'),
+							type.isInterface(), Flags.isFinal(type.getFlags()), supertypes));
+				}
+			}
+		}
+		for (Entry<String, List<TypeDescription>> entry : descriptions.entrySet()) {
+			index.update(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private static String getSource(IType type) {
+		ICompilationUnit unit = type.getCompilationUnit();
+		if (unit != null) {
+			return unit.getPath().toString();
+		}
+		// Binary type: the source is the archive or the folder of class files.
+		return type.getPackageFragment().getParent().getPath().toString();
+	}
+
+	/** Replace the types that are declared in the given resource.
+	 * <p>
+	 * The indexes of the projects that have the resource on their classpath are updated.
+	 *
+	 * @param resource - the resource that declares the types.
+	 * @param descriptions - the descriptions of the types.
+	 */
+	public void update(IResource resource, Collection<TypeDescription> descriptions) {
+		String source = resource.getFullPath().toString();
+		for (Entry<IJavaProject, TypeHierarchyIndex> entry : getIndexes()) {
+			if (entry.getKey().isOnClasspath(resource)) {
+				entry.getValue().update(source, descriptions);
+			}
+		}
+	}
+
+	/** Remove the types that are declared in the given resource.
+	 *
+	 * @param resource - the resource that declared the types.
+	 */
+	public void remove(IResource resource) {
+		String source = resource.getFullPath().toString();
+		for (Entry<IJavaProject, TypeHierarchyIndex> entry : getIndexes()) {
+			entry.getValue().remove(source);
+		}
+	}
+
+	private List<Entry<IJavaProject, TypeHierarchyIndex>> getIndexes() {
+		// The indexes that are replied during a filling, and the indexes that
+		// are filling, are also updated. The updates that are received by a
+		// filling index are merged by the index.
+		synchronized (this.indexes) {
+			List<Entry<IJavaProject, TypeHierarchyIndex>> all = new ArrayList<>(this.indexes.entrySet());
+			all.addAll(this.staleIndexes.entrySet());
+			for (FillingJob job : this.fillingJobs.values()) {
+				all.add(new SimpleImmutableEntry<>(job.project, job.index));
+			}
+			return all;
+		}
+	}
+
+	private void discardAll() {
+		synchronized (this.indexes) {
+			cancelFillingJobs();
+			// Replied by the queries until the new indexes are filled.
+			this.staleIndexes.putAll(this.indexes);
+			this.indexes.clear();
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		boolean hasIndex;
+		synchronized (this.indexes) {
+			hasIndex = !this.indexes.isEmpty() || !this.staleIndexes.isEmpty() || !this.fillingJobs.isEmpty();
+		}
+		if (hasIndex) {
+			try {
+				processDelta(event.getDelta());
+			} catch (JavaModelException e) {
+				this.log.log(Level.WARNING, e.getLocalizedMessage(), e);
+			}
+		}
+	}
+
+	private void processDelta(IJavaElementDelta delta) throws JavaModelException {
+		IJavaElement element = delta.getElement();
+		switch (element.getElementType()) {
+		case IJavaElement.JAVA_PROJECT:
+			if (delta.getKind() == IJavaElementDelta.REMOVED || (delta.getFlags() & CLASSPATH_CHANGES) != 0) {
+				// The other projects may depend on the changed project.
+				discardAll();
+				return;
+			}
+			break;
+		case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			if ((delta.getFlags() & ROOT_CHANGES) != 0) {
+				discardAll();
+				return;
+			}
+			break;
+		case IJavaElement.COMPILATION_UNIT:
+			processCompilationUnit((ICompilationUnit) element, delta);
+			return;
+		default:
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+
+	private void processCompilationUnit(ICompilationUnit unit, IJavaElementDelta delta) throws JavaModelException {
+		IResource resource = unit.getResource();
+		if (resource == null) {
+			return;
+		}
+		if (delta.getKind() == IJavaElementDelta.REMOVED) {
+			remove(resource);
+		} else if ((delta.getKind() == IJavaElementDelta.ADDED
+				|| (delta.getFlags() & IJavaElementDelta.F_CONTENT) != 0) && unit.exists()) {
+			List<TypeDescription> descriptions = new ArrayList<>();
+			for (IType type : unit.getAllTypes()) {
+				descriptions.add(describe(type));
+			}
+			update(resource, descriptions);
+		}
+	}
+
+	private static TypeDescription describe(IType type) throws JavaModelException {
+		List<String> supertypes = new ArrayList<>();
+		String superclass = type.getSuperclassName();
+		if (superclass != null) {
+			resolve(type, superclass, supertypes);
+		}
+		for (String superinterface : type.getSuperInterfaceNames()) {
+			resolve(type, superinterface, supertypes);
+		}
+		return new TypeDescription(type.getFullyQualifiedName('.'),
+				type.isInterface(), Flags.isFinal(type.getFlags()), supertypes);
+	}
+
+	private static void resolve(IType type, String name, List<String> supertypes) throws JavaModelException {
+		// The names in the source code may have type arguments, and may be not qualified.
+		String rawName = name;
+		int index = rawName.indexOf('<');
+		if (index >= 0) {
+			rawName = rawName.substring(0, index);
+		}
+		String[][] resolved = type.resolveType(rawName);
+		if (resolved != null && resolved.length > 0) {
+			String packageName = resolved[0][0];
+			String typeName = resolved[0][1];
+			if (packageName == null || packageName.isEmpty()) {
+				supertypes.add(typeName);
+			} else {
+				supertypes.add(packageName + "." + typeName); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/** Job that fills the index of a project.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class FillingJob extends Job {
+
+		/** Project to index.
+		 */
+		final IJavaProject project;
+
+		/** Index that is filled.
+		 */
+		final TypeHierarchyIndex index = new TypeHierarchyIndex();
+
+		/**
+		 * @param project - the project to index.
+		 */
+		FillingJob(IJavaProject project) {
+			super(NLS.bind(Messages.TypeHierarchyIndexProvider_0, project.getElementName()));
+			this.project = project;
+			setSystem(true);
+			setPriority(SHORT);
+		}
+
+		@SuppressWarnings("synthetic-access")
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				fill(this.project, this.index, monitor);
+			} catch (OperationCanceledException e) {
+				publish(this, false);
+				return Status.CANCEL_STATUS;
+			} catch (JavaModelException e) {
+				// The index is published anyway, for not searching again on each query.
+				TypeHierarchyIndexProvider.this.log.log(Level.WARNING, e.getLocalizedMessage(), e);
+			}
+			if (monitor.isCanceled()) {
+				publish(this, false);
+				return Status.CANCEL_STATUS;
+			}
+			publish(this, true);
+			return Status.OK_STATUS;
+		}
+
+	}
+
+}
@@ -31,13 +31,16 @@ import io.sarl.lang.sarl.CapacityUses;
 import io.sarl.lang.sarl.Constructor;
 import io.sarl.lang.sarl.Event;
 import io.sarl.lang.sarl.RequiredCapacity;
+import io.sarl.lang.sarl.SarlPackage;
 import io.sarl.lang.sarl.SarlScript;
 import io.sarl.lang.sarl.Skill;
 import io.sarl.lang.ui.images.SARLImages;
 
 import java.util.Collections;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.edit.ui.provider.AdapterFactoryLabelProvider;
 import org.eclipse.jface.resource.ImageDescriptor;
@@ -55,6 +58,7 @@ import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.util.Exceptions;
 import org.eclipse.xtext.util.PolymorphicDispatcher;
 import org.eclipse.xtext.util.PolymorphicDispatcher.ErrorHandler;
+import org.eclipse.xtext.util.Tuples;
 import org.eclipse.xtext.xbase.XExpression;
 import org.eclipse.xtext.xbase.jvmmodel.ILogicalContainerProvider;
 import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
@@ -66,10 +70,23 @@ import org.eclipse.xtext.xbase.ui.labeling.XbaseLabelProvider;
 import org.eclipse.xtext.xbase.validation.UIStrings;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 
 /**
  * Provides labels for a EObjects.
+ * <p>
+ * The image descriptors of the SARL elements depend only on the type of the
+ * elements and on their modifiers. They are cached for avoiding to invoke the
+ * polymorphic dispatcher and to build the composite descriptors each time.
+ * <p>
+ * The signatures of the actions, the constructors and the attributes are computed
+ * from their JVM elements, which may need a resolution of the types. They are cached
+ * with the JVM elements as keys. Because the JVM elements are inferred again
+ * each time the resource is changed, the cached signatures are automatically
+ * invalidated by a change of the resource.
  *
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -102,7 +119,16 @@ public class SARLLabelProvider extends XbaseLabelProvider {
 	private SARLImages images;
 
 	private final PolymorphicDispatcher<ImageDescriptor> imageDescriptorDispatcher;
-	private final ReentrantLock imageDescriptorLock = new ReentrantLock();
+
+	// Indicates if the current thread is running the image descriptor dispatcher.
+	// The dispatcher may invoke imageDescriptor(Object) for the elements that
+	// have no specific function.
+	private final ThreadLocal<Boolean> imageDescriptorDispatching = new ThreadLocal<>();
+
+	private final ConcurrentMap<Object, ImageDescriptor> imageDescriptors = new ConcurrentHashMap<>();
+
+	private final Cache<JvmIdentifiableElement, StyledString> signatures = CacheBuilder.newBuilder()
+			.weakKeys().build();
 
 	/**
 	 * @param delegate - the original provider.
@@ -215,19 +241,72 @@ public class SARLLabelProvider extends XbaseLabelProvider {
 		return null;
 	}
 
+	/** Replies the key that is used for caching the image descriptor of the given element.
+	 * <p>
+	 * The SARL elements with the same type and the same modifiers have the same image
+	 * descriptor. The image descriptors of the other elements are not cached.
+	 *
+	 * @param element - the element.
+	 * @return the key, or <code>null</code> if the image descriptor of the element must not be cached.
+	 */
+	@SuppressWarnings("static-method")
+	protected Object getImageDescriptorKey(Object element) {
+		if (element instanceof EObject) {
+			EClass type = ((EObject) element).eClass();
+			if (type != null && type.getEPackage() == SarlPackage.eINSTANCE) {
+				if (element instanceof Attribute) {
+					return Tuples.create(type, Boolean.valueOf(((Attribute) element).isWriteable()));
+				}
+				return type;
+			}
+		}
+		return null;
+	}
+
+	/** Replies the signature of the given element, from the cache if possible.
+	 *
+	 * @param jvmElement - the JVM element that is the key of the signature in the cache.
+	 * @param provider - the provider of the signature when it is not in the cache.
+	 * @return the signature.
+	 */
+	protected StyledString getCachedSignature(JvmIdentifiableElement jvmElement, Provider<StyledString> provider) {
+		if (jvmElement == null) {
+			return provider.get();
+		}
+		StyledString signature = this.signatures.getIfPresent(jvmElement);
+		if (signature == null) {
+			signature = provider.get();
+			this.signatures.put(jvmElement, signature);
+		}
+		// The styled strings are mutable: the caller receives a copy.
+		return new StyledString().append(signature);
+	}
+
 	// Descriptors
 
 	@Override
 	protected ImageDescriptor imageDescriptor(Object element) {
-		if (this.imageDescriptorLock.isLocked()) {
+		if (this.imageDescriptorDispatching.get() != null) {
 			return super.imageDescriptor(element);
 		}
-		this.imageDescriptorLock.lock();
+		Object key = getImageDescriptorKey(element);
+		if (key != null) {
+			ImageDescriptor descriptor = this.imageDescriptors.get(key);
+			if (descriptor != null) {
+				return descriptor;
+			}
+		}
+		ImageDescriptor descriptor;
+		this.imageDescriptorDispatching.set(Boolean.TRUE);
 		try {
-			return doGetImageDescriptor(element);
+			descriptor = doGetImageDescriptor(element);
 		} finally {
-			this.imageDescriptorLock.unlock();
+			this.imageDescriptorDispatching.remove();
+		}
+		if (key != null && descriptor != null) {
+			this.imageDescriptors.putIfAbsent(key, descriptor);
 		}
+		return descriptor;
 	}
 
 	/** Replies the image for the given element.
@@ -469,16 +548,23 @@ public class SARLLabelProvider extends XbaseLabelProvider {
 	 * @param element - the element.
 	 * @return the text.
 	 */
-	protected StyledString text(Attribute element) {
+	protected StyledString text(final Attribute element) {
+		final JvmField jvmElement = getJvmElement(element, JvmField.class);
+		return getCachedSignature(jvmElement, new Provider<StyledString>() {
+			@Override
+			public StyledString get() {
+				return attributeText(element, jvmElement);
+			}
+		});
+	}
+
+	private StyledString attributeText(Attribute element, JvmField jvmElement) {
 		StyledString label = convertToStyledString(element.getName());
 		JvmTypeReference theType = null;
 		if (element.getType() != null) {
 			theType = element.getType();
-		} else {
-			JvmField jvmElement = getJvmElement(element, JvmField.class);
-			if (jvmElement != null) {
-				theType = jvmElement.getType();
-			}
+		} else if (jvmElement != null) {
+			theType = jvmElement.getType();
 		}
 		StyledString typeLabel = null;
 		if (theType != null) {
@@ -508,19 +594,23 @@ public class SARLLabelProvider extends XbaseLabelProvider {
 	 * @param element - the element.
 	 * @return the text.
 	 */
-	protected StyledString text(Constructor element) {
-		JvmIdentifiableElement container = this.logicalContainerProvider.getNearestLogicalContainer(element);
-		StyledString name;
-		if (container != null) {
-			name = convertToStyledString(container.getSimpleName());
-		} else {
-			name = new StyledString("new", StyledString.DECORATIONS_STYLER); //$NON-NLS-1$
-		}
-		JvmExecutable jvmElement = getJvmElement(element, JvmExecutable.class);
-		if (jvmElement != null) {
-			return signatureWithoutReturnType(name, jvmElement);
-		}
-		return signatureWithoutReturnType(name, jvmElement);
+	protected StyledString text(final Constructor element) {
+		final JvmExecutable jvmElement = getJvmElement(element, JvmExecutable.class);
+		return getCachedSignature(jvmElement, new Provider<StyledString>() {
+			@SuppressWarnings("synthetic-access")
+			@Override
+			public StyledString get() {
+				JvmIdentifiableElement container = SARLLabelProvider.this.logicalContainerProvider
+						.getNearestLogicalContainer(element);
+				StyledString name;
+				if (container != null) {
+					name = convertToStyledString(container.getSimpleName());
+				} else {
+					name = new StyledString("new", StyledString.DECORATIONS_STYLER); //$NON-NLS-1$
+				}
+				return signatureWithoutReturnType(name, jvmElement);
+			}
+		});
 	}
 
 	/** Replies the text for the given element.
@@ -529,17 +619,7 @@ public class SARLLabelProvider extends XbaseLabelProvider {
 	 * @return the text.
 	 */
 	protected StyledString text(Action element) {
-		String simpleName = element.getName();
-		if (simpleName != null) {
-			QualifiedName qnName = QualifiedName.create(simpleName);
-			QualifiedName operator = this.operatorMapping.getOperator(qnName);
-			if (operator != null) {
-				StyledString result = signature(operator.getFirstSegment(), getJvmElement(element, JvmExecutable.class));
-				result.append(" (" + simpleName + ")", StyledString.COUNTER_STYLER); //$NON-NLS-1$//$NON-NLS-2$
-				return result;
-			}
-		}
-		return signature(element.getName(), getJvmElement(element, JvmExecutable.class));
+		return actionText(element.getName(), getJvmElement(element, JvmExecutable.class));
 	}
 
 	/** Replies the text for the given element.
@@ -548,17 +628,26 @@ public class SARLLabelProvider extends XbaseLabelProvider {
 	 * @return the text.
 	 */
 	protected StyledString text(ActionSignature element) {
-		String simpleName = element.getName();
-		if (simpleName != null) {
-			QualifiedName qnName = QualifiedName.create(simpleName);
-			QualifiedName operator = this.operatorMapping.getOperator(qnName);
-			if (operator != null) {
-				StyledString result = signature(operator.getFirstSegment(), getJvmElement(element, JvmExecutable.class));
-				result.append(" (" + simpleName + ")", StyledString.COUNTER_STYLER); //$NON-NLS-1$//$NON-NLS-2$
-				return result;
+		return actionText(element.getName(), getJvmElement(element, JvmExecutable.class));
+	}
+
+	private StyledString actionText(final String simpleName, final JvmExecutable jvmElement) {
+		return getCachedSignature(jvmElement, new Provider<StyledString>() {
+			@SuppressWarnings("synthetic-access")
+			@Override
+			public StyledString get() {
+				if (simpleName != null) {
+					QualifiedName qnName = QualifiedName.create(simpleName);
+					QualifiedName operator = SARLLabelProvider.this.operatorMapping.getOperator(qnName);
+					if (operator != null) {
+						StyledString result = signature(operator.getFirstSegment(), jvmElement);
+						result.append(" (" + simpleName + ")", StyledString.COUNTER_STYLER); //$NON-NLS-1$//$NON-NLS-2$
+						return result;
+					}
+				}
+				return signature(simpleName, jvmElement);
 			}
-		}
-		return signature(element.getName(), getJvmElement(element, JvmExecutable.class));
+		});
 	}
 
 	/** Replies the text for the given element.
@@ -37,17 +37,38 @@ import io.sarl.lang.sarl.SarlScript;
 import io.sarl.lang.sarl.Skill;
 import io.sarl.lang.sarl.TopElement;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.swt.graphics.Image;
 import org.eclipse.xtext.common.types.JvmParameterizedTypeReference;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
 import org.eclipse.xtext.ui.editor.outline.impl.DefaultOutlineTreeProvider;
 import org.eclipse.xtext.ui.editor.outline.impl.DocumentRootNode;
 import org.eclipse.xtext.ui.editor.outline.impl.EObjectNode;
 import org.eclipse.xtext.ui.editor.outline.impl.EStructuralFeatureNode;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 
 /**
  * Customization of the default outline structure.
+ * <p>
+ * The outline is rebuilt by the Xtext framework on each reconcile of the editor.
+ * For avoiding to compute again the label and the image of each feature of the
+ * SARL script, these values are cached and keyed by the hash of the text of the
+ * feature, and by the name of its container. In this way, the features that are
+ * not changed by a keystroke are not labeled again.
+ * <p>
+ * The label of an attribute without type, or of an action without return type,
+ * depends on types that are inferred from other features. The labels of these
+ * features are not cached.
  *
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -57,6 +78,15 @@ import com.google.common.base.Strings;
  */
 public class SARLOutlineTreeProvider extends DefaultOutlineTreeProvider {
 
+	/** Maximal number of feature labels in the cache.
+	 */
+	public static final int MAXIMUM_CACHE_SIZE = 1024;
+
+	private static final HashFunction TEXT_HASH_FUNCTION = Hashing.murmur3_128();
+
+	private final Cache<List<Object>, FeatureLabel> labels = CacheBuilder.newBuilder()
+			.maximumSize(MAXIMUM_CACHE_SIZE).recordStats().build();
+
 	/** Create a node for the SARL script.
 	 *
 	 * @param parentNode - the parent node.
@@ -99,16 +129,12 @@ public class SARLOutlineTreeProvider extends DefaultOutlineTreeProvider {
 			EObjectNode capacityRequirementNode = null;
 
 			for (EObject feature : modelElement.getFeatures()) {
-				if (feature instanceof Attribute) {
-					createNode(elementNode, feature);
-				} else if (feature instanceof Action) {
-					createNode(elementNode, feature);
-				} else if (feature instanceof ActionSignature) {
-					createNode(elementNode, feature);
-				} else if (feature instanceof BehaviorUnit) {
-					createNode(elementNode, feature);
-				} else if (feature instanceof Constructor) {
-					createNode(elementNode, feature);
+				if (feature instanceof Attribute
+						|| feature instanceof Action
+						|| feature instanceof ActionSignature
+						|| feature instanceof BehaviorUnit
+						|| feature instanceof Constructor) {
+					createFeatureNode(elementNode, feature);
 				} else if (feature instanceof CapacityUses) {
 					capacityUseNode = createCapacityUseNode(elementNode, feature, capacityUseNode);
 				} else if (feature instanceof RequiredCapacity) {
@@ -118,6 +144,55 @@ public class SARLOutlineTreeProvider extends DefaultOutlineTreeProvider {
 		}
 	}
 
+	/** Create the leaf node for the given feature, with a cached label if possible.
+	 *
+	 * @param parentNode - the parent node.
+	 * @param feature - the feature.
+	 * @return the node.
+	 */
+	private EObjectNode createFeatureNode(EStructuralFeatureNode parentNode, EObject feature) {
+		List<Object> key = null;
+		ICompositeNode node = NodeModelUtils.getNode(feature);
+		if (node != null && !hasInferredType(feature)) {
+			// The label of a constructor contains the name of its container.
+			key = Arrays.<Object>asList(
+					feature.eClass(),
+					((FeatureContainer) feature.eContainer()).getName(),
+					TEXT_HASH_FUNCTION.hashUnencodedChars(node.getText()));
+		}
+		FeatureLabel label = null;
+		if (key != null) {
+			label = this.labels.getIfPresent(key);
+		}
+		if (label == null) {
+			label = new FeatureLabel(
+					this.imageDispatcher.invoke(feature),
+					this.textDispatcher.invoke(feature));
+			if (key != null) {
+				this.labels.put(key, label);
+			}
+		}
+		return createEObjectNode(parentNode, feature, label.image, label.text, true);
+	}
+
+	private static boolean hasInferredType(EObject feature) {
+		if (feature instanceof Attribute) {
+			return ((Attribute) feature).getType() == null;
+		}
+		if (feature instanceof Action) {
+			return ((Action) feature).getType() == null;
+		}
+		return false;
+	}
+
+	/** Replies the statistics on the cache of the labels of the features.
+	 *
+	 * @return the statistics.
+	 */
+	public CacheStats getFeatureLabelStats() {
+		return this.labels.stats();
+	}
+
 	private EObjectNode createCapacityUseNode(EStructuralFeatureNode elementNode, EObject feature,
 			EObjectNode oldCapacityUseNode) {
 		EObjectNode capacityUseNode = oldCapacityUseNode;
@@ -258,4 +333,32 @@ public class SARLOutlineTreeProvider extends DefaultOutlineTreeProvider {
 		return true;
 	}
 
+	/** Cached label and image of a feature.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class FeatureLabel {
+
+		/** Image of the feature.
+		 */
+		final Image image;
+
+		/** Text of the feature.
+		 */
+		final Object text;
+
+		/**
+		 * @param image - the image of the feature.
+		 * @param text - the text of the feature.
+		 */
+		FeatureLabel(Image image, Object text) {
+			this.image = image;
+			this.text = text;
+		}
+
+	}
+
 }
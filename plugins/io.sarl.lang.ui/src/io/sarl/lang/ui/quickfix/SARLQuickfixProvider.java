@@ -55,6 +55,7 @@ import io.sarl.lang.ui.quickfix.semantic.UnusedAgentCapacityModification;
 import io.sarl.lang.ui.quickfix.semantic.ValueRemovalInvalidUseOfVarArgsModification;
 import io.sarl.lang.ui.quickfix.semantic.VarArgRemovalInvalidUseOfVarArgsModification;
 import io.sarl.lang.ui.quickfix.semantic.WrongPackageModification;
+import io.sarl.lang.util.CapacityUsageIndex;
 import io.sarl.lang.validation.IssueCodes;
 
 import java.util.List;
@@ -78,6 +79,8 @@ import org.eclipse.xtext.ui.editor.quickfix.IssueResolutionAcceptor;
 import org.eclipse.xtext.util.Arrays;
 import org.eclipse.xtext.util.Strings;
 import org.eclipse.xtext.validation.Issue;
+import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociations;
+import org.eclipse.xtext.xbase.jvmmodel.ILogicalContainerProvider;
 import org.eclipse.xtext.xbase.lib.Functions;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.ui.contentassist.ReplacingAppendable;
@@ -108,6 +111,12 @@ public class SARLQuickfixProvider extends XbaseQuickfixProvider {
 	@Inject
 	private TypesFactory typeFactory;
 
+	@Inject
+	private ILogicalContainerProvider logicalContainerProvider;
+
+	@Inject
+	private IJvmModelAssociations associations;
+
 	/** Replies the factory for appendable.
 	 *
 	 * @return the appendable factory.
@@ -140,6 +149,15 @@ public class SARLQuickfixProvider extends XbaseQuickfixProvider {
 		return this.typeFactory;
 	}
 
+	/** Replies the index of the capacity usages for the feature container of the given element.
+	 *
+	 * @param element - the element inside the feature container.
+	 * @return the index, or <code>null</code> if the element has no JVM type as container.
+	 */
+	public CapacityUsageIndex getCapacityUsageIndex(EObject element) {
+		return CapacityUsageIndex.create(element, this.logicalContainerProvider, this.associations);
+	}
+
 	/** Create the reference to the type with the given name.
 	 *
 	 * @param typeName - the name of the type.
@@ -20,12 +20,15 @@
  */
 package io.sarl.lang.ui.quickfix.semantic;
 
+import io.sarl.lang.sarl.CapacityUses;
 import io.sarl.lang.ui.quickfix.SARLQuickfixProvider;
+import io.sarl.lang.util.CapacityUsageIndex;
 import io.sarl.lang.validation.IssueCodes;
 
 import java.text.MessageFormat;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.ui.editor.model.IXtextDocument;
 import org.eclipse.xtext.ui.editor.model.edit.IModificationContext;
 import org.eclipse.xtext.ui.editor.quickfix.IssueResolutionAcceptor;
@@ -65,10 +68,28 @@ public final class UnusedAgentCapacityModification extends SARLSemanticModificat
 		}
 	}
 
+	private static boolean isUsed(EObject element, String capacityName, SARLQuickfixProvider tools) {
+		if (element instanceof CapacityUses) {
+			CapacityUsageIndex usages = tools.getCapacityUsageIndex(element);
+			if (usages != null) {
+				for (JvmTypeReference capacity : ((CapacityUses) element).getCapacitiesUsed()) {
+					if (capacityName.equals(capacity.getSimpleName())) {
+						return usages.isUsed(capacity.getIdentifier());
+					}
+				}
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public void apply(EObject element, IModificationContext context) throws Exception {
 		Issue issue = getIssue();
 		SARLQuickfixProvider tools = getTools();
+		if (isUsed(element, issue.getData()[0], tools)) {
+			// The issue is out-of-date: the capacity was used since the last validation.
+			return;
+		}
 		IXtextDocument document = context.getXtextDocument();
 		String sep = tools.getGrammarAccess().getCapacityUsesAccess().getCommaKeyword_3_0().getValue();
 		if (!tools.removeToPreviousSeparator(issue, document, sep)) {
@@ -27,11 +27,13 @@ import io.sarl.lang.controlflow.SARLEarlyExitComputer;
 import io.sarl.lang.controlflow.SARLExtendedEarlyExitComputer;
 import io.sarl.lang.genmodel.SARLHiddenTokenSequencer;
 import io.sarl.lang.jvmmodel.JvmModelInferrerProber;
+import io.sarl.lang.jvmmodel.SARLJvmModelAssociator;
 import io.sarl.lang.scoping.batch.SARLImplicitlyImportedFeatures;
 import io.sarl.lang.validation.SARLConfigurableIssueCodesProvider;
 import io.sarl.lang.validation.SARLEarlyExitValidator;
 import io.sarl.lang.validation.SARLFeatureNameValidator;
 
+import org.eclipse.xtext.resource.IDerivedStateComputer;
 import org.eclipse.xtext.serializer.acceptor.ISyntacticSequenceAcceptor;
 import org.eclipse.xtext.serializer.analysis.IContextPDAProvider;
 import org.eclipse.xtext.serializer.sequencer.IHiddenTokenSequencer;
@@ -125,6 +127,20 @@ public class SARLRuntimeModule extends io.sarl.lang.AbstractSARLRuntimeModule {
 				return SARLFeatureNameValidator.class;
 	}
 
+	/** Replies the type of the computer of the JVM elements that are derived from the SARL elements.
+	 * @return the type of the derived state computer.
+	 */
+	@Override
+	public Class<? extends IDerivedStateComputer> bindIDerivedStateComputer() {
+		assert (
+				super.bindIDerivedStateComputer().isAssignableFrom(
+						SARLJvmModelAssociator.class))
+						: "The class SARLJvmModelAssociator does not extend " //$NON-NLS-1$
+							+ "the class provided by default by Xbase"; //$NON-NLS-1$
+				//
+				return SARLJvmModelAssociator.class;
+	}
+
 	/** Replies the provider of hidden token sequencer.
 	 * @return the provider of hidden token sequencer.
 	 */
@@ -20,15 +20,25 @@
  */
 package io.sarl.lang.actionprototype;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 import org.eclipse.emf.common.util.BasicEList;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Strings;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
 /**
  * A definition of the types of the formal parameters of an action.
+ * <p>
+ * The hash code and the string representation are computed once, and
+ * forgotten when the list is changed.
+ * The canonical instances that are replied by {@link #intern()} are shared,
+ * and cannot be changed.
  *
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -39,8 +49,16 @@ public class ActionParameterTypes extends BasicEList<String> implements Comparab
 
 	private static final long serialVersionUID = 8389816963923769014L;
 
+	private static final Interner<ActionParameterTypes> POOL = Interners.newWeakInterner();
+
 	private final boolean isVarargs;
 
+	private transient boolean isInterned;
+
+	private transient int hash;
+
+	private transient String text;
+
 	/**
 	 * @param isVarArgs - indicates if this signature has the varargs flag.
 	 * @param initialCapacity - initional capacity of the array.
@@ -58,32 +76,162 @@ public class ActionParameterTypes extends BasicEList<String> implements Comparab
 	 */
 	public ActionParameterTypes(String text) {
 		assert (text != null);
-		String[] elements = text.split("\\s*,\\s*"); //$NON-NLS-1$
-		this.isVarargs = (elements.length > 0
-				&& elements[elements.length - 1].endsWith("*")); //$NON-NLS-1$
+		List<String> elements = new ArrayList<>();
+		int start = 0;
+		int index = text.indexOf(',');
+		while (index >= 0) {
+			elements.add(text.substring(start, index).trim());
+			start = index + 1;
+			index = text.indexOf(',', start);
+		}
+		elements.add(text.substring(start).trim());
+		// Ignore the empty elements at the end of the text.
+		int last = elements.size() - 1;
+		while (last > 0 && elements.get(last).isEmpty()) {
+			--last;
+		}
+		String lastElement = elements.get(last);
+		this.isVarargs = lastElement.endsWith("*"); //$NON-NLS-1$
 		if (this.isVarargs) {
-			elements[elements.length - 1] = elements[elements.length - 1].replaceFirst(
-					"\\*$", "[]");  //$NON-NLS-1$//$NON-NLS-2$
+			elements.set(last, lastElement.substring(0, lastElement.length() - 1) + "[]"); //$NON-NLS-1$
 		}
-		for (String p : elements) {
+		grow(last + 1);
+		for (int i = 0; i <= last; ++i) {
+			String p = elements.get(i);
 			if (!Strings.isNullOrEmpty(p) && !"void".equals(p) && !"java.lang.Void".equals(p)) { //$NON-NLS-1$//$NON-NLS-2$
 				add(p);
 			}
 		}
 	}
 
+	/** Replies the canonical instance that is equal to this list of types.
+	 * <p>
+	 * After a call to this function, this list of types cannot be changed.
+	 * The canonical instance cannot be changed neither.
+	 *
+	 * @return the canonical instance.
+	 */
+	public ActionParameterTypes intern() {
+		if (this.isInterned) {
+			return this;
+		}
+		shrink();
+		this.isInterned = true;
+		return POOL.intern(this);
+	}
+
+	/** Replies if this list of types cannot be changed.
+	 *
+	 * @return <code>true</code> if this list is a canonical instance,
+	 * or was given to {@link #intern()}.
+	 */
+	public boolean isInterned() {
+		return this.isInterned;
+	}
+
+	private void ensureModifiable() {
+		if (this.isInterned) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	@Override
+	protected void didChange() {
+		super.didChange();
+		this.hash = 0;
+		this.text = null;
+	}
+
+	@Override
+	public String setUnique(int index, String object) {
+		ensureModifiable();
+		return super.setUnique(index, object);
+	}
+
+	@Override
+	public void addUnique(String object) {
+		ensureModifiable();
+		super.addUnique(object);
+	}
+
+	@Override
+	public void addUnique(int index, String object) {
+		ensureModifiable();
+		super.addUnique(index, object);
+	}
+
+	@Override
+	public boolean addAllUnique(Collection<? extends String> collection) {
+		ensureModifiable();
+		return super.addAllUnique(collection);
+	}
+
+	@Override
+	public boolean addAllUnique(int index, Collection<? extends String> collection) {
+		ensureModifiable();
+		return super.addAllUnique(index, collection);
+	}
+
+	@Override
+	public boolean addAllUnique(Object[] objects, int start, int end) {
+		ensureModifiable();
+		return super.addAllUnique(objects, start, end);
+	}
+
+	@Override
+	public boolean addAllUnique(int index, Object[] objects, int start, int end) {
+		ensureModifiable();
+		return super.addAllUnique(index, objects, start, end);
+	}
+
+	@Override
+	public String remove(int index) {
+		ensureModifiable();
+		return super.remove(index);
+	}
+
+	@Override
+	public void clear() {
+		ensureModifiable();
+		super.clear();
+	}
+
+	@Override
+	public String move(int targetIndex, int sourceIndex) {
+		ensureModifiable();
+		return super.move(targetIndex, sourceIndex);
+	}
+
+	@Override
+	public void setData(int size, Object[] data) {
+		ensureModifiable();
+		super.setData(size, data);
+		didChange();
+	}
+
 	@Override
 	public boolean equals(Object object) {
-		if (super.equals(object) && object instanceof ActionParameterTypes) {
+		if (object == this) {
+			return true;
+		}
+		if (object instanceof ActionParameterTypes) {
 			ActionParameterTypes types = (ActionParameterTypes) object;
-			return this.isVarargs == types.isVarargs;
+			if (this.isVarargs != types.isVarargs || hashCode() != types.hashCode()) {
+				return false;
+			}
+			return super.equals(object);
 		}
 		return false;
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hashCode(super.hashCode(), this.isVarargs);
+		int h = this.hash;
+		if (h == 0) {
+			h = Objects.hashCode(super.hashCode(), this.isVarargs);
+			this.hash = h;
+		}
+		return h;
 	}
 
 	/** Replies if this signature has a variatic parameter.
@@ -102,13 +250,28 @@ public class ActionParameterTypes extends BasicEList<String> implements Comparab
 		return size() == 0;
 	}
 
+	/** {@inheritDoc}
+	 * <p>
+	 * The clone can be changed, even if this list of types cannot.
+	 */
 	@Override
 	public ActionParameterTypes clone() {
-		return (ActionParameterTypes) super.clone();
+		ActionParameterTypes clone = (ActionParameterTypes) super.clone();
+		clone.isInterned = false;
+		return clone;
 	}
 
 	@Override
 	public String toString() {
+		String txt = this.text;
+		if (txt == null) {
+			txt = buildString();
+			this.text = txt;
+		}
+		return txt;
+	}
+
+	private String buildString() {
 		if (!isEmpty()) {
 			StringBuilder b = new StringBuilder();
 			int size = size() - 1;
@@ -119,13 +282,15 @@ public class ActionParameterTypes extends BasicEList<String> implements Comparab
 				b.append(get(i));
 			}
 			String lastElement = get(size);
-			if (isVarArg()) {
-				lastElement = lastElement.replaceFirst("\\[\\]$", "*");  //$NON-NLS-1$//$NON-NLS-2$
-			}
 			if (size > 0) {
 				b.append(","); //$NON-NLS-1$
 			}
-			b.append(lastElement);
+			if (isVarArg() && lastElement.endsWith("[]")) { //$NON-NLS-1$
+				b.append(lastElement, 0, lastElement.length() - 2);
+				b.append("*"); //$NON-NLS-1$
+			} else {
+				b.append(lastElement);
+			}
 			return b.toString();
 		}
 		return ""; //$NON-NLS-1$
@@ -136,6 +301,9 @@ public class ActionParameterTypes extends BasicEList<String> implements Comparab
 		if (o == null) {
 			return Integer.MAX_VALUE;
 		}
+		if (o == this) {
+			return 0;
+		}
 		int cmp = Integer.compare(size(), o.size());
 		if (cmp != 0) {
 			return cmp;
@@ -24,6 +24,7 @@ import io.sarl.lang.sarl.FormalParameter;
 
 import java.util.List;
 
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.common.types.JvmFormalParameter;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 
@@ -107,6 +108,12 @@ public interface ActionPrototypeProvider {
 	 */
 	void clear(JvmIdentifiableElement container);
 
+	/** Reset all the prototypes associated to the given resource.
+	 *
+	 * @param resource - the resource for which the prototype store must be reset.
+	 */
+	void clear(Resource resource);
+
 	/** Reset all the prototypes.
 	 */
 	void clear();
@@ -24,13 +24,28 @@ import io.sarl.lang.sarl.FormalParameter;
 import io.sarl.lang.services.SARLGrammarAccess;
 import io.sarl.lang.util.ModelUtil;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.TreeMap;
-
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.resource.DerivedStateAwareResource;
 import org.eclipse.xtext.common.types.JvmFormalParameter;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 import org.eclipse.xtext.common.types.JvmTypeReference;
@@ -43,6 +58,20 @@ import com.google.inject.Singleton;
 /**
  * Provides additional function signatures according the semantic
  * associated to the parameter's default values.
+ * <p>
+ * The inferred prototypes are stored per resource, in an adapter of the resource set
+ * of the resource, so that the editors and the builder, which are using different
+ * resource sets, cannot reset the prototypes of each other.
+ * The prototypes of a resource are forgotten when its derived state is discarded
+ * (see {@link #clear(Resource)}), and when it is unloaded or removed from its
+ * resource set.
+ * <p>
+ * The number of resources in a store is bounded by {@link #MAXIMUM_RESOURCES}.
+ * The prototypes of a source file cannot be rebuilt without inferring the file again,
+ * so only the least recently used resources that will be inferred again before their
+ * prototypes are used are evicted: resources that were garbage collected or that are
+ * not fully initialized, and resources that are not source files, i.e. the binary
+ * types, for which the prototypes are rebuilt from the JVM model when they are not found.
  *
  * @author $Author: sgalland$
  * @version $FullVersion$
@@ -55,10 +84,21 @@ public class DefaultActionPrototypeProvider implements ActionPrototypeProvider {
 	@Inject
 	private TypeReferences references;
 
+	/** Maximal number of resources for which the prototypes are stored in a resource set.
+	 */
+	public static final int MAXIMUM_RESOURCES = 512;
+
 	@Inject
 	private SARLGrammarAccess grammarAccess;
 
-	private final Map<String, Map<String, Map<ActionParameterTypes, InferredPrototype>>> prototypes = new TreeMap<>();
+	/** Prototypes of the resources that are not inside a resource set.
+	 */
+	private final PrototypeStore prototypes = new PrototypeStore(null);
+
+	/** The stores that were installed in the resource sets.
+	 */
+	private final Set<PrototypeStore> stores = Collections.synchronizedSet(
+			Collections.newSetFromMap(new WeakHashMap<PrototypeStore, Boolean>()));
 
 	/**
 	 */
@@ -153,26 +193,58 @@ public class DefaultActionPrototypeProvider implements ActionPrototypeProvider {
 		return signatures;
 	}
 
+	/** Replies the store of the prototypes for the given resource.
+	 *
+	 * @param resource - the resource, or <code>null</code> if unknown.
+	 * @param create - indicates if the store must be created in the resource set if it does not exist.
+	 * @return the store, or <code>null</code> if it does not exist.
+	 */
+	private PrototypeStore getStore(Resource resource, boolean create) {
+		ResourceSet resourceSet = (resource != null) ? resource.getResourceSet() : null;
+		if (resourceSet == null) {
+			return this.prototypes;
+		}
+		synchronized (resourceSet) {
+			PrototypeStore store = (PrototypeStore) EcoreUtil.getAdapter(resourceSet.eAdapters(), PrototypeStore.class);
+			if (store == null && create) {
+				store = new PrototypeStore(resourceSet);
+				resourceSet.eAdapters().add(store);
+				for (Resource r : resourceSet.getResources()) {
+					r.eAdapters().add(store);
+				}
+				this.stores.add(store);
+			}
+			return store;
+		}
+	}
+
+	private Map<ActionParameterTypes, InferredPrototype> getStoredPrototypes(QualifiedActionName id) {
+		PrototypeStore store = getStore(id.getResource(), false);
+		Map<String, ConcurrentMap<String, ConcurrentMap<ActionParameterTypes, InferredPrototype>>> r =
+				(store != null) ? store.get(id.getResourceID()) : null;
+		if (r != null) {
+			Map<String, ConcurrentMap<ActionParameterTypes, InferredPrototype>> c = r.get(id.getDeclaringType());
+			if (c != null) {
+				return c.get(id.getActionName());
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public Iterable<InferredPrototype> getPrototypes(QualifiedActionName id) {
-		Map<String, Map<ActionParameterTypes, InferredPrototype>> c = this.prototypes.get(id.getContainerID());
-		if (c != null) {
-			Map<ActionParameterTypes, InferredPrototype> list = c.get(id.getActionName());
-			if (list != null) {
-				return list.values();
-			}
+		Map<ActionParameterTypes, InferredPrototype> list = getStoredPrototypes(id);
+		if (list != null) {
+			return Collections.unmodifiableCollection(list.values());
 		}
 		return Collections.emptyList();
 	}
 
 	@Override
 	public InferredPrototype getPrototypes(QualifiedActionName actionID, ActionParameterTypes signatureID) {
-		Map<String, Map<ActionParameterTypes, InferredPrototype>> c = this.prototypes.get(actionID.getContainerID());
-		if (c != null) {
-			Map<ActionParameterTypes, InferredPrototype> list = c.get(actionID.getActionName());
-			if (list != null) {
-				return list.get(signatureID);
-			}
+		Map<ActionParameterTypes, InferredPrototype> list = getStoredPrototypes(actionID);
+		if (list != null) {
+			return list.get(signatureID);
 		}
 		return null;
 	}
@@ -201,16 +273,24 @@ public class DefaultActionPrototypeProvider implements ActionPrototypeProvider {
 				key,
 				op,
 				ip);
-		String containerID = id.getContainerID();
-		Map<String, Map<ActionParameterTypes, InferredPrototype>> c = this.prototypes.get(containerID);
+		ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<ActionParameterTypes, InferredPrototype>>> r =
+				getStore(id.getResource(), true).getOrCreate(id.getResourceID(), id.getResource());
+		ConcurrentMap<String, ConcurrentMap<ActionParameterTypes, InferredPrototype>> c = r.get(id.getDeclaringType());
 		if (c == null) {
-			c = new TreeMap<>();
-			this.prototypes.put(containerID, c);
+			c = new ConcurrentHashMap<>();
+			ConcurrentMap<String, ConcurrentMap<ActionParameterTypes, InferredPrototype>> old =
+					r.putIfAbsent(id.getDeclaringType(), c);
+			if (old != null) {
+				c = old;
+			}
 		}
-		Map<ActionParameterTypes, InferredPrototype> list = c.get(id.getActionName());
+		ConcurrentMap<ActionParameterTypes, InferredPrototype> list = c.get(id.getActionName());
 		if (list == null) {
-			list = new TreeMap<>();
-			c.put(id.getActionName(), list);
+			list = new ConcurrentSkipListMap<>();
+			ConcurrentMap<ActionParameterTypes, InferredPrototype> old = c.putIfAbsent(id.getActionName(), list);
+			if (old != null) {
+				list = old;
+			}
 		}
 		list.put(key, s);
 		return s;
@@ -231,16 +311,20 @@ public class DefaultActionPrototypeProvider implements ActionPrototypeProvider {
 	@Override
 	public QualifiedActionName createQualifiedActionName(JvmIdentifiableElement container,
 			String functionName) {
+		Resource resource = container.eResource();
 		return new QualifiedActionName(
-				container.eResource().getURI().toString(),
+				resource,
+				resource.getURI().toString(),
 				container.getQualifiedName(),
 				functionName);
 	}
 
 	@Override
 	public QualifiedActionName createConstructorQualifiedName(JvmIdentifiableElement container) {
+		Resource resource = container.eResource();
 		return new QualifiedActionName(
-				container.eResource().getURI().toString(),
+				resource,
+				resource.getURI().toString(),
 				container.getQualifiedName(),
 				this.grammarAccess.getConstructorAccess().getNewKeyword_1().getValue());
 	}
@@ -265,12 +349,12 @@ public class DefaultActionPrototypeProvider implements ActionPrototypeProvider {
 				sig.add(type.getIdentifier());
 			}
 		}
-		return sig;
+		return sig.intern();
 	}
 
 	@Override
 	public ActionParameterTypes createParameterTypesFromString(String parameters) {
-		return new ActionParameterTypes(parameters);
+		return new ActionParameterTypes(parameters).intern();
 	}
 
 	@Override
@@ -282,7 +366,7 @@ public class DefaultActionPrototypeProvider implements ActionPrototypeProvider {
 				sig.add(paramType.getIdentifier());
 			}
 		}
-		return sig;
+		return sig.intern();
 	}
 
 	@Override
@@ -303,12 +387,12 @@ public class DefaultActionPrototypeProvider implements ActionPrototypeProvider {
 				}
 			}
 		}
-		return sig;
+		return sig.intern();
 	}
 
 	@Override
 	public ActionParameterTypes createParameterTypesForVoid() {
-		return new ActionParameterTypes(false, 0);
+		return new ActionParameterTypes(false, 0).intern();
 	}
 
 	@Override
@@ -319,12 +403,30 @@ public class DefaultActionPrototypeProvider implements ActionPrototypeProvider {
 	@Override
 	public void clear(JvmIdentifiableElement container) {
 		QualifiedActionName qn = createQualifiedActionName(container, null);
-		this.prototypes.remove(qn.getContainerID());
+		PrototypeStore store = getStore(qn.getResource(), false);
+		Map<String, ConcurrentMap<String, ConcurrentMap<ActionParameterTypes, InferredPrototype>>> r =
+				(store != null) ? store.get(qn.getResourceID()) : null;
+		if (r != null) {
+			r.remove(qn.getDeclaringType());
+		}
+	}
+
+	@Override
+	public void clear(Resource resource) {
+		PrototypeStore store = getStore(resource, false);
+		if (store != null) {
+			store.remove(resource.getURI().toString());
+		}
 	}
 
 	@Override
 	public void clear() {
 		this.prototypes.clear();
+		synchronized (this.stores) {
+			for (PrototypeStore store : this.stores) {
+				store.clear();
+			}
+		}
 	}
 
 	@Override
@@ -365,4 +467,174 @@ public class DefaultActionPrototypeProvider implements ActionPrototypeProvider {
 		return b.toString();
 	}
 
+
+	/** Prototypes of the resource of a resource set, per declaring type, and per action.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class ResourcePrototypes
+			extends ConcurrentHashMap<String, ConcurrentMap<String, ConcurrentMap<ActionParameterTypes, InferredPrototype>>> {
+
+		private static final long serialVersionUID = -2386395372386400213L;
+
+		private final transient WeakReference<Resource> resource;
+
+		/**
+		 * @param resource - the resource, or <code>null</code> if unknown.
+		 */
+		ResourcePrototypes(Resource resource) {
+			this.resource = new WeakReference<>(resource);
+		}
+
+		/** Replies if the prototypes may be removed from the store.
+		 *
+		 * @param resourceSet - the resource set of the store, or <code>null</code> if none.
+		 * @return <code>true</code> if the prototypes will be inferred again before being used.
+		 */
+		boolean isEvictable(ResourceSet resourceSet) {
+			Resource res = this.resource.get();
+			if (res == null || res.getResourceSet() != resourceSet) {
+				return true;
+			}
+			if (res instanceof DerivedStateAwareResource) {
+				DerivedStateAwareResource dsar = (DerivedStateAwareResource) res;
+				return !dsar.isFullyInitialized() && !dsar.isInitializing();
+			}
+			return resourceSet != null;
+		}
+
+	}
+
+	/** Store of the prototypes of the resources of a resource set.
+	 * The store is attached to the resource set and to its resources in order
+	 * to forget the prototypes of the resources that are unloaded or removed.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class PrototypeStore extends AdapterImpl {
+
+		private static final int INITIAL_CAPACITY = 16;
+
+		private static final float LOAD_FACTOR = .75f;
+
+		/** Prototypes per resource URI, from the least recently used to the most recently used.
+		 */
+		private final Map<String, ResourcePrototypes> resources = new LinkedHashMap<>(
+				INITIAL_CAPACITY, LOAD_FACTOR, true);
+
+		private final ResourceSet resourceSet;
+
+		/**
+		 * @param resourceSet - the resource set of the store, or <code>null</code> if none.
+		 */
+		PrototypeStore(ResourceSet resourceSet) {
+			this.resourceSet = resourceSet;
+		}
+
+		/** Replies the prototypes of the resource with the given URI.
+		 *
+		 * @param resourceID - the URI of the resource.
+		 * @return the prototypes, or <code>null</code> if none.
+		 */
+		synchronized ResourcePrototypes get(String resourceID) {
+			return this.resources.get(resourceID);
+		}
+
+		/** Replies the prototypes of the resource with the given URI, and create them if they do not exist.
+		 *
+		 * @param resourceID - the URI of the resource.
+		 * @param resource - the resource, or <code>null</code> if unknown.
+		 * @return the prototypes.
+		 */
+		synchronized ResourcePrototypes getOrCreate(String resourceID, Resource resource) {
+			ResourcePrototypes prototypes = this.resources.get(resourceID);
+			if (prototypes == null) {
+				prototypes = new ResourcePrototypes(resource);
+				this.resources.put(resourceID, prototypes);
+				evict();
+			}
+			return prototypes;
+		}
+
+		private void evict() {
+			if (this.resources.size() > MAXIMUM_RESOURCES) {
+				Iterator<ResourcePrototypes> iterator = this.resources.values().iterator();
+				while (this.resources.size() > MAXIMUM_RESOURCES && iterator.hasNext()) {
+					if (iterator.next().isEvictable(this.resourceSet)) {
+						iterator.remove();
+					}
+				}
+			}
+		}
+
+		/** Forget the prototypes of the resource with the given URI.
+		 *
+		 * @param resourceID - the URI of the resource.
+		 */
+		synchronized void remove(String resourceID) {
+			this.resources.remove(resourceID);
+		}
+
+		/** Forget all the prototypes.
+		 */
+		synchronized void clear() {
+			this.resources.clear();
+		}
+
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == PrototypeStore.class;
+		}
+
+		@Override
+		public void notifyChanged(Notification msg) {
+			Object notifier = msg.getNotifier();
+			if (notifier instanceof ResourceSet) {
+				if (msg.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES) {
+					switch (msg.getEventType()) {
+					case Notification.ADD:
+						((Notifier) msg.getNewValue()).eAdapters().add(this);
+						break;
+					case Notification.ADD_MANY:
+						for (Object resource : (List<?>) msg.getNewValue()) {
+							((Notifier) resource).eAdapters().add(this);
+						}
+						break;
+					case Notification.REMOVE:
+						removeResource((Resource) msg.getOldValue());
+						break;
+					case Notification.REMOVE_MANY:
+						for (Object resource : (List<?>) msg.getOldValue()) {
+							removeResource((Resource) resource);
+						}
+						break;
+					case Notification.SET:
+						removeResource((Resource) msg.getOldValue());
+						((Notifier) msg.getNewValue()).eAdapters().add(this);
+						break;
+					default:
+						break;
+					}
+				}
+			} else if (notifier instanceof Resource) {
+				if (msg.getFeatureID(Resource.class) == Resource.RESOURCE__IS_LOADED
+						&& !msg.getNewBooleanValue()) {
+					remove(((Resource) notifier).getURI().toString());
+				}
+			}
+		}
+
+		private void removeResource(Resource resource) {
+			resource.eAdapters().remove(this);
+			remove(resource.getURI().toString());
+		}
+
+	}
+
 }
@@ -22,6 +22,8 @@ package io.sarl.lang.actionprototype;
 
 import java.io.Serializable;
 
+import org.eclipse.emf.ecore.resource.Resource;
+
 import com.google.common.base.Objects;
 
 /**
@@ -39,6 +41,7 @@ public class QualifiedActionName implements Cloneable, Serializable, Comparable<
 	private String resourceID;
 	private String declaringType;
 	private String functionName;
+	private transient Resource resource;
 
 	/**
 	 * @param resourceID - the name of the resource where the action is defined.
@@ -46,9 +49,29 @@ public class QualifiedActionName implements Cloneable, Serializable, Comparable<
 	 * @param functionName - the name of the action.
 	 */
 	protected QualifiedActionName(String resourceID, String declaringType, String functionName) {
+		this(null, resourceID, declaringType, functionName);
+	}
+
+	/**
+	 * @param resource - the resource where the action is defined, or <code>null</code> if unknown.
+	 * @param resourceID - the name of the resource where the action is defined.
+	 * @param declaringType - the fully qualified name of the declaring type of the action.
+	 * @param functionName - the name of the action.
+	 */
+	protected QualifiedActionName(Resource resource, String resourceID, String declaringType, String functionName) {
 		this.functionName = functionName;
 		this.resourceID = resourceID;
 		this.declaringType = declaringType;
+		this.resource = resource;
+	}
+
+	/** Replies the resource where the action is defined.
+	 * The resource is not part of the identity of the name.
+	 *
+	 * @return the resource, or <code>null</code> if it is unknown.
+	 */
+	public Resource getResource() {
+		return this.resource;
 	}
 
 	/** Replies the ID of the resource.
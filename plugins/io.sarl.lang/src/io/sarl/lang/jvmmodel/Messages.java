@@ -46,6 +46,8 @@ public class Messages extends NLS {
 	public static String SARLJvmModelInferrer_11;
 	public static String SARLJvmModelInferrer_12;
 	public static String SARLJvmModelInferrer_13;
+	public static String SARLJvmModelInferrer_14;
+	public static String SARLJvmModelInferrer_15;
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
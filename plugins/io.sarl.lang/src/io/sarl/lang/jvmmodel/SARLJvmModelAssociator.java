@@ -0,0 +1,59 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.jvmmodel;
+
+import io.sarl.lang.actionprototype.ActionPrototypeProvider;
+import io.sarl.lang.util.InheritanceContextIndex;
+
+import org.eclipse.xtext.resource.DerivedStateAwareResource;
+import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
+
+import com.google.inject.Inject;
+
+/** Associator of the SARL elements and the JVM elements.
+ * <p>
+ * When the JVM elements inferred from a resource are discarded, the action
+ * prototypes that were computed for this resource, and the inherited features
+ * that were extracted from this resource, are discarded too.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class SARLJvmModelAssociator extends JvmModelAssociator {
+
+	@Inject
+	private ActionPrototypeProvider actionPrototypeProvider;
+
+	@Inject
+	private InheritanceContextIndex inheritanceContextIndex;
+
+	@Override
+	public void discardDerivedState(DerivedStateAwareResource resource) {
+		super.discardDerivedState(resource);
+		if (resource.getURI() != null) {
+			this.actionPrototypeProvider.clear(resource);
+		}
+		this.inheritanceContextIndex.clear(resource);
+	}
+
+}
@@ -37,7 +37,15 @@ import io.sarl.lang.annotation.Generated;
 import io.sarl.lang.annotation.ImportedCapacityFeature;
 import io.sarl.lang.controlflow.SARLExtendedEarlyExitComputer;
 import io.sarl.lang.core.Address;
+import io.sarl.lang.core.DecodingMarker;
+import io.sarl.lang.core.EventDispatchTable;
+import io.sarl.lang.core.EventFieldAccessor;
+import io.sarl.lang.core.EventInput;
+import io.sarl.lang.core.EventMetadata;
+import io.sarl.lang.core.EventOutput;
 import io.sarl.lang.core.Percept;
+import io.sarl.lang.core.PerceptHandler;
+import io.sarl.lang.core.SkillCache;
 import io.sarl.lang.jvmmodel.JvmModelInferrerProber.Step;
 import io.sarl.lang.sarl.Action;
 import io.sarl.lang.sarl.ActionSignature;
@@ -56,8 +64,10 @@ import io.sarl.lang.sarl.InheritingElement;
 import io.sarl.lang.sarl.ParameterizedFeature;
 import io.sarl.lang.sarl.Skill;
 import io.sarl.lang.sarl.TopElement;
+import io.sarl.lang.util.InheritanceContextIndex;
 import io.sarl.lang.util.ModelUtil;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -81,6 +91,7 @@ import org.eclipse.xtext.common.types.JvmFormalParameter;
 import org.eclipse.xtext.common.types.JvmGenericType;
 import org.eclipse.xtext.common.types.JvmOperation;
 import org.eclipse.xtext.common.types.JvmParameterizedTypeReference;
+import org.eclipse.xtext.common.types.JvmType;
 import org.eclipse.xtext.common.types.JvmTypeAnnotationValue;
 import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.common.types.JvmVisibility;
@@ -159,6 +170,11 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 	@Inject
 	protected ActionPrototypeProvider sarlSignatureProvider;
 
+	/** Index of the features inherited from the super types.
+	 */
+	@Inject
+	protected InheritanceContextIndex inheritanceContextIndex;
+
 	/** Tracker of field initialization.
 	 */
 	@Inject
@@ -379,14 +395,13 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 		final Map<ActionPrototype, JvmOperation>  overridableOperations = CollectionLiterals.newTreeMap(null);
 		final Map<ActionPrototype, JvmOperation>  operationsToImplement = CollectionLiterals.newTreeMap(null);
 
-		ModelUtil.populateInheritanceContext(
+		this.inheritanceContextIndex.populateInheritanceContext(
 				featureContainerType,
 				finalOperations,
 				overridableOperations,
 				null,
 				operationsToImplement,
-				null,
-				this.sarlSignatureProvider);
+				null);
 
 		//*****************
 		// For Unit Tests
@@ -407,6 +422,7 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 		int behaviorUnitIndex = 0;
 		boolean hasConstructor = false;
 		List<Runnable> differedCodeGeneration = new ArrayList<>();
+		List<JvmOperation> behaviorUnits = new ArrayList<>();
 
 		for (EObject feature : featureContainer.getFeatures()) {
 			if (feature instanceof Action) {
@@ -448,6 +464,7 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 					if (bMethod != null) {
 						++behaviorUnitIndex;
 						featureContainerType.getMembers().add(bMethod);
+						behaviorUnits.add(bMethod);
 					}
 				} else {
 					throw new IllegalStateException(Messages.SARLJvmModelInferrer_12);
@@ -535,6 +552,10 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 		}
 		//*****************
 
+		if (!behaviorUnits.isEmpty()) {
+			generateEventDispatchTable(featureContainerType, featureContainer, behaviorUnits);
+		}
+
 		return new GenerationInformation(hasConstructor, actionIndex, behaviorUnitIndex);
 	}
 
@@ -779,9 +800,16 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 						null,
 						this.sarlSignatureProvider);
 
+				final String cacheName = ModelUtil.getSkillCacheFieldName(capacityType.getType().getQualifiedName());
+				final String agentReference = (context instanceof Agent) ? "this" : "getOwner()"; //$NON-NLS-1$ //$NON-NLS-2$
+				boolean hasCache = false;
 				int actionIndex = index;
 				for (final Entry<ActionPrototype, JvmOperation> entry : capacityOperations.entrySet()) {
 					if (implementedOperations == null || !implementedOperations.containsKey(entry.getKey())) {
+						if (!hasCache) {
+							generateSkillCache(owner, context, capacityType.getType(), cacheName);
+							hasCache = true;
+						}
 						JvmOperation op = this.typeBuilder.toMethod(context, entry.getValue().getSimpleName(),
 								entry.getValue().getReturnType(), new Procedures.Procedure1<JvmOperation>() {
 							@Override
@@ -814,9 +842,10 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 												entry.getValue().getReturnType().getIdentifier())) {
 											it.append("return "); //$NON-NLS-1$
 										}
-										it.append("getSkill("); //$NON-NLS-1$
-										it.append(entry.getValue().getDeclaringType().getQualifiedName());
-										it.append(".class)."); //$NON-NLS-1$
+										it.append(cacheName);
+										it.append(".get("); //$NON-NLS-1$
+										it.append(agentReference);
+										it.append(")."); //$NON-NLS-1$
 										it.append(entry.getValue().getSimpleName());
 										it.append("("); //$NON-NLS-1$
 										it.append(IterableExtensions.join(args, ", ")); //$NON-NLS-1$
@@ -858,6 +887,38 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 		return index;
 	}
 
+	/** Generate the field that is caching the skill implementing a capacity.
+	 *
+	 * @param owner - the JVM container.
+	 * @param context - the SARL context.
+	 * @param capacity - the capacity.
+	 * @param name - the name of the field.
+	 */
+	protected void generateSkillCache(JvmGenericType owner, EObject context, final JvmType capacity, String name) {
+		JvmTypeReference cacheType = this._typeReferenceBuilder.typeRef(SkillCache.class,
+				this._typeReferenceBuilder.typeRef(capacity));
+		JvmField cacheField = this.typeBuilder.toField(context, name, cacheType, new Procedures.Procedure1<JvmField>() {
+			@SuppressWarnings("synthetic-access")
+			@Override
+			public void apply(JvmField it) {
+				it.setVisibility(JvmVisibility.PRIVATE);
+				it.setFinal(true);
+				it.setTransient(true);
+				SARLJvmModelInferrer.this.typeBuilder.setInitializer(it, new Procedures.Procedure1<ITreeAppendable>() {
+					@Override
+					public void apply(ITreeAppendable it2) {
+						it2.append("new ").append(SkillCache.class).append("<").append(capacity); //$NON-NLS-1$ //$NON-NLS-2$
+						it2.append(">(").append(capacity).append(".class)"); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				});
+			}
+		});
+		cacheField.getAnnotations().add(this._annotationTypesBuilder.annotationRef(Generated.class));
+		this.typeExtensions.setSynthetic(cacheField, true);
+		owner.getMembers().add(cacheField);
+		this.readAndWriteTracking.markInitialized(cacheField, null);
+	}
+
 	/** Create an annotation with classes as values.
 	 *
 	 * @param type - the type of the annotation.
@@ -956,6 +1017,73 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 		return null;
 	}
 
+	/** Generate the event dispatch table of the given container, and the function
+	 * that is dispatching the events to the behavior units with this table.
+	 * <p>
+	 * The table maps each event type to the generated behavior units, so that the
+	 * run-time environment does not need to discover the behavior units
+	 * with the Java reflection API.
+	 *
+	 * @param owner - the container of the behavior units.
+	 * @param context - the SARL container.
+	 * @param behaviorUnits - the operations generated for the behavior units, in their declaration order.
+	 * @see EventDispatchTable
+	 */
+	protected void generateEventDispatchTable(final JvmGenericType owner, EObject context,
+			final List<JvmOperation> behaviorUnits) {
+		JvmTypeReference tableType = this._typeReferenceBuilder.typeRef(EventDispatchTable.class,
+				this._typeReferenceBuilder.typeRef(owner));
+		JvmField tableField = this.typeBuilder.toField(context, ModelUtil.EVENT_DISPATCH_TABLE_FIELD, tableType,
+				new Procedures.Procedure1<JvmField>() {
+			@SuppressWarnings("synthetic-access")
+			@Override
+			public void apply(JvmField it) {
+				it.setVisibility(JvmVisibility.PRIVATE);
+				it.setFinal(true);
+				it.setStatic(true);
+				SARLJvmModelInferrer.this.typeBuilder.setInitializer(it, new Procedures.Procedure1<ITreeAppendable>() {
+					@Override
+					public void apply(ITreeAppendable it2) {
+						it2.append(EventDispatchTable.class).append(".builder(").append(owner); //$NON-NLS-1$
+						it2.append(".class)").increaseIndentation(); //$NON-NLS-1$
+						for (JvmOperation behaviorUnit : behaviorUnits) {
+							JvmType eventType = behaviorUnit.getParameters().get(0).getParameterType().getType();
+							it2.newLine().append(".add(").append(eventType).append(".class, \"") //$NON-NLS-1$ //$NON-NLS-2$
+								.append(behaviorUnit.getSimpleName()).append("\", new ") //$NON-NLS-1$
+								.append(PerceptHandler.class).append("<").append(owner) //$NON-NLS-1$
+								.append(">() {").increaseIndentation(); //$NON-NLS-1$
+							it2.newLine().append("@Override"); //$NON-NLS-1$
+							it2.newLine().append("public void handle(final ").append(owner) //$NON-NLS-1$
+								.append(" receiver, final ").append(io.sarl.lang.core.Event.class) //$NON-NLS-1$
+								.append(" occurrence) {").increaseIndentation(); //$NON-NLS-1$
+							it2.newLine().append("receiver.").append(behaviorUnit.getSimpleName()) //$NON-NLS-1$
+								.append("((").append(eventType).append(") occurrence);"); //$NON-NLS-1$ //$NON-NLS-2$
+							it2.decreaseIndentation().newLine().append("}"); //$NON-NLS-1$
+							it2.decreaseIndentation().newLine().append("})"); //$NON-NLS-1$
+						}
+						it2.newLine().append(".build()").decreaseIndentation(); //$NON-NLS-1$
+					}
+				});
+			}
+		});
+		tableField.getAnnotations().add(this._annotationTypesBuilder.annotationRef(Generated.class));
+		this.typeExtensions.setSynthetic(tableField, true);
+		owner.getMembers().add(tableField);
+		this.readAndWriteTracking.markInitialized(tableField, null);
+
+		JvmOperation dispatchOperation = this.typeBuilder.toMethod(context, ModelUtil.EVENT_DISPATCH_FUNCTION,
+				this._typeReferenceBuilder.typeRef(Boolean.TYPE), null);
+		dispatchOperation.getParameters().add(this.typeBuilder.toParameter(context, SARLKeywords.OCCURRENCE,
+				this._typeReferenceBuilder.typeRef(io.sarl.lang.core.Event.class)));
+		this.typeBuilder.setBody(dispatchOperation, toStringConcatenation(
+				"return " + ModelUtil.EVENT_DISPATCH_TABLE_FIELD //$NON-NLS-1$
+				+ ".dispatch(this, " + SARLKeywords.OCCURRENCE + ");")); //$NON-NLS-1$ //$NON-NLS-2$
+		dispatchOperation.getAnnotations().add(this._annotationTypesBuilder.annotationRef(Override.class));
+		dispatchOperation.getAnnotations().add(this._annotationTypesBuilder.annotationRef(Generated.class));
+		this.typeExtensions.setSynthetic(dispatchOperation, true);
+		owner.getMembers().add(dispatchOperation);
+	}
+
 	/** Generate a list of formal parameters with annotations for the default values.
 	 *
 	 * @param owner - the JVM element to change.
@@ -1534,6 +1662,114 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 		return result;
 	}
 
+	/** Replies the name of the functions of {@link EventInput} and {@link EventOutput}
+	 * that read and write a field of the given type, without the "read" and "write" prefixes.
+	 *
+	 * @param typeName - the name of the type of the field.
+	 * @return the name of the functions.
+	 */
+	private static String getCodecFunctionSuffix(String typeName) {
+		if (Objects.equal(Boolean.TYPE.getName(), typeName)) {
+			return "Boolean"; //$NON-NLS-1$
+		}
+		if (Objects.equal(Byte.TYPE.getName(), typeName)) {
+			return "Byte"; //$NON-NLS-1$
+		}
+		if (Objects.equal(Integer.TYPE.getName(), typeName)
+				|| Objects.equal(Short.TYPE.getName(), typeName)
+				|| Objects.equal(Character.TYPE.getName(), typeName)) {
+			return "VarInt"; //$NON-NLS-1$
+		}
+		if (Objects.equal(Long.TYPE.getName(), typeName)) {
+			return "VarLong"; //$NON-NLS-1$
+		}
+		if (Objects.equal(Float.TYPE.getName(), typeName)) {
+			return "Float"; //$NON-NLS-1$
+		}
+		if (Objects.equal(Double.TYPE.getName(), typeName)) {
+			return "Double"; //$NON-NLS-1$
+		}
+		if (Objects.equal(String.class.getName(), typeName)) {
+			return "String"; //$NON-NLS-1$
+		}
+		if (Objects.equal(UUID.class.getName(), typeName)) {
+			return "UUID"; //$NON-NLS-1$
+		}
+		if (Objects.equal(Address.class.getName(), typeName)) {
+			return "Address"; //$NON-NLS-1$
+		}
+		if (Objects.equal(io.sarl.lang.core.SpaceID.class.getName(), typeName)) {
+			return "SpaceID"; //$NON-NLS-1$
+		}
+		return null;
+	}
+
+	/** Append the expression that reads the value of the given field from an {@link EventInput}
+	 * named <code>input</code>.
+	 *
+	 * @param it - the receiver of the code.
+	 * @param field - the field to read.
+	 */
+	protected void appendFieldReading(ITreeAppendable it, JvmField field) {
+		JvmTypeReference type = field.getType();
+		String typeName = type.getIdentifier();
+		String suffix = getCodecFunctionSuffix(typeName);
+		if (suffix == null) {
+			it.append("("); //$NON-NLS-1$
+			it.append(type.getType());
+			it.append(") input.readObject()"); //$NON-NLS-1$
+		} else {
+			if (Objects.equal(Short.TYPE.getName(), typeName) || Objects.equal(Character.TYPE.getName(), typeName)) {
+				it.append("(" + typeName + ") "); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			it.append("input.read" + suffix + "()"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/** Append the statement that writes the value of the given field in an {@link EventOutput}
+	 * named <code>output</code>.
+	 *
+	 * @param it - the receiver of the code.
+	 * @param field - the field to write.
+	 */
+	protected void appendFieldWriting(ITreeAppendable it, JvmField field) {
+		String suffix = getCodecFunctionSuffix(field.getType().getIdentifier());
+		if (suffix == null) {
+			suffix = "Object"; //$NON-NLS-1$
+		}
+		it.append("output.write" + suffix + "(this." + field.getSimpleName() + ");"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/** Append the declaration of the accessor to the given field into the builder
+	 * of an {@link EventMetadata}.
+	 *
+	 * @param it - the receiver of the code.
+	 * @param owner - the event that is declaring the field.
+	 * @param field - the field.
+	 */
+	protected void appendEventFieldAccessor(ITreeAppendable it, JvmGenericType owner, JvmField field) {
+		JvmType fieldType = field.getType().getType();
+		it.newLine().append(field.isFinal() ? ".addFinal(\"" : ".add(\"") //$NON-NLS-1$ //$NON-NLS-2$
+			.append(field.getSimpleName()).append("\", ").append(fieldType) //$NON-NLS-1$
+			.append(".class, new ").append(EventFieldAccessor.class).append("<").append(owner) //$NON-NLS-1$ //$NON-NLS-2$
+			.append(">() {").increaseIndentation(); //$NON-NLS-1$
+		it.newLine().append("@Override"); //$NON-NLS-1$
+		it.newLine().append("public Object get(final ").append(owner) //$NON-NLS-1$
+			.append(" event) {").increaseIndentation(); //$NON-NLS-1$
+		it.newLine().append("return event.").append(field.getSimpleName()).append(";"); //$NON-NLS-1$ //$NON-NLS-2$
+		it.decreaseIndentation().newLine().append("}"); //$NON-NLS-1$
+		if (!field.isFinal()) {
+			it.newLine();
+			it.newLine().append("@Override"); //$NON-NLS-1$
+			it.newLine().append("public void set(final ").append(owner) //$NON-NLS-1$
+				.append(" event, final Object value) {").increaseIndentation(); //$NON-NLS-1$
+			it.newLine().append("event.").append(field.getSimpleName()).append(" = (") //$NON-NLS-1$ //$NON-NLS-2$
+				.append(fieldType).append(") value;"); //$NON-NLS-1$
+			it.decreaseIndentation().newLine().append("}"); //$NON-NLS-1$
+		}
+		it.decreaseIndentation().newLine().append("})"); //$NON-NLS-1$
+	}
+
 	/** Describe generation information.
 	 *
 	 * @author $Author: sgalland$
@@ -1657,6 +1893,7 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 			serial = serial + generateExtendedTypes(it, this.element, io.sarl.lang.core.Event.class);
 			JvmField jvmField;
 			List<JvmField> jvmFields = CollectionLiterals.newArrayList();
+			List<JvmField> encodedFields = CollectionLiterals.newArrayList();
 			int actionIndex = 0;
 			boolean hasConstructor = false;
 
@@ -1668,6 +1905,10 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 						jvmFields.add(jvmField);
 						it.getMembers().add(jvmField);
 						serial = serial + attribute.getName().hashCode();
+						// A final field with an initial value is not encoded: it cannot be assigned by the decoder.
+						if (attribute.isWriteable() || attribute.getInitialValue() == null) {
+							encodedFields.add(jvmField);
+						}
 					}
 				} else if (feature instanceof Constructor) {
 					Constructor constructor = (Constructor) feature;
@@ -1688,9 +1929,146 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 				generateAttributeFunctions(it, jvmFields);
 			}
 
+			if (isEncodableSuperType(it.getExtendedClass())) {
+				generateCodecFunctions(it, encodedFields);
+			}
+
+			if (!jvmFields.isEmpty()) {
+				generateEventMetadata(it, jvmFields);
+			}
+
 			generateSerialID(it, serial);
 		}
 
+		/** Replies if the super type of the event has a decoding constructor.
+		 * The SARL events always have one, but the events written in Java may not.
+		 *
+		 * @param superType - the super type.
+		 * @return <code>true</code> if the decoding constructor may be invoked.
+		 */
+		@SuppressWarnings("synthetic-access")
+		private boolean isEncodableSuperType(JvmTypeReference superType) {
+			if (superType == null || !(superType.getType() instanceof JvmDeclaredType)) {
+				return false;
+			}
+			JvmDeclaredType type = (JvmDeclaredType) superType.getType();
+			if (Objects.equal(io.sarl.lang.core.Event.class.getName(), type.getIdentifier())
+					|| SARLJvmModelInferrer.this.jvmModelAssociator.getPrimarySourceElement(type) instanceof Event) {
+				return true;
+			}
+			for (JvmConstructor constructor : type.getDeclaredConstructors()) {
+				if (constructor.getParameters().size() == 2
+						&& Objects.equal(EventInput.class.getName(),
+								constructor.getParameters().get(0).getParameterType().getIdentifier())
+						&& Objects.equal(DecodingMarker.class.getName(),
+								constructor.getParameters().get(1).getParameterType().getIdentifier())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@SuppressWarnings("synthetic-access")
+		private void generateCodecFunctions(JvmGenericType it, final List<JvmField> fields) {
+			final JvmTypeReference exceptionType = SARLJvmModelInferrer.this._typeReferenceBuilder.typeRef(IOException.class);
+
+			final JvmTypeReference inputType = SARLJvmModelInferrer.this._typeReferenceBuilder.typeRef(EventInput.class);
+			final JvmTypeReference markerType = SARLJvmModelInferrer.this._typeReferenceBuilder.typeRef(DecodingMarker.class);
+			JvmConstructor constructor = SARLJvmModelInferrer.this.typeBuilder.toConstructor(this.element,
+					new Procedures.Procedure1<JvmConstructor>() {
+				@Override
+				public void apply(JvmConstructor it2) {
+					it2.setVisibility(JvmVisibility.PROTECTED);
+					SARLJvmModelInferrer.this.typeBuilder.setDocumentation(it2,
+							MessageFormat.format(Messages.SARLJvmModelInferrer_14, "input", "marker")); //$NON-NLS-1$ //$NON-NLS-2$
+					it2.getParameters().add(SARLJvmModelInferrer.this.typeBuilder.toParameter(
+							EventGenerator.this.element, "input", inputType)); //$NON-NLS-1$
+					it2.getParameters().add(SARLJvmModelInferrer.this.typeBuilder.toParameter(
+							EventGenerator.this.element, "marker", markerType)); //$NON-NLS-1$
+					it2.getExceptions().add(SARLJvmModelInferrer.this.typeBuilder.cloneWithProxies(exceptionType));
+					SARLJvmModelInferrer.this.typeBuilder.setBody(it2, new Procedures.Procedure1<ITreeAppendable>() {
+						@Override
+						public void apply(ITreeAppendable it3) {
+							it3.append("super(input, marker);"); //$NON-NLS-1$
+							for (JvmField field : fields) {
+								it3.newLine().append("this." + field.getSimpleName() + " = "); //$NON-NLS-1$ //$NON-NLS-2$
+								appendFieldReading(it3, field);
+								it3.append(";"); //$NON-NLS-1$
+							}
+						}
+					});
+				}
+			});
+			constructor.getAnnotations().add(SARLJvmModelInferrer.this._annotationTypesBuilder.annotationRef(
+					Generated.class));
+			SARLJvmModelInferrer.this.typeExtensions.setSynthetic(constructor, true);
+			it.getMembers().add(constructor);
+			for (JvmField field : fields) {
+				SARLJvmModelInferrer.this.readAndWriteTracking.markInitialized(field, constructor);
+			}
+
+			final JvmTypeReference outputType = SARLJvmModelInferrer.this._typeReferenceBuilder.typeRef(EventOutput.class);
+			JvmOperation operation = SARLJvmModelInferrer.this.typeBuilder.toMethod(this.element, "writeTo", //$NON-NLS-1$
+					SARLJvmModelInferrer.this._typeReferenceBuilder.typeRef(Void.TYPE),
+					new Procedures.Procedure1<JvmOperation>() {
+				@Override
+				public void apply(JvmOperation it2) {
+					it2.setVisibility(JvmVisibility.PROTECTED);
+					SARLJvmModelInferrer.this.typeBuilder.setDocumentation(it2,
+							MessageFormat.format(Messages.SARLJvmModelInferrer_15,
+									EventGenerator.this.element.getName(), "output")); //$NON-NLS-1$
+					it2.getParameters().add(SARLJvmModelInferrer.this.typeBuilder.toParameter(
+							EventGenerator.this.element, "output", outputType)); //$NON-NLS-1$
+					it2.getExceptions().add(SARLJvmModelInferrer.this.typeBuilder.cloneWithProxies(exceptionType));
+					SARLJvmModelInferrer.this.typeBuilder.setBody(it2, new Procedures.Procedure1<ITreeAppendable>() {
+						@Override
+						public void apply(ITreeAppendable it3) {
+							it3.append("super.writeTo(output);"); //$NON-NLS-1$
+							for (JvmField field : fields) {
+								it3.newLine();
+								appendFieldWriting(it3, field);
+							}
+						}
+					});
+				}
+			});
+			operation.getAnnotations().add(SARLJvmModelInferrer.this._annotationTypesBuilder.annotationRef(Override.class));
+			operation.getAnnotations().add(SARLJvmModelInferrer.this._annotationTypesBuilder.annotationRef(Generated.class));
+			SARLJvmModelInferrer.this.typeExtensions.setSynthetic(operation, true);
+			it.getMembers().add(operation);
+		}
+
+		@SuppressWarnings("synthetic-access")
+		private void generateEventMetadata(final JvmGenericType it, final List<JvmField> fields) {
+			JvmTypeReference metadataType = SARLJvmModelInferrer.this._typeReferenceBuilder.typeRef(EventMetadata.class,
+					SARLJvmModelInferrer.this._typeReferenceBuilder.typeRef(it));
+			JvmField metadataField = SARLJvmModelInferrer.this.typeBuilder.toField(this.element,
+					ModelUtil.EVENT_METADATA_FIELD, metadataType, new Procedures.Procedure1<JvmField>() {
+				@Override
+				public void apply(JvmField it2) {
+					it2.setVisibility(JvmVisibility.PRIVATE);
+					it2.setFinal(true);
+					it2.setStatic(true);
+					SARLJvmModelInferrer.this.typeBuilder.setInitializer(it2, new Procedures.Procedure1<ITreeAppendable>() {
+						@Override
+						public void apply(ITreeAppendable it3) {
+							it3.append(EventMetadata.class).append(".builder(").append(it); //$NON-NLS-1$
+							it3.append(".class)").increaseIndentation(); //$NON-NLS-1$
+							for (JvmField field : fields) {
+								appendEventFieldAccessor(it3, it, field);
+							}
+							it3.newLine().append(".build()").decreaseIndentation(); //$NON-NLS-1$
+						}
+					});
+				}
+			});
+			metadataField.getAnnotations().add(SARLJvmModelInferrer.this._annotationTypesBuilder.annotationRef(
+					Generated.class));
+			SARLJvmModelInferrer.this.typeExtensions.setSynthetic(metadataField, true);
+			it.getMembers().add(metadataField);
+			SARLJvmModelInferrer.this.readAndWriteTracking.markInitialized(metadataField, null);
+		}
+
 		@SuppressWarnings("synthetic-access")
 		private void generateSerialID(JvmGenericType it, final long serial) {
 			JvmField serialField = SARLJvmModelInferrer.this.typeBuilder.toField(this.element, "serialVersionUID", //$NON-NLS-1$
@@ -1765,30 +2143,32 @@ public class SARLJvmModelInferrer extends AbstractModelInferrer {
 				it.getMembers().add(op);
 			}
 
+			final JvmTypeReference builderType = SARLJvmModelInferrer.this._typeReferenceBuilder.typeRef(
+					StringBuilder.class);
 			op = SARLJvmModelInferrer.this.typeBuilder.toMethod(
 					this.element,
 					"attributesToString", //$NON-NLS-1$
-					SARLJvmModelInferrer.this._typeReferenceBuilder.typeRef(String.class),
+					SARLJvmModelInferrer.this._typeReferenceBuilder.typeRef(Void.TYPE),
 					new Procedures.Procedure1<JvmOperation>() {
 						@Override
 						public void apply(JvmOperation it2) {
 							it2.setVisibility(JvmVisibility.PROTECTED);
 							SARLJvmModelInferrer.this.typeBuilder.setDocumentation(it2,
 									MessageFormat.format(Messages.SARLJvmModelInferrer_2,
-											EventGenerator.this.element.getName()));
+											EventGenerator.this.element.getName(), "result")); //$NON-NLS-1$
+							it2.getParameters().add(SARLJvmModelInferrer.this.typeBuilder.toParameter(
+									EventGenerator.this.element, "result", builderType)); //$NON-NLS-1$
 							SARLJvmModelInferrer.this.typeBuilder.setBody(it2,
 									new Procedures.Procedure1<ITreeAppendable>() {
 								@Override
 								public void apply(ITreeAppendable it3) {
-									it3.append("StringBuilder result = new StringBuilder(" //$NON-NLS-1$
-											+ "super.attributesToString());").newLine(); //$NON-NLS-1$
+									it3.append("super.attributesToString(result);"); //$NON-NLS-1$
 									for (Attribute attr : IterableExtensions.filter(
 											EventGenerator.this.element.getFeatures(), Attribute.class)) {
-										it3.append("result.append(\"" + attr.getName() //$NON-NLS-1$
+										it3.newLine().append("result.append(\"" + attr.getName() //$NON-NLS-1$
 												+ "  = \").append(this." //$NON-NLS-1$
-												+ attr.getName() + ");").newLine(); //$NON-NLS-1$
+												+ attr.getName() + ");"); //$NON-NLS-1$
 									}
-									it3.append("return result.toString();"); //$NON-NLS-1$
 								}
 							});
 						}
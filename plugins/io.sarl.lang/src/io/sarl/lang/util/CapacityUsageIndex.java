@@ -0,0 +1,230 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.util;
+
+import io.sarl.lang.annotation.ImportedCapacityFeature;
+import io.sarl.lang.sarl.CapacityUses;
+import io.sarl.lang.sarl.FeatureContainer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.common.types.JvmAnnotationReference;
+import org.eclipse.xtext.common.types.JvmAnnotationValue;
+import org.eclipse.xtext.common.types.JvmDeclaredType;
+import org.eclipse.xtext.common.types.JvmIdentifiableElement;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmTypeAnnotationValue;
+import org.eclipse.xtext.common.types.JvmTypeReference;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.XAbstractFeatureCall;
+import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociations;
+import org.eclipse.xtext.xbase.jvmmodel.ILogicalContainerProvider;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+
+/** Index of the usages of the capacity features in a feature container.
+ * <p>
+ * The functions that are imported from the capacities, i.e. the JVM operations
+ * that are marked with {@link ImportedCapacityFeature}, are indexed by capacity
+ * when the index is created. The calls to these functions are collected
+ * in a single pass over the content of the container, the first time they
+ * are needed. All the queries on the unused capacities are replied from the
+ * collected calls, in place of a traversal of the container for each
+ * capacity. The collection may be canceled; the partially collected calls
+ * are then discarded, and they are collected again by the next query.
+ * <p>
+ * The index also replies the first declaration of each capacity in the
+ * <code>uses</code> statements of the container, for detecting the redundant
+ * declarations.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public class CapacityUsageIndex {
+
+	/** Number of the visited objects between two tests of the cancel indicator.
+	 */
+	private static final int CANCEL_CHECK_PERIOD = 256;
+
+	private final EObject container;
+
+	private final Multimap<String, JvmOperation> importedFeatures = ArrayListMultimap.create();
+
+	private final Set<JvmOperation> importedOperations = new HashSet<>();
+
+	private final Map<String, JvmTypeReference> firstUses = new HashMap<>();
+
+	private Multimap<JvmOperation, XAbstractFeatureCall> calls;
+
+	/**
+	 * @param jvmContainer - the JVM type that is inferred from the container.
+	 * @param container - the feature container in which the usages are indexed.
+	 */
+	public CapacityUsageIndex(JvmDeclaredType jvmContainer, EObject container) {
+		assert (jvmContainer != null);
+		this.container = container;
+		String annotationId = ImportedCapacityFeature.class.getName();
+		for (JvmOperation operation : jvmContainer.getDeclaredOperations()) {
+			for (JvmAnnotationReference annotation : operation.getAnnotations()) {
+				if (annotationId.equals(annotation.getAnnotation().getIdentifier())) {
+					JvmAnnotationValue value = annotation.getValues().get(0);
+					JvmTypeReference capacity = ((JvmTypeAnnotationValue) value).getValues().get(0);
+					this.importedFeatures.put(capacity.getIdentifier(), operation);
+					this.importedOperations.add(operation);
+					break;
+				}
+			}
+		}
+		if (container instanceof FeatureContainer) {
+			for (EObject feature : ((FeatureContainer) container).getFeatures()) {
+				if (feature instanceof CapacityUses) {
+					for (JvmTypeReference capacity : ((CapacityUses) feature).getCapacitiesUsed()) {
+						String identifier = capacity.getIdentifier();
+						if (!this.firstUses.containsKey(identifier)) {
+							this.firstUses.put(identifier, capacity);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/** Create the index for the feature container of the given element.
+	 *
+	 * @param element - an element inside the feature container.
+	 * @param logicalContainerProvider - the provider of the JVM container of the element.
+	 * @param associations - the associations between the SARL and the JVM elements.
+	 * @return the index, or <code>null</code> if the element has no JVM type as container.
+	 */
+	public static CapacityUsageIndex create(EObject element, ILogicalContainerProvider logicalContainerProvider,
+			IJvmModelAssociations associations) {
+		JvmIdentifiableElement jvmContainer = logicalContainerProvider.getNearestLogicalContainer(element);
+		if (jvmContainer instanceof JvmDeclaredType) {
+			return new CapacityUsageIndex(
+					(JvmDeclaredType) jvmContainer,
+					associations.getPrimarySourceElement(jvmContainer));
+		}
+		return null;
+	}
+
+	/** Replies the feature container in which the usages are indexed.
+	 *
+	 * @return the container.
+	 */
+	public EObject getContainer() {
+		return this.container;
+	}
+
+	/** Replies the functions that are imported from the given capacity.
+	 *
+	 * @param capacity - the identifier of the capacity.
+	 * @return the imported functions, never <code>null</code>.
+	 */
+	public Collection<JvmOperation> getImportedFeatures(String capacity) {
+		return this.importedFeatures.get(capacity);
+	}
+
+	/** Replies the calls to the given imported function in the container.
+	 *
+	 * @param operation - the imported function.
+	 * @return the calls, never <code>null</code>.
+	 */
+	public Collection<XAbstractFeatureCall> getCalls(JvmOperation operation) {
+		return getCalls(CancelIndicator.NullImpl).get(operation);
+	}
+
+	/** Replies if one of the functions imported from the given capacity is called in the container.
+	 *
+	 * @param capacity - the identifier of the capacity.
+	 * @return <code>true</code> if the capacity is used.
+	 */
+	public boolean isUsed(String capacity) {
+		return isUsed(capacity, CancelIndicator.NullImpl).booleanValue();
+	}
+
+	/** Replies if one of the functions imported from the given capacity is called in the container.
+	 *
+	 * @param capacity - the identifier of the capacity.
+	 * @param cancelIndicator - the indicator of the cancelation of the collection of the calls.
+	 * @return <code>true</code> if the capacity is used, or <code>null</code> if the
+	 *     collection of the calls was canceled.
+	 */
+	public Boolean isUsed(String capacity, CancelIndicator cancelIndicator) {
+		Multimap<JvmOperation, XAbstractFeatureCall> allCalls = getCalls(cancelIndicator);
+		if (allCalls == null) {
+			return null;
+		}
+		for (JvmOperation operation : this.importedFeatures.get(capacity)) {
+			if (allCalls.containsKey(operation)) {
+				return Boolean.TRUE;
+			}
+		}
+		return Boolean.FALSE;
+	}
+
+	/** Replies if the given reference to a capacity is a redundant declaration
+	 * of the capacity in the <code>uses</code> statements of the container.
+	 *
+	 * @param capacity - the reference to the capacity in a <code>uses</code> statement.
+	 * @return <code>true</code> if the capacity was already declared before the given reference.
+	 */
+	public boolean isRedundantUse(JvmTypeReference capacity) {
+		JvmTypeReference first = this.firstUses.get(capacity.getIdentifier());
+		return first != null && first != capacity;
+	}
+
+	private Multimap<JvmOperation, XAbstractFeatureCall> getCalls(CancelIndicator cancelIndicator) {
+		if (this.calls == null) {
+			Multimap<JvmOperation, XAbstractFeatureCall> collectedCalls = ArrayListMultimap.create();
+			if (this.container != null && !this.importedOperations.isEmpty()) {
+				Iterator<EObject> iterator = this.container.eAllContents();
+				int count = 0;
+				while (iterator.hasNext()) {
+					++count;
+					if (count % CANCEL_CHECK_PERIOD == 0 && cancelIndicator.isCanceled()) {
+						// The partial calls are not stored.
+						return null;
+					}
+					EObject object = iterator.next();
+					if (object instanceof XAbstractFeatureCall) {
+						XAbstractFeatureCall call = (XAbstractFeatureCall) object;
+						JvmIdentifiableElement feature = call.getFeature();
+						if (feature instanceof JvmOperation && this.importedOperations.contains(feature)) {
+							collectedCalls.put((JvmOperation) feature, call);
+						}
+					}
+				}
+			}
+			this.calls = collectedCalls;
+		}
+		return this.calls;
+	}
+
+}
@@ -0,0 +1,372 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.util;
+
+import io.sarl.lang.actionprototype.ActionParameterTypes;
+import io.sarl.lang.actionprototype.ActionPrototype;
+import io.sarl.lang.actionprototype.ActionPrototypeProvider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.common.types.JvmConstructor;
+import org.eclipse.xtext.common.types.JvmFeature;
+import org.eclipse.xtext.common.types.JvmField;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmTypeReference;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/** Index of the features that are inherited from the super types.
+ * <p>
+ * This index provides the same information as
+ * {@link ModelUtil#populateInheritanceContext(JvmGenericType, Map, Map, Map, Map, Map, ActionPrototypeProvider)}.
+ * The features of each super type are extracted once, and stored
+ * in the resource set of the analyzed element. They are shared by the
+ * JVM model inferrer and the validator, and by all the types
+ * that have the same super type.
+ * <p>
+ * The features of the super types that are declared in the same resource
+ * as the analyzed element are never stored, because they may be under
+ * construction by the JVM model inferrer.
+ * The stored features are forgotten when the JVM elements of one of the
+ * resources that are declaring them are discarded (see {@link #clear(Resource)}).
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@Singleton
+public class InheritanceContextIndex {
+
+	@Inject
+	private ActionPrototypeProvider sarlSignatureProvider;
+
+	/** Analyzing the type hierarchy of the given element, and
+	 * extract any type-related information.
+	 *
+	 * @param jvmElement - the element to analyze
+	 * @param finalOperations - filled with the final operations inherited by the element.
+	 * @param overridableOperations - filled with the oervrideable operations inherited by the element.
+	 * @param inheritedFields - filled with the fields inherited by the element.
+	 * @param operationsToImplement - filled with the abstract operations inherited by the element.
+	 * @param superConstructors - filled with the construstors of the super type.
+	 * @see ModelUtil#populateInheritanceContext(JvmGenericType, Map, Map, Map, Map, Map, ActionPrototypeProvider)
+	 */
+	public void populateInheritanceContext(
+			JvmGenericType jvmElement,
+			Map<ActionPrototype, JvmOperation> finalOperations,
+			Map<ActionPrototype, JvmOperation> overridableOperations,
+			Map<String, JvmField> inheritedFields,
+			Map<ActionPrototype, JvmOperation> operationsToImplement,
+			Map<ActionParameterTypes, JvmConstructor> superConstructors) {
+		// Get the operations that must be implemented
+		if (operationsToImplement != null) {
+			for (JvmTypeReference interfaceReference : jvmElement.getExtendedInterfaces()) {
+				InheritedFeatures features = getInheritedFeatures(jvmElement,
+						(JvmGenericType) interfaceReference.getType(), true);
+				features.apply(finalOperations, overridableOperations, inheritedFields,
+						operationsToImplement, null);
+			}
+		}
+
+		// Check on the implemented features, inherited from the super type
+		if (jvmElement.getExtendedClass() != null) {
+			InheritedFeatures features = getInheritedFeatures(jvmElement,
+					(JvmGenericType) jvmElement.getExtendedClass().getType(), false);
+			features.apply(finalOperations, overridableOperations, inheritedFields,
+					operationsToImplement, superConstructors);
+		}
+	}
+
+	/** Forget the features that were extracted from the JVM elements of the given resource.
+	 *
+	 * @param resource - the resource.
+	 */
+	public void clear(Resource resource) {
+		ResourceSet resourceSet = resource.getResourceSet();
+		if (resourceSet != null) {
+			IndexAdapter adapter = (IndexAdapter) EcoreUtil.getAdapter(resourceSet.eAdapters(), IndexAdapter.class);
+			if (adapter != null) {
+				Iterator<InheritedFeatures> iterator = adapter.features.values().iterator();
+				while (iterator.hasNext()) {
+					if (iterator.next().resources.contains(resource)) {
+						iterator.remove();
+					}
+				}
+			}
+		}
+	}
+
+	private static IndexAdapter getIndex(ResourceSet resourceSet) {
+		synchronized (resourceSet) {
+			IndexAdapter adapter = (IndexAdapter) EcoreUtil.getAdapter(resourceSet.eAdapters(), IndexAdapter.class);
+			if (adapter == null) {
+				adapter = new IndexAdapter();
+				resourceSet.eAdapters().add(adapter);
+			}
+			return adapter;
+		}
+	}
+
+	private InheritedFeatures getInheritedFeatures(JvmGenericType jvmElement,
+			JvmGenericType superType, boolean isInterface) {
+		Resource elementResource = jvmElement.eResource();
+		Resource superResource = superType.eResource();
+		if (elementResource == null || superResource == null || superResource == elementResource
+				|| elementResource.getResourceSet() == null) {
+			return extractFeatures(jvmElement, superType, isInterface);
+		}
+		// The visibility of the package-private features depends on the package of the element.
+		String key = isInterface ? superType.getIdentifier()
+				: superType.getIdentifier() + "@" + jvmElement.getPackageName(); //$NON-NLS-1$
+		IndexAdapter index = getIndex(elementResource.getResourceSet());
+		InheritedFeatures features = index.features.get(key);
+		if (features == null || features.type != superType) {
+			features = extractFeatures(jvmElement, superType, isInterface);
+			if (!features.resources.contains(elementResource)) {
+				index.features.put(key, features);
+			}
+		}
+		return features;
+	}
+
+	private InheritedFeatures extractFeatures(JvmGenericType jvmElement, JvmGenericType superType,
+			boolean isInterface) {
+		InheritedFeatures features = new InheritedFeatures(superType);
+		for (JvmFeature feature : superType.getAllFeatures()) {
+			if (!"java.lang.Object".equals(feature.getDeclaringType().getQualifiedName())) { //$NON-NLS-1$
+				if (isInterface) {
+					if (feature instanceof JvmOperation) {
+						features.add(InheritedFeatures.ABSTRACT, createActionPrototype((JvmOperation) feature), feature);
+					}
+				} else if (ModelUtil.isVisible(jvmElement, feature)
+						&& !ModelUtil.isHiddenAction(feature.getSimpleName())) {
+					if (feature instanceof JvmOperation) {
+						if (!feature.isStatic()) {
+							JvmOperation operation = (JvmOperation) feature;
+							ActionPrototype actionKey = createActionPrototype(operation);
+							if (operation.isAbstract()) {
+								features.add(InheritedFeatures.ABSTRACT, actionKey, feature);
+							} else if (operation.isFinal()) {
+								features.add(InheritedFeatures.FINAL, actionKey, feature);
+							} else {
+								features.add(InheritedFeatures.OVERRIDABLE, actionKey, feature);
+							}
+						}
+					} else if (feature instanceof JvmField) {
+						features.add(InheritedFeatures.FIELD, null, feature);
+					}
+				}
+			}
+		}
+		if (!isInterface) {
+			for (JvmConstructor cons : superType.getDeclaredConstructors()) {
+				ActionParameterTypes sig = this.sarlSignatureProvider.createParameterTypesFromJvmModel(
+						cons.isVarArgs(), cons.getParameters());
+				features.addConstructor(sig, cons);
+			}
+		}
+		return features;
+	}
+
+	private ActionPrototype createActionPrototype(JvmOperation operation) {
+		ActionParameterTypes sig = this.sarlSignatureProvider.createParameterTypesFromJvmModel(
+				operation.isVarArgs(), operation.getParameters());
+		return this.sarlSignatureProvider.createActionPrototype(operation.getSimpleName(), sig);
+	}
+
+	/** Adapter that is storing the index into a resource set.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class IndexAdapter extends AdapterImpl {
+
+		/** The features of the super types, per identifier of super type.
+		 */
+		final ConcurrentMap<String, InheritedFeatures> features = new ConcurrentHashMap<>();
+
+		/**
+		 */
+		IndexAdapter() {
+			//
+		}
+
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == IndexAdapter.class;
+		}
+
+	}
+
+	/** Features that are inherited from a super type.
+	 * The features are stored in the order of their declaration, and replayed
+	 * in the same order, so that the result is the same as a direct extraction.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class InheritedFeatures {
+
+		/** Kind of the abstract operations.
+		 */
+		static final int ABSTRACT = 0;
+
+		/** Kind of the final operations.
+		 */
+		static final int FINAL = 1;
+
+		/** Kind of the overridable operations.
+		 */
+		static final int OVERRIDABLE = 2;
+
+		/** Kind of the fields.
+		 */
+		static final int FIELD = 3;
+
+		/** The super type.
+		 */
+		final JvmGenericType type;
+
+		/** The resources in which the features are declared.
+		 */
+		final Set<Resource> resources = new HashSet<>();
+
+		private final List<Integer> kinds = new ArrayList<>();
+
+		private final List<ActionPrototype> prototypes = new ArrayList<>();
+
+		private final List<JvmFeature> features = new ArrayList<>();
+
+		private List<ActionParameterTypes> constructorTypes = Collections.emptyList();
+
+		private List<JvmConstructor> constructors = Collections.emptyList();
+
+		/**
+		 * @param type - the super type.
+		 */
+		InheritedFeatures(JvmGenericType type) {
+			this.type = type;
+			this.resources.add(type.eResource());
+		}
+
+		/** Add a feature.
+		 *
+		 * @param kind - the kind of feature.
+		 * @param prototype - the prototype of the operation, or <code>null</code> for a field.
+		 * @param feature - the feature.
+		 */
+		void add(int kind, ActionPrototype prototype, JvmFeature feature) {
+			this.kinds.add(kind);
+			this.prototypes.add(prototype);
+			this.features.add(feature);
+			this.resources.add(feature.eResource());
+		}
+
+		/** Add a constructor.
+		 *
+		 * @param types - the types of the parameters of the constructor.
+		 * @param constructor - the constructor.
+		 */
+		void addConstructor(ActionParameterTypes types, JvmConstructor constructor) {
+			if (this.constructors.isEmpty()) {
+				this.constructorTypes = new ArrayList<>();
+				this.constructors = new ArrayList<>();
+			}
+			this.constructorTypes.add(types);
+			this.constructors.add(constructor);
+		}
+
+		/** Fill the given maps with the features.
+		 *
+		 * @param finalOperations - filled with the final operations.
+		 * @param overridableOperations - filled with the oervrideable operations.
+		 * @param inheritedFields - filled with the fields.
+		 * @param operationsToImplement - filled with the abstract operations.
+		 * @param superConstructors - filled with the construstors.
+		 */
+		void apply(Map<ActionPrototype, JvmOperation> finalOperations,
+				Map<ActionPrototype, JvmOperation> overridableOperations,
+				Map<String, JvmField> inheritedFields,
+				Map<ActionPrototype, JvmOperation> operationsToImplement,
+				Map<ActionParameterTypes, JvmConstructor> superConstructors) {
+			for (int i = 0; i < this.features.size(); ++i) {
+				ActionPrototype prototype = this.prototypes.get(i);
+				JvmFeature feature = this.features.get(i);
+				switch (this.kinds.get(i).intValue()) {
+				case ABSTRACT:
+					if (operationsToImplement != null) {
+						operationsToImplement.put(prototype, (JvmOperation) feature);
+					}
+					break;
+				case FINAL:
+					if (finalOperations != null) {
+						finalOperations.put(prototype, (JvmOperation) feature);
+					}
+					if (operationsToImplement != null) {
+						operationsToImplement.remove(prototype);
+					}
+					break;
+				case OVERRIDABLE:
+					if (overridableOperations != null) {
+						overridableOperations.put(prototype, (JvmOperation) feature);
+					}
+					if (operationsToImplement != null) {
+						operationsToImplement.remove(prototype);
+					}
+					break;
+				case FIELD:
+					if (inheritedFields != null) {
+						inheritedFields.put(feature.getSimpleName(), (JvmField) feature);
+					}
+					break;
+				default:
+				}
+			}
+			if (superConstructors != null) {
+				for (int i = 0; i < this.constructors.size(); ++i) {
+					superConstructors.put(this.constructorTypes.get(i), this.constructors.get(i));
+				}
+			}
+		}
+
+	}
+
+}
@@ -82,6 +82,22 @@ public final class ModelUtil {
 	 */
 	public static final String PREFIX_ATTRIBUTE_DEFAULT_VALUE = "___FORMAL_PARAMETER_DEFAULT_VALUE_"; //$NON-NLS-1$
 
+	/** Name of the hidden function that dispatches the events to the behavior units.
+	 */
+	public static final String EVENT_DISPATCH_FUNCTION = "_dispatchEvent"; //$NON-NLS-1$
+
+	/** Name of the hidden field that contains the event dispatch table.
+	 */
+	public static final String EVENT_DISPATCH_TABLE_FIELD = "___EVENT_DISPATCH_TABLE"; //$NON-NLS-1$
+
+	/** Name of the hidden field that contains the metadata of an event.
+	 */
+	public static final String EVENT_METADATA_FIELD = "___EVENT_METADATA"; //$NON-NLS-1$
+
+	/** Préfix for the names of the hidden fields that are caching the skills.
+	 */
+	public static final String PREFIX_SKILL_CACHE = "___SKILL_CACHE_"; //$NON-NLS-1$
+
 	private ModelUtil() {
 		//
 	}
@@ -125,6 +141,7 @@ public final class ModelUtil {
 	 * @param operationsToImplement - filled with the abstract operations inherited by the element.
 	 * @param superConstructors - filled with the construstors of the super type.
 	 * @param sarlSignatureProvider - provider of tools related to action signatures.
+	 * @see InheritanceContextIndex
 	 */
 	public static void populateInheritanceContext(
 			JvmGenericType jvmElement,
@@ -232,7 +249,8 @@ public final class ModelUtil {
 	 * SARL.
 	 */
 	public static boolean isHiddenAction(String name) {
-		return name.startsWith(PREFIX_ACTION_HANDLE) || name.startsWith(PREFIX_HANDLE_GUARD);
+		return name.startsWith(PREFIX_ACTION_HANDLE) || name.startsWith(PREFIX_HANDLE_GUARD)
+				|| EVENT_DISPATCH_FUNCTION.equals(name);
 	}
 
 	/** Replies a fixed version of the given name assuming
@@ -265,6 +283,9 @@ public final class ModelUtil {
 			}
 			return "guard"; //$NON-NLS-1$
 		}
+		if (EVENT_DISPATCH_FUNCTION.equals(name)) {
+			return "dispatchEvent"; //$NON-NLS-1$
+		}
 		return name;
 	}
 
@@ -297,6 +318,9 @@ public final class ModelUtil {
 			}
 			return "guard"; //$NON-NLS-1$
 		}
+		if (EVENT_DISPATCH_FUNCTION.equals(name)) {
+			return "dispatchEvent"; //$NON-NLS-1$
+		}
 		return name;
 	}
 
@@ -310,7 +334,10 @@ public final class ModelUtil {
 	 * SARL.
 	 */
 	public static boolean isHiddenAttribute(String name) {
-		return name.startsWith(PREFIX_ATTRIBUTE_DEFAULT_VALUE);
+		return name.startsWith(PREFIX_ATTRIBUTE_DEFAULT_VALUE)
+				|| EVENT_DISPATCH_TABLE_FIELD.equals(name)
+				|| EVENT_METADATA_FIELD.equals(name)
+				|| name.startsWith(PREFIX_SKILL_CACHE);
 	}
 
 	/** Replies a fixed version of the given name assuming
@@ -333,9 +360,49 @@ public final class ModelUtil {
 			}
 			return "attr";  //$NON-NLS-1$
 		}
+		if (EVENT_DISPATCH_TABLE_FIELD.equals(name)) {
+			return "eventDispatchTable"; //$NON-NLS-1$
+		}
+		if (EVENT_METADATA_FIELD.equals(name)) {
+			return "eventMetadata"; //$NON-NLS-1$
+		}
+		if (name.startsWith(PREFIX_SKILL_CACHE)) {
+			return "skillCache"; //$NON-NLS-1$
+		}
 		return name;
 	}
 
+	/** Replies the name of the hidden field that is caching the skill of the given capacity.
+	 * <p>
+	 * The name is built from the fully qualified name of the capacity, without changing the
+	 * case of the characters. The dots are replaced by <code>_</code>, the underscores by <code>_1</code>,
+	 * and the dollars by <code>_2</code>. Because a digit cannot follow a dot, the names of two
+	 * different capacities are always mapped to different field names.
+	 *
+	 * @param capacityName - the fully qualified name of the capacity.
+	 * @return the name of the field.
+	 */
+	public static String getSkillCacheFieldName(String capacityName) {
+		StringBuilder name = new StringBuilder(PREFIX_SKILL_CACHE);
+		for (int i = 0; i < capacityName.length(); ++i) {
+			char c = capacityName.charAt(i);
+			switch (c) {
+			case '.':
+				name.append('_');
+				break;
+			case '_':
+				name.append("_1"); //$NON-NLS-1$
+				break;
+			case '$':
+				name.append("_2"); //$NON-NLS-1$
+				break;
+			default:
+				name.append(c);
+			}
+		}
+		return name.toString();
+	}
+
 	/** Replies if the given reference is pointing to a class type.
 	 *
 	 * @param typeRef - the type reference to test.
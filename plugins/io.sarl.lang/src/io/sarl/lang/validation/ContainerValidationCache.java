@@ -0,0 +1,208 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.validation;
+
+import io.sarl.lang.sarl.SarlScript;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+
+/** Cache of the results of the validation checks that are analyzing a whole feature container.
+ * <p>
+ * The {@link org.eclipse.xtext.validation.CheckType#NORMAL} checks are run each time a SARL
+ * file is saved in the editor. The results of the checks that are scanning all the content
+ * of a feature container are stored in this cache, and keyed by the identifier of the check,
+ * the hash of the text of the container, the package and the imports of the file,
+ * and the external elements on which the result depends.
+ * In this way, the containers that are not changed since the last validation are not scanned again.
+ * <p>
+ * The result of a check may depend on the other files, e.g. on the super types or on the
+ * imported types. The results are then stored in an adapter of the resource set of the container,
+ * and they are forgotten when a resource of the resource set is unloaded or removed, i.e. when
+ * the builder or the editor is taking into account the changes of another file.
+ * The results are never shared between two resource sets.
+ * <p>
+ * The computation of a result may reply <code>null</code> when the validation
+ * is canceled. The <code>null</code> results are not stored.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@Singleton
+public class ContainerValidationCache {
+
+	/** Maximal number of results in the cache of a resource set.
+	 */
+	public static final int MAXIMUM_SIZE = 4096;
+
+	private static final HashFunction CONTENT_HASH_FUNCTION = Hashing.murmur3_128();
+
+	/** Replies the result of the given check for the given container.
+	 *
+	 * @param <T> - the type of the result.
+	 * @param checkId - the identifier of the check.
+	 * @param container - the feature container that is analyzed by the check.
+	 * @param dependencies - the elements outside the container on which the result depends.
+	 *     It must have a value-based implementation of {@link Object#equals(Object)}.
+	 * @param computation - the computation of the result, if it is not in the cache.
+	 * @return the result of the check, or <code>null</code> if the computation was canceled.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String checkId, EObject container, Object dependencies, Provider<T> computation) {
+		ICompositeNode node = NodeModelUtils.getNode(container);
+		Resource resource = container.eResource();
+		ResourceSet resourceSet = (resource == null) ? null : resource.getResourceSet();
+		if (node == null || resourceSet == null) {
+			return computation.get();
+		}
+		Cache<List<Object>, Object> results = ResultAdapter.install(resourceSet).results;
+		List<Object> key = Arrays.<Object>asList(
+				checkId,
+				resource.getURI(),
+				getFileContext(container),
+				CONTENT_HASH_FUNCTION.hashUnencodedChars(node.getText()),
+				dependencies);
+		T result = (T) results.getIfPresent(key);
+		if (result == null) {
+			result = computation.get();
+			if (result != null) {
+				results.put(key, result);
+			}
+		}
+		return result;
+	}
+
+	private static String getFileContext(EObject container) {
+		// The package and the imports of the file have an influence on the names in the container.
+		EObject root = EcoreUtil.getRootContainer(container);
+		if (root instanceof SarlScript) {
+			SarlScript script = (SarlScript) root;
+			ICompositeNode importNode = (script.getImportSection() == null) ? null
+					: NodeModelUtils.getNode(script.getImportSection());
+			return script.getName() + ';' + ((importNode == null) ? "" : importNode.getText()); //$NON-NLS-1$
+		}
+		return ""; //$NON-NLS-1$
+	}
+
+	/** Forget all the results that were computed for the given resource set.
+	 *
+	 * @param resourceSet - the resource set.
+	 */
+	public void clear(ResourceSet resourceSet) {
+		ResultAdapter adapter = (ResultAdapter) EcoreUtil.getAdapter(resourceSet.eAdapters(), ResultAdapter.class);
+		if (adapter != null) {
+			adapter.results.invalidateAll();
+		}
+	}
+
+	/** Adapter of a resource set that contains the results of the checks.
+	 * It is also attached to the resources of the resource set, for being
+	 * notified when they are unloaded.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class ResultAdapter extends AdapterImpl {
+
+		/** The results of the checks.
+		 */
+		final Cache<List<Object>, Object> results = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+
+		/**
+		 */
+		ResultAdapter() {
+			//
+		}
+
+		/** Replies the adapter of the given resource set, and create it if it does not exist.
+		 *
+		 * @param resourceSet - the resource set.
+		 * @return the adapter.
+		 */
+		static ResultAdapter install(ResourceSet resourceSet) {
+			synchronized (resourceSet) {
+				ResultAdapter adapter = (ResultAdapter) EcoreUtil.getAdapter(resourceSet.eAdapters(), ResultAdapter.class);
+				if (adapter == null) {
+					adapter = new ResultAdapter();
+					resourceSet.eAdapters().add(adapter);
+					for (Resource resource : resourceSet.getResources()) {
+						resource.eAdapters().add(adapter);
+					}
+				}
+				return adapter;
+			}
+		}
+
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == ResultAdapter.class;
+		}
+
+		@Override
+		public void notifyChanged(Notification msg) {
+			Object notifier = msg.getNotifier();
+			if (notifier instanceof ResourceSet) {
+				if (msg.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES) {
+					switch (msg.getEventType()) {
+					case Notification.ADD:
+						((Notifier) msg.getNewValue()).eAdapters().add(this);
+						break;
+					case Notification.ADD_MANY:
+						for (Object resource : (List<?>) msg.getNewValue()) {
+							((Notifier) resource).eAdapters().add(this);
+						}
+						break;
+					default:
+						this.results.invalidateAll();
+					}
+				}
+			} else if (notifier instanceof Resource) {
+				if (msg.getFeatureID(Resource.class) == Resource.RESOURCE__IS_LOADED
+						&& !msg.getNewBooleanValue()) {
+					this.results.invalidateAll();
+				}
+			}
+		}
+
+	}
+
+}
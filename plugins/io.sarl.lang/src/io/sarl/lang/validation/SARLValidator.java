@@ -27,7 +27,6 @@ import io.sarl.lang.actionprototype.ActionPrototypeProvider;
 import io.sarl.lang.actionprototype.InferredPrototype;
 import io.sarl.lang.actionprototype.QualifiedActionName;
 import io.sarl.lang.annotation.Generated;
-import io.sarl.lang.annotation.ImportedCapacityFeature;
 import io.sarl.lang.core.Capacity;
 import io.sarl.lang.core.Event;
 import io.sarl.lang.genmodel.SARLCodeGenerator;
@@ -51,9 +50,12 @@ import io.sarl.lang.sarl.SarlScript;
 import io.sarl.lang.sarl.Skill;
 import io.sarl.lang.sarl.TopElement;
 import io.sarl.lang.services.SARLGrammarAccess;
+import io.sarl.lang.util.CapacityUsageIndex;
+import io.sarl.lang.util.InheritanceContextIndex;
 import io.sarl.lang.util.ModelUtil;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -68,8 +70,6 @@ import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
-import org.eclipse.xtext.common.types.JvmAnnotationReference;
-import org.eclipse.xtext.common.types.JvmAnnotationValue;
 import org.eclipse.xtext.common.types.JvmConstructor;
 import org.eclipse.xtext.common.types.JvmField;
 import org.eclipse.xtext.common.types.JvmGenericType;
@@ -77,11 +77,14 @@ import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 import org.eclipse.xtext.common.types.JvmOperation;
 import org.eclipse.xtext.common.types.JvmParameterizedTypeReference;
 import org.eclipse.xtext.common.types.JvmType;
-import org.eclipse.xtext.common.types.JvmTypeAnnotationValue;
 import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.common.types.util.TypeReferences;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.serializer.ISerializer;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.Tuples;
+import org.eclipse.xtext.validation.CancelableDiagnostician;
 import org.eclipse.xtext.validation.Check;
 import org.eclipse.xtext.validation.CheckType;
 import org.eclipse.xtext.validation.ValidationMessageAcceptor;
@@ -96,17 +99,13 @@ import org.eclipse.xtext.xbase.compiler.ImportManager;
 import org.eclipse.xtext.xbase.jvmmodel.ILogicalContainerProvider;
 import org.eclipse.xtext.xbase.jvmmodel.JvmModelAssociator;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
-import org.eclipse.xtext.xbase.lib.Functions;
-import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ReassignFirstArgument;
 import org.eclipse.xtext.xbase.typesystem.references.LightweightTypeReference;
 
 import com.google.common.base.Objects;
 import com.google.common.base.Strings;
-import com.google.common.base.Supplier;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 
 /**
  * Validator for the SARL elements.
@@ -131,6 +130,9 @@ public class SARLValidator extends AbstractSARLValidator {
 	@Inject
 	private ActionPrototypeProvider sarlSignatureProvider;
 
+	@Inject
+	private InheritanceContextIndex inheritanceContextIndex;
+
 	@Inject
 	private JvmModelAssociator jvmModelAssociator;
 
@@ -143,6 +145,9 @@ public class SARLValidator extends AbstractSARLValidator {
 	@Inject
 	private ISerializer serializer;
 
+	@Inject
+	private ContainerValidationCache containerValidationCache;
+
 	/** Replies the canonical name of the given type.
 	 *
 	 * @param typeRef - the type.
@@ -717,11 +722,11 @@ public class SARLValidator extends AbstractSARLValidator {
 			Map<ActionPrototype, JvmOperation> operationsToImplement =
 					CollectionLiterals.newTreeMap((Comparator<ActionPrototype>) null);
 
-			ModelUtil.populateInheritanceContext(
+			this.inheritanceContextIndex.populateInheritanceContext(
 					jvmElement,
 					finalOperations, overridableOperations,
 					inheritedFields, operationsToImplement,
-					null, this.sarlSignatureProvider);
+					null);
 
 			if (jvmElement.isInterface()) {
 				checkRedundantInterfaces(
@@ -1426,76 +1431,102 @@ public class SARLValidator extends AbstractSARLValidator {
 		}
 	}
 
-	private static JvmAnnotationReference findFirstAnnotation(JvmOperation operation, final String annotationId) {
-		return IterableExtensions.findFirst(operation.getAnnotations(),
-				new Functions.Function1<JvmAnnotationReference, Boolean>() {
-			@Override
-			public Boolean apply(JvmAnnotationReference it) {
-				return Objects.equal(it.getAnnotation().getIdentifier(), annotationId);
+	/** Replies if the current validation is canceled.
+	 *
+	 * @return <code>true</code> if the validation is canceled.
+	 */
+	protected boolean isCanceled() {
+		return getCancelIndicator().isCanceled();
+	}
+
+	/** Replies the indicator of the cancelation of the current validation.
+	 *
+	 * @return the indicator, never <code>null</code>.
+	 */
+	protected CancelIndicator getCancelIndicator() {
+		Map<Object, Object> context = getContext();
+		if (context != null) {
+			Object indicator = context.get(CancelableDiagnostician.CANCEL_INDICATOR);
+			if (indicator instanceof CancelIndicator) {
+				return (CancelIndicator) indicator;
 			}
-		});
+		}
+		return CancelIndicator.NullImpl;
+	}
+
+	private static List<String> getIdentifiers(JvmTypeReference capacity, Collection<JvmOperation> operations) {
+		List<String> identifiers = new ArrayList<>(operations.size() + 1);
+		identifiers.add(capacity.getIdentifier());
+		for (JvmOperation operation : operations) {
+			identifiers.add(operation.getIdentifier());
+		}
+		return identifiers;
 	}
 
-	private boolean findLocalUsage(Collection<JvmOperation> operations, EObject container) {
-		Iterator<JvmOperation> iterator = operations.iterator();
-		boolean found = false;
-		while (!found && iterator.hasNext()) {
-			JvmOperation operation = iterator.next();
-			if (isLocallyUsed(operation, container)) {
-				found = true;
+	/** Replies the index of the capacity usages for the feature container of the given element.
+	 * <p>
+	 * The index is shared by the checks on all the <code>uses</code> statements
+	 * of the container during the same validation.
+	 *
+	 * @param element - the element inside the feature container.
+	 * @return the index, or <code>null</code> if the element has no JVM type as container.
+	 */
+	protected CapacityUsageIndex getCapacityUsageIndex(EObject element) {
+		JvmIdentifiableElement jvmContainer = this.logicalContainerProvider.getNearestLogicalContainer(element);
+		if (jvmContainer == null) {
+			return null;
+		}
+		Map<Object, Object> context = getContext();
+		Pair<Class<CapacityUsageIndex>, JvmIdentifiableElement> key = null;
+		if (context != null) {
+			key = Tuples.create(CapacityUsageIndex.class, jvmContainer);
+			CapacityUsageIndex index = (CapacityUsageIndex) context.get(key);
+			if (index != null) {
+				return index;
 			}
 		}
-		return found;
+		CapacityUsageIndex index = CapacityUsageIndex.create(element,
+				this.logicalContainerProvider, this.jvmModelAssociator);
+		if (key != null && index != null) {
+			context.put(key, index);
+		}
+		return index;
 	}
 
 	/** Check for unused capacities.
+	 * <p>
+	 * The usage of each capacity is replied by the {@link CapacityUsageIndex} of the container,
+	 * and stored in the {@link ContainerValidationCache}.
+	 * It is computed again only if the text of the container, the imports of the file,
+	 * or the features imported from the capacity, have changed, or if another file
+	 * was reloaded into the resource set.
 	 *
 	 * @param uses - the capacity use declaration.
 	 */
-	@SuppressWarnings("unchecked")
 	@Check(CheckType.NORMAL)
 	public void checkUnusedCapacities(CapacityUses uses) {
 		if (!isIgnored(IssueCodes.UNUSED_AGENT_CAPACITY)) {
-			JvmIdentifiableElement jvmContainer = this.logicalContainerProvider.getNearestLogicalContainer(uses);
-			EObject container = this.jvmModelAssociator.getPrimarySourceElement(jvmContainer);
-
-			final String annotationId = ImportedCapacityFeature.class.getName();
-			Multimap<String, JvmOperation> importedFeatures = Multimaps.newMultimap(
-					CollectionLiterals.<String, Collection<JvmOperation>>newHashMap(),
-					new Supplier<Collection<JvmOperation>>() {
-						@Override
-						public Collection<JvmOperation> get() {
-							return CollectionLiterals.<JvmOperation>newArrayList();
-						}
-					});
-			Iterable<EObject> fitleredObjects = IterableExtensions.filter(jvmContainer.eContents(),
-					new Functions.Function1<EObject, Boolean>() {
-				@SuppressWarnings("synthetic-access")
-				@Override
-				public Boolean apply(EObject it) {
-					if (it instanceof JvmOperation) {
-						JvmOperation operation = (JvmOperation) it;
-						if (findFirstAnnotation(operation, annotationId) != null) {
-							return Boolean.TRUE;
-						}
-					}
-					return Boolean.FALSE;
-				}
-
-			});
-			for (EObject method : fitleredObjects) {
-				JvmOperation m = (JvmOperation) method;
-				EList<JvmAnnotationValue> annotationValues = findFirstAnnotation(m, annotationId).getValues();
-				JvmTypeAnnotationValue annotationType = (JvmTypeAnnotationValue) annotationValues.get(0);
-				JvmTypeReference capacityType = annotationType.getValues().get(0);
-				importedFeatures.put(capacityType.getIdentifier(), m);
+			final CapacityUsageIndex usages = getCapacityUsageIndex(uses);
+			if (usages == null) {
+				return;
 			}
-
 			int index = 0;
 			for (JvmTypeReference capacity : uses.getCapacitiesUsed()) {
-				Collection<JvmOperation> operations = importedFeatures.get(capacity.getIdentifier());
+				final String capacityIdentifier = capacity.getIdentifier();
+				Collection<JvmOperation> operations = usages.getImportedFeatures(capacityIdentifier);
 				if (!operations.isEmpty()) {
-					if (!findLocalUsage(operations, container)) {
+					Boolean isUsed = this.containerValidationCache.get(
+							IssueCodes.UNUSED_AGENT_CAPACITY,
+							usages.getContainer(),
+							getIdentifiers(capacity, operations),
+							new Provider<Boolean>() {
+								@SuppressWarnings("synthetic-access")
+								@Override
+								public Boolean get() {
+									return usages.isUsed(capacityIdentifier, getCancelIndicator());
+								}
+							});
+					if (isUsed != null && !isUsed.booleanValue()) {
 						addIssue(
 								MessageFormat.format(
 										Messages.SARLValidator_42,
@@ -1511,25 +1542,6 @@ public class SARLValidator extends AbstractSARLValidator {
 		}
 	}
 
-	private static Set<String> findPreviousCapacities(CapacityUses uses, Iterator<EObject> iterator) {
-		boolean continueToFill = true;
-		Set<String> capacityUses = CollectionLiterals.newTreeSet((Comparator<String>) null);
-		while (continueToFill && iterator.hasNext()) {
-			EObject elt = iterator.next();
-			if (elt instanceof CapacityUses) {
-				CapacityUses usesElt = (CapacityUses) elt;
-				if (usesElt == uses) {
-					continueToFill = false;
-				} else {
-					for (JvmTypeReference use : usesElt.getCapacitiesUsed()) {
-						capacityUses.add(use.getIdentifier());
-					}
-				}
-			}
-		}
-		return capacityUses;
-	}
-
 	/** Check for multiple capacity use declaration.
 	 *
 	 * @param uses - the capacity use declaration.
@@ -1537,28 +1549,24 @@ public class SARLValidator extends AbstractSARLValidator {
 	@Check(CheckType.NORMAL)
 	public void checkMultipleCapacityUses(CapacityUses uses) {
 		if (!isIgnored(IssueCodes.REDUNDANT_CAPACITY_USE)) {
-			JvmIdentifiableElement jvmContainer = this.logicalContainerProvider.getNearestLogicalContainer(uses);
-			EObject container = this.jvmModelAssociator.getPrimarySourceElement(jvmContainer);
-			if (container instanceof FeatureContainer) {
-				FeatureContainer fContainer = (FeatureContainer) container;
-				Set<String> previousCapacityUses = findPreviousCapacities(uses, fContainer.getFeatures().iterator());
-				int index = 0;
-				for (JvmTypeReference capacity : uses.getCapacitiesUsed()) {
-					if (previousCapacityUses.contains(capacity.getIdentifier())) {
-						addIssue(
-								MessageFormat.format(
-										Messages.SARLValidator_43,
-										capacity.getSimpleName()),
-										uses,
-										SarlPackage.Literals.CAPACITY_USES__CAPACITIES_USED,
-										index,
-										IssueCodes.REDUNDANT_CAPACITY_USE,
-										capacity.getSimpleName());
-					} else {
-						previousCapacityUses.add(capacity.getIdentifier());
-					}
-					++index;
+			CapacityUsageIndex usages = getCapacityUsageIndex(uses);
+			if (usages == null) {
+				return;
+			}
+			int index = 0;
+			for (JvmTypeReference capacity : uses.getCapacitiesUsed()) {
+				if (usages.isRedundantUse(capacity)) {
+					addIssue(
+							MessageFormat.format(
+									Messages.SARLValidator_43,
+									capacity.getSimpleName()),
+									uses,
+									SarlPackage.Literals.CAPACITY_USES__CAPACITIES_USED,
+									index,
+									IssueCodes.REDUNDANT_CAPACITY_USE,
+									capacity.getSimpleName());
 				}
+				++index;
 			}
 		}
 	}
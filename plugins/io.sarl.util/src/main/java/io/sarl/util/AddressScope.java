@@ -23,46 +23,88 @@ package io.sarl.util;
 import io.sarl.lang.core.Address;
 import io.sarl.lang.core.Scope;
 
-import java.util.Set;
-import java.util.TreeSet;
+import java.util.Collection;
+import java.util.UUID;
 
 /**
  * Scope using {@link Address} for EventSpace's.
+ * <p>
+ * The scope matches the addresses of the agents that it targets, whatever
+ * the space of the addresses; this is the semantic of {@link Address#compareTo(Address)}.
+ * The identifiers of the agents are stored in an open-addressing hash table
+ * of <code>long</code>, so that {@link #matches(Address)} is done in constant time
+ * without keeping the {@link Address} objects. When the scope is large, a bloom
+ * filter rejects most of the non-targeted addresses before the table is probed.
+ * <p>
+ * The candidates of the scope are the identifiers of the targeted agents.
  *
  * @author $Author: srodriguez$
  * @version $FullVersion$
  * @mavengroupid $GroupId$
  * @mavenartifactid $ArtifactId$
  */
-public class AddressScope implements Scope<Address> {
+public class AddressScope implements IndexableScope<Address> {
 
-	private static final long serialVersionUID = 1910691822350327667L;
+	private static final long serialVersionUID = -8390715297364719547L;
 
 	private static final String SCOPE_ID = "aid://"; //$NON-NLS-1$
 
-	private final Set<Address> addresses;
+	private final PackedUUIDTable identifiers;
 
 	/**
 	 * @param addrs - addresses to put in the scope.
 	 */
 	protected AddressScope(Address... addrs) {
-	    this.addresses = new TreeSet<>();
-	    for (Address adr : addrs) {
-	        if (adr != null) {
-	        	this.addresses.add(adr);
-	        }
-	    }
+		this.identifiers = new PackedUUIDTable(addrs.length);
+		for (Address adr : addrs) {
+			if (adr != null) {
+				this.identifiers.add(adr.getUUID());
+			}
+		}
+		this.identifiers.buildPrefilter();
+	}
+
+	/**
+	 * @param identifiers - identifiers of the agents to put in the scope.
+	 */
+	protected AddressScope(Collection<? extends UUID> identifiers) {
+		this.identifiers = new PackedUUIDTable(identifiers.size());
+		for (UUID identifier : identifiers) {
+			if (identifier != null) {
+				this.identifiers.add(identifier);
+			}
+		}
+		this.identifiers.buildPrefilter();
 	}
 
 	@Override
 	public String toString() {
-		return SCOPE_ID + this.addresses.toString();
+		return SCOPE_ID + this.identifiers.toString();
 	}
 
 	@Override
 	public boolean matches(Address address) {
 		assert (address != null);
-		return this.addresses.contains(address);
+		UUID identifier = address.getUUID();
+		return this.identifiers.contains(identifier.getMostSignificantBits(), identifier.getLeastSignificantBits());
+	}
+
+	/** Replies the number of agents that are targeted by this scope.
+	 *
+	 * @return the number of agents.
+	 */
+	public int size() {
+		return this.identifiers.size();
+	}
+
+	@Override
+	public int getCardinalityHint() {
+		return this.identifiers.size();
+	}
+
+	@Override
+	public Iterable<UUID> getCandidates() {
+		return this.identifiers;
 	}
 
 	/** Create an scope restricted to the given addresses.
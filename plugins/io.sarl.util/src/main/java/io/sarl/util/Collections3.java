@@ -27,10 +27,13 @@ import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.UUID;
 
 /** Utilities on collections.
  *
@@ -364,6 +367,246 @@ public final class Collections3 {
 		}
 	}
 
+	/** Synchronized collection that is replacing its content on each change.
+	 * <p>
+	 * The content of the collection is an immutable snapshot that is replaced
+	 * by a modified copy each time the collection is changed. The changes are
+	 * done when the lock on the mutex is owned. The queries and the iterations
+	 * are done on the current snapshot without locking the mutex.
+	 *
+	 * @param <E> - type of the elements in the collection.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class CopyOnWriteCollectionWrapper<E> implements Serializable, SynchronizedCollection<E> {
+
+		private static final long serialVersionUID = 2958614339410541318L;
+
+		/** Object on which to synchronize the changes.
+		 */
+		final Object mutex;
+
+		/** Current content of the collection. It is never changed after it was published.
+		 */
+		volatile Collection<E> snapshot;
+
+		CopyOnWriteCollectionWrapper(Collection<? extends E> c, Object mutex) {
+			this.mutex = mutex;
+			this.snapshot = copy(c);
+		}
+
+		/** Create a modifiable copy of the given content.
+		 *
+		 * @param c - the content to copy.
+		 * @return the copy.
+		 */
+		Collection<E> copy(Collection<? extends E> c) {
+			return new ArrayList<>(c);
+		}
+
+		@Override
+		public int size() {
+			return this.snapshot.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return this.snapshot.isEmpty();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return this.snapshot.contains(o);
+		}
+
+		@Override
+		public boolean containsAll(Collection<?> coll) {
+			return this.snapshot.containsAll(coll);
+		}
+
+		@Override
+		public Object[] toArray() {
+			return this.snapshot.toArray();
+		}
+
+		@Override
+		public <T> T[] toArray(T[] a) {
+			return this.snapshot.toArray(a);
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return new SnapshotIterator(this.snapshot.iterator());
+		}
+
+		@Override
+		public boolean add(E e) {
+			synchronized (this.mutex) {
+				Collection<E> c = copy(this.snapshot);
+				if (c.add(e)) {
+					this.snapshot = c;
+					return true;
+				}
+				return false;
+			}
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			synchronized (this.mutex) {
+				if (!this.snapshot.contains(o)) {
+					return false;
+				}
+				Collection<E> c = copy(this.snapshot);
+				c.remove(o);
+				this.snapshot = c;
+				return true;
+			}
+		}
+
+		@Override
+		public boolean addAll(Collection<? extends E> coll) {
+			synchronized (this.mutex) {
+				Collection<E> c = copy(this.snapshot);
+				if (c.addAll(coll)) {
+					this.snapshot = c;
+					return true;
+				}
+				return false;
+			}
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> coll) {
+			synchronized (this.mutex) {
+				Collection<E> c = copy(this.snapshot);
+				if (c.removeAll(coll)) {
+					this.snapshot = c;
+					return true;
+				}
+				return false;
+			}
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> coll) {
+			synchronized (this.mutex) {
+				Collection<E> c = copy(this.snapshot);
+				if (c.retainAll(coll)) {
+					this.snapshot = c;
+					return true;
+				}
+				return false;
+			}
+		}
+
+		@Override
+		public void clear() {
+			synchronized (this.mutex) {
+				this.snapshot = copy(Collections.<E>emptyList());
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.snapshot.toString();
+		}
+
+		@Override
+		public Object mutex() {
+			return this.mutex;
+		}
+
+		/** Iterator on a snapshot of the collection.
+		 *
+		 * @author $Author: sgalland$
+		 * @version $FullVersion$
+		 * @mavengroupid $GroupId$
+		 * @mavenartifactid $ArtifactId$
+		 */
+		private class SnapshotIterator implements Iterator<E> {
+
+			private final Iterator<E> iterator;
+
+			private E last;
+
+			private boolean removable;
+
+			SnapshotIterator(Iterator<E> iterator) {
+				this.iterator = iterator;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return this.iterator.hasNext();
+			}
+
+			@Override
+			public E next() {
+				this.last = this.iterator.next();
+				this.removable = true;
+				return this.last;
+			}
+
+			@Override
+			public void remove() {
+				if (!this.removable) {
+					throw new IllegalStateException();
+				}
+				this.removable = false;
+				CopyOnWriteCollectionWrapper.this.remove(this.last);
+			}
+
+		}
+
+	}
+
+	/** Synchronized set that is replacing its content on each change.
+	 *
+	 * @param <E> - type of the elements in the set.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class CopyOnWriteSetWrapper<E>
+	extends CopyOnWriteCollectionWrapper<E>
+	implements SynchronizedSet<E> {
+
+		private static final long serialVersionUID = -2406738210357442706L;
+
+		CopyOnWriteSetWrapper(Collection<? extends E> c, Object mutex) {
+			super(c, mutex);
+		}
+
+		@Override
+		Collection<E> copy(Collection<? extends E> c) {
+			return new LinkedHashSet<>(c);
+		}
+
+		@Override
+		public boolean add(E e) {
+			// Avoid the copy of the content when the element is already inside.
+			if (this.snapshot.contains(e)) {
+				return false;
+			}
+			return super.add(e);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return this == obj || this.snapshot.equals(obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.snapshot.hashCode();
+		}
+
+	}
+
 	/**
 	 * @author $Author: sgalland$
 	 * @version $FullVersion$
@@ -472,6 +715,7 @@ public final class Collections3 {
 	 * @param  s the set to be "wrapped" in a synchronized set.
 	 * @param mutex is the mutex to use for synchronizing.
 	 * @return a synchronized view of the specified set.
+	 * @see #copyOnWriteSynchronizedSet(Collection, Object)
 	 */
 	public static <T> SynchronizedSet<T> synchronizedSet(Set<T> s, Object mutex) {
 		return new SynchronizedSetWrapper<>(s, mutex);
@@ -509,6 +753,7 @@ public final class Collections3 {
 	 * @param  c the collection to be "wrapped" in a synchronized collection.
 	 * @param mutex is the mutex to use for synchronizing.
 	 * @return a synchronized view of the specified collection.
+	 * @see #copyOnWriteSynchronizedCollection(Collection, Object)
 	 */
 	public static <T> SynchronizedCollection<T> synchronizedCollection(Collection<T> c, Object mutex) {
 		return new SynchronizedCollectionWrapper<>(c, mutex);
@@ -575,4 +820,80 @@ public final class Collections3 {
 		return new UnmodifiableSynchronizedSetWrapper<>(elements, mutex);
 	}
 
+	/**
+	 * Returns a synchronized (thread-safe) set that contains a copy of the
+	 * specified elements, and that is copied on each change.<p>
+	 *
+	 * The changes of the returned set are done when the lock on the mutex is owned.
+	 * The queries, e.g. <tt>contains</tt> and <tt>size</tt>, and the iterations are
+	 * done on a consistent snapshot of the set without locking the mutex. An iterator
+	 * never fails because of a concurrent change, and it does not see the changes done
+	 * after its creation. Synchronizing on the mutex when iterating is not required,
+	 * but is still supported for the callers that are following the contract of
+	 * {@link #synchronizedSet(Set, Object)}.<p>
+	 *
+	 * This set is efficient when the queries are far more frequent than the changes,
+	 * e.g. the participants of a space that are tested on each emitted event.
+	 *
+	 * <p>The returned set will be serializable if the elements and the mutex are
+	 * serializable.
+	 *
+	 * @param <T> - type of the elements in the set.
+	 * @param elements - the initial elements of the set.
+	 * @param mutex is the mutex to use for synchronizing the changes.
+	 * @return the set.
+	 */
+	public static <T> SynchronizedSet<T> copyOnWriteSynchronizedSet(Collection<? extends T> elements, Object mutex) {
+		return new CopyOnWriteSetWrapper<>(elements, mutex);
+	}
+
+	/**
+	 * Returns a synchronized (thread-safe) collection that contains a copy of the
+	 * specified elements, and that is copied on each change.<p>
+	 *
+	 * The changes of the returned collection are done when the lock on the mutex is owned.
+	 * The queries and the iterations are done on a consistent snapshot of the collection
+	 * without locking the mutex.
+	 *
+	 * <p>The returned collection does <i>not</i> pass the <tt>hashCode</tt>
+	 * and <tt>equals</tt> operations through to its content, but
+	 * relies on <tt>Object</tt>'s equals and hashCode methods.
+	 *
+	 * @param <T> - type of the elements in the collection.
+	 * @param elements - the initial elements of the collection.
+	 * @param mutex is the mutex to use for synchronizing the changes.
+	 * @return the collection.
+	 * @see #copyOnWriteSynchronizedSet(Collection, Object)
+	 */
+	public static <T> SynchronizedCollection<T> copyOnWriteSynchronizedCollection(Collection<? extends T> elements,
+			Object mutex) {
+		return new CopyOnWriteCollectionWrapper<>(elements, mutex);
+	}
+
+	/** Replies an empty synchronized set of identifiers that stores
+	 * the identifiers as packed pairs of <code>long</code>.
+	 *
+	 * @param mutex is the mutex to use for synchronizing, or <code>null</code>
+	 *     for synchronizing on the set itself.
+	 * @return the set.
+	 * @see UUIDSet
+	 */
+	public static SynchronizedSet<UUID> synchronizedUUIDSet(Object mutex) {
+		return new UUIDSet(mutex);
+	}
+
+	/** Replies a synchronized set of identifiers that stores
+	 * the identifiers as packed pairs of <code>long</code>,
+	 * and that contains a copy of the given identifiers.
+	 *
+	 * @param identifiers - the initial identifiers in the set.
+	 * @param mutex is the mutex to use for synchronizing, or <code>null</code>
+	 *     for synchronizing on the set itself.
+	 * @return the set.
+	 * @see UUIDSet
+	 */
+	public static SynchronizedSet<UUID> synchronizedUUIDSet(Collection<? extends UUID> identifiers, Object mutex) {
+		return new UUIDSet(identifiers, mutex);
+	}
+
 }
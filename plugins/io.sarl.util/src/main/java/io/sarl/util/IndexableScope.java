@@ -0,0 +1,66 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.util;
+
+import io.sarl.lang.core.Scope;
+
+import java.util.UUID;
+
+/**
+ * Scope that is able to enumerate the agents it may match.
+ * <p>
+ * A space that emits an event in an indexable scope may look up its
+ * participants from the candidates of the scope, in place of testing
+ * {@link #matches(Object)} on each of its participants. The candidates are
+ * a superset of the matched agents, so that the space must still call
+ * {@link #matches(Object)} on the participants found from the candidates.
+ * {@link Scopes#getCandidates(Scope, int)} replies the candidates only when
+ * it is cheaper than scanning all the participants.
+ *
+ * @param <T> is the type of objects that should be matched by this scope.
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+public interface IndexableScope<T> extends Scope<T> {
+
+	/** Cardinality hint of the scopes that cannot bound the number of agents they match.
+	 */
+	int UNKNOWN_CARDINALITY = Integer.MAX_VALUE;
+
+	/** Replies an upper bound of the number of agents that are matched by this scope.
+	 *
+	 * @return the upper bound, or {@link #UNKNOWN_CARDINALITY}.
+	 */
+	int getCardinalityHint();
+
+	/** Replies the identifiers of the agents that may be matched by this scope.
+	 * <p>
+	 * Each identifier is replied once. An agent that is not a candidate
+	 * is never matched by this scope.
+	 *
+	 * @return the identifiers of the candidate agents, or <code>null</code> if
+	 *     the scope cannot enumerate them.
+	 */
+	Iterable<UUID> getCandidates();
+
+}
@@ -0,0 +1,481 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.util;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/** Open-addressing hash table of {@link UUID} that stores each identifier
+ * as two <code>long</code> in a single array.
+ * <p>
+ * No {@link UUID} object is kept in the table; the identifiers are
+ * materialized only by the iterator. The slot that contains two zeros
+ * is empty, so the nil UUID is stored in a separate flag.
+ * <p>
+ * A removed identifier is replaced by a tombstone, i.e. the slot that contains
+ * the UUID <code>00000000-0000-0000-0000-000000000001</code>, so that the
+ * removals never move the other identifiers and never invalidate the iterators.
+ * This UUID is stored in a separate flag too. The tombstones are discarded
+ * when the table is rehashed.
+ * <p>
+ * A bloom filter may be built on the table when it is no more modified.
+ * It is tested before the table is probed, and it is small enough
+ * to stay in the processor cache when the table does not. The filter is
+ * dropped as soon as the table is modified.
+ * <p>
+ * This table is not thread-safe.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+final class PackedUUIDTable implements Serializable, Iterable<UUID> {
+
+	/** Minimal number of entries from which the bloom filter is built.
+	 * Under this size, the table itself fits in the processor cache.
+	 */
+	static final int PREFILTER_THRESHOLD = 1024;
+
+	private static final long serialVersionUID = 6471859437051289442L;
+
+	private static final int MINIMAL_CAPACITY = 8;
+
+	private static final int PREFILTER_BITS_PER_ENTRY = 8;
+
+	private static final long MIX_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	private static final int HALF_LONG_SIZE = 32;
+
+	private static final int LONG_SIZE_SHIFT = 6;
+
+	private static final long TOMBSTONE_LSB = 1L;
+
+	private long[] keys;
+
+	private int size;
+
+	private int tombstones;
+
+	private boolean containsNil;
+
+	private boolean containsTombstoneValue;
+
+	private long[] prefilter;
+
+	/**
+	 * @param expectedSize - the number of identifiers that are expected to be added.
+	 */
+	PackedUUIDTable(int expectedSize) {
+		this.keys = new long[2 * capacityFor(expectedSize)];
+	}
+
+	private static int capacityFor(int expectedSize) {
+		// The load factor is kept under one half for short probe sequences.
+		int capacity = MINIMAL_CAPACITY;
+		while (capacity < 2 * expectedSize) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private static boolean isEmpty(long mostSignificantBits, long leastSignificantBits) {
+		return mostSignificantBits == 0L && leastSignificantBits == 0L;
+	}
+
+	private static boolean isTombstone(long mostSignificantBits, long leastSignificantBits) {
+		return mostSignificantBits == 0L && leastSignificantBits == TOMBSTONE_LSB;
+	}
+
+	private static long hash(long mostSignificantBits, long leastSignificantBits) {
+		long hash = (mostSignificantBits * MIX_MULTIPLIER + leastSignificantBits) * MIX_MULTIPLIER;
+		return hash ^ (hash >>> HALF_LONG_SIZE);
+	}
+
+	/** Replies the number of identifiers in the table.
+	 *
+	 * @return the number of identifiers.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/** Add an identifier in the table.
+	 *
+	 * @param identifier - the identifier to add.
+	 * @return <code>true</code> if the identifier was added, <code>false</code>
+	 *     if it was already in the table.
+	 */
+	public boolean add(UUID identifier) {
+		return add(identifier.getMostSignificantBits(), identifier.getLeastSignificantBits());
+	}
+
+	/** Add an identifier in the table.
+	 *
+	 * @param mostSignificantBits - the most significant bits of the identifier.
+	 * @param leastSignificantBits - the least significant bits of the identifier.
+	 * @return <code>true</code> if the identifier was added, <code>false</code>
+	 *     if it was already in the table.
+	 */
+	public boolean add(long mostSignificantBits, long leastSignificantBits) {
+		this.prefilter = null;
+		if (isEmpty(mostSignificantBits, leastSignificantBits)) {
+			if (this.containsNil) {
+				return false;
+			}
+			this.containsNil = true;
+			++this.size;
+			return true;
+		}
+		if (isTombstone(mostSignificantBits, leastSignificantBits)) {
+			if (this.containsTombstoneValue) {
+				return false;
+			}
+			this.containsTombstoneValue = true;
+			++this.size;
+			return true;
+		}
+		int capacity = this.keys.length / 2;
+		if (2 * (this.size + this.tombstones + 1) > capacity) {
+			// Grow the table only if the identifiers fill more than a quarter of it.
+			// Otherwise, the rehashing only discards the tombstones.
+			if (2 * 2 * (this.size + 1) > capacity) {
+				rehash(2 * this.keys.length);
+			} else {
+				rehash(this.keys.length);
+			}
+		}
+		long[] table = this.keys;
+		int mask = table.length / 2 - 1;
+		int slot = (int) hash(mostSignificantBits, leastSignificantBits) & mask;
+		int freeIndex = -1;
+		while (true) {
+			int index = 2 * slot;
+			long msb = table[index];
+			long lsb = table[index + 1];
+			if (msb == mostSignificantBits && lsb == leastSignificantBits) {
+				return false;
+			}
+			if (isEmpty(msb, lsb)) {
+				if (freeIndex < 0) {
+					freeIndex = index;
+				} else {
+					--this.tombstones;
+				}
+				table[freeIndex] = mostSignificantBits;
+				table[freeIndex + 1] = leastSignificantBits;
+				++this.size;
+				return true;
+			}
+			if (freeIndex < 0 && isTombstone(msb, lsb)) {
+				freeIndex = index;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	private static void insert(long[] table, long mostSignificantBits, long leastSignificantBits) {
+		// The table is assumed to contain neither the identifier nor tombstones.
+		int mask = table.length / 2 - 1;
+		int slot = (int) hash(mostSignificantBits, leastSignificantBits) & mask;
+		while (true) {
+			int index = 2 * slot;
+			if (isEmpty(table[index], table[index + 1])) {
+				table[index] = mostSignificantBits;
+				table[index + 1] = leastSignificantBits;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	private void rehash(int newLength) {
+		long[] oldKeys = this.keys;
+		long[] newKeys = new long[newLength];
+		for (int i = 0; i < oldKeys.length; i += 2) {
+			if (isValue(oldKeys[i], oldKeys[i + 1])) {
+				insert(newKeys, oldKeys[i], oldKeys[i + 1]);
+			}
+		}
+		this.keys = newKeys;
+		this.tombstones = 0;
+	}
+
+	/** Replies if the given slot content is an identifier, i.e. neither an empty slot nor a tombstone.
+	 *
+	 * @param mostSignificantBits - the first long of the slot.
+	 * @param leastSignificantBits - the second long of the slot.
+	 * @return <code>true</code> if the slot contains an identifier.
+	 */
+	static boolean isValue(long mostSignificantBits, long leastSignificantBits) {
+		return mostSignificantBits != 0L || (leastSignificantBits != 0L && leastSignificantBits != TOMBSTONE_LSB);
+	}
+
+	/** Remove an identifier from the table.
+	 *
+	 * @param identifier - the identifier to remove.
+	 * @return <code>true</code> if the identifier was removed, <code>false</code>
+	 *     if it was not in the table.
+	 */
+	public boolean remove(UUID identifier) {
+		return remove(identifier.getMostSignificantBits(), identifier.getLeastSignificantBits());
+	}
+
+	/** Remove an identifier from the table.
+	 *
+	 * @param mostSignificantBits - the most significant bits of the identifier.
+	 * @param leastSignificantBits - the least significant bits of the identifier.
+	 * @return <code>true</code> if the identifier was removed, <code>false</code>
+	 *     if it was not in the table.
+	 */
+	public boolean remove(long mostSignificantBits, long leastSignificantBits) {
+		if (isEmpty(mostSignificantBits, leastSignificantBits)) {
+			if (!this.containsNil) {
+				return false;
+			}
+			this.prefilter = null;
+			this.containsNil = false;
+			--this.size;
+			return true;
+		}
+		if (isTombstone(mostSignificantBits, leastSignificantBits)) {
+			if (!this.containsTombstoneValue) {
+				return false;
+			}
+			this.prefilter = null;
+			this.containsTombstoneValue = false;
+			--this.size;
+			return true;
+		}
+		long[] table = this.keys;
+		int mask = table.length / 2 - 1;
+		int slot = (int) hash(mostSignificantBits, leastSignificantBits) & mask;
+		while (true) {
+			int index = 2 * slot;
+			long msb = table[index];
+			long lsb = table[index + 1];
+			if (msb == mostSignificantBits && lsb == leastSignificantBits) {
+				this.prefilter = null;
+				table[index] = 0L;
+				table[index + 1] = TOMBSTONE_LSB;
+				--this.size;
+				++this.tombstones;
+				return true;
+			}
+			if (isEmpty(msb, lsb)) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/** Remove all the identifiers from the table.
+	 */
+	public void clear() {
+		this.prefilter = null;
+		this.keys = new long[2 * MINIMAL_CAPACITY];
+		this.size = 0;
+		this.tombstones = 0;
+		this.containsNil = false;
+		this.containsTombstoneValue = false;
+	}
+
+	/** Replies if the given identifier is in the table.
+	 *
+	 * @param identifier - the identifier to search for.
+	 * @return <code>true</code> if the identifier is in the table.
+	 */
+	public boolean contains(UUID identifier) {
+		return contains(identifier.getMostSignificantBits(), identifier.getLeastSignificantBits());
+	}
+
+	/** Replies if the given identifier is in the table.
+	 *
+	 * @param mostSignificantBits - the most significant bits of the identifier.
+	 * @param leastSignificantBits - the least significant bits of the identifier.
+	 * @return <code>true</code> if the identifier is in the table.
+	 */
+	public boolean contains(long mostSignificantBits, long leastSignificantBits) {
+		if (isEmpty(mostSignificantBits, leastSignificantBits)) {
+			return this.containsNil;
+		}
+		if (isTombstone(mostSignificantBits, leastSignificantBits)) {
+			return this.containsTombstoneValue;
+		}
+		long hash = hash(mostSignificantBits, leastSignificantBits);
+		long[] filter = this.prefilter;
+		if (filter != null && !testPrefilter(filter, hash)) {
+			return false;
+		}
+		long[] table = this.keys;
+		int mask = table.length / 2 - 1;
+		int slot = (int) hash & mask;
+		while (true) {
+			int index = 2 * slot;
+			long msb = table[index];
+			long lsb = table[index + 1];
+			if (msb == mostSignificantBits && lsb == leastSignificantBits) {
+				return true;
+			}
+			if (isEmpty(msb, lsb)) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/** Build the bloom filter that is tested before probing the table, if the table
+	 * is large enough for the filter to be useful.
+	 * <p>
+	 * The filter is dropped by the next change in the table.
+	 */
+	public void buildPrefilter() {
+		if (this.size < PREFILTER_THRESHOLD) {
+			this.prefilter = null;
+			return;
+		}
+		int bitCount = Integer.highestOneBit(this.size * PREFILTER_BITS_PER_ENTRY - 1) << 1;
+		long[] filter = new long[bitCount >>> LONG_SIZE_SHIFT];
+		long[] table = this.keys;
+		for (int i = 0; i < table.length; i += 2) {
+			if (isValue(table[i], table[i + 1])) {
+				long hash = hash(table[i], table[i + 1]);
+				setBit(filter, (int) hash);
+				setBit(filter, (int) (hash >>> HALF_LONG_SIZE));
+			}
+		}
+		this.prefilter = filter;
+	}
+
+	/** Replies if the bloom filter is built.
+	 *
+	 * @return <code>true</code> if the bloom filter is built.
+	 */
+	public boolean hasPrefilter() {
+		return this.prefilter != null;
+	}
+
+	private static void setBit(long[] filter, int bit) {
+		// Shifting a long uses only the six lowest bits of the shift distance.
+		filter[(bit >>> LONG_SIZE_SHIFT) & (filter.length - 1)] |= 1L << bit;
+	}
+
+	private static boolean testBit(long[] filter, int bit) {
+		return (filter[(bit >>> LONG_SIZE_SHIFT) & (filter.length - 1)] & (1L << bit)) != 0L;
+	}
+
+	private static boolean testPrefilter(long[] filter, long hash) {
+		return testBit(filter, (int) hash) && testBit(filter, (int) (hash >>> HALF_LONG_SIZE));
+	}
+
+	@Override
+	public Iterator<UUID> iterator() {
+		return new TableIterator(this.keys, this.containsNil, this.containsTombstoneValue);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append('[');
+		Iterator<UUID> iterator = iterator();
+		while (iterator.hasNext()) {
+			buffer.append(iterator.next());
+			if (iterator.hasNext()) {
+				buffer.append(", "); //$NON-NLS-1$
+			}
+		}
+		buffer.append(']');
+		return buffer.toString();
+	}
+
+	/** Iterator on the identifiers of the table, which creates the {@link UUID} objects.
+	 * <p>
+	 * The iterator remains valid when identifiers are removed from the table,
+	 * but not when identifiers are added.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static final class TableIterator implements Iterator<UUID> {
+
+		private final long[] table;
+
+		private boolean nilToReply;
+
+		private boolean tombstoneValueToReply;
+
+		private int index;
+
+		/**
+		 * @param table - the keys of the table.
+		 * @param containsNil - indicates if the nil UUID is in the table.
+		 * @param containsTombstoneValue - indicates if the UUID used as tombstone is in the table.
+		 */
+		TableIterator(long[] table, boolean containsNil, boolean containsTombstoneValue) {
+			this.table = table;
+			this.nilToReply = containsNil;
+			this.tombstoneValueToReply = containsTombstoneValue;
+			this.index = -2;
+			searchNext();
+		}
+
+		private void searchNext() {
+			do {
+				this.index += 2;
+			}
+			while (this.index < this.table.length && !isValue(this.table[this.index], this.table[this.index + 1]));
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.nilToReply || this.tombstoneValueToReply || this.index < this.table.length;
+		}
+
+		@Override
+		public UUID next() {
+			if (this.nilToReply) {
+				this.nilToReply = false;
+				return new UUID(0L, 0L);
+			}
+			if (this.tombstoneValueToReply) {
+				this.tombstoneValueToReply = false;
+				return new UUID(0L, TOMBSTONE_LSB);
+			}
+			if (this.index >= this.table.length) {
+				throw new NoSuchElementException();
+			}
+			UUID identifier = new UUID(this.table[this.index], this.table[this.index + 1]);
+			searchNext();
+			return identifier;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
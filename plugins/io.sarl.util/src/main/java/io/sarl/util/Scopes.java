@@ -23,8 +23,19 @@ package io.sarl.util;
 import io.sarl.lang.core.Address;
 import io.sarl.lang.core.Scope;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
 /**
  * This class consists exclusively of static methods that operate on or return scopes.
+ * <p>
+ * The scopes replied by {@link #addresses(Address...)} and {@link #identifiers(Collection)},
+ * and their unions and intersections, are {@link IndexableScope indexable}: a space may use
+ * {@link #getCandidates(Scope, int)} for iterating on the targets of the scope
+ * in place of filtering all its participants.
  *
  * @author $Author: srodriguez$
  * @version $FullVersion$
@@ -56,6 +67,141 @@ public final class Scopes {
 		return new AddressScope(addresses);
 	}
 
+	/** Create an scope restricted to the agents with the given identifiers.
+	 *
+	 * @param identifiers - identifiers of the agents to put in the scope.
+	 * @return the scope restricted to the given agents.
+	 */
+	public static Scope<Address> identifiers(UUID... identifiers) {
+		return new AddressScope(Arrays.asList(identifiers));
+	}
+
+	/** Create an scope restricted to the agents with the given identifiers.
+	 * <p>
+	 * This function avoids to create an {@link Address} for each target
+	 * of the scope.
+	 *
+	 * @param identifiers - identifiers of the agents to put in the scope.
+	 * @return the scope restricted to the given agents.
+	 */
+	public static Scope<Address> identifiers(Collection<? extends UUID> identifiers) {
+		return new AddressScope(identifiers);
+	}
+
+	/** Create a scope that matches the elements that are matched by at least one of the given scopes.
+	 *
+	 * @param <T> - type of the elements in the scope.
+	 * @param scopes - the scopes to merge.
+	 * @return the union of the scopes.
+	 */
+	@SafeVarargs
+	public static <T> Scope<T> union(Scope<T>... scopes) {
+		List<Scope<T>> operands = new ArrayList<>(scopes.length);
+		for (Scope<T> scope : scopes) {
+			operands.add(scope);
+		}
+		return new UnionScope<>(operands);
+	}
+
+	/** Create a scope that matches the elements that are matched by all the given scopes.
+	 *
+	 * @param <T> - type of the elements in the scope.
+	 * @param scopes - the scopes to intersect.
+	 * @return the intersection of the scopes.
+	 */
+	@SafeVarargs
+	public static <T> Scope<T> intersection(Scope<T>... scopes) {
+		List<Scope<T>> operands = new ArrayList<>(scopes.length);
+		for (Scope<T> scope : scopes) {
+			operands.add(scope);
+		}
+		return new IntersectionScope<>(operands);
+	}
+
+	/** Create a scope that matches the elements that are not matched by the given scope.
+	 *
+	 * @param <T> - type of the elements in the scope.
+	 * @param scope - the scope to negate.
+	 * @return the negation of the scope.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Scope<T> not(Scope<T> scope) {
+		if (scope instanceof NegationScope<?>) {
+			return ((NegationScope<T>) scope).operand;
+		}
+		return new NegationScope<>(scope);
+	}
+
+	/** Create a scope that matches the elements that are instances of the given type.
+	 *
+	 * @param <T> - type of the elements in the scope.
+	 * @param type - the type of the matched elements.
+	 * @return the scope restricted to the given type.
+	 */
+	public static <T> Scope<T> instancesOf(Class<? extends T> type) {
+		return new TypeScope<>(type);
+	}
+
+	/** Replies an upper bound of the number of agents that are matched by the given scope.
+	 *
+	 * @param scope - the scope.
+	 * @return the upper bound, or {@link IndexableScope#UNKNOWN_CARDINALITY}.
+	 */
+	public static int getCardinalityHint(Scope<?> scope) {
+		if (scope instanceof IndexableScope<?>) {
+			return ((IndexableScope<?>) scope).getCardinalityHint();
+		}
+		return IndexableScope.UNKNOWN_CARDINALITY;
+	}
+
+	/** Replies the identifiers of the agents that may be matched by the given scope, if
+	 * iterating on them is cheaper than filtering all the participants of a space.
+	 * <p>
+	 * The typical usage in a space is:
+	 * <pre><code>
+	 * Iterable&lt;UUID&gt; candidates = Scopes.getCandidates(scope, participants.size());
+	 * if (candidates != null) {
+	 *     for (UUID id : candidates) {
+	 *         Participant p = participants.get(id);
+	 *         if (p != null &amp;&amp; scope.matches(p.getAddress())) {
+	 *             deliver(event, p);
+	 *         }
+	 *     }
+	 * } else {
+	 *     for (Participant p : participants.values()) {
+	 *         if (scope.matches(p.getAddress())) {
+	 *             deliver(event, p);
+	 *         }
+	 *     }
+	 * }
+	 * </code></pre>
+	 *
+	 * @param scope - the scope.
+	 * @param participantCount - the number of participants that would be filtered by the scope.
+	 * @return the identifiers of the candidate agents, or <code>null</code> if the participants
+	 *     must be filtered.
+	 */
+	public static Iterable<UUID> getCandidates(Scope<?> scope, int participantCount) {
+		if (scope instanceof IndexableScope<?>) {
+			IndexableScope<?> indexable = (IndexableScope<?>) scope;
+			if (indexable.getCardinalityHint() < participantCount) {
+				return indexable.getCandidates();
+			}
+		}
+		return null;
+	}
+
+	private static void appendOperands(StringBuilder buffer, List<? extends Scope<?>> operands, String operator) {
+		buffer.append('(');
+		for (int i = 0; i < operands.size(); ++i) {
+			if (i > 0) {
+				buffer.append(operator);
+			}
+			buffer.append(operands.get(i));
+		}
+		buffer.append(')');
+	}
+
 	private static class AlwaysTrueScope<T> implements Scope<T> {
 
 		private static final long serialVersionUID = -3193147362292037L;
@@ -77,4 +223,224 @@ public final class Scopes {
 		}
 	}
 
+	/** Union of scopes.
+	 *
+	 * @param <T> - type of the elements in the scope.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class UnionScope<T> implements IndexableScope<T> {
+
+		private static final long serialVersionUID = 2480371549213906487L;
+
+		private final List<Scope<T>> operands;
+
+		private transient volatile PackedUUIDTable candidates;
+
+		/**
+		 * @param operands - the merged scopes.
+		 */
+		UnionScope(List<Scope<T>> operands) {
+			this.operands = operands;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder buffer = new StringBuilder();
+			appendOperands(buffer, this.operands, " OR "); //$NON-NLS-1$
+			return buffer.toString();
+		}
+
+		@Override
+		public boolean matches(T element) {
+			for (Scope<T> operand : this.operands) {
+				if (operand.matches(element)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public int getCardinalityHint() {
+			long hint = 0;
+			for (Scope<T> operand : this.operands) {
+				hint += Scopes.getCardinalityHint(operand);
+				if (hint >= UNKNOWN_CARDINALITY) {
+					return UNKNOWN_CARDINALITY;
+				}
+			}
+			return (int) hint;
+		}
+
+		@Override
+		public Iterable<UUID> getCandidates() {
+			PackedUUIDTable table = this.candidates;
+			if (table == null) {
+				// The candidates of the operands are merged for replying each identifier once.
+				Iterable<?>[] operandCandidates = new Iterable<?>[this.operands.size()];
+				for (int i = 0; i < operandCandidates.length; ++i) {
+					Scope<T> operand = this.operands.get(i);
+					if (!(operand instanceof IndexableScope<?>)) {
+						return null;
+					}
+					operandCandidates[i] = ((IndexableScope<?>) operand).getCandidates();
+					if (operandCandidates[i] == null) {
+						return null;
+					}
+				}
+				int hint = getCardinalityHint();
+				table = new PackedUUIDTable(hint == UNKNOWN_CARDINALITY ? 0 : hint);
+				for (Iterable<?> identifiers : operandCandidates) {
+					for (Object identifier : identifiers) {
+						table.add((UUID) identifier);
+					}
+				}
+				this.candidates = table;
+			}
+			return table;
+		}
+
+	}
+
+	/** Intersection of scopes.
+	 *
+	 * @param <T> - type of the elements in the scope.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class IntersectionScope<T> implements IndexableScope<T> {
+
+		private static final long serialVersionUID = -6019543843735318164L;
+
+		private final List<Scope<T>> operands;
+
+		/**
+		 * @param operands - the intersected scopes.
+		 */
+		IntersectionScope(List<Scope<T>> operands) {
+			this.operands = operands;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder buffer = new StringBuilder();
+			appendOperands(buffer, this.operands, " AND "); //$NON-NLS-1$
+			return buffer.toString();
+		}
+
+		@Override
+		public boolean matches(T element) {
+			for (Scope<T> operand : this.operands) {
+				if (!operand.matches(element)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int getCardinalityHint() {
+			int hint = UNKNOWN_CARDINALITY;
+			for (Scope<T> operand : this.operands) {
+				hint = Math.min(hint, Scopes.getCardinalityHint(operand));
+			}
+			return hint;
+		}
+
+		@Override
+		public Iterable<UUID> getCandidates() {
+			// The candidates of the most selective operand are a superset of the intersection.
+			Iterable<UUID> candidates = null;
+			int bestHint = UNKNOWN_CARDINALITY;
+			for (Scope<T> operand : this.operands) {
+				if (operand instanceof IndexableScope<?>) {
+					IndexableScope<?> indexable = (IndexableScope<?>) operand;
+					int hint = indexable.getCardinalityHint();
+					if (candidates == null || hint < bestHint) {
+						Iterable<UUID> operandCandidates = indexable.getCandidates();
+						if (operandCandidates != null) {
+							candidates = operandCandidates;
+							bestHint = hint;
+						}
+					}
+				}
+			}
+			return candidates;
+		}
+
+	}
+
+	/** Negation of a scope.
+	 *
+	 * @param <T> - type of the elements in the scope.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class NegationScope<T> implements Scope<T> {
+
+		private static final long serialVersionUID = 3873525021950546512L;
+
+		/** Negated scope.
+		 */
+		final Scope<T> operand;
+
+		/**
+		 * @param operand - the negated scope.
+		 */
+		NegationScope(Scope<T> operand) {
+			this.operand = operand;
+		}
+
+		@Override
+		public String toString() {
+			return "NOT " + this.operand; //$NON-NLS-1$
+		}
+
+		@Override
+		public boolean matches(T element) {
+			return !this.operand.matches(element);
+		}
+
+	}
+
+	/** Scope matching the instances of a type.
+	 *
+	 * @param <T> - type of the elements in the scope.
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class TypeScope<T> implements Scope<T> {
+
+		private static final long serialVersionUID = 5734064815716391437L;
+
+		private final Class<? extends T> type;
+
+		/**
+		 * @param type - the type of the matched elements.
+		 */
+		TypeScope(Class<? extends T> type) {
+			this.type = type;
+		}
+
+		@Override
+		public String toString() {
+			return "instanceof " + this.type.getName(); //$NON-NLS-1$
+		}
+
+		@Override
+		public boolean matches(T element) {
+			return this.type.isInstance(element);
+		}
+
+	}
+
 }
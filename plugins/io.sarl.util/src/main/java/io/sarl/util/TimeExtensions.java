@@ -40,58 +40,249 @@ public final class TimeExtensions {
 		//
 	}
 
+	private static long multiply(long value, long factor) {
+		long max = Long.MAX_VALUE / factor;
+		if (value > max) {
+			return Long.MAX_VALUE;
+		}
+		if (value < -max) {
+			return Long.MIN_VALUE;
+		}
+		return value * factor;
+	}
+
 	/** Convert milliseconds to milliseconds.
 	 *
 	 * @param milis - number of milliseconds to convert.
 	 * @return the number of milliseconds in <code>milis</code>.
 	 */
 	public static long milliseconds(Integer milis) {
+		return milliseconds(milis.intValue());
+	}
+
+	/** Convert milliseconds to milliseconds.
+	 *
+	 * @param milis - number of milliseconds to convert.
+	 * @return the number of milliseconds in <code>milis</code>.
+	 */
+	public static long milliseconds(int milis) {
 		return milis;
 	}
 
+	/** Convert milliseconds to milliseconds.
+	 * The result is saturated to {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE}
+	 * if it cannot be represented with a <code>long</code>.
+	 *
+	 * @param milis - number of milliseconds to convert.
+	 * @return the number of milliseconds in <code>milis</code>.
+	 */
+	public static long milliseconds(long milis) {
+		return milis;
+	}
+
+	/** Convert milliseconds to milliseconds.
+	 * The result is rounded to the nearest millisecond.
+	 *
+	 * @param milis - number of milliseconds to convert.
+	 * @return the number of milliseconds in <code>milis</code>.
+	 */
+	public static long milliseconds(double milis) {
+		return Math.round(milis);
+	}
+
 	/** Convert seconds to milliseconds.
 	 *
 	 * @param secs - number of seconds to convert.
-	 * @return the number of milliseconds in seconds.
+	 * @return the number of milliseconds in <code>secs</code>.
 	 */
 	public static long seconds(Integer secs) {
+		return seconds(secs.intValue());
+	}
+
+	/** Convert seconds to milliseconds.
+	 *
+	 * @param secs - number of seconds to convert.
+	 * @return the number of milliseconds in <code>secs</code>.
+	 */
+	public static long seconds(int secs) {
 		return secs * MILLIS_IN_SECOND;
 	}
 
+	/** Convert seconds to milliseconds.
+	 * The result is saturated to {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE}
+	 * if it cannot be represented with a <code>long</code>.
+	 *
+	 * @param secs - number of seconds to convert.
+	 * @return the number of milliseconds in <code>secs</code>.
+	 */
+	public static long seconds(long secs) {
+		return multiply(secs, MILLIS_IN_SECOND);
+	}
+
+	/** Convert seconds to milliseconds.
+	 * The result is rounded to the nearest millisecond.
+	 *
+	 * @param secs - number of seconds to convert.
+	 * @return the number of milliseconds in <code>secs</code>.
+	 */
+	public static long seconds(double secs) {
+		return Math.round(secs * MILLIS_IN_SECOND);
+	}
+
 	/** Convert minutes to milliseconds.
 	 *
 	 * @param mins - number of minutes to convert.
-	 * @return the number of milliseconds in <code>mins</code>
+	 * @return the number of milliseconds in <code>mins</code>.
 	 */
 	public static long minutes(Integer mins) {
+		return minutes(mins.intValue());
+	}
+
+	/** Convert minutes to milliseconds.
+	 *
+	 * @param mins - number of minutes to convert.
+	 * @return the number of milliseconds in <code>mins</code>.
+	 */
+	public static long minutes(int mins) {
 		return mins * MILLIS_IN_MINUTE;
 	}
 
+	/** Convert minutes to milliseconds.
+	 * The result is saturated to {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE}
+	 * if it cannot be represented with a <code>long</code>.
+	 *
+	 * @param mins - number of minutes to convert.
+	 * @return the number of milliseconds in <code>mins</code>.
+	 */
+	public static long minutes(long mins) {
+		return multiply(mins, MILLIS_IN_MINUTE);
+	}
+
+	/** Convert minutes to milliseconds.
+	 * The result is rounded to the nearest millisecond.
+	 *
+	 * @param mins - number of minutes to convert.
+	 * @return the number of milliseconds in <code>mins</code>.
+	 */
+	public static long minutes(double mins) {
+		return Math.round(mins * MILLIS_IN_MINUTE);
+	}
+
 	/** Convert hours to milliseconds.
 	 *
 	 * @param hours - number of hours to convert.
-	 * @return the number of milliseconds in <code>hours</code>
+	 * @return the number of milliseconds in <code>hours</code>.
 	 */
 	public static long hours(Integer hours) {
+		return hours(hours.intValue());
+	}
+
+	/** Convert hours to milliseconds.
+	 *
+	 * @param hours - number of hours to convert.
+	 * @return the number of milliseconds in <code>hours</code>.
+	 */
+	public static long hours(int hours) {
 		return hours * MILLIS_IN_HOUR;
 	}
 
+	/** Convert hours to milliseconds.
+	 * The result is saturated to {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE}
+	 * if it cannot be represented with a <code>long</code>.
+	 *
+	 * @param hours - number of hours to convert.
+	 * @return the number of milliseconds in <code>hours</code>.
+	 */
+	public static long hours(long hours) {
+		return multiply(hours, MILLIS_IN_HOUR);
+	}
+
+	/** Convert hours to milliseconds.
+	 * The result is rounded to the nearest millisecond.
+	 *
+	 * @param hours - number of hours to convert.
+	 * @return the number of milliseconds in <code>hours</code>.
+	 */
+	public static long hours(double hours) {
+		return Math.round(hours * MILLIS_IN_HOUR);
+	}
+
 	/** Convert days to milliseconds.
 	 *
 	 * @param days - number of days to convert.
-	 * @return the number of days in <code>days</code>
+	 * @return the number of milliseconds in <code>days</code>.
 	 */
 	public static long days(Integer days) {
+		return days(days.intValue());
+	}
+
+	/** Convert days to milliseconds.
+	 *
+	 * @param days - number of days to convert.
+	 * @return the number of milliseconds in <code>days</code>.
+	 */
+	public static long days(int days) {
 		return days * MILLIS_IN_DAY;
 	}
 
+	/** Convert days to milliseconds.
+	 * The result is saturated to {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE}
+	 * if it cannot be represented with a <code>long</code>.
+	 *
+	 * @param days - number of days to convert.
+	 * @return the number of milliseconds in <code>days</code>.
+	 */
+	public static long days(long days) {
+		return multiply(days, MILLIS_IN_DAY);
+	}
+
+	/** Convert days to milliseconds.
+	 * The result is rounded to the nearest millisecond.
+	 *
+	 * @param days - number of days to convert.
+	 * @return the number of milliseconds in <code>days</code>.
+	 */
+	public static long days(double days) {
+		return Math.round(days * MILLIS_IN_DAY);
+	}
+
 	/** Convert weeks to milliseconds.
 	 *
 	 * @param weeks - number of weeks to convert.
-	 * @return the number of milliseconds in <code>weeks</code>
+	 * @return the number of milliseconds in <code>weeks</code>.
 	 */
 	public static long weeks(Integer weeks) {
+		return weeks(weeks.intValue());
+	}
+
+	/** Convert weeks to milliseconds.
+	 *
+	 * @param weeks - number of weeks to convert.
+	 * @return the number of milliseconds in <code>weeks</code>.
+	 */
+	public static long weeks(int weeks) {
 		return weeks * MILLIS_IN_WEEK;
 	}
 
+	/** Convert weeks to milliseconds.
+	 * The result is saturated to {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE}
+	 * if it cannot be represented with a <code>long</code>.
+	 *
+	 * @param weeks - number of weeks to convert.
+	 * @return the number of milliseconds in <code>weeks</code>.
+	 */
+	public static long weeks(long weeks) {
+		return multiply(weeks, MILLIS_IN_WEEK);
+	}
+
+	/** Convert weeks to milliseconds.
+	 * The result is rounded to the nearest millisecond.
+	 *
+	 * @param weeks - number of weeks to convert.
+	 * @return the number of milliseconds in <code>weeks</code>.
+	 */
+	public static long weeks(double weeks) {
+		return Math.round(weeks * MILLIS_IN_WEEK);
+	}
+
 }
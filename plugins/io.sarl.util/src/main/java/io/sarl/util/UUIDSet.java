@@ -0,0 +1,283 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.util;
+
+import io.sarl.lang.util.SynchronizedSet;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.UUID;
+
+/** Synchronized set of {@link UUID} that stores the identifiers as
+ * packed pairs of <code>long</code>.
+ * <p>
+ * The identifiers are stored in an open-addressing hash table; no {@link UUID}
+ * object is kept by the set. The {@link UUID} objects are created only by
+ * the iterator. This set is designed for large sets of identifiers,
+ * such as the participants of a space: it needs two <code>long</code>
+ * for each identifier, in place of a {@link UUID} object and a hash node.
+ * <p>
+ * All the operations are synchronized on the {@link #mutex() mutex}. As for
+ * {@link Collections3#synchronizedSet(java.util.Set, Object)}, it is imperative
+ * that the user manually synchronize on the mutex when iterating over the set.
+ * The iterator supports the removal of identifiers.
+ *
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ * @see Collections3#synchronizedUUIDSet(Object)
+ */
+public class UUIDSet extends AbstractSet<UUID> implements SynchronizedSet<UUID>, Serializable {
+
+	private static final long serialVersionUID = -3781465712549620931L;
+
+	private final PackedUUIDTable table;
+
+	private final Object mutex;
+
+	/** Construct an empty set that is synchronized on itself.
+	 */
+	public UUIDSet() {
+		this(null);
+	}
+
+	/** Construct an empty set.
+	 *
+	 * @param mutex - the mutex to use for synchronizing, or <code>null</code>
+	 *     for synchronizing on the set itself.
+	 */
+	public UUIDSet(Object mutex) {
+		this(0, mutex);
+	}
+
+	/** Construct an empty set.
+	 *
+	 * @param expectedSize - the number of identifiers that are expected to be added.
+	 * @param mutex - the mutex to use for synchronizing, or <code>null</code>
+	 *     for synchronizing on the set itself.
+	 */
+	public UUIDSet(int expectedSize, Object mutex) {
+		this.table = new PackedUUIDTable(expectedSize);
+		this.mutex = (mutex == null) ? this : mutex;
+	}
+
+	/** Construct a set that contains the given identifiers.
+	 *
+	 * @param identifiers - the identifiers to put in the set.
+	 * @param mutex - the mutex to use for synchronizing, or <code>null</code>
+	 *     for synchronizing on the set itself.
+	 */
+	public UUIDSet(Collection<? extends UUID> identifiers, Object mutex) {
+		this(identifiers.size(), mutex);
+		for (UUID identifier : identifiers) {
+			this.table.add(identifier);
+		}
+	}
+
+	@Override
+	public Object mutex() {
+		return this.mutex;
+	}
+
+	@Override
+	public int size() {
+		synchronized (this.mutex) {
+			return this.table.size();
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		synchronized (this.mutex) {
+			return this.table.size() == 0;
+		}
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o instanceof UUID) {
+			UUID identifier = (UUID) o;
+			return contains(identifier.getMostSignificantBits(), identifier.getLeastSignificantBits());
+		}
+		return false;
+	}
+
+	/** Replies if the identifier with the given bits is in the set.
+	 * <p>
+	 * This function does not need a {@link UUID} object.
+	 *
+	 * @param mostSignificantBits - the most significant bits of the identifier.
+	 * @param leastSignificantBits - the least significant bits of the identifier.
+	 * @return <code>true</code> if the identifier is in the set.
+	 */
+	public boolean contains(long mostSignificantBits, long leastSignificantBits) {
+		synchronized (this.mutex) {
+			return this.table.contains(mostSignificantBits, leastSignificantBits);
+		}
+	}
+
+	@Override
+	public boolean add(UUID e) {
+		synchronized (this.mutex) {
+			return this.table.add(e);
+		}
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o instanceof UUID) {
+			synchronized (this.mutex) {
+				return this.table.remove((UUID) o);
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		synchronized (this.mutex) {
+			return super.containsAll(c);
+		}
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends UUID> c) {
+		synchronized (this.mutex) {
+			return super.addAll(c);
+		}
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		synchronized (this.mutex) {
+			return super.removeAll(c);
+		}
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		synchronized (this.mutex) {
+			return super.retainAll(c);
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (this.mutex) {
+			this.table.clear();
+		}
+	}
+
+	@Override
+	public Object[] toArray() {
+		synchronized (this.mutex) {
+			return super.toArray();
+		}
+	}
+
+	@Override
+	public <T> T[] toArray(T[] a) {
+		synchronized (this.mutex) {
+			return super.toArray(a);
+		}
+	}
+
+	@Override
+	public Iterator<UUID> iterator() {
+		// Must be manually synched by user!
+		return new SetIterator(this.table.iterator());
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		synchronized (this.mutex) {
+			return super.equals(o);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		synchronized (this.mutex) {
+			return super.hashCode();
+		}
+	}
+
+	@Override
+	public String toString() {
+		synchronized (this.mutex) {
+			return this.table.toString();
+		}
+	}
+
+	private void writeObject(ObjectOutputStream s) throws IOException {
+		synchronized (this.mutex) {
+			s.defaultWriteObject();
+		}
+	}
+
+	/** Iterator on the set, which supports the removal of identifiers.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private class SetIterator implements Iterator<UUID> {
+
+		private final Iterator<UUID> iterator;
+
+		private UUID last;
+
+		SetIterator(Iterator<UUID> iterator) {
+			this.iterator = iterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.iterator.hasNext();
+		}
+
+		@Override
+		public UUID next() {
+			this.last = this.iterator.next();
+			return this.last;
+		}
+
+		@Override
+		public void remove() {
+			if (this.last == null) {
+				throw new IllegalStateException();
+			}
+			UUIDSet.this.remove(this.last);
+			this.last = null;
+		}
+
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.sarl.core.Duration;
+import io.sarl.tests.api.AbstractSarlTest;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class DurationTest extends AbstractSarlTest {
+
+	@Test
+	public void factories() {
+		assertEquals(5L, Duration.ofNanos(5).toNanos());
+		assertEquals(5000000L, Duration.ofMillis(5).toNanos());
+		assertEquals(5000000000L, Duration.ofSeconds(5).toNanos());
+		assertEquals(1500000000L, Duration.ofSeconds(1.5).toNanos());
+		assertEquals(TimeUnit.MINUTES.toNanos(5), Duration.ofMinutes(5).toNanos());
+		assertEquals(TimeUnit.HOURS.toNanos(5), Duration.ofHours(5).toNanos());
+		assertEquals(TimeUnit.DAYS.toNanos(5), Duration.ofDays(5).toNanos());
+		assertEquals(TimeUnit.MICROSECONDS.toNanos(5), Duration.of(5, TimeUnit.MICROSECONDS).toNanos());
+		assertSame(Duration.ZERO, Duration.ofSeconds(0));
+	}
+
+	@Test
+	public void factories_saturated() {
+		assertEquals(Long.MAX_VALUE, Duration.ofDays(Long.MAX_VALUE / 2).toNanos());
+		assertEquals(Long.MIN_VALUE, Duration.ofDays(Long.MIN_VALUE / 2).toNanos());
+	}
+
+	@Test
+	public void conversions() {
+		Duration d = Duration.ofNanos(TimeUnit.SECONDS.toNanos(3) + 999999);
+		assertEquals(3000L, d.toMillis());
+		assertEquals(3L, d.to(TimeUnit.SECONDS));
+		assertEquals(3000000L + 999L, d.to(TimeUnit.MICROSECONDS));
+	}
+
+	@Test
+	public void isZero() {
+		assertTrue(Duration.ZERO.isZero());
+		assertFalse(Duration.ofNanos(1).isZero());
+	}
+
+	@Test
+	public void isNegative() {
+		assertTrue(Duration.ofNanos(-1).isNegative());
+		assertFalse(Duration.ZERO.isNegative());
+		assertFalse(Duration.ofNanos(1).isNegative());
+	}
+
+	@Test
+	public void plus() {
+		assertEquals(Duration.ofMillis(1500), Duration.ofSeconds(1).plus(Duration.ofMillis(500)));
+		assertEquals(Long.MAX_VALUE, Duration.ofNanos(Long.MAX_VALUE).plus(Duration.ofNanos(1)).toNanos());
+		assertEquals(Long.MIN_VALUE, Duration.ofNanos(Long.MIN_VALUE).plus(Duration.ofNanos(-1)).toNanos());
+	}
+
+	@Test
+	public void minus() {
+		assertEquals(Duration.ofMillis(500), Duration.ofSeconds(1).minus(Duration.ofMillis(500)));
+		assertEquals(Long.MAX_VALUE, Duration.ofNanos(Long.MAX_VALUE).minus(Duration.ofNanos(-1)).toNanos());
+		assertEquals(Long.MIN_VALUE, Duration.ofNanos(Long.MIN_VALUE).minus(Duration.ofNanos(1)).toNanos());
+	}
+
+	@Test
+	public void multipliedBy() {
+		assertEquals(Duration.ofSeconds(6), Duration.ofSeconds(2).multipliedBy(3));
+		assertEquals(Duration.ofSeconds(-6), Duration.ofSeconds(2).multipliedBy(-3));
+		assertSame(Duration.ZERO, Duration.ofSeconds(2).multipliedBy(0));
+		assertEquals(Long.MAX_VALUE, Duration.ofNanos(Long.MAX_VALUE / 2 + 1).multipliedBy(2).toNanos());
+		assertEquals(Long.MIN_VALUE, Duration.ofNanos(Long.MAX_VALUE / 2 + 1).multipliedBy(-2).toNanos());
+		assertEquals(Long.MAX_VALUE, Duration.ofNanos(Long.MIN_VALUE).multipliedBy(-1).toNanos());
+	}
+
+	@Test
+	public void compareTo() {
+		assertTrue(Duration.ofMillis(1).compareTo(Duration.ofSeconds(1)) < 0);
+		assertTrue(Duration.ofSeconds(1).compareTo(Duration.ofMillis(1)) > 0);
+		assertEquals(0, Duration.ofSeconds(1).compareTo(Duration.ofMillis(1000)));
+	}
+
+	@Test
+	public void equalsHashCode() {
+		assertEquals(Duration.ofSeconds(1), Duration.ofMillis(1000));
+		assertEquals(Duration.ofSeconds(1).hashCode(), Duration.ofMillis(1000).hashCode());
+		assertNotEquals(Duration.ofSeconds(1), Duration.ofMillis(1001));
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.sarl.core.ExecutionPolicies;
+import io.sarl.core.ExecutionPolicy;
+import io.sarl.tests.api.AbstractSarlTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class ExecutionPoliciesTest extends AbstractSarlTest {
+
+	@After
+	public void tearDown() {
+		System.clearProperty(ExecutionPolicies.POLICY_PROPERTY);
+	}
+
+	@Test
+	public void getPolicy() {
+		assertSame(ExecutionPolicies.THREAD_POOL, ExecutionPolicies.getPolicy("thread-pool"));
+		assertSame(ExecutionPolicies.THREAD_PER_EVENT, ExecutionPolicies.getPolicy("thread-per-event"));
+		assertSame(ExecutionPolicies.THREAD_PER_EVENT, ExecutionPolicies.getPolicy(" Thread-Per-Event "));
+		assertNull(ExecutionPolicies.getPolicy("unknown"));
+		assertNull(ExecutionPolicies.getPolicy(null));
+	}
+
+	@Test
+	public void getDefaultPolicy() {
+		assertSame(ExecutionPolicies.THREAD_POOL, ExecutionPolicies.getDefaultPolicy());
+		System.setProperty(ExecutionPolicies.POLICY_PROPERTY, "thread-per-event");
+		assertSame(ExecutionPolicies.THREAD_PER_EVENT, ExecutionPolicies.getDefaultPolicy());
+		System.setProperty(ExecutionPolicies.POLICY_PROPERTY, "unknown");
+		assertSame(ExecutionPolicies.THREAD_POOL, ExecutionPolicies.getDefaultPolicy());
+	}
+
+	@Test
+	public void threadPool_execute() throws Exception {
+		ExecutorService service = ExecutionPolicies.THREAD_POOL.createExecutorService();
+		try {
+			final CountDownLatch latch = new CountDownLatch(10);
+			for (int i = 0; i < 10; ++i) {
+				service.execute(new Runnable() {
+					@Override
+					public void run() {
+						latch.countDown();
+					}
+				});
+			}
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} finally {
+			service.shutdownNow();
+		}
+	}
+
+	@Test
+	public void threadPerEvent_blockingTasksDoNotStarve() throws Exception {
+		// More blocked tasks than a bounded pool of platform threads would accept.
+		final int count = Runtime.getRuntime().availableProcessors() * 4 + 1;
+		ExecutorService service = ExecutionPolicies.THREAD_PER_EVENT.createExecutorService();
+		try {
+			final CountDownLatch started = new CountDownLatch(count);
+			final CountDownLatch release = new CountDownLatch(1);
+			for (int i = 0; i < count; ++i) {
+				service.execute(new Runnable() {
+					@Override
+					public void run() {
+						started.countDown();
+						try {
+							release.await();
+						} catch (InterruptedException e) {
+							//
+						}
+					}
+				});
+			}
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			release.countDown();
+			service.shutdown();
+			assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+			assertTrue(service.isTerminated());
+		} finally {
+			service.shutdownNow();
+		}
+	}
+
+	@Test(expected = RejectedExecutionException.class)
+	public void threadPerEvent_rejectAfterShutdown() {
+		ExecutorService service = ExecutionPolicies.THREAD_PER_EVENT.createExecutorService();
+		service.shutdown();
+		assertTrue(service.isShutdown());
+		service.execute(new Runnable() {
+			@Override
+			public void run() {
+				//
+			}
+		});
+	}
+
+	@Test
+	public void threadPerEvent_shutdownNow() throws Exception {
+		ExecutorService service = ExecutionPolicies.THREAD_PER_EVENT.createExecutorService();
+		final CountDownLatch started = new CountDownLatch(1);
+		final AtomicInteger interrupted = new AtomicInteger();
+		service.execute(new Runnable() {
+			@Override
+			public void run() {
+				started.countDown();
+				try {
+					Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+				} catch (InterruptedException e) {
+					interrupted.incrementAndGet();
+				}
+			}
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertFalse(service.isTerminated());
+		assertTrue(service.shutdownNow().isEmpty());
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(1, interrupted.get());
+	}
+
+	@Test
+	public void threadPerEvent_awaitTerminationTimeout() throws Exception {
+		ExecutorService service = ExecutionPolicies.THREAD_PER_EVENT.createExecutorService();
+		assertFalse(service.awaitTermination(10, TimeUnit.MILLISECONDS));
+		service.shutdown();
+		assertTrue(service.awaitTermination(10, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void getName() {
+		ExecutionPolicy policy = ExecutionPolicies.THREAD_PER_EVENT;
+		assertEquals("thread-per-event", policy.getName());
+		assertEquals("thread-per-event", policy.toString());
+		assertEquals("thread-pool", ExecutionPolicies.THREAD_POOL.getName());
+	}
+
+}
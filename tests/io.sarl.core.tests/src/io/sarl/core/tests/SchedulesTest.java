@@ -22,6 +22,7 @@ package io.sarl.core.tests;
 
 import static org.junit.Assert.assertEquals;
 import io.sarl.core.AgentTask;
+import io.sarl.core.Duration;
 import io.sarl.lang.core.Capacity;
 
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
@@ -47,7 +48,7 @@ public class SchedulesTest extends AbstractSarlCoreTest<Capacity> {
 	 */
 	@Test
 	public void memberCount() {
-		assertEquals(7, this.type.getDeclaredMethods().length);
+		assertEquals(11, this.type.getDeclaredMethods().length);
 	}
 
 	/**
@@ -57,6 +58,13 @@ public class SchedulesTest extends AbstractSarlCoreTest<Capacity> {
 		assertMethod("in", AgentTask.class, long.class, Procedure1.class); //$NON-NLS-1$
 	}
 
+	/**
+	 */
+	@Test
+	public void inDurationProcedure1() {
+		assertMethod("in", AgentTask.class, Duration.class, Procedure1.class); //$NON-NLS-1$
+	}
+
 	/**
 	 */
 	@Test
@@ -64,6 +72,13 @@ public class SchedulesTest extends AbstractSarlCoreTest<Capacity> {
 		assertMethod("in", AgentTask.class, AgentTask.class, long.class, Procedure1.class); //$NON-NLS-1$
 	}
 
+	/**
+	 */
+	@Test
+	public void inAgentTaskDurationProcedure1() {
+		assertMethod("in", AgentTask.class, AgentTask.class, Duration.class, Procedure1.class); //$NON-NLS-1$
+	}
+
 	/**
 	 */
 	@Test
@@ -92,6 +107,13 @@ public class SchedulesTest extends AbstractSarlCoreTest<Capacity> {
 		assertMethod("every", AgentTask.class, long.class, Procedure1.class); //$NON-NLS-1$
 	}
 
+	/**
+	 */
+	@Test
+	public void everyDurationProcedure1() {
+		assertMethod("every", AgentTask.class, Duration.class, Procedure1.class); //$NON-NLS-1$
+	}
+
 	/**
 	 */
 	@Test
@@ -99,4 +121,11 @@ public class SchedulesTest extends AbstractSarlCoreTest<Capacity> {
 		assertMethod("every", AgentTask.class, AgentTask.class, long.class, Procedure1.class); //$NON-NLS-1$
 	}
 
+	/**
+	 */
+	@Test
+	public void everyAgentTaskDurationProcedure1() {
+		assertMethod("every", AgentTask.class, AgentTask.class, Duration.class, Procedure1.class); //$NON-NLS-1$
+	}
+
 }
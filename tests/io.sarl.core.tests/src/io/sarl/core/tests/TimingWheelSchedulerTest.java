@@ -0,0 +1,188 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import io.sarl.core.Duration;
+import io.sarl.core.TimingWheelScheduler;
+import io.sarl.core.TimingWheelScheduler.Timeout;
+import io.sarl.tests.api.AbstractSarlTest;
+import io.sarl.tests.api.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class TimingWheelSchedulerTest extends AbstractSarlTest {
+
+	@Nullable
+	private List<String> runs;
+
+	@Nullable
+	private TimingWheelScheduler scheduler;
+
+	@Before
+	public void setUp() {
+		this.runs = new ArrayList<>();
+		// Small wheels for testing the cascades between the levels.
+		this.scheduler = new TimingWheelScheduler(Duration.ofMillis(10), 4, new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		});
+	}
+
+	private Runnable command(final String name) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				TimingWheelSchedulerTest.this.runs.add(name + "@" + TimingWheelSchedulerTest.this.scheduler.getCurrentTick());
+			}
+		};
+	}
+
+	@Test
+	public void schedule_roundedDelay() {
+		this.scheduler.schedule(null, Duration.ofMillis(25), command("a"));
+		this.scheduler.schedule(null, Duration.ZERO, command("b"));
+		assertEquals(2, this.scheduler.size());
+		this.scheduler.advance(5);
+		assertEquals(0, this.scheduler.size());
+		assertEquals(2, this.runs.size());
+		assertEquals("b@1", this.runs.get(0));
+		assertEquals("a@3", this.runs.get(1));
+	}
+
+	@Test
+	public void schedule_cascades() {
+		Random random = new Random(1234);
+		List<Long> deadlines = new ArrayList<>();
+		for (int i = 0; i < 500; ++i) {
+			long delay = 1 + random.nextInt(2000);
+			deadlines.add(delay);
+			this.scheduler.schedule(null, Duration.ofMillis(delay * 10), command(Long.toString(delay)));
+		}
+		this.scheduler.advance(37);
+		for (int i = 0; i < 500; ++i) {
+			long delay = 1 + random.nextInt(2000);
+			deadlines.add(37 + delay);
+			this.scheduler.schedule(null, Duration.ofMillis(delay * 10), command(Long.toString(37 + delay)));
+		}
+		this.scheduler.advance(2100);
+		assertEquals(1000, this.runs.size());
+		for (String run : this.runs) {
+			String[] parts = run.split("@");
+			assertEquals(parts[0], parts[1]);
+		}
+	}
+
+	@Test
+	public void schedule_batch() {
+		this.scheduler.schedule(null, Duration.ofMillis(100), command("a"));
+		this.scheduler.schedule(null, Duration.ofMillis(95), command("b"));
+		this.scheduler.schedule(null, Duration.ofMillis(110), command("c"));
+		assertEquals(0, this.scheduler.advance(9));
+		assertEquals(2, this.scheduler.tick());
+		assertEquals(1, this.scheduler.tick());
+	}
+
+	@Test
+	public void schedule_periodic() {
+		Timeout timeout = this.scheduler.schedule(null, Duration.ofMillis(20), Duration.ofMillis(30), command("a"));
+		this.scheduler.advance(10);
+		assertEquals(3, this.runs.size());
+		assertEquals("a@2", this.runs.get(0));
+		assertEquals("a@5", this.runs.get(1));
+		assertEquals("a@8", this.runs.get(2));
+		assertFalse(timeout.isExpired());
+		assertEquals(1, this.scheduler.size());
+		assertTrue(timeout.cancel());
+		this.scheduler.advance(10);
+		assertEquals(3, this.runs.size());
+		assertEquals(0, this.scheduler.size());
+	}
+
+	@Test
+	public void cancel() {
+		Timeout t1 = this.scheduler.schedule(null, Duration.ofMillis(500), command("a"));
+		Timeout t2 = this.scheduler.schedule(null, Duration.ofMillis(500), command("b"));
+		assertTrue(t1.cancel());
+		assertTrue(t1.isCancelled());
+		assertFalse(t1.cancel());
+		assertEquals(1, this.scheduler.size());
+		this.scheduler.advance(100);
+		assertEquals(1, this.runs.size());
+		assertEquals("b@50", this.runs.get(0));
+		assertTrue(t2.isExpired());
+		assertFalse(t2.cancel());
+	}
+
+	@Test
+	public void cancelAll() {
+		UUID agent1 = UUID.randomUUID();
+		UUID agent2 = UUID.randomUUID();
+		this.scheduler.schedule(agent1, Duration.ofMillis(50), command("a"));
+		Timeout t = this.scheduler.schedule(agent1, Duration.ofMillis(10), Duration.ofMillis(10), command("b"));
+		this.scheduler.schedule(agent2, Duration.ofMillis(50), command("c"));
+		this.scheduler.schedule(agent1, Duration.ofMillis(5000), command("d"));
+		assertEquals(3, this.scheduler.getTaskCount(agent1));
+		assertEquals(1, this.scheduler.getTaskCount(agent2));
+		assertEquals(3, this.scheduler.cancelAll(agent1));
+		assertTrue(t.isCancelled());
+		assertEquals(0, this.scheduler.getTaskCount(agent1));
+		assertEquals(1, this.scheduler.size());
+		this.scheduler.advance(1000);
+		assertEquals(1, this.runs.size());
+		assertEquals("c@5", this.runs.get(0));
+		assertEquals(0, this.scheduler.getTaskCount(agent2));
+		assertEquals(0, this.scheduler.cancelAll(agent2));
+	}
+
+	@Test
+	public void cancel_ownerList() {
+		UUID agent = UUID.randomUUID();
+		Timeout t1 = this.scheduler.schedule(agent, Duration.ofMillis(50), command("a"));
+		Timeout t2 = this.scheduler.schedule(agent, Duration.ofMillis(50), command("b"));
+		Timeout t3 = this.scheduler.schedule(agent, Duration.ofMillis(50), command("c"));
+		t2.cancel();
+		assertEquals(2, this.scheduler.getTaskCount(agent));
+		t3.cancel();
+		assertEquals(1, this.scheduler.getTaskCount(agent));
+		assertEquals(1, this.scheduler.cancelAll(agent));
+		assertTrue(t1.isCancelled());
+	}
+
+}
@@ -20,6 +20,7 @@
  */
 package io.sarl.lang.core.tests.core;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
@@ -28,6 +29,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import io.sarl.lang.core.Address;
 import io.sarl.lang.core.Agent;
+import io.sarl.lang.core.BuiltinCapacitiesProvider;
 import io.sarl.lang.core.Capacity;
 import io.sarl.lang.core.Event;
 import io.sarl.lang.core.Skill;
@@ -35,8 +37,12 @@ import io.sarl.lang.core.UnimplementedCapacityException;
 import io.sarl.tests.api.AbstractSarlTest;
 import io.sarl.tests.api.Nullable;
 
+import java.lang.reflect.Method;
 import java.security.InvalidParameterException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -295,6 +301,97 @@ public class AgentTest extends AbstractSarlTest {
 		}
 	}
 
+	/**
+	 * @throws Exception
+	 */
+	@Test
+	public void setBuiltinCapacitiesProvider() throws Exception {
+		final Skill s1 = new Skill1();
+		final Skill s2 = new Skill2();
+		final Map<Class<? extends Capacity>, Skill> builtinCapacities = new HashMap<>();
+		builtinCapacities.put(Capacity1.class, s1);
+		builtinCapacities.put(Capacity2.class, s2);
+		BuiltinCapacitiesProvider provider = Mockito.mock(BuiltinCapacitiesProvider.class);
+		Mockito.doReturn(builtinCapacities).when(provider).getBuiltinCapacities(this.agent);
+		// The function is invoked by the injector of the run-time environment.
+		Method method = Agent.class.getDeclaredMethod("setBuiltinCapacitiesProvider", BuiltinCapacitiesProvider.class);
+		method.setAccessible(true);
+		method.invoke(this.agent, provider);
+
+		assertSkill(Capacity1.class, s1);
+		assertSkill(Capacity2.class, s2);
+		assertNoSkill(Skill1.class);
+
+		this.agent.clearSkill(Capacity1.class);
+		assertNoSkill(Capacity1.class);
+		assertSkill(Capacity2.class, s2);
+	}
+
+	/**
+	 */
+	@Test
+	public void setSkill_arrayGrowth() {
+		Skill s1 = new Skill1();
+		this.agent.setSkill(Capacity1.class, s1);
+		// The capacities are used for the first time, so that their identifiers are
+		// greater than the size of the skill array.
+		Skill s4 = new Skill4();
+		this.agent.setSkill(Capacity4.class, s4);
+		Skill s5 = new Skill5();
+		this.agent.setSkill(Capacity5.class, s5);
+
+		assertSkill(Capacity1.class, s1);
+		assertSkill(Capacity4.class, s4);
+		assertSkill(Capacity5.class, s5);
+		assertNoSkill(Capacity2.class);
+
+		assertSame(s4, this.agent.clearSkill(Capacity4.class));
+		assertNoSkill(Capacity4.class);
+		assertSkill(Capacity1.class, s1);
+		assertSkill(Capacity5.class, s5);
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	@Test
+	public void setSkill_copyOnWrite() throws Exception {
+		final Skill s1 = new Skill1();
+		final Skill s2 = new Skill2();
+		final AgentMock agent = new AgentMock(this.id);
+		agent.setSkill(Capacity1.class, s1);
+		final AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread writer = new Thread() {
+			@Override
+			public void run() {
+				try {
+					for (int i = 0; i < 10000; ++i) {
+						agent.setSkill(Capacity2.class, s2);
+						agent.clearSkill(Capacity2.class);
+					}
+				} catch (Throwable exception) {
+					error.set(exception);
+				}
+			}
+		};
+		writer.start();
+		// The readers see a consistent array of skills while the writer is replacing it.
+		while (writer.isAlive()) {
+			assertSame(s1, agent.getSkill(Capacity1.class));
+			if (agent.hasSkill(Capacity2.class)) {
+				try {
+					assertSame(s2, agent.getSkill(Capacity2.class));
+				} catch (UnimplementedCapacityException _) {
+					// The skill was cleared between the two calls.
+				}
+			}
+		}
+		writer.join();
+		assertEquals(null, error.get());
+		assertSame(s1, agent.getSkill(Capacity1.class));
+		assertFalse(agent.hasSkill(Capacity2.class));
+	}
+
 	/**
 	 */
 	@Test
@@ -467,4 +564,48 @@ public class AgentTest extends AbstractSarlTest {
 		}
 	}
 
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static interface Capacity4 extends Capacity {
+		//
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static interface Capacity5 extends Capacity {
+		//
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class Skill4 extends Skill implements Capacity4 {
+		public Skill4() {
+			//
+		}
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class Skill5 extends Skill implements Capacity5 {
+		public Skill5() {
+			//
+		}
+	}
+
 }
@@ -0,0 +1,248 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core.tests.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.CompactEventCodec;
+import io.sarl.lang.core.DecodingMarker;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.EventInput;
+import io.sarl.lang.core.EventOutput;
+import io.sarl.lang.core.EventSpaceSpecification;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.tests.api.AbstractSarlTest;
+import io.sarl.tests.api.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class CompactEventCodecTest extends AbstractSarlTest {
+
+	@Nullable
+	private CompactEventCodec codec;
+
+	@Nullable
+	private Address source;
+
+	@Before
+	public void setUp() {
+		this.codec = new CompactEventCodec(getClass().getClassLoader());
+		SpaceID spaceID = new SpaceID(UUID.randomUUID(), UUID.randomUUID(), EventSpaceSpecification.class);
+		this.source = new Address(spaceID, UUID.randomUUID());
+	}
+
+	private CompactEvent newEvent() {
+		CompactEvent event = new CompactEvent(this.source);
+		event.name = "héllo";
+		event.count = -12345;
+		event.stamp = Long.MAX_VALUE;
+		event.ratio = 0.5;
+		event.flag = true;
+		event.target = UUID.randomUUID();
+		event.value = new ArrayList<>(Arrays.asList("a", "b"));
+		return event;
+	}
+
+	@Test
+	public void compactEvent() throws IOException {
+		CompactEvent event = newEvent();
+		Event decoded = this.codec.decode(this.codec.encode(event));
+		assertNotSame(event, decoded);
+		assertEquals(event, decoded);
+		assertEquals(event.value, ((CompactEvent) decoded).value);
+	}
+
+	@Test
+	public void compactEvent_spaceSpecification() throws IOException {
+		Event decoded = this.codec.decode(this.codec.encode(newEvent()));
+		assertSame(EventSpaceSpecification.class, decoded.getSource().getSpaceId().getSpaceSpecification());
+	}
+
+	@Test
+	public void compactEvent_nullValues() throws IOException {
+		CompactEvent event = new CompactEvent((Address) null);
+		Event decoded = this.codec.decode(this.codec.encode(event));
+		assertEquals(event, decoded);
+		assertNull(decoded.getSource());
+	}
+
+	@Test
+	public void compactEvent_nested() throws IOException {
+		CompactEvent event = newEvent();
+		CompactEvent nested = newEvent();
+		event.value = nested;
+		CompactEvent decoded = (CompactEvent) this.codec.decode(this.codec.encode(event));
+		assertEquals(nested, decoded.value);
+	}
+
+	@Test
+	public void compactEvent_registeredClass() throws IOException {
+		CompactEvent event = newEvent();
+		byte[] unregistered = this.codec.encode(event);
+		this.codec.registerClass(CompactEvent.class, 1);
+		this.codec.registerClass(EventSpaceSpecification.class, 2);
+		byte[] registered = this.codec.encode(event);
+		assertTrue(registered.length < unregistered.length);
+		assertEquals(event, this.codec.decode(registered));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void registerClass_conflict() {
+		this.codec.registerClass(CompactEvent.class, 1);
+		this.codec.registerClass(SerializedEvent.class, 1);
+	}
+
+	@Test
+	public void compactEvent_smallerThanSerialization() throws IOException {
+		CompactEvent event = newEvent();
+		event.value = null;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream stream = new ObjectOutputStream(bytes)) {
+			stream.writeObject(event);
+		}
+		this.codec.registerClass(CompactEvent.class, 1);
+		this.codec.registerClass(EventSpaceSpecification.class, 2);
+		assertTrue(this.codec.encode(event).length * 4 < bytes.size());
+	}
+
+	@Test
+	public void serializedEvent() throws IOException {
+		SerializedEvent event = new SerializedEvent(this.source);
+		event.name = "abc";
+		Event decoded = this.codec.decode(this.codec.encode(event));
+		assertEquals(event, decoded);
+		assertEquals("abc", ((SerializedEvent) decoded).name);
+	}
+
+	@Test
+	public void deterministic() throws IOException {
+		CompactEvent event = newEvent();
+		assertArrayEquals(this.codec.encode(event), this.codec.encode(event));
+	}
+
+	@Test
+	public void nullSource() {
+		// Must compile: the decoding constructor must not collide with the address constructor.
+		CompactEvent event = new CompactEvent(null);
+		assertNull(event.getSource());
+	}
+
+	/** Event with the functions that are generated by the SARL compiler.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class CompactEvent extends Event {
+
+		public String name;
+		public int count;
+		public long stamp;
+		public double ratio;
+		public boolean flag;
+		public UUID target;
+		public Object value;
+
+		public CompactEvent(Address source) {
+			super(source);
+		}
+
+		protected CompactEvent(EventInput in, DecodingMarker marker) throws IOException {
+			super(in, marker);
+			this.name = in.readString();
+			this.count = in.readVarInt();
+			this.stamp = in.readVarLong();
+			this.ratio = in.readDouble();
+			this.flag = in.readBoolean();
+			this.target = in.readUUID();
+			this.value = in.readObject();
+		}
+
+		@Override
+		protected void writeTo(EventOutput out) throws IOException {
+			super.writeTo(out);
+			out.writeString(this.name);
+			out.writeVarInt(this.count);
+			out.writeVarLong(this.stamp);
+			out.writeDouble(this.ratio);
+			out.writeBoolean(this.flag);
+			out.writeUUID(this.target);
+			out.writeObject(this.value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!super.equals(obj)) {
+				return false;
+			}
+			CompactEvent other = (CompactEvent) obj;
+			return (this.name == null ? other.name == null : this.name.equals(other.name))
+					&& this.count == other.count && this.stamp == other.stamp
+					&& this.ratio == other.ratio && this.flag == other.flag
+					&& (this.target == null ? other.target == null : this.target.equals(other.target));
+		}
+
+		@Override
+		public int hashCode() {
+			return super.hashCode() + this.count;
+		}
+
+	}
+
+	/** Event without the functions that are generated by the SARL compiler.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class SerializedEvent extends Event {
+
+		public String name;
+
+		public SerializedEvent(Address source) {
+			super(source);
+		}
+
+	}
+
+}
@@ -0,0 +1,249 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core.tests.core;
+
+import static org.junit.Assert.*;
+import io.sarl.lang.core.Agent;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.EventDispatchTable;
+import io.sarl.lang.core.PerceptHandler;
+import io.sarl.tests.api.AbstractSarlTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class EventDispatchTableTest extends AbstractSarlTest {
+
+	@Test
+	public void of_withoutTable() {
+		EventDispatchTable<?> table = EventDispatchTable.of(Agent.class);
+		assertNotNull(table);
+		assertTrue(table.getSupportedEvents().isEmpty());
+		assertEquals(0, table.getHandlers(E1.class).length);
+	}
+
+	@Test
+	public void of_withTable() {
+		assertSame(AgentMock1.TABLE, EventDispatchTable.of(AgentMock1.class));
+		assertSame(AgentMock2.TABLE, EventDispatchTable.of(AgentMock2.class));
+		assertSame(AgentMock2.TABLE, EventDispatchTable.of(AgentMock3.class));
+	}
+
+	@Test
+	public void getSupportedEvents() {
+		assertEquals(Arrays.asList(E1.class), new ArrayList<>(AgentMock1.TABLE.getSupportedEvents()));
+		assertEquals(Arrays.asList(E1.class, E2.class), new ArrayList<>(AgentMock2.TABLE.getSupportedEvents()));
+	}
+
+	@Test
+	public void isSupportedEvent() {
+		assertTrue(AgentMock1.TABLE.isSupportedEvent(E1.class));
+		assertTrue(AgentMock1.TABLE.isSupportedEvent(E2.class));
+		assertFalse(AgentMock1.TABLE.isSupportedEvent(E3.class));
+		assertTrue(AgentMock2.TABLE.isSupportedEvent(E1.class));
+		assertTrue(AgentMock2.TABLE.isSupportedEvent(E2.class));
+		assertFalse(AgentMock2.TABLE.isSupportedEvent(E3.class));
+	}
+
+	@Test
+	public void getHandlers() {
+		assertEquals(2, AgentMock1.TABLE.getHandlers(E1.class).length);
+		assertEquals(2, AgentMock1.TABLE.getHandlers(E2.class).length);
+		assertEquals(0, AgentMock1.TABLE.getHandlers(E3.class).length);
+		// The unit "_handle_E1_1" is overridden in AgentMock2
+		assertEquals(2, AgentMock2.TABLE.getHandlers(E1.class).length);
+		assertEquals(3, AgentMock2.TABLE.getHandlers(E2.class).length);
+		assertEquals(0, AgentMock2.TABLE.getHandlers(E3.class).length);
+	}
+
+	@Test
+	public void dispatch_declaredUnits() {
+		AgentMock1 agent = new AgentMock1();
+		assertTrue(agent._dispatchEvent(new E1()));
+		assertEquals(Arrays.asList("1:E1_0", "1:E1_1"), agent.calls);
+	}
+
+	@Test
+	public void dispatch_eventSubtype() {
+		AgentMock1 agent = new AgentMock1();
+		assertTrue(agent._dispatchEvent(new E2()));
+		assertEquals(Arrays.asList("1:E1_0", "1:E1_1"), agent.calls);
+	}
+
+	@Test
+	public void dispatch_unsupportedEvent() {
+		AgentMock1 agent = new AgentMock1();
+		assertFalse(agent._dispatchEvent(new E3()));
+		assertTrue(agent.calls.isEmpty());
+	}
+
+	@Test
+	public void dispatch_inheritedUnits() {
+		AgentMock2 agent = new AgentMock2();
+		assertTrue(agent._dispatchEvent(new E2()));
+		assertEquals(Arrays.asList("1:E1_0", "2:E1_1", "2:E2_0"), agent.calls);
+	}
+
+	@Test
+	public void dispatch_withoutGeneratedFunction() {
+		AgentMock3 agent = new AgentMock3();
+		assertTrue(agent._dispatchEvent(new E1()));
+		assertEquals(Arrays.asList("1:E1_0", "2:E1_1"), agent.calls);
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class E1 extends Event {
+		//
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class E2 extends E1 {
+		//
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class E3 extends Event {
+		//
+	}
+
+	/** Agent that is written as the SARL compiler generates it.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class AgentMock1 extends Agent {
+
+		static final EventDispatchTable<AgentMock1> TABLE = EventDispatchTable.builder(AgentMock1.class)
+				.add(E1.class, "_handle_E1_0", new PerceptHandler<AgentMock1>() {
+					@Override
+					public void handle(AgentMock1 receiver, Event occurrence) {
+						receiver._handle_E1_0((E1) occurrence);
+					}
+				})
+				.add(E1.class, "_handle_E1_1", new PerceptHandler<AgentMock1>() {
+					@Override
+					public void handle(AgentMock1 receiver, Event occurrence) {
+						receiver._handle_E1_1((E1) occurrence);
+					}
+				})
+				.build();
+
+		final List<String> calls = new ArrayList<>();
+
+		public AgentMock1() {
+			super(UUID.randomUUID());
+		}
+
+		public void _handle_E1_0(E1 occurrence) {
+			this.calls.add("1:E1_0");
+		}
+
+		public void _handle_E1_1(E1 occurrence) {
+			this.calls.add("1:E1_1");
+		}
+
+		@Override
+		public boolean _dispatchEvent(Event occurrence) {
+			return TABLE.dispatch(this, occurrence);
+		}
+
+	}
+
+	/** Agent that is written as the SARL compiler generates it.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class AgentMock2 extends AgentMock1 {
+
+		static final EventDispatchTable<AgentMock2> TABLE = EventDispatchTable.builder(AgentMock2.class)
+				.add(E1.class, "_handle_E1_1", new PerceptHandler<AgentMock2>() {
+					@Override
+					public void handle(AgentMock2 receiver, Event occurrence) {
+						receiver._handle_E1_1((E1) occurrence);
+					}
+				})
+				.add(E2.class, "_handle_E2_0", new PerceptHandler<AgentMock2>() {
+					@Override
+					public void handle(AgentMock2 receiver, Event occurrence) {
+						receiver._handle_E2_0((E2) occurrence);
+					}
+				})
+				.build();
+
+		@Override
+		public void _handle_E1_1(E1 occurrence) {
+			this.calls.add("2:E1_1");
+		}
+
+		public void _handle_E2_0(E2 occurrence) {
+			this.calls.add("2:E2_0");
+		}
+
+		@Override
+		public boolean _dispatchEvent(Event occurrence) {
+			return TABLE.dispatch(this, occurrence);
+		}
+
+	}
+
+	/** Agent without behavior unit and without generated dispatching function.
+	 *
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class AgentMock3 extends AgentMock2 {
+		//
+	}
+
+}
@@ -0,0 +1,280 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Event;
+import io.sarl.lang.core.EventField;
+import io.sarl.lang.core.EventFieldAccessor;
+import io.sarl.lang.core.EventMetadata;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.tests.api.AbstractSarlTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class EventMetadataTest extends AbstractSarlTest {
+
+	private static Address newAddress() {
+		return new Address(new SpaceID(UUID.randomUUID(), UUID.randomUUID(), null), UUID.randomUUID());
+	}
+
+	@Test
+	public void of_event() {
+		EventMetadata<? super Event> metadata = EventMetadata.of(Event.class);
+		assertSame(Event.class, metadata.getType());
+		assertEquals(1, metadata.getFields().size());
+		assertEquals("source", metadata.getFields().get(0).getName());
+	}
+
+	@Test
+	public void of_declaredMetadata() {
+		EventMetadata<? super SubEvent1> metadata = EventMetadata.of(SubEvent1.class);
+		assertSame(SubEvent1.class, metadata.getType());
+		List<? extends EventField<?>> fields = metadata.getFields();
+		assertEquals(3, fields.size());
+		assertEquals("source", fields.get(0).getName());
+		assertEquals("name", fields.get(1).getName());
+		assertEquals("count", fields.get(2).getName());
+	}
+
+	@Test
+	public void of_inheritedMetadata() {
+		// The type must be initialized for registering its metadata.
+		new SubEvent2();
+		EventMetadata<? super SubEvent3> metadata = EventMetadata.of(SubEvent3.class);
+		assertSame(SubEvent2.class, metadata.getType());
+		assertEquals(4, metadata.getFields().size());
+		assertEquals("flag", metadata.getFields().get(3).getName());
+	}
+
+	@Test
+	public void of_uninitializedType() {
+		// SubEvent4 and SubEvent5 are not used by the other tests, so that they are not initialized yet.
+		EventMetadata<? super SubEvent5> metadata = EventMetadata.of(SubEvent5.class);
+		assertSame(SubEvent4.class, metadata.getType());
+		assertEquals(2, metadata.getFields().size());
+		assertEquals("value", metadata.getFields().get(1).getName());
+	}
+
+	@Test
+	public void getField() {
+		EventMetadata<? super SubEvent1> metadata = EventMetadata.of(SubEvent1.class);
+		EventField<? super SubEvent1> field = metadata.getField("count");
+		assertEquals("count", field.getName());
+		assertSame(int.class, field.getType());
+		assertSame(SubEvent1.class, field.getDeclaringType());
+		assertTrue(field.isFinal());
+		assertFalse(metadata.getField("name").isFinal());
+		assertNull(metadata.getField("unknown"));
+	}
+
+	@Test
+	public void getSet() {
+		SubEvent1 event = new SubEvent1(5);
+		EventMetadata<? super SubEvent1> metadata = EventMetadata.of(SubEvent1.class);
+		metadata.getField("name").set(event, "abc");
+		assertEquals("abc", event.name);
+		assertEquals("abc", metadata.getField("name").get(event));
+		assertEquals(5, metadata.getField("count").get(event));
+		Address adr = newAddress();
+		metadata.getField("source").set(event, adr);
+		assertSame(adr, event.getSource());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void set_finalField() {
+		EventMetadata.of(SubEvent1.class).getField("count").set(new SubEvent1(5), 6);
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void set_invalidType() {
+		EventMetadata.of(SubEvent1.class).getField("name").set(new SubEvent1(5), 6);
+	}
+
+	@Test
+	public void copy() {
+		SubEvent3 event = new SubEvent3();
+		event.setSource(newAddress());
+		event.name = "abc";
+		event.flag = true;
+		SubEvent3 copy = EventMetadata.of(SubEvent3.class).copy(event);
+		assertNotSame(event, copy);
+		assertSame(SubEvent3.class, copy.getClass());
+		assertEquals(event, copy);
+		copy.name = "def";
+		assertEquals("abc", event.name);
+	}
+
+	@Test
+	public void copyWithSource() {
+		SubEvent1 event = new SubEvent1(5);
+		Address source = newAddress();
+		event.setSource(source);
+		event.name = "abc";
+		Address newSource = newAddress();
+		SubEvent1 copy = EventMetadata.of(SubEvent1.class).copyWithSource(event, newSource);
+		assertSame(newSource, copy.getSource());
+		assertSame(source, event.getSource());
+		assertEquals("abc", copy.name);
+		assertEquals(5, copy.count);
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class SubEvent1 extends Event {
+
+		private static final EventMetadata<SubEvent1> METADATA = EventMetadata.builder(SubEvent1.class)
+				.add("name", String.class, new EventFieldAccessor<SubEvent1>() {
+					@Override
+					public Object get(SubEvent1 event) {
+						return event.name;
+					}
+
+					@Override
+					public void set(SubEvent1 event, Object value) {
+						event.name = (String) value;
+					}
+				})
+				.addFinal("count", int.class, new EventFieldAccessor<SubEvent1>() {
+					@Override
+					public Object get(SubEvent1 event) {
+						return event.count;
+					}
+				})
+				.build();
+
+		public String name;
+
+		public final int count;
+
+		public SubEvent1(int count) {
+			this.count = count;
+		}
+
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class SubEvent2 extends SubEvent1 {
+
+		private static final EventMetadata<SubEvent2> METADATA = EventMetadata.builder(SubEvent2.class)
+				.add("flag", boolean.class, new EventFieldAccessor<SubEvent2>() {
+					@Override
+					public Object get(SubEvent2 event) {
+						return event.flag;
+					}
+
+					@Override
+					public void set(SubEvent2 event, Object value) {
+						event.flag = (boolean) value;
+					}
+				})
+				.build();
+
+		public boolean flag;
+
+		public SubEvent2() {
+			super(1);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return super.equals(obj) && ((SubEvent2) obj).flag == this.flag;
+		}
+
+		@Override
+		public int hashCode() {
+			return super.hashCode();
+		}
+
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class SubEvent3 extends SubEvent2 {
+		//
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class SubEvent4 extends Event {
+
+		private static final EventMetadata<SubEvent4> METADATA = EventMetadata.builder(SubEvent4.class)
+				.add("value", Object.class, new EventFieldAccessor<SubEvent4>() {
+					@Override
+					public Object get(SubEvent4 event) {
+						return event.value;
+					}
+
+					@Override
+					public void set(SubEvent4 event, Object value) {
+						event.value = value;
+					}
+				})
+				.build();
+
+		public Object value;
+
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class SubEvent5 extends SubEvent4 {
+		//
+	}
+
+}
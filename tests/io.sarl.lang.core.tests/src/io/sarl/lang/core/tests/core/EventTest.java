@@ -150,4 +150,103 @@ public class EventTest extends AbstractSarlTest {
 		assertFalse(this.event.isFrom(id1));
 	}
 
+
+	@Test
+	public void testToString() {
+		Address adr = mockAddress(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+		SubEvent e = new SubEvent();
+		e.setSource(adr);
+		e.name = "abc";
+		assertEquals("SubEvent [source = " + adr + ", name = abc]", e.toString());
+	}
+
+	@Test
+	public void attributesToString() {
+		SubEvent e = new SubEvent();
+		e.name = "abc";
+		StringBuilder builder = new StringBuilder("x");
+		e.attributesToString(builder);
+		assertEquals("xsource = null, name = abc", builder.toString());
+		assertEquals("source = null, name = abc", e.attributesToString());
+	}
+
+	@Test
+	public void testToString_legacyAttributesToString() {
+		LegacyEvent e = new LegacyEvent();
+		e.value = 5;
+		assertEquals("LegacyEvent [source = null, value = 5]", e.toString());
+	}
+
+	@Test
+	public void testToString_legacyAttributesToStringInSuperType() {
+		SubLegacyEvent e = new SubLegacyEvent();
+		e.value = 5;
+		e.name = "abc";
+		assertEquals("SubLegacyEvent [source = null, name = abc, value = 5]", e.toString());
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class SubEvent extends Event {
+
+		private static final long serialVersionUID = 2465742003862468722L;
+
+		public String name;
+
+		@Override
+		public void attributesToString(StringBuilder result) {
+			super.attributesToString(result);
+			result.append(", name = ").append(this.name);
+		}
+
+		@Override
+		public String attributesToString() {
+			return super.attributesToString();
+		}
+
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class LegacyEvent extends Event {
+
+		private static final long serialVersionUID = -4393214339346337437L;
+
+		public int value;
+
+		@Override
+		protected String attributesToString() {
+			return super.attributesToString() + ", value = " + this.value;
+		}
+
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class SubLegacyEvent extends LegacyEvent {
+
+		private static final long serialVersionUID = 5530768201361208614L;
+
+		public String name;
+
+		@Override
+		protected void attributesToString(StringBuilder result) {
+			super.attributesToString(result);
+			result.append(", name = ").append(this.name);
+		}
+
+	}
+
 }
@@ -0,0 +1,165 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.core.tests.core;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import io.sarl.lang.core.Agent;
+import io.sarl.lang.core.Capacity;
+import io.sarl.lang.core.Skill;
+import io.sarl.lang.core.SkillCache;
+import io.sarl.lang.core.UnimplementedCapacityException;
+import io.sarl.tests.api.AbstractSarlTest;
+import io.sarl.tests.api.Nullable;
+
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class SkillCacheTest extends AbstractSarlTest {
+
+	@Nullable
+	private AgentMock agent;
+
+	@Nullable
+	private SkillCache<Capacity1> cache;
+
+	@Before
+	public void setUp() {
+		this.agent = new AgentMock();
+		this.cache = new SkillCache<>(Capacity1.class);
+	}
+
+	@Test
+	public void getCapacity() {
+		assertSame(Capacity1.class, this.cache.getCapacity());
+	}
+
+	@Test(expected = UnimplementedCapacityException.class)
+	public void get_noSkill() {
+		this.cache.get(this.agent);
+	}
+
+	@Test
+	public void get_skill() {
+		Skill1 s = new Skill1();
+		this.agent.setSkill(Capacity1.class, s);
+		assertSame(s, this.cache.get(this.agent));
+		assertSame(s, this.cache.get(this.agent));
+	}
+
+	@Test
+	public void get_afterSetSkill() {
+		Skill1 s1 = new Skill1();
+		this.agent.setSkill(Capacity1.class, s1);
+		assertSame(s1, this.cache.get(this.agent));
+		Skill1 s2 = new Skill1();
+		this.agent.setSkill(Capacity1.class, s2);
+		assertSame(s2, this.cache.get(this.agent));
+	}
+
+	@Test
+	public void get_afterClearSkill() {
+		this.agent.setSkill(Capacity1.class, new Skill1());
+		this.cache.get(this.agent);
+		this.agent.clearSkill(Capacity1.class);
+		try {
+			this.cache.get(this.agent);
+			fail("Expecting the exception UnimplementedCapacityException, but got no exception."); //$NON-NLS-1$
+		} catch (UnimplementedCapacityException _) {
+			//
+		}
+	}
+
+	@Test
+	public void get_otherAgent() {
+		Skill1 s1 = new Skill1();
+		this.agent.setSkill(Capacity1.class, s1);
+		AgentMock agent2 = new AgentMock();
+		Skill1 s2 = new Skill1();
+		agent2.setSkill(Capacity1.class, s2);
+		assertSame(s1, this.cache.get(this.agent));
+		assertSame(s2, this.cache.get(agent2));
+		assertSame(s1, this.cache.get(this.agent));
+	}
+
+	@Test
+	public void clear() {
+		Skill1 s = new Skill1();
+		this.agent.setSkill(Capacity1.class, s);
+		assertSame(s, this.cache.get(this.agent));
+		this.cache.clear();
+		assertSame(s, this.cache.get(this.agent));
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class AgentMock extends Agent {
+
+		public AgentMock() {
+			super(UUID.randomUUID());
+		}
+
+		@Override
+		public <S extends Skill> S setSkill(Class<? extends Capacity> capacity, S skill) {
+			return super.setSkill(capacity, skill);
+		}
+
+		@Override
+		public <S extends Skill & Capacity> S clearSkill(Class<? extends Capacity> capacity) {
+			return super.clearSkill(capacity);
+		}
+
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static interface Capacity1 extends Capacity {
+		//
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	public static class Skill1 extends Skill implements Capacity1 {
+		//
+	}
+
+}
@@ -271,4 +271,47 @@ public class ActionParameterTypesTest {
 		assertEquals("myfct()", prototype.toString());
 	}
 
+	@Test
+	public void toString_afterChange() {
+		ActionParameterTypes types = new ActionParameterTypes(true, 2);
+		types.add("int");
+		assertEquals("int", types.toString());
+		int hash = types.hashCode();
+		types.add("java.lang.String[]");
+		assertEquals("int,java.lang.String*", types.toString());
+		assertNotEquals(hash, types.hashCode());
+	}
+
+	@Test
+	public void intern_0() {
+		ActionParameterTypes types0 = new ActionParameterTypes("int,java.lang.String*").intern();
+		ActionParameterTypes types1 = new ActionParameterTypes("int, java.lang.String*").intern();
+		assertSame(types0, types1);
+		assertTrue(types0.isInterned());
+	}
+
+	@Test
+	public void intern_1() {
+		ActionParameterTypes types0 = new ActionParameterTypes("int,java.lang.String*").intern();
+		ActionParameterTypes types1 = new ActionParameterTypes("int,java.lang.String[]").intern();
+		assertNotSame(types0, types1);
+		assertNotEquals(types0, types1);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void intern_unmodifiable() {
+		ActionParameterTypes types = new ActionParameterTypes("int").intern();
+		types.add("float");
+	}
+
+	@Test
+	public void intern_clone() {
+		ActionParameterTypes types = new ActionParameterTypes("int").intern();
+		ActionParameterTypes c = types.clone();
+		assertFalse(c.isInterned());
+		c.add("float");
+		assertEquals("int,float", c.toString());
+		assertEquals("int", types.toString());
+	}
+
 }
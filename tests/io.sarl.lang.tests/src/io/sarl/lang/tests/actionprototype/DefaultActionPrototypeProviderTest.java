@@ -38,7 +38,9 @@ import io.sarl.lang.sarl.Action;
 import io.sarl.lang.sarl.Agent;
 import io.sarl.lang.sarl.Attribute;
 import io.sarl.lang.sarl.FormalParameter;
+import io.sarl.lang.sarl.SarlPackage;
 import io.sarl.lang.sarl.SarlScript;
+import io.sarl.lang.validation.IssueCodes;
 import io.sarl.tests.api.AbstractSarlTest;
 import io.sarl.tests.api.Nullable;
 
@@ -54,12 +56,16 @@ import org.eclipse.emf.common.util.ECollections;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.xtext.common.types.JvmAnnotationReference;
 import org.eclipse.xtext.common.types.JvmAnnotationType;
 import org.eclipse.xtext.common.types.JvmFormalParameter;
 import org.eclipse.xtext.common.types.JvmIdentifiableElement;
 import org.eclipse.xtext.common.types.JvmTypeReference;
 import org.eclipse.xtext.junit4.util.ParseHelper;
+import org.eclipse.xtext.junit4.validation.ValidationTestHelper;
 import org.eclipse.xtext.xbase.XExpression;
 import org.junit.Before;
 import org.junit.Test;
@@ -97,6 +103,15 @@ public class DefaultActionPrototypeProviderTest {
 		return container;
 	}
 
+	static JvmIdentifiableElement createJvmIdentifiableElementStub(ResourceSet resourceSet) {
+		Resource resource = new ResourceImpl(URI.createFileURI("/path/to/io/sarl/tests/Stub.sarl"));
+		resourceSet.getResources().add(resource);
+		JvmIdentifiableElement container = mock(JvmIdentifiableElement.class);
+		when(container.eResource()).thenReturn(resource);
+		when(container.getQualifiedName()).thenReturn("io.sarl.tests.Stub");
+		return container;
+	}
+
 	static void assertSameFormalParameters(List<? extends FormalParameter> expected, FormalParameterProvider actual) {
 		assertEquals(expected.size(), actual.getFormalParameterCount());
 		for (int i = 0; i < expected.size(); ++i) {
@@ -227,6 +242,9 @@ public class DefaultActionPrototypeProviderTest {
 		@Inject
 		private ParseHelper<SarlScript> parser;
 
+		@Inject
+		private ValidationTestHelper validator;
+
 		@Nullable
 		private FormalParameterProvider parameterProvider;
 
@@ -825,6 +843,78 @@ public class DefaultActionPrototypeProviderTest {
 			assertFalse(this.provider.getPrototypes(qn).iterator().hasNext());
 		}
 
+		@Test
+		public void resetPrototypesResource_createdProtype() {
+			JvmIdentifiableElement container = createJvmIdentifiableElementStub();
+			QualifiedActionName qn = this.provider.createQualifiedActionName(container, "myfct");
+			InferredPrototype prototype = this.provider.createPrototypeFromSarlModel(qn, false, this.sarlParameters);
+			//
+			assertTrue(this.provider.getPrototypes(qn).iterator().hasNext());
+			this.provider.clear(container.eResource());
+			assertFalse(this.provider.getPrototypes(qn).iterator().hasNext());
+		}
+
+		@Test
+		public void resetPrototypesResource_otherResourceSet() {
+			JvmIdentifiableElement container1 = createJvmIdentifiableElementStub(new ResourceSetImpl());
+			JvmIdentifiableElement container2 = createJvmIdentifiableElementStub(new ResourceSetImpl());
+			QualifiedActionName qn1 = this.provider.createQualifiedActionName(container1, "myfct");
+			QualifiedActionName qn2 = this.provider.createQualifiedActionName(container2, "myfct");
+			assertEquals(qn1, qn2);
+			this.provider.createPrototypeFromSarlModel(qn1, false, this.sarlParameters);
+			this.provider.createPrototypeFromSarlModel(qn2, false, this.sarlParameters);
+			//
+			this.provider.clear(container2.eResource());
+			assertTrue(this.provider.getPrototypes(qn1).iterator().hasNext());
+			assertFalse(this.provider.getPrototypes(qn2).iterator().hasNext());
+		}
+
+		@Test
+		public void getPrototypes_removedResource() {
+			JvmIdentifiableElement container = createJvmIdentifiableElementStub(new ResourceSetImpl());
+			QualifiedActionName qn = this.provider.createQualifiedActionName(container, "myfct");
+			this.provider.createPrototypeFromSarlModel(qn, false, this.sarlParameters);
+			//
+			Resource resource = container.eResource();
+			resource.getResourceSet().getResources().remove(resource);
+			assertFalse(this.provider.getPrototypes(qn).iterator().hasNext());
+		}
+
+		private void fillWithOtherResources() {
+			for (int i = 0; i < 2048; ++i) {
+				JvmIdentifiableElement other = createJvmIdentifiableElementStub();
+				QualifiedActionName otherQn = this.provider.createQualifiedActionName(other, "myfct");
+				this.provider.createPrototypeFromSarlModel(otherQn, false, this.sarlParameters);
+			}
+		}
+
+		@Test
+		public void getPrototypes_manyResources() {
+			JvmIdentifiableElement container = createJvmIdentifiableElementStub();
+			QualifiedActionName qn = this.provider.createQualifiedActionName(container, "myfct");
+			ActionParameterTypes types = this.provider.createParameterTypesFromSarlModel(false, this.sarlParameters);
+			InferredPrototype expected = this.provider.createPrototypeFromSarlModel(qn, false, this.sarlParameters);
+			//
+			fillWithOtherResources();
+			//
+			assertSame(expected, this.provider.getPrototypes(qn, types));
+		}
+
+		@Test
+		public void duplicateAction_manyResources() throws Exception {
+			SarlScript mas = this.parser.parse(multilineString(
+					"agent A1 {",
+					"def myaction(a : int) { }",
+					"def myaction(a : int) { }",
+					"}"
+					));
+			fillWithOtherResources();
+			this.validator.assertError(mas,
+					SarlPackage.eINSTANCE.getAction(),
+					IssueCodes.DUPLICATE_METHOD,
+					"Duplicate action in 'A1': myaction(a : int)");
+		}
+
 	}
 
 	/**
@@ -78,6 +78,12 @@ public class Bug23 extends AbstractSarlTest {
 		final String expectedMyAgentSpawned = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.core.Address;",
+				"import io.sarl.lang.core.DecodingMarker;",
+				"import io.sarl.lang.core.EventFieldAccessor;",
+				"import io.sarl.lang.core.EventInput;",
+				"import io.sarl.lang.core.EventMetadata;",
+				"import io.sarl.lang.core.EventOutput;",
+				"import java.io.IOException;",
 				"import java.util.UUID;",
 				"",
 				"@SuppressWarnings(\"all\")",
@@ -131,15 +137,54 @@ public class Bug23 extends AbstractSarlTest {
 				"  }",
 				"  ",
 				"  /**",
-				"   * Returns a String representation of the MyAgentSpawned event's attributes only.",
+				"   * Append a String representation of the MyAgentSpawned event's attributes only.",
+				"   * @param result - the receiver of the string representation.",
 				"   */",
 				"  @Generated",
-				"  protected String attributesToString() {",
-				"    StringBuilder result = new StringBuilder(super.attributesToString());",
+				"  protected void attributesToString(final StringBuilder result) {",
+				"    super.attributesToString(result);",
 				"    result.append(\"titi  = \").append(this.titi);",
-				"    return result.toString();",
 				"  }",
 				"  ",
+				"  /**",
+				"   * Construct an event from its binary representation.",
+				"   * @param input - the input that contains the binary representation of the event.",
+				"   * @param marker - the marker of the decoding constructors.",
+				"   * @throws IOException - if the event cannot be read.",
+				"   */",
+				"  @Generated",
+				"  protected MyAgentSpawned(final EventInput input, final DecodingMarker marker) throws IOException {",
+				"    super(input, marker);",
+				"    this.titi = input.readUUID();",
+				"  }",
+				"  ",
+				"  /**",
+				"   * Write the binary representation of the MyAgentSpawned event.",
+				"   * @param output - the output in which the event must be written.",
+				"   * @throws IOException - if the event cannot be written.",
+				"   */",
+				"  @Override",
+				"  @Generated",
+				"  protected void writeTo(final EventOutput output) throws IOException {",
+				"    super.writeTo(output);",
+				"    output.writeUUID(this.titi);",
+				"  }",
+				"  ",
+				"  @Generated",
+				"  private final static EventMetadata<MyAgentSpawned> ___EVENT_METADATA = EventMetadata.builder(MyAgentSpawned.class)",
+				"      .add(\"titi\", UUID.class, new EventFieldAccessor<MyAgentSpawned>() {",
+				"        @Override",
+				"        public Object get(final MyAgentSpawned event) {",
+				"          return event.titi;",
+				"        }",
+				"        ",
+				"        @Override",
+				"        public void set(final MyAgentSpawned event, final Object value) {",
+				"          event.titi = (UUID) value;",
+				"        }",
+				"      })",
+				"      .build();",
+				"  ",
 				"  @Generated",
 				"  private final static long serialVersionUID = -267285920L;",
 				"}",
@@ -144,6 +144,7 @@ public class Bug294 {
 			assertNotNull(overridableOperations);
 			assertActionKeys(overridableOperations.keySet(),
 					"attributesToString()",
+					"attributesToString(java.lang.StringBuilder)",
 					"getOwner()",
 					"getSkill(java.lang.Class<S>)",
 					"install()",
@@ -183,6 +184,7 @@ public class Bug294 {
 			assertNotNull(overridableOperations);
 			assertActionKeys(overridableOperations.keySet(),
 					"attributesToString()",
+					"attributesToString(java.lang.StringBuilder)",
 					"getOwner()",
 					"getSkill(java.lang.Class<S>)",
 					"install()",
@@ -243,6 +245,7 @@ public class Bug294 {
 			assertNotNull(overridableOperations);
 			assertActionKeys(overridableOperations.keySet(),
 					"attributesToString()",
+					"attributesToString(java.lang.StringBuilder)",
 					"getOwner()",
 					"getSkill(java.lang.Class<S>)",
 					"install()",
@@ -303,6 +306,7 @@ public class Bug294 {
 			assertNotNull(overridableOperations);
 			assertActionKeys(overridableOperations.keySet(),
 					"attributesToString()",
+					"attributesToString(java.lang.StringBuilder)",
 					"getOwner()",
 					"getSkill(java.lang.Class<S>)",
 					"install()",
@@ -294,6 +294,7 @@ public class Bug92 extends AbstractSarlTest {
 		final String expected2 = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.annotation.ImportedCapacityFeature;",
+				"import io.sarl.lang.core.SkillCache;",
 				"import java.util.UUID;",
 				"",
 				"@SuppressWarnings(\"all\")",
@@ -302,6 +303,9 @@ public class Bug92 extends AbstractSarlTest {
 				"  ",
 				"  protected Double wantedIntensity;",
 				"  ",
+				"  @Generated",
+				"  private final transient SkillCache<ComputeEnergyCapacity> ___SKILL_CACHE_ComputeEnergyCapacity = new SkillCache<ComputeEnergyCapacity>(ComputeEnergyCapacity.class);",
+				"  ",
 				"  /**",
 				"   * See the capacity {@link ComputeEnergyCapacity#getEnergy(java.lang.Double,java.lang.Double,java.lang.Double)}.",
 				"   * ",
@@ -310,7 +314,7 @@ public class Bug92 extends AbstractSarlTest {
 				"  @Generated",
 				"  @ImportedCapacityFeature(ComputeEnergyCapacity.class)",
 				"  protected Double getEnergy(final Double currentTime, final Double deltaTime, final Double wantedEnergy) {",
-				"    return getSkill(ComputeEnergyCapacity.class).getEnergy(currentTime, deltaTime, wantedEnergy);",
+				"    return ___SKILL_CACHE_ComputeEnergyCapacity.get(this).getEnergy(currentTime, deltaTime, wantedEnergy);",
 				"  }",
 				"  ",
 				"  /**",
@@ -321,7 +325,7 @@ public class Bug92 extends AbstractSarlTest {
 				"  @Generated",
 				"  @ImportedCapacityFeature(ComputeEnergyCapacity.class)",
 				"  protected void setVoltage(final Double currentVoltage) {",
-				"    getSkill(ComputeEnergyCapacity.class).setVoltage(currentVoltage);",
+				"    ___SKILL_CACHE_ComputeEnergyCapacity.get(this).setVoltage(currentVoltage);",
 				"  }",
 				"  ",
 				"  /**",
@@ -411,6 +415,7 @@ public class Bug92 extends AbstractSarlTest {
 		final String expected2 = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.annotation.ImportedCapacityFeature;",
+				"import io.sarl.lang.core.SkillCache;",
 				"import java.util.UUID;",
 				"",
 				"@SuppressWarnings(\"all\")",
@@ -419,6 +424,9 @@ public class Bug92 extends AbstractSarlTest {
 				"  ",
 				"  protected Double wantedIntensity;",
 				"  ",
+				"  @Generated",
+				"  private final transient SkillCache<ComputeEnergyCapacity> ___SKILL_CACHE_ComputeEnergyCapacity = new SkillCache<ComputeEnergyCapacity>(ComputeEnergyCapacity.class);",
+				"  ",
 				"  /**",
 				"   * See the capacity {@link ComputeEnergyCapacity#getEnergy(java.lang.Double,java.lang.Double,java.lang.Double)}.",
 				"   * ",
@@ -427,7 +435,7 @@ public class Bug92 extends AbstractSarlTest {
 				"  @Generated",
 				"  @ImportedCapacityFeature(ComputeEnergyCapacity.class)",
 				"  protected Double getEnergy(final Double currentTime, final Double deltaTime, final Double wantedEnergy) {",
-				"    return getSkill(ComputeEnergyCapacity.class).getEnergy(currentTime, deltaTime, wantedEnergy);",
+				"    return ___SKILL_CACHE_ComputeEnergyCapacity.get(this).getEnergy(currentTime, deltaTime, wantedEnergy);",
 				"  }",
 				"  ",
 				"  /**",
@@ -438,7 +446,7 @@ public class Bug92 extends AbstractSarlTest {
 				"  @Generated",
 				"  @ImportedCapacityFeature(ComputeEnergyCapacity.class)",
 				"  protected void setVoltage(final Double currentVoltage) {",
-				"    getSkill(ComputeEnergyCapacity.class).setVoltage(currentVoltage);",
+				"    ___SKILL_CACHE_ComputeEnergyCapacity.get(this).setVoltage(currentVoltage);",
 				"  }",
 				"  ",
 				"  /**",
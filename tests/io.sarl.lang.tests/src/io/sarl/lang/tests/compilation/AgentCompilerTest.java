@@ -80,7 +80,11 @@ public class AgentCompilerTest extends AbstractSarlTest {
 		final String expectedE1 = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.core.Address;",
+				"import io.sarl.lang.core.DecodingMarker;",
 				"import io.sarl.lang.core.Event;",
+				"import io.sarl.lang.core.EventInput;",
+				"import io.sarl.lang.core.EventOutput;",
+				"import java.io.IOException;",
 				"",
 				"@SuppressWarnings(\"all\")",
 				"public class E1 extends Event {",
@@ -101,6 +105,28 @@ public class AgentCompilerTest extends AbstractSarlTest {
 				"    super(source);",
 				"  }",
 				"  ",
+				"  /**",
+				"   * Construct an event from its binary representation.",
+				"   * @param input - the input that contains the binary representation of the event.",
+				"   * @param marker - the marker of the decoding constructors.",
+				"   * @throws IOException - if the event cannot be read.",
+				"   */",
+				"  @Generated",
+				"  protected E1(final EventInput input, final DecodingMarker marker) throws IOException {",
+				"    super(input, marker);",
+				"  }",
+				"  ",
+				"  /**",
+				"   * Write the binary representation of the E1 event.",
+				"   * @param output - the output in which the event must be written.",
+				"   * @throws IOException - if the event cannot be written.",
+				"   */",
+				"  @Override",
+				"  @Generated",
+				"  protected void writeTo(final EventOutput output) throws IOException {",
+				"    super.writeTo(output);",
+				"  }",
+				"  ",
 				"  @Generated",
 				"  private final static long serialVersionUID = 588368462L;",
 				"}",
@@ -109,7 +135,10 @@ public class AgentCompilerTest extends AbstractSarlTest {
 		final String expectedA1 = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.core.Agent;",
+				"import io.sarl.lang.core.Event;",
+				"import io.sarl.lang.core.EventDispatchTable;",
 				"import io.sarl.lang.core.Percept;",
+				"import io.sarl.lang.core.PerceptHandler;",
 				"import java.util.UUID;",
 				"",
 				"@SuppressWarnings(\"all\")",
@@ -119,6 +148,22 @@ public class AgentCompilerTest extends AbstractSarlTest {
 				"    System.out.println(occurrence);",
 				"  }",
 				"  ",
+				"  @Generated",
+				"  private final static EventDispatchTable<A1> ___EVENT_DISPATCH_TABLE = EventDispatchTable.builder(A1.class)",
+				"    .add(E1.class, \"_handle_E1_0\", new PerceptHandler<A1>() {",
+				"      @Override",
+				"      public void handle(final A1 receiver, final Event occurrence) {",
+				"        receiver._handle_E1_0((E1) occurrence);",
+				"      }",
+				"    })",
+				"    .build();",
+				"  ",
+				"  @Override",
+				"  @Generated",
+				"  public boolean _dispatchEvent(final Event occurrence) {",
+				"    return ___EVENT_DISPATCH_TABLE.dispatch(this, occurrence);",
+				"  }",
+				"  ",
 				"  /**",
 				"   * Construct an agent.",
 				"   * @param parentID - identifier of the parent. It is the identifier of the parent agent and the enclosing contect, at the same time.",
@@ -162,7 +207,11 @@ public class AgentCompilerTest extends AbstractSarlTest {
 		final String expectedE1 = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.core.Address;",
+				"import io.sarl.lang.core.DecodingMarker;",
 				"import io.sarl.lang.core.Event;",
+				"import io.sarl.lang.core.EventInput;",
+				"import io.sarl.lang.core.EventOutput;",
+				"import java.io.IOException;",
 				"",
 				"@SuppressWarnings(\"all\")",
 				"public class E1 extends Event {",
@@ -183,6 +232,28 @@ public class AgentCompilerTest extends AbstractSarlTest {
 				"    super(source);",
 				"  }",
 				"  ",
+				"  /**",
+				"   * Construct an event from its binary representation.",
+				"   * @param input - the input that contains the binary representation of the event.",
+				"   * @param marker - the marker of the decoding constructors.",
+				"   * @throws IOException - if the event cannot be read.",
+				"   */",
+				"  @Generated",
+				"  protected E1(final EventInput input, final DecodingMarker marker) throws IOException {",
+				"    super(input, marker);",
+				"  }",
+				"  ",
+				"  /**",
+				"   * Write the binary representation of the E1 event.",
+				"   * @param output - the output in which the event must be written.",
+				"   * @throws IOException - if the event cannot be written.",
+				"   */",
+				"  @Override",
+				"  @Generated",
+				"  protected void writeTo(final EventOutput output) throws IOException {",
+				"    super.writeTo(output);",
+				"  }",
+				"  ",
 				"  @Generated",
 				"  private final static long serialVersionUID = 588368462L;",
 				"}",
@@ -238,7 +309,13 @@ public class AgentCompilerTest extends AbstractSarlTest {
 		final String expectedE1 = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.core.Address;",
+				"import io.sarl.lang.core.DecodingMarker;",
 				"import io.sarl.lang.core.Event;",
+				"import io.sarl.lang.core.EventFieldAccessor;",
+				"import io.sarl.lang.core.EventInput;",
+				"import io.sarl.lang.core.EventMetadata;",
+				"import io.sarl.lang.core.EventOutput;",
+				"import java.io.IOException;",
 				"",
 				"@SuppressWarnings(\"all\")",
 				"public class E1 extends Event {",
@@ -288,16 +365,55 @@ public class AgentCompilerTest extends AbstractSarlTest {
 				"  }",
 				"  ",
 				"  /**",
-				"   * Returns a String representation of the E1 event's attributes only.",
+				"   * Append a String representation of the E1 event's attributes only.",
+				"   * @param result - the receiver of the string representation.",
 				"   */",
 				"  @Generated",
-				"  protected String attributesToString() {",
-				"    StringBuilder result = new StringBuilder(super.attributesToString());",
+				"  protected void attributesToString(final StringBuilder result) {",
+				"    super.attributesToString(result);",
 				"    result.append(\"i  = \").append(this.i);",
-				"    return result.toString();",
+				"  }",
+				"  ",
+				"  /**",
+				"   * Construct an event from its binary representation.",
+				"   * @param input - the input that contains the binary representation of the event.",
+				"   * @param marker - the marker of the decoding constructors.",
+				"   * @throws IOException - if the event cannot be read.",
+				"   */",
+				"  @Generated",
+				"  protected E1(final EventInput input, final DecodingMarker marker) throws IOException {",
+				"    super(input, marker);",
+				"    this.i = input.readVarInt();",
+				"  }",
+				"  ",
+				"  /**",
+				"   * Write the binary representation of the E1 event.",
+				"   * @param output - the output in which the event must be written.",
+				"   * @throws IOException - if the event cannot be written.",
+				"   */",
+				"  @Override",
+				"  @Generated",
+				"  protected void writeTo(final EventOutput output) throws IOException {",
+				"    super.writeTo(output);",
+				"    output.writeVarInt(this.i);",
 				"  }",
 				"  ",
 				"  @Generated",
+				"  private final static EventMetadata<E1> ___EVENT_METADATA = EventMetadata.builder(E1.class)",
+				"      .add(\"i\", int.class, new EventFieldAccessor<E1>() {",
+				"        @Override",
+				"        public Object get(final E1 event) {",
+				"          return event.i;",
+				"        }",
+				"        ",
+				"        @Override",
+				"        public void set(final E1 event, final Object value) {",
+				"          event.i = (int) value;",
+				"        }",
+				"      })",
+				"      .build();",
+				"  ",
+				"  @Generated",
 				"  private final static long serialVersionUID = 588368567L;",
 				"}",
 				""
@@ -305,7 +421,10 @@ public class AgentCompilerTest extends AbstractSarlTest {
 		final String expectedA1 = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.core.Agent;",
+				"import io.sarl.lang.core.Event;",
+				"import io.sarl.lang.core.EventDispatchTable;",
 				"import io.sarl.lang.core.Percept;",
+				"import io.sarl.lang.core.PerceptHandler;",
 				"import java.util.UUID;",
 				"",
 				"@SuppressWarnings(\"all\")",
@@ -322,6 +441,22 @@ public class AgentCompilerTest extends AbstractSarlTest {
 				"    }",
 				"  }",
 				"  ",
+				"  @Generated",
+				"  private final static EventDispatchTable<A1> ___EVENT_DISPATCH_TABLE = EventDispatchTable.builder(A1.class)",
+				"    .add(E1.class, \"_handle_E1_0\", new PerceptHandler<A1>() {",
+				"      @Override",
+				"      public void handle(final A1 receiver, final Event occurrence) {",
+				"        receiver._handle_E1_0((E1) occurrence);",
+				"      }",
+				"    })",
+				"    .build();",
+				"  ",
+				"  @Override",
+				"  @Generated",
+				"  public boolean _dispatchEvent(final Event occurrence) {",
+				"    return ___EVENT_DISPATCH_TABLE.dispatch(this, occurrence);",
+				"  }",
+				"  ",
 				"  /**",
 				"   * Construct an agent.",
 				"   * @param parentID - identifier of the parent. It is the identifier of the parent agent and the enclosing contect, at the same time.",
@@ -555,6 +555,7 @@ public class CapacityCompilerTest {
 					"import io.sarl.lang.annotation.ImportedCapacityFeature;",
 					"import io.sarl.lang.core.Agent;",
 					"import io.sarl.lang.core.Skill;",
+					"import io.sarl.lang.core.SkillCache;",
 					"",
 					"@SuppressWarnings(\"all\")",
 					"public class S1 extends Skill implements C1 {",
@@ -566,6 +567,9 @@ public class CapacityCompilerTest {
 					"    this.myaction4(a);",
 					"  }",
 					"  ",
+					"  @Generated",
+					"  private final transient SkillCache<C2> ___SKILL_CACHE_C2 = new SkillCache<C2>(C2.class);",
+					"  ",
 					"  /**",
 					"   * See the capacity {@link C2#myaction3(int)}.",
 					"   * ",
@@ -574,7 +578,7 @@ public class CapacityCompilerTest {
 					"  @Generated",
 					"  @ImportedCapacityFeature(C2.class)",
 					"  protected float myaction3(final int a) {",
-					"    return getSkill(C2.class).myaction3(a);",
+					"    return ___SKILL_CACHE_C2.get(getOwner()).myaction3(a);",
 					"  }",
 					"  ",
 					"  /**",
@@ -585,7 +589,7 @@ public class CapacityCompilerTest {
 					"  @Generated",
 					"  @ImportedCapacityFeature(C2.class)",
 					"  protected void myaction4(final boolean a) {",
-					"    getSkill(C2.class).myaction4(a);",
+					"    ___SKILL_CACHE_C2.get(getOwner()).myaction4(a);",
 					"  }",
 					"  ",
 					"  /**",
@@ -636,6 +640,96 @@ public class CapacityCompilerTest {
 			});
 		}
 
+		@Test
+		public void capacityAccessors_collidingNames() throws Exception {
+			// The names of the capacities differ only by the case of the characters.
+			final String expectedS1 = multilineString(
+					"import io.sarl.lang.annotation.Generated;",
+					"import io.sarl.lang.annotation.ImportedCapacityFeature;",
+					"import io.sarl.lang.core.Agent;",
+					"import io.sarl.lang.core.Skill;",
+					"import io.sarl.lang.core.SkillCache;",
+					"",
+					"@SuppressWarnings(\"all\")",
+					"public class S1 extends Skill implements C1 {",
+					"  public float myaction(final int a) {",
+					"    this.myaction3(true);",
+					"    return this.myaction2(a);",
+					"  }",
+					"  ",
+					"  @Generated",
+					"  private final transient SkillCache<CapA> ___SKILL_CACHE_CapA = new SkillCache<CapA>(CapA.class);",
+					"  ",
+					"  /**",
+					"   * See the capacity {@link CapA#myaction2(int)}.",
+					"   * ",
+					"   * @see CapA#myaction2(int)",
+					"   */",
+					"  @Generated",
+					"  @ImportedCapacityFeature(CapA.class)",
+					"  protected float myaction2(final int a) {",
+					"    return ___SKILL_CACHE_CapA.get(getOwner()).myaction2(a);",
+					"  }",
+					"  ",
+					"  @Generated",
+					"  private final transient SkillCache<CAPA> ___SKILL_CACHE_CAPA = new SkillCache<CAPA>(CAPA.class);",
+					"  ",
+					"  /**",
+					"   * See the capacity {@link CAPA#myaction3(boolean)}.",
+					"   * ",
+					"   * @see CAPA#myaction3(boolean)",
+					"   */",
+					"  @Generated",
+					"  @ImportedCapacityFeature(CAPA.class)",
+					"  protected void myaction3(final boolean a) {",
+					"    ___SKILL_CACHE_CAPA.get(getOwner()).myaction3(a);",
+					"  }",
+					"  ",
+					"  /**",
+					"   * Construct a skill.",
+					"   * @param owner - agent that is owning this skill.",
+					"   */",
+					"  @Generated",
+					"  public S1(final Agent owner) {",
+					"    super(owner);",
+					"  }",
+					"  ",
+					"  /**",
+					"   * Construct a skill. The owning agent is unknown.",
+					"   */",
+					"  @Generated",
+					"  public S1() {",
+					"    super();",
+					"  }",
+					"}",
+					""
+					);
+			String source = multilineString(
+					"capacity C1 {",
+					"  def myaction(a : int) : float",
+					"}",
+					"capacity CapA {",
+					"  def myaction2(a : int) : float",
+					"}",
+					"capacity CAPA {",
+					"  def myaction3(a : boolean)",
+					"}",
+					"skill S1 implements C1 {",
+					"  uses CapA, CAPA",
+					"  def myaction(a : int) : float {",
+					"    myaction3(true)",
+					"    return myaction2(a)",
+					"  }",
+					"}"
+					);
+			this.compiler.compile(source, new IAcceptor<CompilationTestHelper.Result>() {
+				@Override
+				public void accept(Result r) {
+					assertEquals(expectedS1,r.getGeneratedCode("S1"));
+				}
+			});
+		}
+
 		@Test
 		public void inheritance() throws Exception {
 			final String expectedC1 = multilineString(
@@ -48,7 +48,11 @@ public class EventCompilerTest extends AbstractSarlTest {
 		String expected = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.core.Address;",
+				"import io.sarl.lang.core.DecodingMarker;",
 				"import io.sarl.lang.core.Event;",
+				"import io.sarl.lang.core.EventInput;",
+				"import io.sarl.lang.core.EventOutput;",
+				"import java.io.IOException;",
 				"",
 				"@SuppressWarnings(\"all\")",
 				"public class E1 extends Event {",
@@ -69,6 +73,28 @@ public class EventCompilerTest extends AbstractSarlTest {
 				"    super(source);",
 				"  }",
 				"  ",
+				"  /**",
+				"   * Construct an event from its binary representation.",
+				"   * @param input - the input that contains the binary representation of the event.",
+				"   * @param marker - the marker of the decoding constructors.",
+				"   * @throws IOException - if the event cannot be read.",
+				"   */",
+				"  @Generated",
+				"  protected E1(final EventInput input, final DecodingMarker marker) throws IOException {",
+				"    super(input, marker);",
+				"  }",
+				"  ",
+				"  /**",
+				"   * Write the binary representation of the E1 event.",
+				"   * @param output - the output in which the event must be written.",
+				"   * @throws IOException - if the event cannot be written.",
+				"   */",
+				"  @Override",
+				"  @Generated",
+				"  protected void writeTo(final EventOutput output) throws IOException {",
+				"    super.writeTo(output);",
+				"  }",
+				"  ",
 				"  @Generated",
 				"  private final static long serialVersionUID = 588368462L;",
 				"}",
@@ -87,7 +113,13 @@ public class EventCompilerTest extends AbstractSarlTest {
 		String expected = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.core.Address;",
+				"import io.sarl.lang.core.DecodingMarker;",
 				"import io.sarl.lang.core.Event;",
+				"import io.sarl.lang.core.EventFieldAccessor;",
+				"import io.sarl.lang.core.EventInput;",
+				"import io.sarl.lang.core.EventMetadata;",
+				"import io.sarl.lang.core.EventOutput;",
+				"import java.io.IOException;",
 				"",
 				"@SuppressWarnings(\"all\")",
 				"public class E1 extends Event {",
@@ -140,15 +172,54 @@ public class EventCompilerTest extends AbstractSarlTest {
 				"  }",
 				"  ",
 				"  /**",
-				"   * Returns a String representation of the E1 event's attributes only.",
+				"   * Append a String representation of the E1 event's attributes only.",
+				"   * @param result - the receiver of the string representation.",
 				"   */",
 				"  @Generated",
-				"  protected String attributesToString() {",
-				"    StringBuilder result = new StringBuilder(super.attributesToString());",
+				"  protected void attributesToString(final StringBuilder result) {",
+				"    super.attributesToString(result);",
 				"    result.append(\"name  = \").append(this.name);",
-				"    return result.toString();",
 				"  }",
 				"  ",
+				"  /**",
+				"   * Construct an event from its binary representation.",
+				"   * @param input - the input that contains the binary representation of the event.",
+				"   * @param marker - the marker of the decoding constructors.",
+				"   * @throws IOException - if the event cannot be read.",
+				"   */",
+				"  @Generated",
+				"  protected E1(final EventInput input, final DecodingMarker marker) throws IOException {",
+				"    super(input, marker);",
+				"    this.name = input.readString();",
+				"  }",
+				"  ",
+				"  /**",
+				"   * Write the binary representation of the E1 event.",
+				"   * @param output - the output in which the event must be written.",
+				"   * @throws IOException - if the event cannot be written.",
+				"   */",
+				"  @Override",
+				"  @Generated",
+				"  protected void writeTo(final EventOutput output) throws IOException {",
+				"    super.writeTo(output);",
+				"    output.writeString(this.name);",
+				"  }",
+				"  ",
+				"  @Generated",
+				"  private final static EventMetadata<E1> ___EVENT_METADATA = EventMetadata.builder(E1.class)",
+				"      .add(\"name\", String.class, new EventFieldAccessor<E1>() {",
+				"        @Override",
+				"        public Object get(final E1 event) {",
+				"          return event.name;",
+				"        }",
+				"        ",
+				"        @Override",
+				"        public void set(final E1 event, final Object value) {",
+				"          event.name = (String) value;",
+				"        }",
+				"      })",
+				"      .build();",
+				"  ",
 				"  @Generated",
 				"  private final static long serialVersionUID = 591742169L;",
 				"}",
@@ -170,6 +241,10 @@ public class EventCompilerTest extends AbstractSarlTest {
 		final String expectedE2 = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
 				"import io.sarl.lang.core.Address;",
+				"import io.sarl.lang.core.DecodingMarker;",
+				"import io.sarl.lang.core.EventInput;",
+				"import io.sarl.lang.core.EventOutput;",
+				"import java.io.IOException;",
 				"",
 				"@SuppressWarnings(\"all\")",
 				"public class E2 extends E1 {",
@@ -190,6 +265,28 @@ public class EventCompilerTest extends AbstractSarlTest {
 				"    super(source);",
 				"  }",
 				"  ",
+				"  /**",
+				"   * Construct an event from its binary representation.",
+				"   * @param input - the input that contains the binary representation of the event.",
+				"   * @param marker - the marker of the decoding constructors.",
+				"   * @throws IOException - if the event cannot be read.",
+				"   */",
+				"  @Generated",
+				"  protected E2(final EventInput input, final DecodingMarker marker) throws IOException {",
+				"    super(input, marker);",
+				"  }",
+				"  ",
+				"  /**",
+				"   * Write the binary representation of the E2 event.",
+				"   * @param output - the output in which the event must be written.",
+				"   * @throws IOException - if the event cannot be written.",
+				"   */",
+				"  @Override",
+				"  @Generated",
+				"  protected void writeTo(final EventOutput output) throws IOException {",
+				"    super.writeTo(output);",
+				"  }",
+				"  ",
 				"  @Generated",
 				"  private final static long serialVersionUID = 2189L;",
 				"}",
@@ -216,7 +313,13 @@ public class EventCompilerTest extends AbstractSarlTest {
 				);
 		String expected = multilineString(
 				"import io.sarl.lang.annotation.Generated;",
+				"import io.sarl.lang.core.DecodingMarker;",
 				"import io.sarl.lang.core.Event;",
+				"import io.sarl.lang.core.EventFieldAccessor;",
+				"import io.sarl.lang.core.EventInput;",
+				"import io.sarl.lang.core.EventMetadata;",
+				"import io.sarl.lang.core.EventOutput;",
+				"import java.io.IOException;",
 				"",
 				"@SuppressWarnings(\"all\")",
 				"public class E1 extends Event {",
@@ -258,16 +361,56 @@ public class EventCompilerTest extends AbstractSarlTest {
 				"  }",
 				"  ",
 				"  /**",
-				"   * Returns a String representation of the E1 event's attributes only.",
+				"   * Append a String representation of the E1 event's attributes only.",
+				"   * @param result - the receiver of the string representation.",
 				"   */",
 				"  @Generated",
-				"  protected String attributesToString() {",
-				"    StringBuilder result = new StringBuilder(super.attributesToString());",
+				"  protected void attributesToString(final StringBuilder result) {",
+				"    super.attributesToString(result);",
 				"    result.append(\"titi  = \").append(this.titi);",
 				"    result.append(\"toto  = \").append(this.toto);",
-				"    return result.toString();",
 				"  }",
 				"  ",
+				"  /**",
+				"   * Construct an event from its binary representation.",
+				"   * @param input - the input that contains the binary representation of the event.",
+				"   * @param marker - the marker of the decoding constructors.",
+				"   * @throws IOException - if the event cannot be read.",
+				"   */",
+				"  @Generated",
+				"  protected E1(final EventInput input, final DecodingMarker marker) throws IOException {",
+				"    super(input, marker);",
+				"    this.toto = input.readVarInt();",
+				"  }",
+				"  ",
+				"  /**",
+				"   * Write the binary representation of the E1 event.",
+				"   * @param output - the output in which the event must be written.",
+				"   * @throws IOException - if the event cannot be written.",
+				"   */",
+				"  @Override",
+				"  @Generated",
+				"  protected void writeTo(final EventOutput output) throws IOException {",
+				"    super.writeTo(output);",
+				"    output.writeVarInt(this.toto);",
+				"  }",
+				"  ",
+				"  @Generated",
+				"  private final static EventMetadata<E1> ___EVENT_METADATA = EventMetadata.builder(E1.class)",
+				"      .addFinal(\"titi\", int.class, new EventFieldAccessor<E1>() {",
+				"        @Override",
+				"        public Object get(final E1 event) {",
+				"          return event.titi;",
+				"        }",
+				"      })",
+				"      .addFinal(\"toto\", int.class, new EventFieldAccessor<E1>() {",
+				"        @Override",
+				"        public Object get(final E1 event) {",
+				"          return event.toto;",
+				"        }",
+				"      })",
+				"      .build();",
+				"  ",
 				"  @Generated",
 				"  private final static long serialVersionUID = 595497177L;",
 				"}",
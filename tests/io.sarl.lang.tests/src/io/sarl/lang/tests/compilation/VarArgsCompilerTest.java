@@ -329,7 +329,11 @@ public class VarArgsCompilerTest {
 					);
 			String expected = multilineString(
 					"import io.sarl.lang.annotation.Generated;",
+					"import io.sarl.lang.core.DecodingMarker;",
 					"import io.sarl.lang.core.Event;",
+					"import io.sarl.lang.core.EventInput;",
+					"import io.sarl.lang.core.EventOutput;",
+					"import java.io.IOException;",
 					"",
 					"@SuppressWarnings(\"all\")",
 					"public class E1 extends Event {",
@@ -337,6 +341,28 @@ public class VarArgsCompilerTest {
 					"    System.out.println(arg);",
 					"  }",
 					"  ",
+					"  /**",
+					"   * Construct an event from its binary representation.",
+					"   * @param input - the input that contains the binary representation of the event.",
+					"   * @param marker - the marker of the decoding constructors.",
+					"   * @throws IOException - if the event cannot be read.",
+					"   */",
+					"  @Generated",
+					"  protected E1(final EventInput input, final DecodingMarker marker) throws IOException {",
+					"    super(input, marker);",
+					"  }",
+					"  ",
+					"  /**",
+					"   * Write the binary representation of the E1 event.",
+					"   * @param output - the output in which the event must be written.",
+					"   * @throws IOException - if the event cannot be written.",
+					"   */",
+					"  @Override",
+					"  @Generated",
+					"  protected void writeTo(final EventOutput output) throws IOException {",
+					"    super.writeTo(output);",
+					"  }",
+					"  ",
 					"  @Generated",
 					"  private final static long serialVersionUID = 588370681L;",
 					"}",
@@ -356,7 +382,11 @@ public class VarArgsCompilerTest {
 					);
 			String expected = multilineString(
 					"import io.sarl.lang.annotation.Generated;",
+					"import io.sarl.lang.core.DecodingMarker;",
 					"import io.sarl.lang.core.Event;",
+					"import io.sarl.lang.core.EventInput;",
+					"import io.sarl.lang.core.EventOutput;",
+					"import java.io.IOException;",
 					"",
 					"@SuppressWarnings(\"all\")",
 					"public class E1 extends Event {",
@@ -364,6 +394,28 @@ public class VarArgsCompilerTest {
 					"    System.out.println(arg3);",
 					"  }",
 					"  ",
+					"  /**",
+					"   * Construct an event from its binary representation.",
+					"   * @param input - the input that contains the binary representation of the event.",
+					"   * @param marker - the marker of the decoding constructors.",
+					"   * @throws IOException - if the event cannot be read.",
+					"   */",
+					"  @Generated",
+					"  protected E1(final EventInput input, final DecodingMarker marker) throws IOException {",
+					"    super(input, marker);",
+					"  }",
+					"  ",
+					"  /**",
+					"   * Write the binary representation of the E1 event.",
+					"   * @param output - the output in which the event must be written.",
+					"   * @throws IOException - if the event cannot be written.",
+					"   */",
+					"  @Override",
+					"  @Generated",
+					"  protected void writeTo(final EventOutput output) throws IOException {",
+					"    super.writeTo(output);",
+					"  }",
+					"  ",
 					"  @Generated",
 					"  private final static long serialVersionUID = 588370681L;",
 					"}",
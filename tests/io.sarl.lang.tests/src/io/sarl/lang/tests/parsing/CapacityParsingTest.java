@@ -1550,6 +1550,84 @@ public class CapacityParsingTest {
 			assertNoMoreIssues(issues, mas);
 		}
 
+		@Test
+		public void agentUnsuedCapacity_nestedCalls() throws Exception {
+			SarlScript mas = this.parser.parse(multilineString(
+					"capacity C1 {",
+					"	def myfct : boolean",
+					"}",
+					"capacity C2 {",
+					"	def myfct2(a : int)",
+					"}",
+					"capacity C3 {",
+					"	def myfct3",
+					"}",
+					"agent A1 {",
+					"	uses C1, C2, C3",
+					"	def myaction {",
+					"		if (myfct) {",
+					"			for (i : 1..2) {",
+					"				myfct2(i)",
+					"			}",
+					"		}",
+					"	}",
+					"}"
+					));
+			List<Issue> issues = this.validator.validate(mas);
+			assertWarning(
+					issues,
+					mas,
+					SarlPackage.eINSTANCE.getCapacityUses(),
+					IssueCodes.UNUSED_AGENT_CAPACITY,
+					"The capacity 'C3' is not used");
+			assertNoMoreIssues(issues, mas);
+		}
+
+		@Test
+		public void agentUnsuedCapacity_sameAgentText() throws Exception {
+			String agent = multilineString(
+					"agent A1 {",
+					"	uses C1, C2",
+					"	def myaction {",
+					"		myfct",
+					"	}",
+					"}");
+			SarlScript mas1 = this.parser.parse(multilineString(
+					"capacity C1 {",
+					"	def myfct",
+					"}",
+					"capacity C2 {",
+					"	def myfct2",
+					"}",
+					agent));
+			SarlScript mas2 = this.parser.parse(multilineString(
+					"capacity C1 {",
+					"	def myfct2",
+					"}",
+					"capacity C2 {",
+					"	def myfct",
+					"}",
+					agent));
+			for (int i = 0; i < 2; ++i) {
+				List<Issue> issues = this.validator.validate(mas1);
+				assertWarning(
+						issues,
+						mas1,
+						SarlPackage.eINSTANCE.getCapacityUses(),
+						IssueCodes.UNUSED_AGENT_CAPACITY,
+						"The capacity 'C2' is not used");
+				assertNoMoreIssues(issues, mas1);
+				issues = this.validator.validate(mas2);
+				assertWarning(
+						issues,
+						mas2,
+						SarlPackage.eINSTANCE.getCapacityUses(),
+						IssueCodes.UNUSED_AGENT_CAPACITY,
+						"The capacity 'C1' is not used");
+				assertNoMoreIssues(issues, mas2);
+			}
+		}
+
 		@Test
 		public void agentUnsuedCapacity_2() throws Exception {
 			SarlScript mas = this.parser.parse(multilineString(
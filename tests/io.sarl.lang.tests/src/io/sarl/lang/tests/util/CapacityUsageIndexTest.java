@@ -0,0 +1,113 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.util;
+
+import static org.junit.Assert.*;
+import io.sarl.lang.annotation.ImportedCapacityFeature;
+import io.sarl.lang.util.CapacityUsageIndex;
+
+import org.eclipse.xtext.common.types.JvmAnnotationReference;
+import org.eclipse.xtext.common.types.JvmAnnotationType;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.common.types.JvmParameterizedTypeReference;
+import org.eclipse.xtext.common.types.JvmTypeAnnotationValue;
+import org.eclipse.xtext.common.types.TypesFactory;
+import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.xbase.XBlockExpression;
+import org.eclipse.xtext.xbase.XFeatureCall;
+import org.eclipse.xtext.xbase.XbaseFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class CapacityUsageIndexTest {
+
+	private static final String CAPACITY = "io.sarl.tests.C1";
+
+	private static final int CALL_COUNT = 1000;
+
+	private JvmOperation operation;
+
+	private CapacityUsageIndex index;
+
+	@Before
+	public void setUp() {
+		JvmGenericType capacity = TypesFactory.eINSTANCE.createJvmGenericType();
+		capacity.setPackageName("io.sarl.tests");
+		capacity.setSimpleName("C1");
+		JvmParameterizedTypeReference capacityReference = TypesFactory.eINSTANCE.createJvmParameterizedTypeReference();
+		capacityReference.setType(capacity);
+		JvmTypeAnnotationValue value = TypesFactory.eINSTANCE.createJvmTypeAnnotationValue();
+		value.getValues().add(capacityReference);
+		JvmAnnotationType annotationType = TypesFactory.eINSTANCE.createJvmAnnotationType();
+		annotationType.setPackageName(ImportedCapacityFeature.class.getPackage().getName());
+		annotationType.setSimpleName(ImportedCapacityFeature.class.getSimpleName());
+		JvmAnnotationReference annotation = TypesFactory.eINSTANCE.createJvmAnnotationReference();
+		annotation.setAnnotation(annotationType);
+		annotation.getExplicitValues().add(value);
+		this.operation = TypesFactory.eINSTANCE.createJvmOperation();
+		this.operation.setSimpleName("capacityFunction");
+		this.operation.getAnnotations().add(annotation);
+		JvmGenericType container = TypesFactory.eINSTANCE.createJvmGenericType();
+		container.setPackageName("io.sarl.tests");
+		container.setSimpleName("A1");
+		container.getMembers().add(this.operation);
+		//
+		XBlockExpression block = XbaseFactory.eINSTANCE.createXBlockExpression();
+		for (int i = 0; i < CALL_COUNT; ++i) {
+			XFeatureCall call = XbaseFactory.eINSTANCE.createXFeatureCall();
+			call.setFeature(this.operation);
+			block.getExpressions().add(call);
+		}
+		this.index = new CapacityUsageIndex(container, block);
+	}
+
+	@Test
+	public void isUsed() {
+		assertTrue(this.index.isUsed(CAPACITY));
+		assertFalse(this.index.isUsed("io.sarl.tests.C2"));
+		assertEquals(CALL_COUNT, this.index.getCalls(this.operation).size());
+	}
+
+	@Test
+	public void isUsed_canceled() {
+		CancelIndicator canceled = new CancelIndicator() {
+			@Override
+			public boolean isCanceled() {
+				return true;
+			}
+		};
+		assertNull(this.index.isUsed(CAPACITY, canceled));
+		// The partial calls were not kept.
+		assertEquals(Boolean.TRUE, this.index.isUsed(CAPACITY, CancelIndicator.NullImpl));
+		assertEquals(CALL_COUNT, this.index.getCalls(this.operation).size());
+		// The calls are collected: no more test of the cancelation.
+		assertEquals(Boolean.TRUE, this.index.isUsed(CAPACITY, canceled));
+	}
+
+}
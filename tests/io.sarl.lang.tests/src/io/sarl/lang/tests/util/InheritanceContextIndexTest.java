@@ -0,0 +1,234 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.tests.util;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import io.sarl.lang.actionprototype.ActionParameterTypes;
+import io.sarl.lang.actionprototype.ActionPrototype;
+import io.sarl.lang.actionprototype.ActionPrototypeProvider;
+import io.sarl.lang.sarl.SarlScript;
+import io.sarl.lang.util.InheritanceContextIndex;
+import io.sarl.lang.util.ModelUtil;
+import io.sarl.tests.api.AbstractSarlTest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.xtext.common.types.JvmConstructor;
+import org.eclipse.xtext.common.types.JvmField;
+import org.eclipse.xtext.common.types.JvmGenericType;
+import org.eclipse.xtext.common.types.JvmOperation;
+import org.eclipse.xtext.junit4.util.ParseHelper;
+import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.xbase.jvmmodel.IJvmModelAssociations;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+
+import com.google.inject.Inject;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class InheritanceContextIndexTest extends AbstractSarlTest {
+
+	private static final String SCRIPT_A = multilineString(
+			"package io.sarl.tests.a",
+			"capacity C1 {",
+			"	def cap1",
+			"	def cap2(a : int) : int",
+			"}",
+			"capacity C2 {",
+			"	def cap3(a : String)",
+			"}",
+			"skill S1 implements C1 {",
+			"	var field1 : int",
+			"	def cap1 {}",
+			"	def cap2(a : int) : int { a }",
+			"	def action1(b : String, c : int*) {}",
+			"}");
+
+	private static final String SCRIPT_B = multilineString(
+			"package io.sarl.tests.b",
+			"skill S2 extends io.sarl.tests.a.S1 implements io.sarl.tests.a.C2 {",
+			"	var field2 : boolean",
+			"	def action2 {}",
+			"}");
+
+	private static final String SCRIPT_C = multilineString(
+			"package io.sarl.tests.c",
+			"skill S3 extends io.sarl.tests.b.S2 {",
+			"}");
+
+	@Inject
+	private ParseHelper<SarlScript> parser;
+
+	@Inject
+	private IJvmModelAssociations associations;
+
+	@Inject
+	@Spy
+	private ActionPrototypeProvider prototypeProvider;
+
+	@InjectMocks
+	private InheritanceContextIndex index;
+
+	private JvmGenericType getJvmType(SarlScript script, int index) {
+		// Install the JVM elements.
+		script.eResource().getContents();
+		return (JvmGenericType) this.associations.getPrimaryJvmElement(script.getElements().get(index));
+	}
+
+	private static void assertSameContext(InheritanceContext expected, InheritanceContext actual) {
+		assertEquals(expected.finalOperations, actual.finalOperations);
+		assertEquals(expected.overridableOperations, actual.overridableOperations);
+		assertEquals(expected.inheritedFields, actual.inheritedFields);
+		assertEquals(expected.operationsToImplement, actual.operationsToImplement);
+		assertEquals(expected.superConstructors, actual.superConstructors);
+	}
+
+	private InheritanceContext populateFromIndex(JvmGenericType type) {
+		InheritanceContext context = new InheritanceContext();
+		this.index.populateInheritanceContext(type,
+				context.finalOperations, context.overridableOperations,
+				context.inheritedFields, context.operationsToImplement,
+				context.superConstructors);
+		return context;
+	}
+
+	private InheritanceContext populateFromModelUtil(JvmGenericType type) {
+		InheritanceContext context = new InheritanceContext();
+		ModelUtil.populateInheritanceContext(type,
+				context.finalOperations, context.overridableOperations,
+				context.inheritedFields, context.operationsToImplement,
+				context.superConstructors, this.prototypeProvider);
+		return context;
+	}
+
+	private void assertExtracted(boolean extracted) {
+		if (extracted) {
+			verify(this.prototypeProvider, atLeastOnce()).createParameterTypesFromJvmModel(
+					anyBoolean(), any(List.class));
+		} else {
+			verify(this.prototypeProvider, never()).createParameterTypesFromJvmModel(
+					anyBoolean(), any(List.class));
+		}
+		reset(this.prototypeProvider);
+	}
+
+	@Test
+	public void populateInheritanceContext_sameResource() throws Exception {
+		SarlScript a = this.parser.parse(SCRIPT_A);
+		JvmGenericType s1 = getJvmType(a, 2);
+		InheritanceContext expected = populateFromModelUtil(s1);
+		assertSameContext(expected, populateFromIndex(s1));
+		assertSameContext(expected, populateFromIndex(s1));
+	}
+
+	@Test
+	public void populateInheritanceContext_otherResource() throws Exception {
+		SarlScript a = this.parser.parse(SCRIPT_A);
+		SarlScript b = this.parser.parse(SCRIPT_B, a.eResource().getResourceSet());
+		JvmGenericType s2 = getJvmType(b, 0);
+		InheritanceContext expected = populateFromModelUtil(s2);
+		assertTrue(expected.inheritedFields.containsKey("field1"));
+		assertFalse(expected.operationsToImplement.isEmpty());
+		assertSameContext(expected, populateFromIndex(s2));
+		// Replied by the index
+		reset(this.prototypeProvider);
+		assertSameContext(expected, populateFromIndex(s2));
+		assertExtracted(false);
+	}
+
+	@Test
+	public void populateInheritanceContext_superTypeChanged() throws Exception {
+		SarlScript a = this.parser.parse(SCRIPT_A);
+		SarlScript b = this.parser.parse(SCRIPT_B, a.eResource().getResourceSet());
+		InheritanceContext context = populateFromIndex(getJvmType(b, 0));
+		assertTrue(context.inheritedFields.containsKey("field1"));
+		//
+		XtextResource resourceA = (XtextResource) a.eResource();
+		resourceA.reparse(SCRIPT_A.replace("field1", "field3"));
+		XtextResource resourceB = (XtextResource) b.eResource();
+		resourceB.reparse(SCRIPT_B);
+		JvmGenericType s2 = getJvmType((SarlScript) resourceB.getContents().get(0), 0);
+		context = populateFromIndex(s2);
+		assertFalse(context.inheritedFields.containsKey("field1"));
+		assertTrue(context.inheritedFields.containsKey("field3"));
+		assertSameContext(populateFromModelUtil(s2), context);
+	}
+
+	@Test
+	public void clear_declaringResource() throws Exception {
+		SarlScript a = this.parser.parse(SCRIPT_A);
+		ResourceSet resourceSet = a.eResource().getResourceSet();
+		SarlScript b = this.parser.parse(SCRIPT_B, resourceSet);
+		SarlScript c = this.parser.parse(SCRIPT_C, resourceSet);
+		JvmGenericType s3 = getJvmType(c, 0);
+		InheritanceContext expected = populateFromIndex(s3);
+		reset(this.prototypeProvider);
+		// The features of S2 are declared in the resources of S2 and S1.
+		this.index.clear(c.eResource());
+		assertSameContext(expected, populateFromIndex(s3));
+		assertExtracted(false);
+		//
+		this.index.clear(a.eResource());
+		assertSameContext(expected, populateFromIndex(s3));
+		assertExtracted(true);
+		//
+		this.index.clear(b.eResource());
+		assertSameContext(expected, populateFromIndex(s3));
+		assertExtracted(true);
+	}
+
+	/**
+	 * @author $Author: sgalland$
+	 * @version $FullVersion$
+	 * @mavengroupid $GroupId$
+	 * @mavenartifactid $ArtifactId$
+	 */
+	private static class InheritanceContext {
+
+		final Map<ActionPrototype, JvmOperation> finalOperations = new HashMap<>();
+
+		final Map<ActionPrototype, JvmOperation> overridableOperations = new HashMap<>();
+
+		final Map<String, JvmField> inheritedFields = new HashMap<>();
+
+		final Map<ActionPrototype, JvmOperation> operationsToImplement = new HashMap<>();
+
+		final Map<ActionParameterTypes, JvmConstructor> superConstructors = new HashMap<>();
+
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.lang.ui.tests.contentassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import io.sarl.lang.ui.contentassist.TypeHierarchyIndex;
+import io.sarl.lang.ui.contentassist.TypeHierarchyIndex.TypeDescription;
+import io.sarl.tests.api.AbstractSarlTest;
+import io.sarl.tests.api.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class TypeHierarchyIndexTest extends AbstractSarlTest {
+
+	private static final String EVENT = "io.sarl.lang.core.Event";
+
+	@Nullable
+	private TypeHierarchyIndex index;
+
+	private static TypeDescription type(String name, boolean isFinal, String... supertypes) {
+		return new TypeDescription(name, false, isFinal, Arrays.asList(supertypes));
+	}
+
+	@Before
+	public void setUp() {
+		this.index = new TypeHierarchyIndex();
+	}
+
+	@Test
+	public void isEmpty() {
+		assertTrue(this.index.isEmpty());
+		this.index.update("a.sarl", Arrays.asList(type("E1", false, EVENT)));
+		assertFalse(this.index.isEmpty());
+	}
+
+	@Test
+	public void getType() {
+		this.index.update("a.sarl", Arrays.asList(type("E1", true, EVENT)));
+		TypeDescription description = this.index.getType("E1");
+		assertNotNull(description);
+		assertEquals("E1", description.getName());
+		assertTrue(description.isFinal());
+		assertFalse(description.isInterface());
+		assertEquals(Arrays.asList(EVENT), description.getSupertypes());
+		assertNull(this.index.getType("E2"));
+	}
+
+	@Test
+	public void getSubtypes_transitive() {
+		this.index.update("a.sarl", Arrays.asList(
+				type("E1", false, EVENT),
+				type("E2", false, "E1")));
+		this.index.update("b.sarl", Arrays.asList(
+				type("E3", false, "E2"),
+				type("X", false, "java.lang.Object")));
+		assertEquals(ImmutableSet.of("E1", "E2", "E3"), this.index.getSubtypes(EVENT));
+		assertEquals(ImmutableSet.of("E2", "E3"), this.index.getSubtypes("E1"));
+		assertTrue(this.index.getSubtypes("E3").isEmpty());
+	}
+
+	@Test
+	public void update_replaceSource() {
+		this.index.update("a.sarl", Arrays.asList(type("E1", false, EVENT)));
+		assertEquals(ImmutableSet.of("E1"), this.index.getSubtypes(EVENT));
+		this.index.update("a.sarl", Arrays.asList(type("E2", false, EVENT)));
+		assertEquals(ImmutableSet.of("E2"), this.index.getSubtypes(EVENT));
+		assertNull(this.index.getType("E1"));
+	}
+
+	@Test
+	public void remove() {
+		this.index.update("a.sarl", Arrays.asList(type("E1", false, EVENT)));
+		this.index.update("b.sarl", Arrays.asList(type("E2", false, "E1")));
+		this.index.remove("a.sarl");
+		assertTrue(this.index.getSubtypes(EVENT).isEmpty());
+		assertNotNull(this.index.getType("E2"));
+	}
+
+	@Test
+	public void clear() {
+		this.index.update("a.sarl", Arrays.asList(type("E1", false, EVENT)));
+		this.index.clear();
+		assertTrue(this.index.isEmpty());
+		assertTrue(this.index.getSubtypes(EVENT).isEmpty());
+	}
+
+	@Test
+	public void update_empty() {
+		this.index.update("a.sarl", Collections.<TypeDescription>emptyList());
+		assertTrue(this.index.getSubtypes(EVENT).isEmpty());
+	}
+
+}
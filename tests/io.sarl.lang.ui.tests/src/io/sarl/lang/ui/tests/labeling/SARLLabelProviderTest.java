@@ -17,6 +17,7 @@ package io.sarl.lang.ui.tests.labeling;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import io.sarl.lang.sarl.Action;
 import io.sarl.lang.sarl.ActionSignature;
@@ -412,6 +413,26 @@ public class SARLLabelProviderTest extends AbstractSarlUiTest {
 		assertEquals("myAction() : void", text); //$NON-NLS-1$
 	}
 
+	/**
+	 * @throws Exception
+	 */
+	@Test
+	public void getTextAction_cached() throws Exception {
+		Agent agent = this.helper.createSARLTopElement(
+				filename("textActionCached"), //$NON-NLS-1$
+				Agent.class,
+				PACKAGE_STATEMENT
+				+ "agent A1 { def myAction(a : int) : float { 1f } }"); //$NON-NLS-1$
+		this.helper.getValidator().assertNoErrors(agent);
+		Object feature = agent.getFeatures().get(0);
+		assertTrue(feature instanceof Action);
+		assertEquals("myAction(int) : float", this.provider.getText(feature)); //$NON-NLS-1$
+		assertEquals("myAction(int) : float", this.provider.getText(feature)); //$NON-NLS-1$
+		assertSame(
+				this.provider.getImageDescriptor(feature),
+				this.provider.getImageDescriptor(agent.getFeatures().get(0)));
+	}
+
 	/**
 	 * @throws Exception
 	 */
@@ -76,6 +76,14 @@ public abstract class AbstractSARLOutlineTreeProviderTest extends AbstractSarlUi
 		}
 	};
 
+	/** Replies the provider of the outline.
+	 *
+	 * @return the provider.
+	 */
+	protected SARLOutlineTreeProvider getTreeProvider() {
+		return this.treeProvider;
+	}
+
 	/** Replies the outline sorted.
 	 *
 	 * @return the outline sorter.
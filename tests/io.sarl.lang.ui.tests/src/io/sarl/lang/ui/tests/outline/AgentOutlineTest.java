@@ -20,6 +20,10 @@
  */
 package io.sarl.lang.ui.tests.outline;
 
+import static org.junit.Assert.assertEquals;
+import io.sarl.lang.sarl.SarlScript;
+
+import org.eclipse.xtext.resource.XtextResource;
 import org.junit.Test;
 
 /** Test the outline of the "agent" statement.
@@ -208,4 +212,79 @@ public class AgentOutlineTest extends AbstractSARLOutlineTreeProviderTest {
 		a.leaf(4, "fct2() : int"); //$NON-NLS-1$
 	}
 
+	/**
+	 * @throws Exception
+	 */
+	@Test
+	public void testManyRefreshed() throws Exception {
+		SarlScript script = this.helper.createSARLScript(generateFilename(),
+				"agent A1 {\n" //$NON-NLS-1$
+				+ "val attr : boolean\n" //$NON-NLS-1$
+				+ "def fct1(a : char) {}\n" //$NON-NLS-1$
+				+ "def fct2 : int {1}\n" //$NON-NLS-1$
+				+ "}"); //$NON-NLS-1$
+		long hits = getTreeProvider().getFeatureLabelStats().hitCount();
+		for (int i = 0; i < 2; ++i) {
+			OutlineAsserts asserts = newOutlineAsserts(script);
+			asserts.numChildren(1);
+			OutlineAsserts a;
+			a = asserts.child(0, "A1"); //$NON-NLS-1$
+			a.numChildren(3);
+			a.leaf(0, "attr : boolean"); //$NON-NLS-1$
+			a.leaf(1, "fct1(char) : void"); //$NON-NLS-1$
+			a.leaf(2, "fct2() : int"); //$NON-NLS-1$
+			// The labels of "attr" and "fct2" are cached; the return type of "fct1" is inferred.
+			assertEquals(hits + 2 * i, getTreeProvider().getFeatureLabelStats().hitCount());
+		}
+		//
+		XtextResource resource = (XtextResource) script.eResource();
+		resource.reparse(
+				"agent A1 {\n" //$NON-NLS-1$
+				+ "val attr : boolean\n" //$NON-NLS-1$
+				+ "def fct1(a : char) {}\n" //$NON-NLS-1$
+				+ "def fct2 : int {1}\n" //$NON-NLS-1$
+				+ "def fct3(b : int) : int {b}\n" //$NON-NLS-1$
+				+ "}"); //$NON-NLS-1$
+		OutlineAsserts asserts = newOutlineAsserts((SarlScript) resource.getContents().get(0));
+		OutlineAsserts a;
+		a = asserts.child(0, "A1"); //$NON-NLS-1$
+		a.numChildren(4);
+		a.leaf(0, "attr : boolean"); //$NON-NLS-1$
+		a.leaf(1, "fct1(char) : void"); //$NON-NLS-1$
+		a.leaf(2, "fct2() : int"); //$NON-NLS-1$
+		a.leaf(3, "fct3(int) : int"); //$NON-NLS-1$
+		// The unchanged features are not labeled again.
+		assertEquals(hits + 4, getTreeProvider().getFeatureLabelStats().hitCount());
+	}
+
+	/**
+	 * @throws Exception
+	 */
+	@Test
+	public void testRefreshedAfterChangeInOtherFeature() throws Exception {
+		SarlScript script = this.helper.createSARLScript(generateFilename(),
+				"agent A1 {\n" //$NON-NLS-1$
+				+ "def a : int {1}\n" //$NON-NLS-1$
+				+ "def b { a() }\n" //$NON-NLS-1$
+				+ "}"); //$NON-NLS-1$
+		OutlineAsserts asserts = newOutlineAsserts(script);
+		OutlineAsserts a;
+		a = asserts.child(0, "A1"); //$NON-NLS-1$
+		a.numChildren(2);
+		a.leaf(0, "a() : int"); //$NON-NLS-1$
+		a.leaf(1, "b() : int"); //$NON-NLS-1$
+		//
+		XtextResource resource = (XtextResource) script.eResource();
+		resource.reparse(
+				"agent A1 {\n" //$NON-NLS-1$
+				+ "def a : String {\"\"}\n" //$NON-NLS-1$
+				+ "def b { a() }\n" //$NON-NLS-1$
+				+ "}"); //$NON-NLS-1$
+		asserts = newOutlineAsserts((SarlScript) resource.getContents().get(0));
+		a = asserts.child(0, "A1"); //$NON-NLS-1$
+		a.numChildren(2);
+		a.leaf(0, "a() : String"); //$NON-NLS-1$
+		a.leaf(1, "b() : String"); //$NON-NLS-1$
+	}
+
 }
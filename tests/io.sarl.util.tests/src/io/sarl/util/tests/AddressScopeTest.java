@@ -0,0 +1,153 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Scope;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.tests.api.AbstractSarlTest;
+import io.sarl.tests.api.Nullable;
+import io.sarl.util.AddressScope;
+import io.sarl.util.OpenEventSpaceSpecification;
+import io.sarl.util.Scopes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class AddressScopeTest extends AbstractSarlTest {
+
+	@Nullable
+	private SpaceID spaceID;
+
+	@Nullable
+	private Address address1;
+
+	@Nullable
+	private Address address2;
+
+	@Nullable
+	private Address address3;
+
+	@Before
+	public void setUp() {
+		this.spaceID = new SpaceID(UUID.randomUUID(), UUID.randomUUID(), OpenEventSpaceSpecification.class);
+		this.address1 = new Address(this.spaceID, UUID.randomUUID());
+		this.address2 = new Address(this.spaceID, UUID.randomUUID());
+		this.address3 = new Address(this.spaceID, UUID.randomUUID());
+	}
+
+	private Address newAddress(UUID id) {
+		return new Address(new SpaceID(UUID.randomUUID(), UUID.randomUUID(), OpenEventSpaceSpecification.class), id);
+	}
+
+	@Test
+	public void addresses_matches() {
+		Scope<Address> scope = Scopes.addresses(this.address1, this.address2);
+		assertTrue(scope.matches(this.address1));
+		assertTrue(scope.matches(this.address2));
+		assertFalse(scope.matches(this.address3));
+	}
+
+	@Test
+	public void addresses_matchesOtherSpace() {
+		Scope<Address> scope = Scopes.addresses(this.address1);
+		assertTrue(scope.matches(newAddress(this.address1.getUUID())));
+	}
+
+	@Test
+	public void addresses_nullAndDuplicate() {
+		AddressScope scope = (AddressScope) Scopes.addresses(this.address1, null, this.address1, this.address2);
+		assertEquals(2, scope.size());
+	}
+
+	@Test
+	public void addresses_empty() {
+		Scope<Address> scope = Scopes.addresses();
+		assertFalse(scope.matches(this.address1));
+	}
+
+	@Test
+	public void identifiers_matches() {
+		Scope<Address> scope = Scopes.identifiers(this.address1.getUUID(), this.address3.getUUID());
+		assertTrue(scope.matches(this.address1));
+		assertFalse(scope.matches(this.address2));
+		assertTrue(scope.matches(this.address3));
+	}
+
+	@Test
+	public void identifiers_nilUUID() {
+		UUID nil = new UUID(0, 0);
+		Scope<Address> scope = Scopes.identifiers(nil);
+		assertTrue(scope.matches(newAddress(nil)));
+		assertFalse(scope.matches(this.address1));
+		assertFalse(Scopes.identifiers(this.address1.getUUID()).matches(newAddress(nil)));
+	}
+
+	@Test
+	public void identifiers_large() {
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 5000; ++i) {
+			ids.add(UUID.randomUUID());
+		}
+		AddressScope scope = (AddressScope) Scopes.identifiers(ids);
+		assertEquals(ids.size(), scope.size());
+		for (UUID id : ids) {
+			assertTrue(scope.matches(newAddress(id)));
+		}
+		for (int i = 0; i < 5000; ++i) {
+			assertFalse(scope.matches(newAddress(UUID.randomUUID())));
+		}
+	}
+
+	@Test
+	public void identifiers_sequential() {
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 3000; ++i) {
+			ids.add(new UUID(0, i));
+		}
+		Scope<Address> scope = Scopes.identifiers(ids);
+		for (int i = 0; i < 3000; ++i) {
+			assertTrue(scope.matches(newAddress(new UUID(0, i))));
+			assertFalse(scope.matches(newAddress(new UUID(1, i))));
+		}
+	}
+
+	@Test
+	public void testToString() {
+		Scope<Address> scope = Scopes.addresses(this.address1);
+		assertEquals("aid://[" + this.address1.getUUID() + "]", scope.toString());
+	}
+
+}
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import io.sarl.lang.util.SynchronizedCollection;
 import io.sarl.lang.util.SynchronizedSet;
 import io.sarl.tests.api.AbstractSarlTest;
@@ -35,8 +36,10 @@ import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
@@ -55,7 +58,9 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
 	Collections3Test.SynchronizedCollectionTest.class,
-	Collections3Test.SynchronizedSetTest.class
+	Collections3Test.SynchronizedSetTest.class,
+	Collections3Test.CopyOnWriteSynchronizedCollectionTest.class,
+	Collections3Test.CopyOnWriteSynchronizedSetTest.class
 })
 @SuppressWarnings("all")
 public class Collections3Test {
@@ -461,4 +466,223 @@ public class Collections3Test {
 
 	}
 
+	public static class CopyOnWriteSynchronizedCollectionTest extends AbstractSarlTest {
+
+		@Nullable
+		private Object mutex;
+		@Nullable
+		private List<String> original;
+		@Nullable
+		private SynchronizedCollection<String> collection;
+
+		@Before
+		public void setUp() {
+			this.mutex = new Object();
+			this.original = new ArrayList<>();
+			for(int i=0; i<50; ++i) {
+				this.original.add("0x"+Double.toHexString(Math.random())); //$NON-NLS-1$
+			}
+			this.collection = Collections3.copyOnWriteSynchronizedCollection(this.original, this.mutex);
+		}
+
+		@Test
+		public void size() {
+			assertEquals(this.original.size(), this.collection.size());
+		}
+
+		@Test
+		public void contains() {
+			for(String s : this.original) {
+				assertTrue(this.collection.contains(s));
+			}
+			for(int i=0; i<50; ++i) {
+				assertFalse(this.collection.contains(Integer.toString(i)));
+			}
+		}
+
+		@Test
+		public void toArray() {
+			Object[] t = this.collection.toArray();
+			assertEquals(this.original.size(), t.length);
+			for(int i=0; i<t.length; ++i) {
+				assertSame(this.original.get(i), t[i]);
+			}
+		}
+
+		@Test
+		public void add() {
+			assertTrue(this.collection.add(Integer.toString(5)));
+			assertTrue(this.collection.add(Integer.toString(5)));
+			assertTrue(this.collection.contains(Integer.toString(5)));
+			assertEquals(this.original.size() + 2, this.collection.size());
+			assertFalse(this.original.contains(Integer.toString(5)));
+		}
+
+		@Test
+		public void remove() {
+			assertFalse(this.collection.remove(Integer.toString(5)));
+			for (String s : this.original) {
+				assertTrue(this.collection.remove(s));
+				assertFalse(this.collection.contains(s));
+			}
+			assertTrue(this.collection.isEmpty());
+			assertEquals(50, this.original.size());
+		}
+
+		@Test
+		public void clear() {
+			this.collection.clear();
+			assertTrue(this.collection.isEmpty());
+			assertFalse(this.original.isEmpty());
+			assertTrue(this.collection.add(Integer.toString(5)));
+			assertEquals(1, this.collection.size());
+		}
+
+		@Test
+		public void iterator_snapshot() {
+			Iterator<String> it = this.collection.iterator();
+			this.collection.add(Integer.toString(5));
+			int i = 0;
+			while (it.hasNext()) {
+				assertSame(this.original.get(i), it.next());
+				++i;
+			}
+			assertEquals(this.original.size(), i);
+			assertTrue(this.collection.contains(Integer.toString(5)));
+		}
+
+		@Test
+		public void iterator_remove() {
+			Iterator<String> it = this.collection.iterator();
+			String first = it.next();
+			it.remove();
+			assertFalse(this.collection.contains(first));
+			assertEquals(this.original.size() - 1, this.collection.size());
+			try {
+				it.remove();
+				fail("Expecting IllegalStateException"); //$NON-NLS-1$
+			} catch (IllegalStateException _) {
+				//
+			}
+		}
+
+		@Test
+		public void mutex() {
+			assertSame(this.mutex, this.collection.mutex());
+		}
+
+	}
+
+	public static class CopyOnWriteSynchronizedSetTest extends AbstractSarlTest {
+
+		@Nullable
+		private ExecutorService executors;
+		@Nullable
+		private Object mutex;
+		@Nullable
+		private TreeSet<String> original;
+		@Nullable
+		private SynchronizedSet<String> collection;
+
+		@Before
+		public void setUp() {
+			this.executors = Executors.newFixedThreadPool(5);
+			this.mutex = new Object();
+			this.original = new TreeSet<>();
+			for(int i=0; i<50; ++i) {
+				this.original.add("0x"+Double.toHexString(Math.random())); //$NON-NLS-1$
+			}
+			this.collection = Collections3.copyOnWriteSynchronizedSet(this.original, this.mutex);
+		}
+
+		@After
+		public void tearDown() throws Exception {
+			this.executors.shutdownNow();
+			this.executors.awaitTermination(30, TimeUnit.SECONDS);
+		}
+
+		@Test
+		public void add() {
+			assertTrue(this.collection.add(Integer.toString(5)));
+			assertFalse(this.collection.add(Integer.toString(5)));
+			assertEquals(this.original.size() + 1, this.collection.size());
+			assertFalse(this.original.contains(Integer.toString(5)));
+		}
+
+		@Test
+		public void iterator() {
+			Iterator<String> it = this.collection.iterator();
+			Iterator<String> it2 = this.original.iterator();
+			while (it.hasNext()) {
+				assertSame(it2.next(), it.next());
+			}
+			assertFalse(it2.hasNext());
+		}
+
+		@Test
+		public void retainAll() {
+			String first = this.original.first();
+			assertTrue(this.collection.retainAll(Collections.singleton(first)));
+			assertEquals(Collections.singleton(first), this.collection);
+			assertFalse(this.collection.retainAll(Collections.singleton(first)));
+		}
+
+		@Test
+		public void testEquals() {
+			assertTrue(this.collection.equals(this.collection));
+			assertTrue(this.collection.equals(this.original));
+			assertTrue(this.original.equals(this.collection));
+			assertFalse(this.collection.equals(Collections.singleton(5)));
+		}
+
+		@Test
+		public void testHashCode() {
+			assertEquals(this.original.hashCode(), this.collection.hashCode());
+		}
+
+		@Test
+		public void mutex() {
+			assertSame(this.mutex, this.collection.mutex());
+		}
+
+		@Test
+		public void readersDoNotLockMutex() throws Exception {
+			final String element = this.original.first();
+			synchronized (this.mutex) {
+				Future<Boolean> reader = this.executors.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						int n = 0;
+						for (String s : CopyOnWriteSynchronizedSetTest.this.collection) {
+							++n;
+						}
+						return CopyOnWriteSynchronizedSetTest.this.collection.contains(element)
+								&& n == CopyOnWriteSynchronizedSetTest.this.collection.size();
+					}
+				});
+				assertTrue(reader.get(30, TimeUnit.SECONDS));
+			}
+		}
+
+		@Test
+		public void writersLockMutex() throws Exception {
+			Future<?> writer;
+			synchronized (this.mutex) {
+				writer = this.executors.submit(new Runnable() {
+					@Override
+					public void run() {
+						for(int i=0; i<10; ++i) {
+							CopyOnWriteSynchronizedSetTest.this.collection.add(Integer.toString(i));
+						}
+					}
+				});
+				Thread.sleep(50);
+				assertEquals(this.original.size(), this.collection.size());
+			}
+			writer.get(30, TimeUnit.SECONDS);
+			assertEquals(this.original.size() + 10, this.collection.size());
+		}
+
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.sarl.lang.core.Address;
+import io.sarl.lang.core.Scope;
+import io.sarl.lang.core.SpaceID;
+import io.sarl.tests.api.AbstractSarlTest;
+import io.sarl.tests.api.Nullable;
+import io.sarl.util.IndexableScope;
+import io.sarl.util.OpenEventSpaceSpecification;
+import io.sarl.util.Scopes;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class ScopesTest extends AbstractSarlTest {
+
+	@Nullable
+	private Address address1;
+
+	@Nullable
+	private Address address2;
+
+	@Nullable
+	private Address address3;
+
+	@Before
+	public void setUp() {
+		SpaceID spaceID = new SpaceID(UUID.randomUUID(), UUID.randomUUID(), OpenEventSpaceSpecification.class);
+		this.address1 = new Address(spaceID, UUID.randomUUID());
+		this.address2 = new Address(spaceID, UUID.randomUUID());
+		this.address3 = new Address(spaceID, UUID.randomUUID());
+	}
+
+	private static Set<UUID> toSet(Iterable<UUID> identifiers) {
+		Set<UUID> set = new HashSet<>();
+		for (UUID id : identifiers) {
+			assertTrue(set.add(id));
+		}
+		return set;
+	}
+
+	@Test
+	public void allParticipants() {
+		Scope<Address> scope = Scopes.allParticipants();
+		assertTrue(scope.matches(this.address1));
+		assertEquals(IndexableScope.UNKNOWN_CARDINALITY, Scopes.getCardinalityHint(scope));
+		assertNull(Scopes.getCandidates(scope, 1000));
+	}
+
+	@Test
+	public void addresses_candidates() {
+		Scope<Address> scope = Scopes.addresses(this.address1, this.address2);
+		assertEquals(2, Scopes.getCardinalityHint(scope));
+		Iterable<UUID> candidates = Scopes.getCandidates(scope, 1000);
+		assertNotNull(candidates);
+		Set<UUID> set = toSet(candidates);
+		assertEquals(2, set.size());
+		assertTrue(set.contains(this.address1.getUUID()));
+		assertTrue(set.contains(this.address2.getUUID()));
+		assertNull(Scopes.getCandidates(scope, 2));
+	}
+
+	@Test
+	public void union() {
+		Scope<Address> scope = Scopes.union(Scopes.addresses(this.address1, this.address2), Scopes.addresses(this.address2));
+		assertTrue(scope.matches(this.address1));
+		assertTrue(scope.matches(this.address2));
+		assertFalse(scope.matches(this.address3));
+		assertEquals(3, Scopes.getCardinalityHint(scope));
+		Set<UUID> set = toSet(Scopes.getCandidates(scope, 1000));
+		assertEquals(2, set.size());
+	}
+
+	@Test
+	public void union_notIndexable() {
+		Scope<Address> scope = Scopes.union(Scopes.addresses(this.address1), Scopes.<Address>allParticipants());
+		assertTrue(scope.matches(this.address3));
+		assertEquals(IndexableScope.UNKNOWN_CARDINALITY, Scopes.getCardinalityHint(scope));
+		assertNull(Scopes.getCandidates(scope, 1000));
+	}
+
+	@Test
+	public void intersection() {
+		Scope<Address> scope = Scopes.intersection(
+				Scopes.addresses(this.address1, this.address2, this.address3),
+				Scopes.addresses(this.address2));
+		assertFalse(scope.matches(this.address1));
+		assertTrue(scope.matches(this.address2));
+		assertFalse(scope.matches(this.address3));
+		assertEquals(1, Scopes.getCardinalityHint(scope));
+		Set<UUID> set = toSet(Scopes.getCandidates(scope, 1000));
+		assertEquals(1, set.size());
+		assertTrue(set.contains(this.address2.getUUID()));
+	}
+
+	@Test
+	public void intersection_withNegation() {
+		Scope<Address> scope = Scopes.intersection(
+				Scopes.addresses(this.address1, this.address2),
+				Scopes.not(Scopes.addresses(this.address2)));
+		assertTrue(scope.matches(this.address1));
+		assertFalse(scope.matches(this.address2));
+		assertFalse(scope.matches(this.address3));
+		assertEquals(2, Scopes.getCardinalityHint(scope));
+		assertEquals(2, toSet(Scopes.getCandidates(scope, 1000)).size());
+	}
+
+	@Test
+	public void not() {
+		Scope<Address> inner = Scopes.addresses(this.address1);
+		Scope<Address> scope = Scopes.not(inner);
+		assertFalse(scope.matches(this.address1));
+		assertTrue(scope.matches(this.address2));
+		assertNull(Scopes.getCandidates(scope, 1000));
+		assertSame(inner, Scopes.not(scope));
+	}
+
+	@Test
+	public void instancesOf() {
+		Scope<Object> scope = Scopes.<Object>instancesOf(Number.class);
+		assertTrue(scope.matches(Integer.valueOf(1)));
+		assertFalse(scope.matches("a"));
+		assertEquals(IndexableScope.UNKNOWN_CARDINALITY, Scopes.getCardinalityHint(scope));
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import io.sarl.tests.api.AbstractSarlTest;
+import io.sarl.util.TimeExtensions;
+
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class TimeExtensionsTest extends AbstractSarlTest {
+
+	@Test
+	public void milliseconds() {
+		assertEquals(5L, TimeExtensions.milliseconds(5));
+		assertEquals(5L, TimeExtensions.milliseconds(Integer.valueOf(5)));
+		assertEquals(5L, TimeExtensions.milliseconds(5L));
+		assertEquals(6L, TimeExtensions.milliseconds(5.5));
+	}
+
+	@Test
+	public void seconds() {
+		assertEquals(5000L, TimeExtensions.seconds(5));
+		assertEquals(5000L, TimeExtensions.seconds(Integer.valueOf(5)));
+		assertEquals(5000L, TimeExtensions.seconds(5L));
+		assertEquals(1500L, TimeExtensions.seconds(1.5));
+		assertEquals(Long.MAX_VALUE, TimeExtensions.seconds(Long.MAX_VALUE / 10));
+		assertEquals(Long.MIN_VALUE, TimeExtensions.seconds(Long.MIN_VALUE / 10));
+	}
+
+	@Test
+	public void minutes() {
+		assertEquals(300000L, TimeExtensions.minutes(5));
+		assertEquals(300000L, TimeExtensions.minutes(5L));
+		assertEquals(90000L, TimeExtensions.minutes(1.5));
+	}
+
+	@Test
+	public void hours() {
+		assertEquals(18000000L, TimeExtensions.hours(5));
+		assertEquals(18000000L, TimeExtensions.hours(5L));
+		assertEquals(5400000L, TimeExtensions.hours(1.5));
+	}
+
+	@Test
+	public void days() {
+		assertEquals(432000000L, TimeExtensions.days(5));
+		assertEquals(432000000L, TimeExtensions.days(5L));
+	}
+
+	@Test
+	public void weeks() {
+		assertEquals(1209600000L, TimeExtensions.weeks(2));
+		assertEquals(1209600000L, TimeExtensions.weeks(2L));
+		assertEquals(Integer.MAX_VALUE * 604800000L, TimeExtensions.weeks(Integer.MAX_VALUE));
+		assertEquals(Long.MAX_VALUE, TimeExtensions.weeks(Long.MAX_VALUE / 1000));
+	}
+
+}
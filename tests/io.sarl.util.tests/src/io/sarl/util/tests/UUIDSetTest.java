@@ -0,0 +1,258 @@
+/*
+ * $Id$
+ *
+ * SARL is an general-purpose agent programming language.
+ * More details on http://www.sarl.io
+ *
+ * Copyright (C) 2014-2015 Sebastian RODRIGUEZ, Nicolas GAUD, Stéphane GALLAND.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sarl.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import io.sarl.lang.util.SynchronizedSet;
+import io.sarl.tests.api.AbstractSarlTest;
+import io.sarl.tests.api.Nullable;
+import io.sarl.util.Collections3;
+import io.sarl.util.UUIDSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author $Author: sgalland$
+ * @version $FullVersion$
+ * @mavengroupid $GroupId$
+ * @mavenartifactid $ArtifactId$
+ */
+@SuppressWarnings("all")
+public class UUIDSetTest extends AbstractSarlTest {
+
+	private static final UUID NIL = new UUID(0L, 0L);
+
+	private static final UUID ONE = new UUID(0L, 1L);
+
+	@Nullable
+	private Object mutex;
+
+	@Nullable
+	private List<UUID> original;
+
+	@Nullable
+	private UUIDSet set;
+
+	@Before
+	public void setUp() {
+		this.mutex = new Object();
+		this.original = new ArrayList<>();
+		for (int i = 0; i < 50; ++i) {
+			this.original.add(UUID.randomUUID());
+		}
+		this.set = new UUIDSet(this.original, this.mutex);
+	}
+
+	@Test
+	public void size() {
+		assertEquals(50, this.set.size());
+		assertFalse(this.set.isEmpty());
+		assertTrue(new UUIDSet().isEmpty());
+	}
+
+	@Test
+	public void contains() {
+		for (UUID id : this.original) {
+			assertTrue(this.set.contains(id));
+			assertTrue(this.set.contains(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+		}
+		assertFalse(this.set.contains(UUID.randomUUID()));
+		assertFalse(this.set.contains(NIL));
+		assertFalse(this.set.contains(ONE));
+		assertFalse(this.set.contains("abc"));
+		assertFalse(this.set.contains(null));
+	}
+
+	@Test
+	public void add() {
+		UUID id = UUID.randomUUID();
+		assertTrue(this.set.add(id));
+		assertFalse(this.set.add(id));
+		assertFalse(this.set.add(this.original.get(0)));
+		assertEquals(51, this.set.size());
+		assertTrue(this.set.contains(id));
+	}
+
+	@Test
+	public void add_specialIdentifiers() {
+		assertTrue(this.set.add(NIL));
+		assertTrue(this.set.add(ONE));
+		assertFalse(this.set.add(NIL));
+		assertFalse(this.set.add(ONE));
+		assertEquals(52, this.set.size());
+		assertTrue(this.set.contains(NIL));
+		assertTrue(this.set.contains(ONE));
+		Set<UUID> all = new HashSet<>(this.set);
+		assertTrue(all.contains(NIL));
+		assertTrue(all.contains(ONE));
+		assertEquals(52, all.size());
+		assertTrue(this.set.remove(NIL));
+		assertTrue(this.set.remove(ONE));
+		assertFalse(this.set.remove(ONE));
+		assertEquals(50, this.set.size());
+	}
+
+	@Test
+	public void remove() {
+		assertFalse(this.set.remove(UUID.randomUUID()));
+		assertFalse(this.set.remove("abc"));
+		for (UUID id : this.original) {
+			assertTrue(this.set.remove(id));
+			assertFalse(this.set.contains(id));
+			assertFalse(this.set.remove(id));
+		}
+		assertTrue(this.set.isEmpty());
+	}
+
+	@Test
+	public void addRemove_random() {
+		Random random = new Random(1234);
+		Set<UUID> reference = new HashSet<>(this.original);
+		List<UUID> pool = new ArrayList<>(this.original);
+		for (int i = 0; i < 200; ++i) {
+			pool.add(new UUID(random.nextLong(), random.nextLong()));
+		}
+		pool.add(NIL);
+		pool.add(ONE);
+		for (int i = 0; i < 20000; ++i) {
+			UUID id = pool.get(random.nextInt(pool.size()));
+			if (random.nextBoolean()) {
+				assertEquals(reference.add(id), this.set.add(id));
+			} else {
+				assertEquals(reference.remove(id), this.set.remove(id));
+			}
+			assertEquals(reference.size(), this.set.size());
+		}
+		for (UUID id : pool) {
+			assertEquals(reference.contains(id), this.set.contains(id));
+		}
+		assertEquals(reference, new HashSet<>(this.set));
+	}
+
+	@Test
+	public void clear() {
+		this.set.clear();
+		assertTrue(this.set.isEmpty());
+		assertFalse(this.set.iterator().hasNext());
+		assertTrue(this.set.add(this.original.get(0)));
+		assertEquals(1, this.set.size());
+	}
+
+	@Test
+	public void iterator() {
+		Set<UUID> found = new HashSet<>();
+		Iterator<UUID> it = this.set.iterator();
+		while (it.hasNext()) {
+			assertTrue(found.add(it.next()));
+		}
+		assertEquals(new HashSet<>(this.original), found);
+	}
+
+	@Test
+	public void iterator_remove() {
+		Iterator<UUID> it = this.set.iterator();
+		int n = 0;
+		while (it.hasNext()) {
+			UUID id = it.next();
+			if ((n % 2) == 0) {
+				it.remove();
+				assertFalse(this.set.contains(id));
+			}
+			++n;
+		}
+		assertEquals(50, n);
+		assertEquals(25, this.set.size());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void iterator_removeTwice() {
+		Iterator<UUID> it = this.set.iterator();
+		it.next();
+		it.remove();
+		it.remove();
+	}
+
+	@Test
+	public void retainAll() {
+		List<UUID> kept = this.original.subList(0, 10);
+		assertTrue(this.set.retainAll(kept));
+		assertEquals(new HashSet<>(kept), this.set);
+		assertFalse(this.set.retainAll(kept));
+	}
+
+	@Test
+	public void testEquals() {
+		Set<UUID> reference = new HashSet<>(this.original);
+		assertTrue(this.set.equals(reference));
+		assertTrue(reference.equals(this.set));
+		assertEquals(reference.hashCode(), this.set.hashCode());
+		assertFalse(this.set.equals(new HashSet<>(this.original.subList(0, 10))));
+	}
+
+	@Test
+	public void mutex() {
+		assertSame(this.mutex, this.set.mutex());
+		UUIDSet s = new UUIDSet();
+		assertSame(s, s.mutex());
+	}
+
+	@Test
+	public void serialization() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(new UUIDSet(this.original, null));
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			UUIDSet copy = (UUIDSet) in.readObject();
+			assertEquals(new HashSet<>(this.original), copy);
+			assertSame(copy, copy.mutex());
+		}
+	}
+
+	@Test
+	public void synchronizedUUIDSet() {
+		SynchronizedSet<UUID> s = Collections3.synchronizedUUIDSet(this.mutex);
+		assertTrue(s.isEmpty());
+		assertSame(this.mutex, s.mutex());
+		s = Collections3.synchronizedUUIDSet(Arrays.asList(NIL, ONE), this.mutex);
+		assertEquals(2, s.size());
+		assertTrue(s.contains(NIL));
+		assertTrue(s.contains(ONE));
+	}
+
+}